@@ -22,7 +22,8 @@ CREATE TABLE IF NOT EXISTS roles (
 INSERT INTO roles (name) 
 VALUES ('ROLE_ADMIN'), 
        ('ROLE_MODERATOR'), 
-       ('ROLE_USER');
+       ('ROLE_USER'),
+       ('ROLE_INTROSPECTOR');
 
 ---------------------------------------------------
 -- Create the users table with role_id foreign key
@@ -33,7 +34,62 @@ CREATE TABLE IF NOT EXISTS users (
     email VARCHAR(100) NOT NULL,
     password VARCHAR(255) NOT NULL,
     role_id BIGINT,
+    token_version INTEGER NOT NULL DEFAULT 0,
     CONSTRAINT uc_username UNIQUE (username),
     CONSTRAINT uc_email UNIQUE (email),
     CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles(id)
-);
\ No newline at end of file
+);
+
+---------------------------------------------------
+-- Create the revoked_tokens table (token denylist)
+---------------------------------------------------
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+---------------------------------------------------
+-- Create the refresh_tokens table (hashed opaque refresh tokens)
+---------------------------------------------------
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    remember_me BOOLEAN NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    rotated_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uc_refresh_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+---------------------------------------------------
+-- Create the password_migration_checkpoints table (bulk hash upgrade progress)
+---------------------------------------------------
+CREATE TABLE IF NOT EXISTS password_migration_checkpoints (
+    job_name VARCHAR(50) PRIMARY KEY,
+    last_user_id BIGINT NOT NULL,
+    scanned_count BIGINT NOT NULL,
+    migrated_count BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+---------------------------------------------------
+-- Create the login_attempts table (failed login counts shared by all instances)
+-- Unlogged: faster writes, but emptied after a database crash
+---------------------------------------------------
+CREATE UNLOGGED TABLE IF NOT EXISTS login_attempts (
+    key_type VARCHAR(16) NOT NULL,
+    attempt_key TEXT NOT NULL,
+    arrival_at BIGINT NOT NULL,
+    PRIMARY KEY (key_type, attempt_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_attempts_arrival_at ON login_attempts (arrival_at);
@@ -10,12 +10,26 @@
 
 package com.hikmethankolay.user_auth_system.config;
 
+import com.hikmethankolay.user_auth_system.util.PasswordHashCalibrator;
+import com.hikmethankolay.user_auth_system.util.WrappedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
 
 /**
  * @class AuthConfig
@@ -24,24 +38,119 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class AuthConfig {
 
+    /** Algorithms that can encode new hashes; {wrapped} hashes can only be verified. */
+    private static final Set<String> ENCODING_ALGORITHMS = Set.of("bcrypt", "argon2", "scrypt");
+
+    /** Logger for calibration results. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Algorithm used for new hashes: bcrypt, argon2 or scrypt. */
+    @Value("${api.security.password.algorithm}")
+    private String algorithm;
+
+    /** BCrypt log rounds. */
+    @Value("${api.security.password.bcrypt.strength}")
+    private Integer bcryptStrength;
+
+    /** Argon2id memory per hash in KiB. */
+    @Value("${api.security.password.argon2.memory}")
+    private Integer argon2Memory;
+
+    /** Argon2id iterations. */
+    @Value("${api.security.password.argon2.iterations}")
+    private Integer argon2Iterations;
+
+    /** Argon2id lanes. */
+    @Value("${api.security.password.argon2.parallelism}")
+    private Integer argon2Parallelism;
+
+    /** scrypt CPU/memory cost N, a power of two. */
+    @Value("${api.security.password.scrypt.cpu-cost}")
+    private Integer scryptCpuCost;
+
+    /** scrypt block size r. */
+    @Value("${api.security.password.scrypt.block-size}")
+    private Integer scryptBlockSize;
+
+    /** scrypt parallelization p. */
+    @Value("${api.security.password.scrypt.parallelization}")
+    private Integer scryptParallelization;
+
+    /** Target verification latency in milliseconds for startup calibration; 0 disables it. */
+    @Value("${api.security.password.calibration-target}")
+    private Long calibrationTargetMs;
+
     /**
      * @brief Bean definition for password encoding.
-     * @return A BCryptPasswordEncoder instance.
+     *
+     * New hashes are prefixed with the algorithm ID, e.g. {argon2}, so the
+     * algorithm can be changed without resetting existing passwords. Hashes
+     * without a prefix are verified as BCrypt, the format used before, and
+     * {wrapped} hashes are BCrypt hashes upgraded by the migration job.
+     *
+     * @return A DelegatingPasswordEncoder encoding with the configured algorithm.
+     * @throws IllegalArgumentException If the algorithm is not bcrypt, argon2 or scrypt.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        if (!ENCODING_ALGORITHMS.contains(algorithm)) {
+            throw new IllegalArgumentException("Unsupported api.security.password.algorithm '" + algorithm
+                    + "', expected bcrypt, argon2 or scrypt");
+        }
+        if (calibrationTargetMs > 0) {
+            calibrate(Duration.ofMillis(calibrationTargetMs));
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2Memory, argon2Iterations));
+        encoders.put("scrypt", new SCryptPasswordEncoder(scryptCpuCost, scryptBlockSize, scryptParallelization, 32, 16));
+        encoders.put(WrappedPasswordEncoder.ID,
+                new WrappedPasswordEncoder(new DelegatingPasswordEncoder(algorithm, Map.copyOf(encoders))));
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+
+    /**
+     * @brief Replaces the cost of the configured algorithm with the strongest one fitting the target.
+     * @param target The target verification latency.
+     */
+    private void calibrate(Duration target) {
+        PasswordHashCalibrator.Result result;
+        switch (algorithm) {
+            case "argon2" -> {
+                result = PasswordHashCalibrator.argon2(target, argon2Memory, argon2Parallelism);
+                argon2Iterations = result.cost();
+            }
+            case "scrypt" -> {
+                result = PasswordHashCalibrator.scrypt(target, scryptBlockSize, scryptParallelization);
+                scryptCpuCost = 1 << result.cost();
+            }
+            default -> {
+                result = PasswordHashCalibrator.bcrypt(target);
+                bcryptStrength = result.cost();
+            }
+        }
+        logger.info(() -> String.format("Calibrated %s cost to %d (%d ms per verification, target %d ms)",
+                algorithm, result.cost(), result.verifyTime().toMillis(), target.toMillis()));
     }
 
     /**
      * @brief Bean definition for authentication manager.
+     *
+     * Servlet only; the reactive variant authenticates in ReactiveUserService.
+     *
      * @param authenticationConfiguration The authentication configuration.
      * @return The authentication manager instance.
      * @throws Exception if an error occurs during retrieval.
      */
     @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
     public AuthenticationManager authenticationManager(
             AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
-} 
\ No newline at end of file
+}
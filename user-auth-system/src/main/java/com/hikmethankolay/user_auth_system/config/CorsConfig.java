@@ -15,6 +15,7 @@
  */
 package com.hikmethankolay.user_auth_system.config;
 
+import com.hikmethankolay.user_auth_system.security.JwtFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -50,6 +51,9 @@ public class CorsConfig {
         // Define allowed request headers
         configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
 
+        // Let browser clients read tokens renewed by the JWT filter
+        configuration.setExposedHeaders(List.of(JwtFilter.RENEWED_TOKEN_HEADER));
+
         // Allow cookies and authentication headers
         configuration.setAllowCredentials(true);
 
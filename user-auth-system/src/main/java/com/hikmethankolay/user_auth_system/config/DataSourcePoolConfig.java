@@ -0,0 +1,89 @@
+/**
+ * @file DataSourcePoolConfig.java
+ * @brief Configuration for sizing the database connection pool.
+ *
+ * With platform threads the Tomcat thread pool caps how many requests wait
+ * for a connection. With virtual threads nothing does: every request gets a
+ * thread and blocks on the pool, so the pool itself becomes the limit on
+ * database concurrency. In that mode it is therefore sized to what the
+ * database can run in parallel instead of to the number of request threads,
+ * kept at a fixed size, and given a short acquisition timeout so that an
+ * overloaded database rejects requests quickly instead of queueing them
+ * without bound.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.config
+ * @brief Contains configuration components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * @class DataSourcePoolConfig
+ * @brief Creates the Hikari pool with database-sized defaults when virtual threads are enabled.
+ *
+ * The defaults are set before spring.datasource.hikari.* is bound, so any
+ * value configured there still takes precedence. With platform threads this
+ * configuration is skipped and Spring Boot creates the pool as usual.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DataSourcePoolConfig {
+
+    /** Number of pooled connections; 0 sizes the pool from the CPU count. */
+    @Value("${api.datasource.pool-size}")
+    private Integer poolSize;
+
+    /** Maximum time a request waits for a connection, in milliseconds. */
+    @Value("${api.datasource.connection-timeout}")
+    private Long connectionTimeoutMs;
+
+    /**
+     * @brief Bean definition for the Hikari connection pool.
+     *
+     * Replaces the pool of Spring Boot's DataSourceAutoConfiguration, which
+     * backs off when a DataSource is defined, and binds the same properties.
+     *
+     * @param properties The spring.datasource.* properties.
+     * @return The unstarted pool; it connects on first use.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        int size = poolSize();
+        dataSource.setMaximumPoolSize(size);
+        dataSource.setMinimumIdle(size);
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        return dataSource;
+    }
+
+    /**
+     * @brief Gets the pool size.
+     *
+     * The default follows the usual PostgreSQL guideline of two connections
+     * per database core plus one, estimated from the local CPU count; set the
+     * size explicitly when the database runs on different hardware.
+     *
+     * @return The configured size, or twice the CPU count plus one.
+     */
+    int poolSize() {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2 + 1;
+    }
+}
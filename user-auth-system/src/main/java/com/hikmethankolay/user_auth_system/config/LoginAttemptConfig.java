@@ -0,0 +1,83 @@
+/**
+ * @file LoginAttemptConfig.java
+ * @brief Configuration selecting where failed login attempts are counted.
+ *
+ * The in-memory store suits a single instance. Deployments running several
+ * instances behind a load balancer use the JDBC store, so the limits apply
+ * across instances and survive restarts.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.config
+ * @brief Contains configuration components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.config;
+
+import com.hikmethankolay.user_auth_system.service.InMemoryLoginAttemptStore;
+import com.hikmethankolay.user_auth_system.service.JdbcLoginAttemptStore;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * @class LoginAttemptConfig
+ * @brief Creates the configured LoginAttemptStore.
+ */
+@Configuration
+public class LoginAttemptConfig {
+
+    /** Store type, memory or jdbc. */
+    @Value("${api.security.login-attempts.store}")
+    private String store;
+
+    /** Whether the in-memory store tracks attempts in a sketch with a capped exact table. */
+    @Value("${api.security.login-attempts.bounded.enabled}")
+    private Boolean boundedEnabled;
+
+    /** Cells per sketch row in bounded mode. */
+    @Value("${api.security.login-attempts.bounded.sketch-width}")
+    private Integer sketchWidth;
+
+    /** Sketch rows in bounded mode. */
+    @Value("${api.security.login-attempts.bounded.sketch-depth}")
+    private Integer sketchDepth;
+
+    /** Maximum number of exact buckets per key type in bounded mode. */
+    @Value("${api.security.login-attempts.bounded.max-tracked}")
+    private Integer maxTracked;
+
+    /** Lifetime of attempt counts read from the database, in milliseconds. */
+    @Value("${api.security.login-attempts.jdbc.refresh-interval}")
+    private Long refreshInterval;
+
+    /** Maximum number of attempt counts cached from the database. */
+    @Value("${api.security.login-attempts.jdbc.cache-max-size}")
+    private Long cacheMaxSize;
+
+    /**
+     * @brief Creates the login attempt store.
+     * @param jdbcTemplate The JDBC template, required by the jdbc store.
+     * @return The store selected by api.security.login-attempts.store.
+     * @throws IllegalStateException If the store type is unknown, or is jdbc without a DataSource.
+     */
+    @Bean
+    public LoginAttemptStore loginAttemptStore(ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        return switch (store) {
+            case "memory" -> new InMemoryLoginAttemptStore(boundedEnabled, sketchWidth, sketchDepth, maxTracked);
+            case "jdbc" -> {
+                JdbcTemplate template = jdbcTemplate.getIfAvailable();
+                if (template == null) {
+                    throw new IllegalStateException("The jdbc login attempt store needs a DataSource");
+                }
+                yield new JdbcLoginAttemptStore(template, refreshInterval, cacheMaxSize);
+            }
+            default -> throw new IllegalStateException("Unknown login attempt store: " + store);
+        };
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * @file MetricsConfig.java
+ * @brief Configuration for application metrics.
+ *
+ * This class registers cache statistics with Micrometer so they are available
+ * through the actuator metrics endpoint.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.config
+ * @brief Contains configuration components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.config;
+
+import com.hikmethankolay.user_auth_system.service.PasswordHashingExecutor;
+import com.hikmethankolay.user_auth_system.service.PrincipalCache;
+import com.hikmethankolay.user_auth_system.service.TokenIntrospectionService;
+import com.hikmethankolay.user_auth_system.service.VirtualThreadPinningMonitor;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class MetricsConfig
+ * @brief Configuration class for custom Micrometer meters.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * @brief Exposes hit, miss and eviction counters of the verified token cache.
+     *
+     * Published as cache.gets, cache.evictions and related meters tagged with
+     * cache=jwt.verified-tokens. Nothing is registered when the cache is disabled.
+     *
+     * @param jwtUtils The JWT utility owning the cache.
+     * @return The meter binder for the token cache.
+     */
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(JwtUtils jwtUtils) {
+        return registry -> jwtUtils.getTokenCache().ifPresent(cache ->
+                CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), "jwt.verified-tokens"));
+    }
+
+    /**
+     * @brief Exposes hit, miss and eviction counters of the introspection cache.
+     *
+     * Published with the same meters as the token cache, tagged with
+     * cache=jwt.introspection. Nothing is registered when the service exposes no cache.
+     *
+     * @param tokenIntrospectionService The introspection service owning the cache.
+     * @return The meter binder for the introspection cache.
+     */
+    @Bean
+    public MeterBinder introspectionCacheMetrics(TokenIntrospectionService tokenIntrospectionService) {
+        return registry -> Optional.ofNullable(tokenIntrospectionService.nativeCache()).ifPresent(cache ->
+                CaffeineCacheMetrics.monitor(registry, cache, "jwt.introspection"));
+    }
+
+    /**
+     * @brief Exposes the statistics of the principal cache used by the JWT filter.
+     *
+     * Besides the standard cache meters tagged with cache=principals, publishes
+     * principal.cache.hit.ratio and principal.cache.load.average (nanoseconds
+     * spent loading a user on a miss).
+     *
+     * @param principalCache The principal cache.
+     * @return The meter binder for the principal cache.
+     */
+    @Bean
+    public MeterBinder principalCacheMetrics(PrincipalCache principalCache) {
+        return registry -> Optional.ofNullable(principalCache.nativeCache()).ifPresent(cache -> {
+            CaffeineCacheMetrics.monitor(registry, cache, "principals");
+            Gauge.builder("principal.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                    .description("Share of principal lookups served from the cache")
+                    .register(registry);
+            Gauge.builder("principal.cache.load.average", cache, c -> c.stats().averageLoadPenalty())
+                    .description("Average time spent loading a principal on a miss")
+                    .baseUnit("nanoseconds")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * @brief Exposes pool size, queue length and completed tasks of the password hashing pool.
+     *
+     * Published as executor.* meters tagged with name=password-hashing.
+     *
+     * @param passwordHashingExecutor The password hashing executor.
+     * @return The meter binder for the pool.
+     */
+    @Bean
+    public MeterBinder passwordHashingExecutorMetrics(PasswordHashingExecutor passwordHashingExecutor) {
+        return registry -> Optional.ofNullable(passwordHashingExecutor.nativeExecutor()).ifPresent(executor ->
+                new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(registry));
+    }
+
+    /**
+     * @brief Exposes how often and how long virtual threads were pinned to their carrier.
+     *
+     * Published as jvm.threads.virtual.pinned and jvm.threads.virtual.pinned.time.
+     * Nothing is registered unless virtual threads are enabled.
+     *
+     * @param pinningMonitor The pinning monitor, present only in virtual-thread mode.
+     * @return The meter binder for pinning events.
+     */
+    @Bean
+    public MeterBinder virtualThreadPinningMetrics(ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+        return registry -> pinningMonitor.ifAvailable(monitor -> {
+            FunctionCounter.builder("jvm.threads.virtual.pinned", monitor, VirtualThreadPinningMonitor::getPinnedCount)
+                    .description("Virtual thread parks that pinned the carrier longer than the threshold")
+                    .register(registry);
+            FunctionCounter.builder("jvm.threads.virtual.pinned.time", monitor,
+                            m -> TimeUnit.NANOSECONDS.toMillis(m.getPinnedNanos()))
+                    .description("Total time carriers were pinned")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        });
+    }
+}
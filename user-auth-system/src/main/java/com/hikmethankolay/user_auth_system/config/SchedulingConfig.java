@@ -0,0 +1,28 @@
+/**
+ * @file SchedulingConfig.java
+ * @brief Configuration enabling scheduled tasks.
+ *
+ * This class enables Spring's scheduling support for periodic maintenance
+ * tasks such as signing key rotation.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.config
+ * @brief Contains configuration components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @class SchedulingConfig
+ * @brief Configuration class enabling @Scheduled methods.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,39 @@
+/**
+ * @file WebConfig.java
+ * @brief Configuration for Spring MVC.
+ *
+ * This class registers custom controller argument resolvers.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.config
+ * @brief Contains configuration components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.config;
+
+import com.hikmethankolay.user_auth_system.security.CurrentUserArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * @class WebConfig
+ * @brief Spring MVC configuration class.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * @brief Registers the resolver for CurrentUser parameters.
+     * @param resolvers The list of argument resolvers to extend.
+     */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserArgumentResolver());
+    }
+}
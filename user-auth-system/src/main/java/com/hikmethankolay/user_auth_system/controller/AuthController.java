@@ -16,8 +16,17 @@ package com.hikmethankolay.user_auth_system.controller;
 import com.hikmethankolay.user_auth_system.dto.*;
 import com.hikmethankolay.user_auth_system.entity.User;
 import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import com.hikmethankolay.user_auth_system.service.PasswordHashingExecutor;
+import com.hikmethankolay.user_auth_system.service.RefreshTokenService;
+import com.hikmethankolay.user_auth_system.service.TokenIntrospectionService;
+import com.hikmethankolay.user_auth_system.service.TokenRevocationService;
 import com.hikmethankolay.user_auth_system.service.UserService;
+import com.hikmethankolay.user_auth_system.util.AuthCookies;
+import com.hikmethankolay.user_auth_system.util.ClientIp;
 import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -26,8 +35,9 @@ import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.WebUtils;
 
-import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @class AuthController
@@ -43,6 +53,21 @@ public class AuthController {
     /** JWT utilities for token operations. */
     private final JwtUtils jwtUtils;
 
+    /** Denylist of revoked tokens. */
+    private final TokenRevocationService tokenRevocationService;
+
+    /** Refresh token service for revoking refresh tokens on logout. */
+    private final RefreshTokenService refreshTokenService;
+
+    /** Introspection service whose cached results are evicted on logout. */
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /** Pool running password hashing and verification off the request threads. */
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    /** Resolver of the client address counted by brute force protection. */
+    private final ClientIp clientIpResolver;
+
     /** Standard JWT Token expiration time in milliseconds. */
     @Value("${api.security.token.expiration}")
     private Long jwtExpirationMs;
@@ -55,146 +80,168 @@ public class AuthController {
      * @brief Constructor for AuthController.
      * @param userService The user service instance.
      * @param jwtUtils The JWT utility instance.
+     * @param tokenRevocationService The token revocation service instance.
+     * @param refreshTokenService The refresh token service instance.
+     * @param tokenIntrospectionService The token introspection service instance.
+     * @param passwordHashingExecutor The password hashing executor instance.
+     * @param clientIpResolver The client IP resolver instance.
      */
-    public AuthController(UserService userService, JwtUtils jwtUtils) {
+    public AuthController(UserService userService, JwtUtils jwtUtils, TokenRevocationService tokenRevocationService,
+                          RefreshTokenService refreshTokenService, TokenIntrospectionService tokenIntrospectionService,
+                          PasswordHashingExecutor passwordHashingExecutor, ClientIp clientIpResolver) {
         this.userService = userService;
         this.jwtUtils = jwtUtils;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenIntrospectionService = tokenIntrospectionService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.clientIpResolver = clientIpResolver;
     }
 
     /**
      * @brief Handles user registration.
+     *
+     * Runs on the password hashing pool; the request thread is released until it completes.
+     *
      * @param registerRequest The user registration request data.
-     * @return Response entity containing the registration result.
+     * @return Future of the response entity containing the registration result.
      */
     @PostMapping("/register")
-    public ResponseEntity<ApiResponseDTO<UserDTO>> register(
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<UserDTO>>> register(
             @Validated(UserDTO.Registration.class) @RequestBody UserDTO registerRequest) {
-        try {
-            User registeredUser = userService.registerUser(registerRequest);
-            return ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, new UserDTO(registeredUser), "User registered successfully"));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()));
-        }
+        return passwordHashingExecutor.submit(() -> {
+            try {
+                User registeredUser = userService.registerUser(registerRequest);
+                return ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, new UserDTO(registeredUser), "User registered successfully"));
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()));
+            }
+        });
     }
 
     /**
      * @brief Handles user login with Remember Me support and brute force protection.
+     *
+     * Blocked clients are answered on the request thread; only the password
+     * check waits for the password hashing pool.
+     *
      * @param request The HTTP request used to get client IP.
      * @param loginRequest The login request containing credentials and Remember Me preference.
-     * @return Response entity with token and cookie or error message.
+     * @return Future of the response entity with token and cookie or error message.
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponseDTO<AuthResponseDTO>> login(HttpServletRequest request, @RequestBody LoginRequestDTO loginRequest) {
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<AuthResponseDTO>>> login(HttpServletRequest request, @RequestBody LoginRequestDTO loginRequest) {
         // Get client IP address for rate limiting
-        String clientIp = getClientIp(request);
+        String clientIp = clientIpResolver.of(request);
 
+        CompletableFuture<AuthTokensDTO> tokens;
         try {
             // Authentication is performed in the service layer
-            String token = userService.authenticateUser(loginRequest, clientIp);
-
-            if (token != null) {
-                // Login successful
-                AuthResponseDTO responseDTO = new AuthResponseDTO(token);
-                ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
-
-                // Always set a cookie with the JWT token
-                // Use configured expiration times from application.properties
-                Duration maxAge = loginRequest.rememberMe() 
-                    ? Duration.ofMillis(rememberMeExpirationMs) 
-                    : Duration.ofSeconds(-1);
-                
-                ResponseCookie authCookie = ResponseCookie.from("auth_token", token)
-                        .httpOnly(true)
-                        .secure(false) // Enable in production with HTTPS
-                        .path("/")
-                        .maxAge(maxAge)
-                        .sameSite("Strict")
-                        .build();
-
-                responseBuilder.header(HttpHeaders.SET_COOKIE, authCookie.toString());
-
-                return responseBuilder.body(new ApiResponseDTO<>(EApiStatus.SUCCESS, responseDTO, "User authenticated successfully"));
-            } else {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, "Wrong username or password"));
-            }
+            tokens = userService.authenticateUser(loginRequest, clientIp);
+        } catch (ServerBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             // Handle account/IP blocking errors with appropriate status code
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage())));
         }
+
+        return tokens.thenApply(result -> {
+            if (result != null) {
+                // Login successful
+                return tokenResponse(result, "User authenticated successfully");
+            }
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, "Wrong username or password"));
+        });
     }
 
     /**
-     * @brief Extracts the client IP address from the request.
-     * @param request The HTTP request.
-     * @return The client IP address.
+     * @brief Handles user logout by revoking the current tokens and clearing cookies.
+     * @param request The HTTP request containing the current token.
+     * @param refreshRequest Optional body carrying the refresh token of non-cookie clients.
+     * @return Response entity with success message.
      */
-    private String getClientIp(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null || xfHeader.isEmpty() || "unknown".equalsIgnoreCase(xfHeader)) {
-            return request.getRemoteAddr();
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponseDTO<Void>> logout(HttpServletRequest request,
+                                                      @RequestBody(required = false) RefreshTokenRequestDTO refreshRequest) {
+        // Revoke the token so copies of it stop working before they expire
+        String token = jwtUtils.extractTokenFromRequest(request);
+        if (token != null) {
+            VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+            if (verifiedToken.isValid()) {
+                tokenRevocationService.revoke(verifiedToken.jti(), verifiedToken.expiresAt());
+            }
+            tokenIntrospectionService.evict(token);
         }
-        return xfHeader.split(",")[0];
+        refreshTokenService.revoke(extractRefreshToken(request, refreshRequest));
+
+        // Clear the cookies by setting their max age to 0
+        ResponseCookie clearCookie = AuthCookies.clear();
+        ResponseCookie clearRefreshCookie = AuthCookies.clearRefresh();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, clearCookie.toString(), clearRefreshCookie.toString())
+                .body(new ApiResponseDTO<>(EApiStatus.SUCCESS, null, "Logged out successfully"));
     }
 
     /**
-     * @brief Handles user logout by clearing cookies.
+     * @brief Logs the user out on every device by revoking all issued tokens.
+     * @param request The HTTP request containing the current token.
+     * @param userId The ID of the logged-in user.
      * @return Response entity with success message.
      */
-    @PostMapping("/logout")
-    public ResponseEntity<ApiResponseDTO<Void>> logout() {
-        // Clear the auth cookie by setting its max age to 0
-        ResponseCookie clearCookie = ResponseCookie.from("auth_token", "")
-                .httpOnly(true)
-                .secure(false)
-                .path("/")
-                .maxAge(0)
-                .sameSite("Strict")
-                .build();
+    @PostMapping("/logout-all")
+    public ResponseEntity<ApiResponseDTO<Void>> logoutEverywhere(HttpServletRequest request, @RequestAttribute("userId") Long userId) {
+        try {
+            userService.logoutEverywhere(userId);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()));
+        }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.SET_COOKIE, clearCookie.toString())
-                .body(new ApiResponseDTO<>(EApiStatus.SUCCESS, null, "Logged out successfully"));
+        return logout(request, null);
     }
 
     /**
      * @brief Refreshes an authentication token.
+     *
+     * With refresh tokens enabled, the refresh token from the body or cookie is
+     * rotated and a new access token issued. Otherwise the current JWT is
+     * exchanged for a new one.
+     *
      * @param request The HTTP request containing the current token.
+     * @param refreshRequest Optional body carrying the refresh token of non-cookie clients.
      * @return Response entity with a new token.
      */
     @PostMapping("/refresh-token")
-    public ResponseEntity<ApiResponseDTO<AuthResponseDTO>> refreshToken(HttpServletRequest request) {
+    public ResponseEntity<ApiResponseDTO<AuthResponseDTO>> refreshToken(HttpServletRequest request,
+                                                                        @RequestBody(required = false) RefreshTokenRequestDTO refreshRequest) {
         try {
-            // Token validation and refresh handled in service layer
+            if (refreshTokenService.isEnabled()) {
+                // Only the refresh token is accepted; access tokens cannot extend themselves
+                AuthTokensDTO tokens = userService.refreshTokens(extractRefreshToken(request, refreshRequest));
+                if (tokens != null) {
+                    return tokenResponse(tokens, "Token refreshed successfully");
+                }
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ApiResponseDTO<>(EApiStatus.UNAUTHORIZED, null, "Invalid or expired refresh token"));
+            }
+
+            // Verify the current token once and reuse the result
             String token = jwtUtils.extractTokenFromRequest(request);
+            VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
 
-            // Service handles validating the token and creating new one
-            String newToken = userService.refreshToken(token);
-            boolean wasRememberMe = jwtUtils.wasRememberMe(token);
+            // Service handles creating the new token; revoked tokens cannot be refreshed
+            String newToken = tokenRevocationService.isRevoked(verifiedToken.jti())
+                    ? null
+                    : userService.refreshToken(verifiedToken);
+            boolean wasRememberMe = verifiedToken.rememberMe();
 
             if (newToken != null) {
-                AuthResponseDTO responseDTO = new AuthResponseDTO(newToken);
-                ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
-
-                // Always set a cookie with the new JWT token
                 // If the original token was Remember Me, maintain that setting
-                Duration maxAge = wasRememberMe ? Duration.ofMillis(rememberMeExpirationMs) : Duration.ofSeconds(-1);
-
-                ResponseCookie authCookie = ResponseCookie.from("auth_token", newToken)
-                        .httpOnly(true)
-                        .secure(false) // Enable when using HTTPS in production
-                        .path("/")
-                        .maxAge(maxAge)
-                        .sameSite("Strict")
-                        .build();
-
-                responseBuilder.header(HttpHeaders.SET_COOKIE, authCookie.toString());
-
-                return responseBuilder.body(
-                        new ApiResponseDTO<>(EApiStatus.SUCCESS, responseDTO, "Token refreshed successfully")
-                );
+                return tokenResponse(new AuthTokensDTO(newToken, null, wasRememberMe), "Token refreshed successfully");
             }
         } catch (Exception e) {
             // Token processing failed, handled by the catch block
@@ -203,4 +250,43 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ApiResponseDTO<>(EApiStatus.UNAUTHORIZED, null, "Invalid or expired token"));
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Builds the success response for issued tokens.
+     *
+     * The access token is always set as a cookie; the refresh token, if any,
+     * gets its own cookie limited to the auth endpoints.
+     *
+     * @param tokens The issued tokens.
+     * @param message The response message.
+     * @return Response entity with the tokens and cookies.
+     */
+    private ResponseEntity<ApiResponseDTO<AuthResponseDTO>> tokenResponse(AuthTokensDTO tokens, String message) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+
+        // Always set a cookie with the JWT token
+        ResponseCookie authCookie = AuthCookies.create(tokens.accessToken(), tokens.rememberMe(), rememberMeExpirationMs);
+        responseBuilder.header(HttpHeaders.SET_COOKIE, authCookie.toString());
+
+        if (tokens.refreshToken() != null) {
+            ResponseCookie refreshCookie = AuthCookies.createRefresh(tokens.refreshToken(), tokens.rememberMe(), rememberMeExpirationMs);
+            responseBuilder.header(HttpHeaders.SET_COOKIE, refreshCookie.toString());
+        }
+
+        return responseBuilder.body(new ApiResponseDTO<>(EApiStatus.SUCCESS, new AuthResponseDTO(tokens), message));
+    }
+
+    /**
+     * @brief Reads the refresh token from the request body or cookie.
+     * @param request The HTTP request.
+     * @param refreshRequest The optional request body.
+     * @return The refresh token, or null if none was sent.
+     */
+    private String extractRefreshToken(HttpServletRequest request, RefreshTokenRequestDTO refreshRequest) {
+        if (refreshRequest != null && refreshRequest.refreshToken() != null) {
+            return refreshRequest.refreshToken();
+        }
+        Cookie cookie = WebUtils.getCookie(request, AuthCookies.REFRESH_NAME);
+        return cookie != null ? cookie.getValue() : null;
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * @file IntrospectionController.java
+ * @brief Controller for token introspection and batch validation.
+ *
+ * This controller lets services that cannot validate tokens themselves ask
+ * whether a token is active, in the format of RFC 7662, and lets gateways
+ * validate many tokens in one round trip.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.controller
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hikmethankolay.user_auth_system.dto.ApiResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.IntrospectionRequestDTO;
+import com.hikmethankolay.user_auth_system.dto.IntrospectionResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.TokenValidationResultDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.service.TokenIntrospectionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @class IntrospectionController
+ * @brief REST controller serving /api/auth/introspect and /api/auth/validate-batch.
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class IntrospectionController {
+
+    /** Number of tokens verified in parallel before their results are written. */
+    private static final int BATCH_CHUNK_SIZE = 64;
+
+    /** Service deciding whether tokens are active. */
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /** Object mapper used to stream batch results. */
+    private final ObjectMapper objectMapper;
+
+    /** Maximum number of tokens accepted in one batch. */
+    @Value("${api.security.introspection.batch-max-size}")
+    private Integer batchMaxSize;
+
+    /**
+     * @brief Constructor for IntrospectionController.
+     * @param tokenIntrospectionService The token introspection service instance.
+     * @param objectMapper The object mapper instance.
+     */
+    public IntrospectionController(TokenIntrospectionService tokenIntrospectionService, ObjectMapper objectMapper) {
+        this.tokenIntrospectionService = tokenIntrospectionService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @brief Introspects a token sent as a form parameter, as defined by RFC 7662.
+     * @param token The access token to introspect.
+     * @return Response entity containing the introspection result.
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<?> introspectForm(@RequestParam(value = "token", required = false) String token) {
+        return introspect(token);
+    }
+
+    /**
+     * @brief Introspects a token sent in a JSON body.
+     * @param introspectionRequest The request containing the token.
+     * @return Response entity containing the introspection result.
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> introspectJson(@RequestBody IntrospectionRequestDTO introspectionRequest) {
+        return introspect(introspectionRequest.token());
+    }
+
+    /**
+     * @brief Validates a batch of tokens.
+     *
+     * Tokens are verified in parallel chunks and each chunk is written as soon
+     * as it is done, so the response starts streaming before the whole batch
+     * has been verified. Results keep the order of the request.
+     *
+     * @param tokens The tokens to validate.
+     * @return Response entity streaming the status of every token, or 400 if the batch is too large.
+     */
+    @PostMapping(value = "/validate-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> validateBatch(@RequestBody List<String> tokens) {
+        if (tokens.size() > batchMaxSize) {
+            ApiResponseDTO<Void> error = new ApiResponseDTO<>(EApiStatus.FAILURE, null, "At most " + batchMaxSize + " tokens per batch");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, error));
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeStringField("status", EApiStatus.SUCCESS.name());
+                generator.writeArrayFieldStart("data");
+                for (int from = 0; from < tokens.size(); from += BATCH_CHUNK_SIZE) {
+                    List<String> chunk = tokens.subList(from, Math.min(from + BATCH_CHUNK_SIZE, tokens.size()));
+                    for (TokenValidationResultDTO result : tokenIntrospectionService.validate(chunk)) {
+                        generator.writeObject(result);
+                    }
+                    generator.flush();
+                }
+                generator.writeEndArray();
+                generator.writeStringField("message", "Tokens validated successfully");
+                generator.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * @brief Builds the introspection response.
+     *
+     * Callers may cache the result privately for as long as this instance does.
+     *
+     * @param token The access token to introspect.
+     * @return Response entity with the result, or 400 if no token was sent.
+     */
+    private ResponseEntity<?> introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_request"));
+        }
+
+        IntrospectionResponseDTO result = tokenIntrospectionService.introspect(token);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(tokenIntrospectionService.maxAge(result)).cachePrivate())
+                .body(result);
+    }
+}
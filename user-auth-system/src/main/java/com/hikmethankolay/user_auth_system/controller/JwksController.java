@@ -0,0 +1,86 @@
+/**
+ * @file JwksController.java
+ * @brief Controller publishing the JSON Web Key Set.
+ *
+ * This controller exposes the public signing keys so resource servers can
+ * verify tokens locally without calling back into this application.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.controller
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.controller;
+
+import com.hikmethankolay.user_auth_system.util.JwtKeyRing;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @class JwksController
+ * @brief REST controller serving /.well-known/jwks.json.
+ */
+@RestController
+public class JwksController {
+
+    /** JWT utilities owning the signing key ring. */
+    private final JwtUtils jwtUtils;
+
+    /** Cache lifetime of the JWKS document in milliseconds. */
+    @Value("${api.security.token.jwks-max-age}")
+    private Long jwksMaxAgeMs;
+
+    /**
+     * @brief Constructor for JwksController.
+     * @param jwtUtils The JWT utility instance.
+     */
+    public JwksController(JwtUtils jwtUtils) {
+        this.jwtUtils = jwtUtils;
+    }
+
+    /**
+     * @brief Returns the public signing keys as a JSON Web Key Set.
+     *
+     * The set is empty when tokens are signed with the shared HMAC secret.
+     * Responses are publicly cacheable for the JWKS max age; the ETag changes
+     * whenever a key is added or removed. A request whose If-None-Match holds
+     * the current ETag gets 304 Not Modified without a body.
+     *
+     * @param request The current request, checked for If-None-Match.
+     * @return Response entity containing the JWKS document, or 304 if the client's copy is current.
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks(WebRequest request) {
+        Map<String, Object> jwks = jwtUtils.getKeyRing()
+                .map(JwtKeyRing::toJwks)
+                .orElseGet(() -> Map.of("keys", List.of()));
+
+        String etag = "\"" + Integer.toHexString(jwks.hashCode()) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMillis(jwksMaxAgeMs)).cachePublic();
+
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(etag)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .body(jwks);
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * @file PasswordMigrationController.java
+ * @brief Controller for the password hash migration job.
+ *
+ * This controller lets administrators start, stop and monitor the background
+ * job that upgrades stored password hashes.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.controller
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.controller;
+
+import com.hikmethankolay.user_auth_system.dto.ApiResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.PasswordMigrationStatusDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.service.PasswordMigrationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * @class PasswordMigrationController
+ * @brief REST controller for administering the password hash migration.
+ */
+@RestController
+@RequestMapping("/api/admin/password-migration")
+public class PasswordMigrationController {
+
+    /** Service running the migration. */
+    private final PasswordMigrationService passwordMigrationService;
+
+    /**
+     * @brief Constructor for PasswordMigrationController.
+     * @param passwordMigrationService The service running the migration.
+     */
+    public PasswordMigrationController(PasswordMigrationService passwordMigrationService) {
+        this.passwordMigrationService = passwordMigrationService;
+    }
+
+    /**
+     * @brief Starts the migration or resumes it from its checkpoint.
+     * @return Response entity containing the migration status.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<PasswordMigrationStatusDTO>> start() {
+        if (!passwordMigrationService.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, passwordMigrationService.status(),
+                            "Password migration is already running"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponseDTO<>(EApiStatus.SUCCESS, passwordMigrationService.status(),
+                        "Password migration started"));
+    }
+
+    /**
+     * @brief Stops the migration after its current chunk.
+     * @return Response entity containing the migration status.
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponseDTO<PasswordMigrationStatusDTO>> stop() {
+        if (!passwordMigrationService.stop()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, passwordMigrationService.status(),
+                            "Password migration is not running"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponseDTO<>(EApiStatus.SUCCESS, passwordMigrationService.status(),
+                        "Password migration stopping"));
+    }
+
+    /**
+     * @brief Retrieves the progress of the migration.
+     * @return Response entity containing the migration status.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<PasswordMigrationStatusDTO>> status() {
+        return ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, passwordMigrationService.status(),
+                "Password migration status retrieved successfully"));
+    }
+}
@@ -18,16 +18,22 @@ import com.hikmethankolay.user_auth_system.dto.ApiResponseDTO;
 import com.hikmethankolay.user_auth_system.dto.UserDTO;
 import com.hikmethankolay.user_auth_system.entity.User;
 import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.security.CurrentUser;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.service.PasswordHashingExecutor;
 import com.hikmethankolay.user_auth_system.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * @class UserController
@@ -40,13 +46,18 @@ public class UserController {
     /** User service for handling user-related operations. */
     private final UserService userService;
 
+    /** Pool running password hashing off the request threads. */
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
     /**
      * Controller for user operations.
      * @param userService The service managing user operations.
+     * @param passwordHashingExecutor The pool running password changes.
      * @author Hikmethan Kolay
      */
-    public UserController(UserService userService) {
+    public UserController(UserService userService, PasswordHashingExecutor passwordHashingExecutor) {
         this.userService = userService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
     /**
@@ -82,12 +93,12 @@ public class UserController {
 
     /**
      * @brief Retrieves the logged-in user.
-     * @param id The ID of the logged-in user.
+     * @param principal The authenticated user.
      * @return Response entity containing user details or error message.
      */
     @GetMapping("/users/me")
-    public ResponseEntity<ApiResponseDTO<UserDTO>> getLoggedInUser(@RequestAttribute("userId") Long id) {
-        return getUserById(id);
+    public ResponseEntity<ApiResponseDTO<UserDTO>> getLoggedInUser(@CurrentUser UserPrincipal principal) {
+        return getUserById(principal.id());
     }
 
     /**
@@ -129,50 +140,60 @@ public class UserController {
 
     /**
      * @brief Updates a user by ID.
+     *
+     * Updates changing the password run on the password hashing pool.
+     *
      * @param userDTO The user update request data.
      * @param id The user ID.
-     * @param requesterId The ID of the user making the request.
-     * @return Response entity containing update status.
+     * @param requester The authenticated user making the request.
+     * @return Future of the response entity containing update status.
      */
     @PatchMapping("/users/{id}")
-    public ResponseEntity<ApiResponseDTO<UserDTO>> updateUser(
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<UserDTO>>> updateUser(
             @Validated(UserDTO.Update.class) @RequestBody UserDTO userDTO, 
             @PathVariable Long id, 
-            @RequestAttribute("userId") Long requesterId) {
-        try {
-            User updatedUser = userService.updateUser(userDTO, id, requesterId);
-            return ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, new UserDTO(updatedUser), "User updated successfully"));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()));
+            @CurrentUser UserPrincipal requester) {
+        Supplier<ResponseEntity<ApiResponseDTO<UserDTO>>> update = () -> {
+            try {
+                User updatedUser = userService.updateUser(userDTO, id, requester);
+                return ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, new UserDTO(updatedUser), "User updated successfully"));
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()));
+            }
+        };
+
+        if (StringUtils.hasText(userDTO.getPassword())) {
+            return passwordHashingExecutor.submit(update);
         }
+        return CompletableFuture.completedFuture(update.get());
     }
 
     /**
      * @brief Updates logged-in user.
      * @param userDTO The user update request data.
-     * @param id The ID of the logged-in user.
-     * @return Response entity containing user details or error message.
+     * @param principal The authenticated user.
+     * @return Future of the response entity containing user details or error message.
      */
     @PatchMapping("/users/me")
-    public ResponseEntity<ApiResponseDTO<UserDTO>> updateLoggedInUser(
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<UserDTO>>> updateLoggedInUser(
             @Validated(UserDTO.Update.class) @RequestBody UserDTO userDTO, 
-            @RequestAttribute("userId") Long id) {
-        return updateUser(userDTO, id, id);
+            @CurrentUser UserPrincipal principal) {
+        return updateUser(userDTO, principal.id(), principal);
     }
 
     /**
      * @brief Deletes a user by ID.
      * @param id The user ID.
-     * @param requesterId The ID of the user making the request.
+     * @param requester The authenticated user making the request.
      * @return Response entity containing delete status.
      */
     @DeleteMapping("/users/{id}")
     public ResponseEntity<ApiResponseDTO<Void>> deleteUser(
             @PathVariable Long id, 
-            @RequestAttribute("userId") Long requesterId) {
+            @CurrentUser UserPrincipal requester) {
         try {
-            userService.deleteById(id, requesterId);
+            userService.deleteById(id, requester.id());
             return ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, null, "User deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -2,7 +2,8 @@
  * @file AuthResponseDTO.java
  * @brief Data Transfer Object for authentication responses.
  *
- * This DTO encapsulates authentication tokens, specifying the token value and type.
+ * This DTO encapsulates authentication tokens, specifying the token value and type,
+ * and the refresh token when one was issued.
  *
  * @author Hikmethan Kolay
  * @date 2025-02-12
@@ -14,12 +15,16 @@
  */
 package com.hikmethankolay.user_auth_system.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Data Transfer Object for authentication response.
  * @param token The authentication token.
  * @param tokenType The type of the token (e.g., "Bearer").
+ * @param refreshToken The opaque refresh token, omitted when none was issued.
  */
-public record AuthResponseDTO(String token, String tokenType) {
+public record AuthResponseDTO(String token, String tokenType,
+                              @JsonInclude(JsonInclude.Include.NON_NULL) String refreshToken) {
 
     /**
      * Authentication response DTO.
@@ -27,6 +32,15 @@ public record AuthResponseDTO(String token, String tokenType) {
      * @param token The authentication token.
      */
     public AuthResponseDTO(String token) {
-        this(token, "Bearer");
+        this(token, "Bearer", null);
+    }
+
+    /**
+     * Authentication response DTO for issued tokens.
+     *
+     * @param tokens The access and refresh tokens.
+     */
+    public AuthResponseDTO(AuthTokensDTO tokens) {
+        this(tokens.accessToken(), "Bearer", tokens.refreshToken());
     }
 }
\ No newline at end of file
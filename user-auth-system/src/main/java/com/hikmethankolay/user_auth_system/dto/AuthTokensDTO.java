@@ -0,0 +1,27 @@
+/**
+ * @file AuthTokensDTO.java
+ * @brief Data Transfer Object for the tokens issued on login or refresh.
+ *
+ * This DTO carries the access token together with the optional refresh token
+ * from the service layer to the controller.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.dto
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.dto;
+
+/**
+ * @class AuthTokensDTO
+ * @brief DTO for issued tokens.
+ *
+ * @param accessToken The JWT access token.
+ * @param refreshToken The opaque refresh token, or null if refresh tokens are disabled.
+ * @param rememberMe Whether the tokens belong to a Remember Me login.
+ */
+public record AuthTokensDTO(String accessToken, String refreshToken, boolean rememberMe) {
+}
@@ -0,0 +1,25 @@
+/**
+ * @file IntrospectionRequestDTO.java
+ * @brief Data Transfer Object for JSON introspection requests.
+ *
+ * This DTO carries the token to introspect for callers that do not send
+ * form-encoded requests.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.dto
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.dto;
+
+/**
+ * @class IntrospectionRequestDTO
+ * @brief DTO for introspection request data.
+ *
+ * @param token The access token to introspect.
+ */
+public record IntrospectionRequestDTO(String token) {
+}
@@ -0,0 +1,43 @@
+/**
+ * @file IntrospectionResponseDTO.java
+ * @brief Data Transfer Object for token introspection responses.
+ *
+ * This DTO follows the RFC 7662 response format. Inactive tokens only carry
+ * the active flag so that nothing is disclosed about them.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.dto
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * @class IntrospectionResponseDTO
+ * @brief DTO for introspection result data.
+ *
+ * @param active Whether the token is currently valid.
+ * @param sub The user ID the token was issued to.
+ * @param username The username of the user.
+ * @param role The role of the user.
+ * @param exp The expiration time in seconds since the epoch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IntrospectionResponseDTO(boolean active, String sub, String username, String role, Long exp) {
+
+    /** Shared result for tokens that are not active. */
+    private static final IntrospectionResponseDTO INACTIVE = new IntrospectionResponseDTO(false, null, null, null, null);
+
+    /**
+     * @brief Returns the result used for inactive tokens.
+     * @return An IntrospectionResponseDTO with only the active flag set to false.
+     */
+    public static IntrospectionResponseDTO inactive() {
+        return INACTIVE;
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * @file PasswordMigrationStatusDTO.java
+ * @brief Data Transfer Object for the state of the password hash migration.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.dto
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.dto;
+
+/**
+ * @class PasswordMigrationStatusDTO
+ * @brief DTO for migration progress.
+ *
+ * @param running Whether a run is in progress on this instance.
+ * @param completed Whether the last run reached the end of the users table.
+ * @param lastUserId ID of the last user row processed.
+ * @param scanned Number of user rows processed.
+ * @param migrated Number of hashes upgraded.
+ */
+public record PasswordMigrationStatusDTO(boolean running, boolean completed, long lastUserId, long scanned, long migrated) {
+}
@@ -0,0 +1,24 @@
+/**
+ * @file RefreshTokenRequestDTO.java
+ * @brief Data Transfer Object for refresh requests.
+ *
+ * This DTO carries a refresh token for clients that do not use cookies.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.dto
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.dto;
+
+/**
+ * @class RefreshTokenRequestDTO
+ * @brief DTO for refresh request data.
+ *
+ * @param refreshToken The opaque refresh token.
+ */
+public record RefreshTokenRequestDTO(String refreshToken) {
+}
@@ -0,0 +1,30 @@
+/**
+ * @file TokenValidationResultDTO.java
+ * @brief Data Transfer Object for batch token validation results.
+ *
+ * This DTO carries the status of one token of a batch, and its subject when
+ * the token is valid.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.dto
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+
+/**
+ * @class TokenValidationResultDTO
+ * @brief DTO for the validation result of a single token.
+ *
+ * @param status The token status.
+ * @param sub The user ID the token was issued to, omitted unless the token is valid.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenValidationResultDTO(TokenStatus status, String sub) {
+}
@@ -0,0 +1,165 @@
+/**
+ * @file PasswordMigrationCheckpoint.java
+ * @brief Entity class storing the progress of the password hash migration.
+ *
+ * This entity records the last user row processed by the migration job so
+ * that a stopped or interrupted run continues where it left off.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.entity
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * @class PasswordMigrationCheckpoint
+ * @brief Entity representing the progress of a migration job.
+ */
+@Entity
+@Table(name = "password_migration_checkpoints")
+public class PasswordMigrationCheckpoint {
+
+    /** Name of the job. */
+    @Id
+    @Column(name = "job_name", length = 50)
+    private String jobName;
+
+    /** ID of the last user row processed. */
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    /** Number of user rows processed. */
+    @Column(name = "scanned_count", nullable = false)
+    private long scannedCount;
+
+    /** Number of hashes upgraded. */
+    @Column(name = "migrated_count", nullable = false)
+    private long migratedCount;
+
+    /** Whether the run reached the end of the users table. */
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    /** Time of the last update. */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * @brief Default constructor.
+     */
+    public PasswordMigrationCheckpoint() {
+    }
+
+    /**
+     * @brief Constructor for a new run starting at the first user.
+     * @param jobName The name of the job.
+     */
+    public PasswordMigrationCheckpoint(String jobName) {
+        this.jobName = jobName;
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * @brief Gets the name of the job.
+     * @return The job name.
+     */
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * @brief Sets the name of the job.
+     * @param jobName The job name to be set.
+     */
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    /**
+     * @brief Gets the ID of the last user row processed.
+     * @return The user ID, 0 if no row was processed yet.
+     */
+    public long getLastUserId() {
+        return lastUserId;
+    }
+
+    /**
+     * @brief Sets the ID of the last user row processed.
+     * @param lastUserId The user ID to be set.
+     */
+    public void setLastUserId(long lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    /**
+     * @brief Gets the number of user rows processed.
+     * @return The number of rows.
+     */
+    public long getScannedCount() {
+        return scannedCount;
+    }
+
+    /**
+     * @brief Sets the number of user rows processed.
+     * @param scannedCount The number of rows to be set.
+     */
+    public void setScannedCount(long scannedCount) {
+        this.scannedCount = scannedCount;
+    }
+
+    /**
+     * @brief Gets the number of hashes upgraded.
+     * @return The number of hashes.
+     */
+    public long getMigratedCount() {
+        return migratedCount;
+    }
+
+    /**
+     * @brief Sets the number of hashes upgraded.
+     * @param migratedCount The number of hashes to be set.
+     */
+    public void setMigratedCount(long migratedCount) {
+        this.migratedCount = migratedCount;
+    }
+
+    /**
+     * @brief Checks whether the run reached the end of the users table.
+     * @return True if the run is completed.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * @brief Sets whether the run reached the end of the users table.
+     * @param completed The completed flag to be set.
+     */
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * @brief Gets the time of the last update.
+     * @return The update time.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * @brief Sets the time of the last update.
+     * @param updatedAt The update time to be set.
+     */
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * @file RefreshToken.java
+ * @brief Entity class representing an opaque refresh token.
+ *
+ * Only the SHA-256 hash of the token is stored. Tokens issued by rotating one
+ * another share a family, so a reused token can revoke its whole family.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.entity
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * @class RefreshToken
+ * @brief Entity representing a hashed refresh token.
+ *
+ * A token is rotated exactly once; rows of rotated tokens are kept until they
+ * expire so that a replayed token can be recognized.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+
+    /** Unique identifier for the refresh token. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Hex encoded SHA-256 hash of the token. */
+    @Column(name = "token_hash", length = 64, nullable = false, unique = true)
+    private String tokenHash;
+
+    /** ID of the user the token was issued to. */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** ID shared by all tokens descending from the same login. */
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    /** Whether the login used Remember Me. */
+    @Column(name = "remember_me", nullable = false)
+    private boolean rememberMe;
+
+    /** Expiration time of the token. */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /** Time the token was exchanged for a new one, or null if it is still current. */
+    @Column(name = "rotated_at")
+    private Instant rotatedAt;
+
+    /**
+     * @brief Default constructor.
+     */
+    public RefreshToken() {
+    }
+
+    /**
+     * @brief Constructor with token details.
+     * @param tokenHash The hash of the token.
+     * @param userId The ID of the user.
+     * @param familyId The token family ID.
+     * @param rememberMe Whether the login used Remember Me.
+     * @param expiresAt The expiration time of the token.
+     */
+    public RefreshToken(String tokenHash, Long userId, String familyId, boolean rememberMe, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.rememberMe = rememberMe;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @brief Gets the refresh token ID.
+     * @return The refresh token ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @brief Gets the hash of the token.
+     * @return The token hash.
+     */
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    /**
+     * @brief Gets the ID of the user.
+     * @return The user ID.
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * @brief Gets the token family ID.
+     * @return The family ID.
+     */
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    /**
+     * @brief Checks whether the login used Remember Me.
+     * @return True for Remember Me logins.
+     */
+    public boolean isRememberMe() {
+        return rememberMe;
+    }
+
+    /**
+     * @brief Gets the expiration time of the token.
+     * @return The expiration time.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @brief Gets the time the token was rotated.
+     * @return The rotation time, or null if the token is still current.
+     */
+    public Instant getRotatedAt() {
+        return rotatedAt;
+    }
+
+    /**
+     * @brief Sets the time the token was rotated.
+     * @param rotatedAt The rotation time to be set.
+     */
+    public void setRotatedAt(Instant rotatedAt) {
+        this.rotatedAt = rotatedAt;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * @file RevokedToken.java
+ * @brief Entity class representing a revoked JWT token.
+ *
+ * This entity stores the ID of a token that was revoked before its expiration.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.entity
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * @class RevokedToken
+ * @brief Entity representing a revoked token ID.
+ *
+ * Rows are only needed until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    /** Token ID (jti claim). */
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    /** Expiration time of the revoked token. */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * @brief Default constructor.
+     */
+    public RevokedToken() {
+    }
+
+    /**
+     * @brief Constructor with token details.
+     * @param jti The token ID.
+     * @param expiresAt The expiration time of the token.
+     */
+    public RevokedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @brief Gets the token ID.
+     * @return The token ID.
+     */
+    public String getJti() {
+        return jti;
+    }
+
+    /**
+     * @brief Sets the token ID.
+     * @param jti The token ID to be set.
+     */
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    /**
+     * @brief Gets the expiration time of the token.
+     * @return The expiration time.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @brief Sets the expiration time of the token.
+     * @param expiresAt The expiration time to be set.
+     */
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
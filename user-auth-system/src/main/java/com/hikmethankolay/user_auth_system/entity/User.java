@@ -52,6 +52,10 @@ public class User implements UserDetails {
     @JoinColumn(name = "role_id")
     private Role role;
 
+    /** Version of the user's issued tokens; bumping it revokes every older token. */
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     /**
      * @brief Constructor with user details.
      * @param username The username of the user.
@@ -129,6 +133,18 @@ public class User implements UserDetails {
      */
     public void setRole(Role role) { this.role = role; }
 
+    /**
+     * @brief Gets the current token version of the user.
+     * @return The token version.
+     */
+    public int getTokenVersion() { return tokenVersion; }
+
+    /**
+     * @brief Sets the current token version of the user.
+     * @param tokenVersion The token version to be set.
+     */
+    public void setTokenVersion(int tokenVersion) { this.tokenVersion = tokenVersion; }
+
     /**
      * @brief Gets the authorities (roles) assigned to the user.
      * @return A collection of granted authorities.
@@ -21,6 +21,7 @@ package com.hikmethankolay.user_auth_system.enums;
  * - ROLE_USER: Standard user role.
  * - ROLE_MODERATOR: Moderator role with additional privileges.
  * - ROLE_ADMIN: Administrator role with full access.
+ * - ROLE_INTROSPECTOR: Service account role allowed to introspect tokens.
  */
 public enum ERole {
     /** Standard user role. */
@@ -30,5 +31,8 @@ public enum ERole {
     ROLE_MODERATOR,
 
     /** Administrator role with full access. */
-    ROLE_ADMIN
+    ROLE_ADMIN,
+
+    /** Service account role allowed to introspect tokens issued to other users. */
+    ROLE_INTROSPECTOR
 }
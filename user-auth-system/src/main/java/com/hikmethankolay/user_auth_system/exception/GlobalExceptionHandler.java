@@ -18,6 +18,7 @@ package com.hikmethankolay.user_auth_system.exception;
 import com.hikmethankolay.user_auth_system.dto.ApiResponseDTO;
 import com.hikmethankolay.user_auth_system.enums.EApiStatus;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -50,6 +51,18 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, String.join(", ", errors)));
     }
 
+    /**
+     * @brief Handles work shed because the server is saturated.
+     * @param ex The server busy exception.
+     * @return Response entity with status 503 and a Retry-After header.
+     */
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<ApiResponseDTO<String>> handleServerBusyException(ServerBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, ex.getMessage()));
+    }
+
     /**
      * @brief Handles all unhandled exceptions as a fallback.
      * @param ex The exception to handle.
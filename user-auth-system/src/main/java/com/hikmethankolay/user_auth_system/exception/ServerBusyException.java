@@ -0,0 +1,43 @@
+/**
+ * @file ServerBusyException.java
+ * @brief Exception thrown when work is shed because a bounded queue is full.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.exception
+ * @brief Contains exception handling components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.exception;
+
+/**
+ * @class ServerBusyException
+ * @brief Signals that a request was rejected instead of queued.
+ *
+ * Mapped to 503 Service Unavailable with a Retry-After header by GlobalExceptionHandler.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    /** Seconds the client should wait before retrying. */
+    private final long retryAfterSeconds;
+
+    /**
+     * @brief Constructor for ServerBusyException.
+     * @param message The error message.
+     * @param retryAfterSeconds Seconds the client should wait before retrying.
+     */
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @brief Gets the suggested retry delay.
+     * @return Seconds the client should wait before retrying.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * @file PasswordMigrationCheckpointRepository.java
+ * @brief Repository interface for PasswordMigrationCheckpoint entity.
+ *
+ * This interface stores the progress of password hash migration runs.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.repository
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.repository;
+
+import com.hikmethankolay.user_auth_system.entity.PasswordMigrationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * @interface PasswordMigrationCheckpointRepository
+ * @brief Repository interface for managing PasswordMigrationCheckpoint entities.
+ */
+public interface PasswordMigrationCheckpointRepository extends JpaRepository<PasswordMigrationCheckpoint, String> {
+}
@@ -0,0 +1,74 @@
+/**
+ * @file RefreshTokenRepository.java
+ * @brief Repository interface for RefreshToken entity.
+ *
+ * This interface defines methods for looking up, revoking and pruning refresh tokens.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.repository
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.repository;
+
+import com.hikmethankolay.user_auth_system.entity.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * @interface RefreshTokenRepository
+ * @brief Repository interface for managing RefreshToken entities.
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * @brief Finds a refresh token by its hash and locks the row.
+     *
+     * The lock makes concurrent rotations of the same token run one after the other.
+     *
+     * @param tokenHash The hash of the token.
+     * @return An Optional containing the token if found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * @brief Deletes every token of a family.
+     * @param familyId The token family ID.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+    int deleteByFamilyId(String familyId);
+
+    /**
+     * @brief Deletes every token of a user.
+     * @param userId The user ID.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.userId = :userId")
+    int deleteByUserId(Long userId);
+
+    /**
+     * @brief Deletes tokens that have already expired.
+     * @param now The current time.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
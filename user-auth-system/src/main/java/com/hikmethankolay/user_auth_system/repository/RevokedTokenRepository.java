@@ -0,0 +1,48 @@
+/**
+ * @file RevokedTokenRepository.java
+ * @brief Repository interface for RevokedToken entity.
+ *
+ * This interface defines methods for storing and pruning revoked token IDs.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.repository
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.repository;
+
+import com.hikmethankolay.user_auth_system.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @interface RevokedTokenRepository
+ * @brief Repository interface for managing RevokedToken entities.
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * @brief Finds all revocations of tokens that have not expired yet.
+     * @param now The current time.
+     * @return The revoked tokens expiring after the given time.
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * @brief Deletes revocations of tokens that have already expired.
+     * @param now The current time.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
@@ -18,7 +18,11 @@ import com.hikmethankolay.user_auth_system.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -58,4 +62,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return An Optional containing the User if found.
      */
     Optional<User> findByUsernameOrEmail(String username, String email);
-}
\ No newline at end of file
+
+    /**
+     * @interface TokenVersionView
+     * @brief Projection of a user's ID and token version.
+     */
+    interface TokenVersionView {
+
+        /**
+         * @brief Gets the user ID.
+         * @return The ID of the user.
+         */
+        Long getId();
+
+        /**
+         * @brief Gets the token version.
+         * @return The current token version of the user.
+         */
+        int getTokenVersion();
+    }
+
+    /**
+     * @brief Retrieves the token version of every user without loading full rows.
+     * @return The ID and token version of all users.
+     */
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u")
+    List<TokenVersionView> findAllTokenVersions();
+
+    /**
+     * @brief Replaces a password hash only if it has not changed since it was read.
+     * @param id The user ID.
+     * @param oldHash The hash the new one was derived from.
+     * @param newHash The new hash.
+     * @return The number of updated rows, 0 if the password was changed meanwhile.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int replacePasswordHash(Long id, String oldHash, String newHash);
+}
@@ -0,0 +1,31 @@
+/**
+ * @file CurrentUser.java
+ * @brief Annotation for injecting the authenticated user into controller methods.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @brief Marks a UserPrincipal parameter to be resolved from the current request.
+ *
+ * The principal is the one JwtFilter authenticated the request with, so no
+ * further lookup of the caller is needed.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,60 @@
+/**
+ * @file CurrentUserArgumentResolver.java
+ * @brief Resolves parameters annotated with CurrentUser.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * @class CurrentUserArgumentResolver
+ * @brief Argument resolver handing the principal stored by JwtFilter to controllers.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /**
+     * @brief Checks whether a parameter is a UserPrincipal annotated with CurrentUser.
+     * @param parameter The method parameter.
+     * @return True if the parameter is handled by this resolver.
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UserPrincipal.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    /**
+     * @brief Reads the authenticated principal from the request.
+     * @param parameter The method parameter.
+     * @param mavContainer The model and view container.
+     * @param webRequest The current request.
+     * @param binderFactory The data binder factory.
+     * @return The authenticated principal.
+     * @throws ServletRequestBindingException If the request was not authenticated by JwtFilter.
+     */
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory)
+            throws ServletRequestBindingException {
+        Object principal = webRequest.getAttribute(JwtFilter.PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(principal instanceof UserPrincipal)) {
+            throw new ServletRequestBindingException("Missing authenticated user");
+        }
+        return principal;
+    }
+}
@@ -14,14 +14,19 @@
  */
 package com.hikmethankolay.user_auth_system.security;
 
-import com.hikmethankolay.user_auth_system.entity.User;
-import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.enums.ERole;
+import com.hikmethankolay.user_auth_system.service.TokenRevocationService;
+import com.hikmethankolay.user_auth_system.service.TokenVersionService;
 import com.hikmethankolay.user_auth_system.service.UserService;
+import com.hikmethankolay.user_auth_system.util.AuthCookies;
 import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,20 +44,44 @@ import java.util.Optional;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    /** Response header carrying a renewed token. */
+    public static final String RENEWED_TOKEN_HEADER = "X-Renewed-Token";
+
+    /** Request attribute holding the authenticated UserPrincipal. */
+    public static final String PRINCIPAL_ATTRIBUTE = "principal";
+
+    /** Endpoints issuing or revoking tokens themselves; never renewed by the filter. */
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
     /** Utility for JWT operations. */
     private final JwtUtils jwtUtils;
 
     /** User service for retrieving user details. */
     private final UserService userService;
 
+    /** Token version table used in stateless mode. */
+    private final TokenVersionService tokenVersionService;
+
+    /** Denylist of revoked tokens. */
+    private final TokenRevocationService tokenRevocationService;
+
+    /** Extended expiration time for Remember Me in milliseconds. */
+    @Value("${api.security.token.remember-me-expiration}")
+    private Long rememberMeExpirationMs;
+
     /**
      * @brief Constructor for JwtFilter.
      * @param jwtUtils The JWT utility instance.
      * @param userService The user service instance.
+     * @param tokenVersionService The token version service instance.
+     * @param tokenRevocationService The token revocation service instance.
      */
-    public JwtFilter(JwtUtils jwtUtils, UserService userService) {
+    public JwtFilter(JwtUtils jwtUtils, UserService userService, TokenVersionService tokenVersionService,
+                     TokenRevocationService tokenRevocationService) {
         this.jwtUtils = jwtUtils;
         this.userService = userService;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     /**
@@ -71,19 +100,132 @@ public class JwtFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         String token = jwtUtils.extractTokenFromRequest(request);
 
-        if (token != null && jwtUtils.validateJwtToken(token) == TokenStatus.VALID) {
-            Long userId = jwtUtils.getUserIdFromJwtToken(token);
-            Optional<User> user = userService.findById(userId);
+        if (token != null) {
+            VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+            if (verifiedToken.isValid() && !tokenRevocationService.isRevoked(verifiedToken.jti())) {
+                UserPrincipal principal = authenticate(request, verifiedToken);
+                if (principal != null && jwtUtils.isDueForRenewal(verifiedToken) && !isAuthEndpoint(request)) {
+                    renew(request, response, principal, verifiedToken);
+                }
+            }
+        }
 
-            if (user.isPresent()) {
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(user.get(), null, user.get().getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request, response);
+    }
 
-                request.setAttribute("userId", userId);
+    /**
+     * @brief Authenticates the request from the verified token.
+     *
+     * In stateless mode, tokens carrying role and version claims are trusted
+     * as long as the version matches the in-memory table. Otherwise the user is
+     * taken from the principal cache, which loads it from the database on a miss.
+     *
+     * @param request The HTTP request.
+     * @param verifiedToken The verified token.
+     * @return The authenticated principal, or null if the token was rejected.
+     */
+    private UserPrincipal authenticate(HttpServletRequest request, VerifiedToken verifiedToken) {
+        Long userId = verifiedToken.userId();
+
+        if (tokenVersionService.isStatelessEnabled() && verifiedToken.hasAuthorityClaims()) {
+            Integer currentVersion = tokenVersionService.getVersion(userId);
+            if (currentVersion != null) {
+                if (!currentVersion.equals(verifiedToken.tokenVersion())) {
+                    return null;
+                }
+                UserPrincipal principal = fromClaims(userId, verifiedToken);
+                if (principal == null) {
+                    return null;
+                }
+                setAuthentication(request, userId, principal);
+                return principal;
             }
         }
 
-        filterChain.doFilter(request, response);
+        Optional<UserPrincipal> principal = userService.findPrincipalById(userId);
+
+        if (principal.isEmpty() || !isCurrentVersion(principal.get(), verifiedToken)) {
+            return null;
+        }
+        tokenVersionService.update(userId, principal.get().tokenVersion());
+        setAuthentication(request, userId, principal.get());
+        return principal.get();
+    }
+
+    /**
+     * @brief Issues a fresh token for a request whose token is about to expire.
+     *
+     * The new token is issued by UserService with the lifetime of a token
+     * issued at login, and returned in a response header; browser clients that
+     * authenticated with the cookie also get the cookie replaced. The old token
+     * stays valid until it expires, so concurrent requests are not affected.
+     *
+     * @param request The HTTP request.
+     * @param response The HTTP response.
+     * @param principal The authenticated principal.
+     * @param verifiedToken The verified token being renewed.
+     */
+    private void renew(HttpServletRequest request, HttpServletResponse response, UserPrincipal principal, VerifiedToken verifiedToken) {
+        String newToken = userService.renewToken(principal, verifiedToken.rememberMe());
+
+        response.setHeader(RENEWED_TOKEN_HEADER, newToken);
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            response.addHeader(HttpHeaders.SET_COOKIE,
+                    AuthCookies.create(newToken, verifiedToken.rememberMe(), rememberMeExpirationMs).toString());
+        }
+    }
+
+    /**
+     * @brief Checks whether the request targets an authentication endpoint.
+     * @param request The HTTP request.
+     * @return True for login, logout and refresh requests.
+     */
+    private boolean isAuthEndpoint(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri != null && uri.startsWith(AUTH_PATH_PREFIX);
+    }
+
+    /**
+     * @brief Checks the token version claim against the loaded user.
+     * @param principal The principal of the loaded user.
+     * @param verifiedToken The verified token.
+     * @return True if the token carries no version or the current one.
+     */
+    private boolean isCurrentVersion(UserPrincipal principal, VerifiedToken verifiedToken) {
+        return verifiedToken.tokenVersion() == null || verifiedToken.tokenVersion() == principal.tokenVersion();
+    }
+
+    /**
+     * @brief Builds a detached principal from the token claims.
+     * @param userId The user ID.
+     * @param verifiedToken The verified token.
+     * @return A principal holding the ID, username and role of the token, or
+     *         null if the role claim is not a known role.
+     */
+    private UserPrincipal fromClaims(Long userId, VerifiedToken verifiedToken) {
+        ERole role;
+        try {
+            role = ERole.valueOf(verifiedToken.role());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new UserPrincipal(userId, verifiedToken.username(), role.name(), verifiedToken.tokenVersion());
+    }
+
+    /**
+     * @brief Sets authentication in the security context.
+     * @param request The HTTP request.
+     * @param userId The user ID taken from the verified token.
+     * @param principal The authenticated principal.
+     */
+    private void setAuthentication(HttpServletRequest request, Long userId, UserPrincipal principal) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        request.setAttribute("userId", userId);
+        request.setAttribute(PRINCIPAL_ATTRIBUTE, principal);
     }
 }
@@ -0,0 +1,265 @@
+/**
+ * @file RateLimitFilter.java
+ * @brief Request rate limiting filter for all endpoints.
+ *
+ * Applies the configured per-route token bucket limits, keyed by client IP or
+ * by user, before the JWT filter runs. Requests over a limit are answered with
+ * 429 Too Many Requests and a Retry-After header without reaching token
+ * verification, the database or password hashing, so a flood costs little more
+ * than reading the request line. Every limited response carries the
+ * RateLimit-Policy, RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset
+ * headers of its tightest rule.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import com.hikmethankolay.user_auth_system.util.ClientIp;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class RateLimitFilter
+ * @brief Filter rejecting requests that exceed their route's rate limits.
+ *
+ * Every rule matching a request takes a token from its own bucket for the
+ * client; the first empty bucket rejects the request. User rules key the
+ * bucket by the user ID of a valid token, which is looked up only when such a
+ * rule matches and usually comes from the verified token cache that the JWT
+ * filter then hits again.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /** Header naming the rule applied, as capacity and window in seconds. */
+    public static final String POLICY_HEADER = "RateLimit-Policy";
+
+    /** Header with the capacity of the applied rule. */
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+
+    /** Header with the whole requests left in the applied bucket. */
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+
+    /** Header with the seconds until the applied bucket is full again. */
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    /** Body of rejected requests, encoded once. */
+    private static final byte[] REJECTED_BODY =
+            "{\"status\":\"FAILURE\",\"data\":null,\"message\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * @brief Parsed rules and the buckets they fill.
+     * @param rules The rules in configured order.
+     * @param table The buckets of all rules.
+     */
+    private record Limits(List<RateLimitRule> rules, TokenBucketTable table) {
+    }
+
+    /**
+     * @brief A rule together with the outcome of its bucket.
+     * @param rule The rule.
+     * @param decision The bucket's outcome.
+     */
+    private record Applied(RateLimitRule rule, TokenBucketTable.Decision decision) {
+    }
+
+    /** Utility for JWT operations, used to key user rules. */
+    private final JwtUtils jwtUtils;
+
+    /** Resolver of the client address, used to key IP rules. */
+    private final ClientIp clientIpResolver;
+
+    /** Whether requests are rate limited. */
+    @Value("${api.security.rate-limit.enabled}")
+    private Boolean enabled;
+
+    /** Rules as "METHOD PATTERN SCOPE CAPACITY PERIOD", comma separated. */
+    @Value("${api.security.rate-limit.rules}")
+    private List<String> rules;
+
+    /** Number of independently locked stripes of the bucket table. */
+    @Value("${api.security.rate-limit.stripes}")
+    private Integer stripes;
+
+    /** Maximum number of buckets held over all rules. */
+    @Value("${api.security.rate-limit.max-tracked}")
+    private Integer maxTracked;
+
+    /** Parsed rules and bucket table, created once from the properties. */
+    private Limits limits;
+
+    /**
+     * @brief Constructor for RateLimitFilter.
+     * @param jwtUtils The JWT utility instance.
+     * @param clientIpResolver The client IP resolver instance.
+     */
+    public RateLimitFilter(JwtUtils jwtUtils, ClientIp clientIpResolver) {
+        this.jwtUtils = jwtUtils;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    /**
+     * @brief Parses the rules and creates the bucket table.
+     * @throws IllegalArgumentException If a rule is malformed.
+     */
+    @PostConstruct
+    public void loadRules() {
+        List<RateLimitRule> parsed = rules.stream()
+                .filter(rule -> !rule.isBlank())
+                .map(RateLimitRule::parse)
+                .toList();
+        limits = new Limits(parsed, new TokenBucketTable(stripes, maxTracked));
+    }
+
+    /**
+     * @brief Checks the request against the matching rules and rejects it when one is exhausted.
+     * @param request The HTTP request.
+     * @param response The HTTP response.
+     * @param filterChain The filter chain.
+     * @throws ServletException If a servlet exception occurs.
+     * @throws IOException If an IO exception occurs.
+     */
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Limits current = limits;
+        String method = request.getMethod();
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        long now = System.nanoTime();
+        String clientIp = null;
+        String userId = null;
+        boolean userResolved = false;
+        Applied tightest = null;
+
+        for (int i = 0; i < current.rules().size(); i++) {
+            RateLimitRule rule = current.rules().get(i);
+            if (!rule.matches(method, path)) {
+                continue;
+            }
+            String client;
+            if (rule.scope() == RateLimitRule.Scope.IP) {
+                if (clientIp == null) {
+                    clientIp = clientIpResolver.of(request);
+                }
+                client = clientIp;
+            } else {
+                if (!userResolved) {
+                    userId = resolveUserId(request);
+                    userResolved = true;
+                }
+                client = userId;
+            }
+            if (client == null) {
+                continue;
+            }
+
+            TokenBucketTable.Decision decision = current.table().tryAcquire(
+                    i + " " + client, rule.capacity(), TimeUnit.MILLISECONDS.toNanos(rule.periodMillis()), now);
+            if (!decision.allowed()) {
+                reject(response, new Applied(rule, decision));
+                return;
+            }
+            if (tightest == null || decision.remaining() < tightest.decision().remaining()) {
+                tightest = new Applied(rule, decision);
+            }
+        }
+
+        if (tightest != null) {
+            setHeaders(response, tightest);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @brief Removes buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${api.security.rate-limit.purge-interval}")
+    public void purgeRefilled() {
+        if (enabled) {
+            limits.table().purge(System.nanoTime());
+        }
+    }
+
+    /**
+     * @brief Finds the user a request is made for.
+     * @param request The HTTP request.
+     * @return The user ID of a valid token, or null without one.
+     */
+    private String resolveUserId(HttpServletRequest request) {
+        String token = jwtUtils.extractTokenFromRequest(request);
+        if (token == null) {
+            return null;
+        }
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+        return verifiedToken.isValid() ? verifiedToken.subject() : null;
+    }
+
+    /**
+     * @brief Answers a request over its limit.
+     * @param response The HTTP response.
+     * @param applied The exhausted rule and its bucket.
+     * @throws IOException If the body cannot be written.
+     */
+    private void reject(HttpServletResponse response, Applied applied) throws IOException {
+        setHeaders(response, applied);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(applied.decision().retryAfterNanos())));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    /**
+     * @brief Sets the RateLimit headers of a rule and its bucket.
+     * @param response The HTTP response.
+     * @param applied The rule and its bucket.
+     */
+    private void setHeaders(HttpServletResponse response, Applied applied) {
+        response.setHeader(POLICY_HEADER, applied.rule().policy());
+        response.setHeader(LIMIT_HEADER, String.valueOf(applied.rule().capacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(applied.decision().remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(applied.decision().resetNanos())));
+    }
+
+    /**
+     * @brief Rounds a duration up to whole seconds.
+     * @param nanos The duration in nanoseconds.
+     * @return The seconds, at least one for any positive duration.
+     */
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * @file RateLimitRule.java
+ * @brief One request rate limit of the rate limit filter.
+ *
+ * A rule is written as "METHOD PATTERN SCOPE CAPACITY PERIOD", for example
+ * "POST /api/auth/register ip 5 60000": each client IP may register five times
+ * in a burst, then once every twelve seconds. A method of "*" matches any
+ * method, and the pattern follows Spring's PathPattern syntax.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Locale;
+
+/**
+ * @brief Token bucket limit for the requests matching a method and path pattern.
+ * @param method The HTTP method, or null for any method.
+ * @param pattern The path pattern.
+ * @param scope What each bucket of the rule is keyed by.
+ * @param capacity Requests allowed in a burst.
+ * @param periodMillis Milliseconds it takes an empty bucket to refill.
+ */
+public record RateLimitRule(String method, PathPattern pattern, Scope scope, int capacity, long periodMillis) {
+
+    /**
+     * @enum Scope
+     * @brief What a rule's buckets are keyed by.
+     */
+    public enum Scope {
+        /** The client IP address. */
+        IP,
+        /** The user of a valid token; requests without one are not counted. */
+        USER
+    }
+
+    /**
+     * @brief Parses a rule.
+     * @param rule The rule, as "METHOD PATTERN SCOPE CAPACITY PERIOD".
+     * @return The parsed rule.
+     * @throws IllegalArgumentException If the rule is malformed.
+     */
+    public static RateLimitRule parse(String rule) {
+        String[] parts = rule.trim().split("\\s+");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Rate limit rule needs METHOD PATTERN SCOPE CAPACITY PERIOD: " + rule);
+        }
+        String method = "*".equals(parts[0]) ? null : parts[0].toUpperCase(Locale.ROOT);
+        PathPattern pattern;
+        Scope scope;
+        int capacity;
+        long periodMillis;
+        try {
+            pattern = PathPatternParser.defaultInstance.parse(parts[1]);
+            scope = Scope.valueOf(parts[2].toUpperCase(Locale.ROOT));
+            capacity = Integer.parseInt(parts[3]);
+            periodMillis = Long.parseLong(parts[4]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid rate limit rule: " + rule, e);
+        }
+        if (capacity < 1 || periodMillis < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and period must be positive: " + rule);
+        }
+        return new RateLimitRule(method, pattern, scope, capacity, periodMillis);
+    }
+
+    /**
+     * @brief Checks whether a request falls under the rule.
+     * @param requestMethod The HTTP method of the request.
+     * @param path The parsed request path.
+     * @return True if the method and path match.
+     */
+    public boolean matches(String requestMethod, PathContainer path) {
+        return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+    }
+
+    /**
+     * @brief Gets the value of the RateLimit-Policy header.
+     * @return The capacity and the period in seconds, as "capacity;w=seconds".
+     */
+    public String policy() {
+        return capacity + ";w=" + Math.max(1, periodMillis / 1000);
+    }
+
+    /**
+     * @brief Gets the rule in the form it is configured in.
+     * @return The rule text.
+     */
+    @Override
+    public String toString() {
+        return (method == null ? "*" : method) + " " + pattern.getPatternString() + " "
+                + scope.name().toLowerCase(Locale.ROOT) + " " + capacity + " " + periodMillis;
+    }
+}
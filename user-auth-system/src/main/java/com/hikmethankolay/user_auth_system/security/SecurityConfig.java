@@ -14,14 +14,17 @@
  */
 package com.hikmethankolay.user_auth_system.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -37,12 +40,17 @@ public class SecurityConfig {
     /** JWT authentication filter. */
     private final JwtFilter jwtFilter;
 
+    /** Request rate limiting filter, run before the JWT filter. */
+    private final RateLimitFilter rateLimitFilter;
+
     /**
      * @brief Constructor for SecurityConfig.
      * @param jwtFilter The JWT authentication filter.
+     * @param rateLimitFilter The request rate limiting filter.
      */
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, RateLimitFilter rateLimitFilter) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
@@ -56,14 +64,23 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches only write the result of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST,"/api/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/register").permitAll()
+                        // RFC 7662 section 2.1: only authorized services may introspect tokens
+                        .requestMatchers(HttpMethod.POST, "/api/auth/introspect").hasRole("INTROSPECTOR")
+                        .requestMatchers(HttpMethod.POST, "/api/auth/validate-batch").hasRole("INTROSPECTOR")
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/logout-all").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/users/me").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/users/me").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/users/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/api/users/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE,"/api/users/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET,"/api/roles/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/actuator/metrics/**").hasRole("ADMIN")
                         .anyRequest().permitAll()
                 )
                 .exceptionHandling(ex -> ex
@@ -76,7 +93,25 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // Rejects floods before any token is verified or password hashed
+                .addFilterBefore(rateLimitFilter, JwtFilter.class);
         return http.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Bean definition propagating the security context to tasks run on other threads.
+     *
+     * Applied to the password hashing pool and to Spring's application task
+     * executor, so work handed off from a request runs with its authentication.
+     *
+     * Static so the pools can be built without the filters this configuration
+     * holds, which depend on services using those pools.
+     *
+     * @return A TaskDecorator capturing the submitting thread's context.
+     */
+    @Bean
+    public static TaskDecorator securityContextTaskDecorator() {
+        return DelegatingSecurityContextRunnable::new;
+    }
+}
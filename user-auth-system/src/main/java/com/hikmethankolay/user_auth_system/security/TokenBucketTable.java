@@ -0,0 +1,182 @@
+/**
+ * @file TokenBucketTable.java
+ * @brief Lock-striped table of request token buckets.
+ *
+ * Each bucket holds up to a rule's capacity of tokens and refills continuously
+ * at the capacity per period. A request takes one token, and is rejected when
+ * less than one is left.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @class TokenBucketTable
+ * @brief Fixed-size token bucket table split into independently locked stripes.
+ *
+ * A key always lands in the same stripe, so a check takes one uncontended lock
+ * in the common case and holds it for a few arithmetic operations. Each stripe
+ * keeps its buckets in access order and drops the least recently used one once
+ * it is full, so memory stays bounded however many clients send requests. A
+ * dropped bucket would have been refilled by the time it is used again unless
+ * the table is undersized for the traffic.
+ */
+final class TokenBucketTable {
+
+    /**
+     * @brief Outcome of a request against one bucket.
+     * @param allowed Whether the request may proceed.
+     * @param remaining Whole tokens left after the request.
+     * @param resetNanos Nanoseconds until the bucket is full again.
+     * @param retryAfterNanos Nanoseconds until a token is available, zero if allowed.
+     */
+    record Decision(boolean allowed, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    /**
+     * @class Bucket
+     * @brief Mutable bucket state, only accessed under its stripe's lock.
+     */
+    private static final class Bucket {
+
+        /** Tokens at the time of the last request. */
+        private double tokens;
+
+        /** Time of the last request, in System.nanoTime units. */
+        private long refilledAt;
+
+        /** Time at which the bucket is full again. */
+        private long fullAt;
+    }
+
+    /**
+     * @class Stripe
+     * @brief Lock and LRU-ordered buckets of one stripe.
+     */
+    private static final class Stripe extends ReentrantLock {
+
+        /** Buckets by key, least recently used first. */
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        /**
+         * @brief Constructor for Stripe.
+         * @param maxBuckets Number of buckets above which the least recently used is dropped.
+         */
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    /** Stripes, a power of two of them. */
+    private final Stripe[] stripes;
+
+    /**
+     * @brief Constructor for TokenBucketTable.
+     * @param stripeCount Number of stripes, rounded up to a power of two.
+     * @param maxTracked Maximum number of buckets over all stripes.
+     */
+    TokenBucketTable(int stripeCount, int maxTracked) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        int perStripe = Math.max(1, maxTracked / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * @brief Takes a token from a key's bucket if one is available.
+     * @param key The bucket key.
+     * @param capacity Tokens in a full bucket.
+     * @param periodNanos Nanoseconds it takes an empty bucket to refill.
+     * @param now The current System.nanoTime value.
+     * @return Whether the request is allowed and the bucket state after it.
+     */
+    Decision tryAcquire(String key, int capacity, long periodNanos, long now) {
+        double nanosPerToken = periodNanos / (double) capacity;
+        Stripe stripe = stripeFor(key);
+        stripe.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            double tokens = bucket == null
+                    ? capacity
+                    : Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) / nanosPerToken);
+            boolean allowed = tokens >= 1;
+            if (allowed) {
+                tokens -= 1;
+            }
+            if (bucket == null) {
+                bucket = new Bucket();
+                stripe.buckets.put(key, bucket);
+            }
+            bucket.tokens = tokens;
+            bucket.refilledAt = now;
+            bucket.fullAt = now + (long) ((capacity - tokens) * nanosPerToken);
+            long retryAfter = allowed ? 0 : (long) Math.ceil((1 - tokens) * nanosPerToken);
+            return new Decision(allowed, (int) tokens, bucket.fullAt - now, retryAfter);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * @brief Removes buckets that have refilled completely.
+     *
+     * A full bucket behaves exactly like a missing one, so dropping it only
+     * frees memory.
+     *
+     * @param now The current System.nanoTime value.
+     */
+    void purge(long now) {
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                stripe.buckets.values().removeIf(bucket -> bucket.fullAt - now <= 0);
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    /**
+     * @brief Gets the number of buckets held.
+     * @return The number of buckets over all stripes.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @brief Finds the stripe of a key.
+     * @param key The bucket key.
+     * @return The stripe.
+     */
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
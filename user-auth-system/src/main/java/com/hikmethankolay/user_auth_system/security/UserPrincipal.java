@@ -0,0 +1,62 @@
+/**
+ * @file UserPrincipal.java
+ * @brief Immutable snapshot of an authenticated user.
+ *
+ * Used as the principal of authenticated requests instead of the JPA entity,
+ * so it can be cached and shared between threads safely.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import com.hikmethankolay.user_auth_system.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * @class UserPrincipal
+ * @brief Principal holding the fields needed to authorize a request.
+ *
+ * @param id The user ID.
+ * @param username The username.
+ * @param role The role name, or null if the user has no role.
+ * @param tokenVersion The current token version.
+ * @param authorities The granted authorities derived from the role.
+ */
+public record UserPrincipal(Long id, String username, String role, int tokenVersion,
+                            List<GrantedAuthority> authorities) {
+
+    /**
+     * @brief Creates a principal from its fields, deriving the authorities from the role.
+     * @param id The user ID.
+     * @param username The username.
+     * @param role The role name, or null if the user has no role.
+     * @param tokenVersion The current token version.
+     */
+    public UserPrincipal(Long id, String username, String role, int tokenVersion) {
+        this(id, username, role, tokenVersion,
+                role != null ? List.of(new SimpleGrantedAuthority(role)) : List.of());
+    }
+
+    /**
+     * @brief Creates a snapshot of a user entity.
+     * @param user The user entity.
+     * @return The principal.
+     */
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getRole() != null ? user.getRole().getName().name() : null,
+                user.getTokenVersion()
+        );
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * @file AttemptLimit.java
+ * @brief Rate of failed login attempts allowed for one kind of key.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+/**
+ * @brief Limit of failed attempts per window.
+ *
+ * Attempts drain continuously at maxAttempts per window, so one attempt
+ * drains every window / maxAttempts milliseconds.
+ *
+ * @param maxAttempts Failed attempts allowed per window.
+ * @param window Window length in milliseconds.
+ */
+public record AttemptLimit(int maxAttempts, long window) {
+
+    /**
+     * @brief Gets the time it takes one attempt to drain.
+     * @return Interval in milliseconds, at least 1.
+     */
+    public long interval() {
+        return Math.max(1, window / maxAttempts);
+    }
+
+    /**
+     * @brief Drains a level over elapsed time.
+     * @param level The level at the start.
+     * @param elapsed Elapsed time in milliseconds.
+     * @return The drained level, never negative.
+     */
+    public double drain(double level, long elapsed) {
+        return Math.max(0, level - (double) Math.max(0, elapsed) * maxAttempts / window);
+    }
+}
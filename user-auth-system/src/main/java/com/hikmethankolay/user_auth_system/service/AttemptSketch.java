@@ -0,0 +1,121 @@
+/**
+ * @file AttemptSketch.java
+ * @brief Count-min sketch of decaying failed login attempts.
+ *
+ * Gives an approximate attempt count for any number of keys in fixed memory.
+ * Each cell is a leaky bucket kept as a theoretical arrival time: a failure
+ * moves it one emission interval past the later of its current value and now,
+ * and the level is how many intervals it lies ahead of now. Keys sharing a cell
+ * add to each other, so an estimate is never lower than the true count.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @class AttemptSketch
+ * @brief Fixed-size, lock-free approximate attempt counter.
+ *
+ * The hash is seeded randomly per instance, so an attacker cannot choose keys
+ * that collide with a victim's cells.
+ */
+final class AttemptSketch {
+
+    /** Cells, one row of width after the other. */
+    private final AtomicLongArray cells;
+
+    /** Number of rows. */
+    private final int depth;
+
+    /** Cells per row, a power of two. */
+    private final int width;
+
+    /** Seeded hash of keys. */
+    private final HashFunction hashFunction = Hashing.murmur3_128(new SecureRandom().nextInt());
+
+    /**
+     * @brief Constructor for AttemptSketch.
+     * @param width Cells per row, rounded up to a power of two.
+     * @param depth Number of rows.
+     */
+    AttemptSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.depth = depth;
+        this.cells = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * @brief Adds a failed attempt for a key.
+     * @param key The key.
+     * @param now The current time in epoch milliseconds.
+     * @param interval Milliseconds it takes one attempt to drain.
+     * @return The key's estimated level including this attempt.
+     */
+    double add(String key, long now, long interval) {
+        long hash = hashFunction.hashString(key, StandardCharsets.UTF_8).asLong();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long arrival = cells.updateAndGet(index(row, hash), tat -> Math.max(tat, now) + interval);
+            min = Math.min(min, arrival);
+        }
+        return level(min, now, interval);
+    }
+
+    /**
+     * @brief Estimates the attempts of a key.
+     * @param key The key.
+     * @param now The current time in epoch milliseconds.
+     * @param interval Milliseconds it takes one attempt to drain.
+     * @return The estimated level, at least the true level.
+     */
+    double estimate(String key, long now, long interval) {
+        long hash = hashFunction.hashString(key, StandardCharsets.UTF_8).asLong();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells.get(index(row, hash)));
+        }
+        return level(min, now, interval);
+    }
+
+    /**
+     * @brief Gets the memory used by the cells.
+     * @return Size of the cells in bytes.
+     */
+    long sizeInBytes() {
+        return (long) cells.length() * Long.BYTES;
+    }
+
+    /**
+     * @brief Finds a key's cell in a row.
+     *
+     * Derives one index per row from the two halves of the hash.
+     *
+     * @param row The row.
+     * @param hash The key's hash.
+     * @return The cell's position in the array.
+     */
+    private int index(int row, long hash) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return row * width + (combined & (width - 1));
+    }
+
+    /**
+     * @brief Converts a theoretical arrival time to a level.
+     * @param arrival The theoretical arrival time.
+     * @param now The current time in epoch milliseconds.
+     * @param interval Milliseconds it takes one attempt to drain.
+     * @return Attempts not yet drained.
+     */
+    private static double level(long arrival, long now, long interval) {
+        return Math.max(0, arrival - now) / (double) interval;
+    }
+}
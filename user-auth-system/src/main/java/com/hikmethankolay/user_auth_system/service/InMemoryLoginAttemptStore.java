@@ -0,0 +1,231 @@
+/**
+ * @file InMemoryLoginAttemptStore.java
+ * @brief Login attempt store kept in the memory of one instance.
+ *
+ * Each key holds a leaky bucket: a failure adds one attempt, and attempts drain
+ * continuously at the limit per window, so a blocked key gets one more try per
+ * drained attempt instead of waiting for a counter to expire.
+ *
+ * In bounded mode every failure goes to a fixed-size count-min sketch, and a
+ * key only gets an exact bucket once its estimate reaches half its limit. The
+ * exact table is capped, so memory stays fixed however many distinct keys an
+ * attacker sends.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * @class InMemoryLoginAttemptStore
+ * @brief Lock-free per-instance attempt buckets, optionally memory bounded.
+ *
+ * Buckets are updated with compare-and-set, so concurrent failures for the
+ * same key are never lost and no lock is taken on the login path. A bucket
+ * removed by a reset or a purge is first retired, which sends writers that
+ * still hold it back to the map for a fresh one.
+ *
+ * Bounded mode trades exactness for fixed memory. The sketch never
+ * underestimates, and decides alone only for keys without an exact bucket:
+ * keys below the admission level, or any key once the table is full. A key
+ * admitted to the table is charged half its limit, which is what its estimate
+ * had reached. Since the sketch cannot forget a key, a reset clears only the
+ * exact bucket, and the next failure readmits the key at half its limit.
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    /**
+     * @brief State of a bucket at the time of its last failure.
+     * @param level Attempts in the bucket when it was written.
+     * @param updatedAt Time of the write, in epoch milliseconds.
+     */
+    private record Attempts(double level, long updatedAt) {
+
+        /**
+         * @brief Computes the level after draining since the last write.
+         * @param now The current time in epoch milliseconds.
+         * @param limit The limit of the key type.
+         * @return The drained level, never negative.
+         */
+        double levelAt(long now, AttemptLimit limit) {
+            return limit.drain(level, now - updatedAt);
+        }
+    }
+
+    /** Marker for buckets that were removed from the map. */
+    private static final Attempts RETIRED = new Attempts(0, 0);
+
+    /** Logger for this class. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Buckets by key, one map per key type. */
+    private final Map<KeyType, ConcurrentHashMap<String, AtomicReference<Attempts>>> buckets = new EnumMap<>(KeyType.class);
+
+    /** Sketches by key type in bounded mode, empty otherwise. */
+    private final Map<KeyType, AttemptSketch> sketches = new EnumMap<>(KeyType.class);
+
+    /** Maximum number of exact buckets per key type in bounded mode. */
+    private final int maxTracked;
+
+    /** Source of the current time in epoch milliseconds. */
+    private final LongSupplier clock;
+
+    /**
+     * @brief Constructor using the system clock.
+     * @param bounded Whether to track attempts in a sketch with a capped exact table.
+     * @param sketchWidth Cells per sketch row in bounded mode.
+     * @param sketchDepth Sketch rows in bounded mode.
+     * @param maxTracked Maximum number of exact buckets per key type in bounded mode.
+     */
+    public InMemoryLoginAttemptStore(boolean bounded, int sketchWidth, int sketchDepth, int maxTracked) {
+        this(bounded, sketchWidth, sketchDepth, maxTracked, System::currentTimeMillis);
+    }
+
+    /**
+     * @brief Constructor with an explicit clock.
+     * @param bounded Whether to track attempts in a sketch with a capped exact table.
+     * @param sketchWidth Cells per sketch row in bounded mode.
+     * @param sketchDepth Sketch rows in bounded mode.
+     * @param maxTracked Maximum number of exact buckets per key type in bounded mode.
+     * @param clock Source of the current time in epoch milliseconds.
+     */
+    InMemoryLoginAttemptStore(boolean bounded, int sketchWidth, int sketchDepth, int maxTracked, LongSupplier clock) {
+        this.maxTracked = maxTracked;
+        this.clock = clock;
+        for (KeyType type : KeyType.values()) {
+            buckets.put(type, new ConcurrentHashMap<>());
+            if (bounded) {
+                sketches.put(type, new AttemptSketch(sketchWidth, sketchDepth));
+            }
+        }
+        if (bounded) {
+            logger.info(String.format("Bounded login attempt tracking uses %d bytes of sketch per key type",
+                    sketches.get(KeyType.IP).sizeInBytes()));
+        }
+    }
+
+    /**
+     * @brief Adds a failed attempt to the key's bucket.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     * @param limit The limit of the key type.
+     */
+    @Override
+    public void recordFailure(KeyType type, String key, AttemptLimit limit) {
+        ConcurrentHashMap<String, AtomicReference<Attempts>> map = buckets.get(type);
+        AttemptSketch sketch = sketches.get(type);
+        boolean sketched = false;
+        while (true) {
+            long now = clock.getAsLong();
+            AtomicReference<Attempts> bucket = map.get(key);
+            if (bucket == null) {
+                double level = 1;
+                if (sketch != null) {
+                    if (!sketched) {
+                        level = sketch.add(key, now, limit.interval());
+                        sketched = true;
+                    } else {
+                        level = sketch.estimate(key, now, limit.interval());
+                    }
+                    if (level < admissionLevel(limit) || map.size() >= maxTracked) {
+                        return;
+                    }
+                    level = admissionLevel(limit);
+                }
+                if (map.putIfAbsent(key, new AtomicReference<>(new Attempts(level, now))) == null) {
+                    return;
+                }
+                continue;
+            }
+            Attempts current = bucket.get();
+            if (current == RETIRED) {
+                // Finish the removal so the next pass installs a fresh bucket
+                map.remove(key, bucket);
+                continue;
+            }
+            Attempts next = new Attempts(current.levelAt(now, limit) + 1, now);
+            if (bucket.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @brief Clears the key's bucket.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     */
+    @Override
+    public void reset(KeyType type, String key) {
+        ConcurrentHashMap<String, AtomicReference<Attempts>> map = buckets.get(type);
+        AtomicReference<Attempts> bucket = map.get(key);
+        if (bucket != null) {
+            bucket.set(RETIRED);
+            map.remove(key, bucket);
+        }
+    }
+
+    /**
+     * @brief Gets the current number of attempts of a key.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     * @param limit The limit of the key type.
+     * @return The drained number of attempts in the key's bucket. Without a
+     *         bucket, the sketch estimate in bounded mode and zero otherwise.
+     */
+    @Override
+    public double attempts(KeyType type, String key, AttemptLimit limit) {
+        long now = clock.getAsLong();
+        AtomicReference<Attempts> bucket = buckets.get(type).get(key);
+        if (bucket != null) {
+            return bucket.get().levelAt(now, limit);
+        }
+        AttemptSketch sketch = sketches.get(type);
+        return sketch != null ? sketch.estimate(key, now, limit.interval()) : 0;
+    }
+
+    /**
+     * @brief Removes buckets that have fully drained.
+     * @param type The kind of key.
+     * @param limit The limit of the key type.
+     */
+    @Override
+    public void purge(KeyType type, AttemptLimit limit) {
+        long now = clock.getAsLong();
+        ConcurrentHashMap<String, AtomicReference<Attempts>> map = buckets.get(type);
+        map.forEach((key, bucket) -> {
+            Attempts current = bucket.get();
+            if (current.levelAt(now, limit) == 0 && bucket.compareAndSet(current, RETIRED)) {
+                map.remove(key, bucket);
+            }
+        });
+    }
+
+    /**
+     * @brief Gets the number of keys with an exact bucket.
+     * @param type The kind of key.
+     * @return The number of buckets.
+     */
+    int size(KeyType type) {
+        return buckets.get(type).size();
+    }
+
+    /**
+     * @brief Gets the level at which bounded mode gives a key an exact bucket.
+     * @param limit The limit of the key type.
+     * @return Half the limit.
+     */
+    private static double admissionLevel(AttemptLimit limit) {
+        return limit.maxAttempts() / 2.0;
+    }
+}
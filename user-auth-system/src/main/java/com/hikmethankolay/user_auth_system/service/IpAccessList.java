@@ -0,0 +1,134 @@
+/**
+ * @file IpAccessList.java
+ * @brief Static allow and deny lists of client addresses and subnets.
+ *
+ * Lists are plain text files with one address or CIDR prefix per line; blank
+ * lines and text after '#' are ignored. They are loaded once at startup into a
+ * radix trie, and the longest prefix containing an address decides, so a
+ * single allowed address can be carved out of a denied subnet. A prefix listed
+ * in both files is denied.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.util.CidrTrie;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+/**
+ * @class IpAccessList
+ * @brief Looks up whether a client address is always allowed, always denied, or neither.
+ */
+@Service
+public class IpAccessList {
+
+    /**
+     * @enum Access
+     * @brief Decision of the lists for an address.
+     */
+    public enum Access {
+        /** The address is on neither list. */
+        NONE,
+        /** The address is never blocked by failed attempts. */
+        ALLOW,
+        /** The address is always blocked. */
+        DENY
+    }
+
+    /** Trie value of allowed prefixes. */
+    private static final byte ALLOWED = 1;
+
+    /** Trie value of denied prefixes. */
+    private static final byte DENIED = 2;
+
+    /** Logger for this class. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Path of the allow list, empty for none. */
+    @Value("${api.security.ip-access.allow-file}")
+    private String allowFile;
+
+    /** Path of the deny list, empty for none. */
+    @Value("${api.security.ip-access.deny-file}")
+    private String denyFile;
+
+    /** Prefixes of both lists. */
+    private volatile CidrTrie trie = new CidrTrie();
+
+    /**
+     * @brief Loads the configured lists.
+     * @throws IllegalStateException If a list cannot be read or holds a malformed entry.
+     */
+    @PostConstruct
+    public void load() {
+        CidrTrie loaded = new CidrTrie();
+        read(loaded, allowFile, ALLOWED);
+        read(loaded, denyFile, DENIED);
+        trie = loaded;
+        if (loaded.size() > 0) {
+            logger.info(String.format("Loaded %d IP access list entries into %d bytes", loaded.size(), loaded.sizeInBytes()));
+        }
+    }
+
+    /**
+     * @brief Looks up an address.
+     *
+     * Takes time proportional to the longest matching prefix and allocates nothing.
+     * The address must come from ClientIp, which ignores X-Forwarded-For unless
+     * it was set by a trusted proxy; otherwise any client could claim an
+     * allowed address.
+     *
+     * @param address The client address literal.
+     * @return ALLOW or DENY from the longest listed prefix containing the address, NONE otherwise.
+     */
+    public Access check(String address) {
+        return switch (trie.match(address)) {
+            case ALLOWED -> Access.ALLOW;
+            case DENIED -> Access.DENY;
+            default -> Access.NONE;
+        };
+    }
+
+    /**
+     * @brief Adds the entries of a list file to a trie.
+     * @param target The trie.
+     * @param file Path of the file, empty for none.
+     * @param value The value of the list's entries.
+     * @throws IllegalStateException If the file cannot be read or holds a malformed entry.
+     */
+    private static void read(CidrTrie target, String file, byte value) {
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                String entry = (comment < 0 ? line : line.substring(0, comment)).trim();
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                try {
+                    target.insert(entry, value);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalStateException(file + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read IP access list " + file, e);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/**
+ * @file JdbcLoginAttemptStore.java
+ * @brief Login attempt store shared by all instances through PostgreSQL.
+ *
+ * Counts kept per instance let every instance allow the full limit and are
+ * lost on restart. This store keeps them in the unlogged login_attempts table
+ * instead. Failed logins never write to the database directly: they are
+ * added up locally and flushed periodically as one batch of upserts, and
+ * reads go through a short-lived local snapshot, or straight to the database
+ * when the refresh interval is zero.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+import com.hikmethankolay.user_auth_system.util.SingleFlight;
+import jakarta.annotation.PreDestroy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * @class JdbcLoginAttemptStore
+ * @brief Database backed attempt counts with local pre-aggregation.
+ *
+ * Each row holds a leaky bucket as a theoretical arrival time: flushing n
+ * failures moves it n drain intervals past the later of its current value and
+ * the database clock, so every instance drains on the same clock.
+ *
+ * An instance sees the database count as of its last read, plus its own
+ * failures not yet confirmed by a read. Failures on other instances show up
+ * within the flush interval plus the refresh interval, or as soon as they are
+ * flushed with a zero refresh interval. If the database is
+ * unavailable, an instance falls back to its own failures and keeps them for
+ * the next flush.
+ */
+public class JdbcLoginAttemptStore implements LoginAttemptStore {
+
+    /** Current time of the database in epoch milliseconds. */
+    private static final String DB_NOW = "(EXTRACT(EPOCH FROM statement_timestamp()) * 1000)::BIGINT";
+
+    /** Upsert adding a number of drain intervals to a bucket. */
+    static final String UPSERT = "INSERT INTO login_attempts (key_type, attempt_key, arrival_at) VALUES (?, ?, "
+            + DB_NOW + " + ?) ON CONFLICT (key_type, attempt_key) DO UPDATE SET arrival_at = "
+            + "GREATEST(login_attempts.arrival_at, " + DB_NOW + ") + ?";
+
+    /** Query reading how far ahead of now a bucket's arrival time is. */
+    static final String SELECT_AHEAD = "SELECT GREATEST(arrival_at - " + DB_NOW
+            + ", 0) FROM login_attempts WHERE key_type = ? AND attempt_key = ?";
+
+    /** Delete clearing one bucket. */
+    static final String DELETE = "DELETE FROM login_attempts WHERE key_type = ? AND attempt_key = ?";
+
+    /** Delete removing drained buckets. */
+    static final String PURGE = "DELETE FROM login_attempts WHERE key_type = ? AND arrival_at <= " + DB_NOW;
+
+    /** Marker for pending counts that were taken by a flush. */
+    private static final int RETIRED = -1;
+
+    /**
+     * @brief Key of a bucket.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     */
+    private record AttemptKey(KeyType type, String key) {
+    }
+
+    /**
+     * @brief Database state of a bucket as of a read.
+     * @param ahead Milliseconds the arrival time was ahead of the database clock.
+     * @param readAt Local time of the read, in epoch milliseconds.
+     */
+    private record Snapshot(long ahead, long readAt) {
+    }
+
+    /**
+     * @brief Failures of one key taken by a flush.
+     * @param attemptKey The key.
+     * @param count Number of failures.
+     * @param interval Drain interval of the key type in milliseconds.
+     */
+    private record Flushed(AttemptKey attemptKey, int count, long interval) {
+    }
+
+    /**
+     * @class PendingFailures
+     * @brief Failures of one key recorded since the last flush.
+     */
+    private static final class PendingFailures {
+
+        /** Number of failures, or RETIRED once taken by a flush. */
+        final AtomicInteger count = new AtomicInteger();
+
+        /** Drain interval of the key type in milliseconds. */
+        final long interval;
+
+        /**
+         * @brief Constructor for PendingFailures.
+         * @param interval Drain interval of the key type in milliseconds.
+         */
+        PendingFailures(long interval) {
+            this.interval = interval;
+        }
+    }
+
+    /** Logger for database failures. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** JDBC access to the login_attempts table. */
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Failures not yet flushed, by key. */
+    private final Map<AttemptKey, PendingFailures> pending = new ConcurrentHashMap<>();
+
+    /** Failures being flushed, counted until the flush commits. */
+    private final Map<AttemptKey, Integer> flushing = new ConcurrentHashMap<>();
+
+    /** Keys reset since the last flush. */
+    private final Set<AttemptKey> pendingResets = ConcurrentHashMap.newKeySet();
+
+    /** Recently read database state by key, or null to read through on every check. */
+    private final AsyncCache<AttemptKey, Snapshot> snapshots;
+
+    /** Serializes flushes. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * @brief Constructor for JdbcLoginAttemptStore.
+     * @param jdbcTemplate The JDBC template instance.
+     * @param refreshInterval Lifetime of a local snapshot in milliseconds; 0
+     *        reads the database on every check.
+     * @param cacheMaxSize Maximum number of local snapshots.
+     */
+    public JdbcLoginAttemptStore(JdbcTemplate jdbcTemplate, long refreshInterval, long cacheMaxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshots = refreshInterval <= 0 ? null : Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(refreshInterval))
+                .maximumSize(cacheMaxSize)
+                .buildAsync();
+    }
+
+    /**
+     * @brief Adds a failure to the local count of a key.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     * @param limit The limit of the key type.
+     */
+    @Override
+    public void recordFailure(KeyType type, String key, AttemptLimit limit) {
+        add(new AttemptKey(type, key), 1, limit.interval());
+    }
+
+    /**
+     * @brief Clears a key locally at once and in the database on the next flush.
+     *
+     * Failures of the key not yet flushed are dropped.
+     *
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     */
+    @Override
+    public void reset(KeyType type, String key) {
+        AttemptKey attemptKey = new AttemptKey(type, key);
+        pendingResets.add(attemptKey);
+        PendingFailures failures = pending.get(attemptKey);
+        if (failures != null) {
+            failures.count.set(RETIRED);
+            pending.remove(attemptKey, failures);
+        }
+    }
+
+    /**
+     * @brief Gets the attempts of a key as seen by this instance.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     * @param limit The limit of the key type.
+     * @return The database count as of the last read plus the local failures
+     *         made since.
+     */
+    @Override
+    public double attempts(KeyType type, String key, AttemptLimit limit) {
+        AttemptKey attemptKey = new AttemptKey(type, key);
+        double level = 0;
+        if (!pendingResets.contains(attemptKey)) {
+            Snapshot snapshot = snapshots == null ? read(attemptKey) : SingleFlight.load(snapshots, attemptKey, this::read);
+            long ahead = snapshot.ahead() - (System.currentTimeMillis() - snapshot.readAt());
+            level = Math.max(0, ahead) / (double) limit.interval();
+        }
+        return level + flushing.getOrDefault(attemptKey, 0) + pendingCount(attemptKey);
+    }
+
+    /**
+     * @brief Removes drained buckets of a key type from the database.
+     * @param type The kind of key.
+     * @param limit The limit of the key type.
+     */
+    @Override
+    public void purge(KeyType type, AttemptLimit limit) {
+        try {
+            jdbcTemplate.update(PURGE, type.name());
+        } catch (DataAccessException e) {
+            logger.warning("Could not purge login attempts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @brief Writes resets and buffered failures to the database.
+     *
+     * Resets are applied first, so failures made after a reset land on a
+     * fresh row. Upserts are sorted by key, so concurrent flushes from
+     * different instances lock rows in the same order and cannot deadlock.
+     * Failures that cannot be written are kept for the next flush.
+     */
+    @Override
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushResets();
+            flushFailures();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @brief Flushes buffered failures on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * @brief Deletes the rows of keys reset since the last flush.
+     */
+    private void flushResets() {
+        List<AttemptKey> resets = List.copyOf(pendingResets);
+        if (resets.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(DELETE, resets.stream()
+                    .map(attemptKey -> new Object[] {attemptKey.type().name(), attemptKey.key()})
+                    .toList());
+        } catch (DataAccessException e) {
+            logger.warning("Could not reset login attempts: " + e.getMessage());
+            return;
+        }
+        resets.forEach(pendingResets::remove);
+        invalidate(resets);
+    }
+
+    /**
+     * @brief Adds the failures buffered since the last flush to the database.
+     */
+    private void flushFailures() {
+        List<Flushed> taken = new ArrayList<>();
+        for (Map.Entry<AttemptKey, PendingFailures> entry : pending.entrySet()) {
+            PendingFailures failures = entry.getValue();
+            int count = failures.count.getAndSet(RETIRED);
+            if (count > 0) {
+                flushing.merge(entry.getKey(), count, Integer::sum);
+                taken.add(new Flushed(entry.getKey(), count, failures.interval));
+            }
+            pending.remove(entry.getKey(), failures);
+        }
+        if (taken.isEmpty()) {
+            return;
+        }
+        taken.sort(Comparator.comparing((Flushed flushed) -> flushed.attemptKey().type())
+                .thenComparing(flushed -> flushed.attemptKey().key()));
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT, taken.stream().map(flushed -> {
+                long delta = flushed.count() * flushed.interval();
+                return new Object[] {flushed.attemptKey().type().name(), flushed.attemptKey().key(), delta, delta};
+            }).toList());
+            invalidate(taken.stream().map(Flushed::attemptKey).toList());
+        } catch (DataAccessException e) {
+            logger.warning("Could not flush login attempts, keeping them for the next flush: " + e.getMessage());
+            taken.forEach(flushed -> add(flushed.attemptKey(), flushed.count(), flushed.interval()));
+        } finally {
+            flushing.clear();
+        }
+    }
+
+    /**
+     * @brief Drops the local snapshots of keys written by a flush.
+     * @param attemptKeys The keys.
+     */
+    private void invalidate(List<AttemptKey> attemptKeys) {
+        if (snapshots != null) {
+            snapshots.synchronous().invalidateAll(attemptKeys);
+        }
+    }
+
+    /**
+     * @brief Reads the database state of a bucket.
+     * @param attemptKey The key.
+     * @return The state, empty if the key has no row or the read failed.
+     */
+    private Snapshot read(AttemptKey attemptKey) {
+        long readAt = System.currentTimeMillis();
+        try {
+            List<Long> ahead = jdbcTemplate.queryForList(SELECT_AHEAD, Long.class,
+                    attemptKey.type().name(), attemptKey.key());
+            return new Snapshot(ahead.isEmpty() ? 0 : ahead.getFirst(), readAt);
+        } catch (DataAccessException e) {
+            logger.warning("Could not read login attempts: " + e.getMessage());
+            return new Snapshot(0, readAt);
+        }
+    }
+
+    /**
+     * @brief Adds failures to the local count of a key.
+     * @param attemptKey The key.
+     * @param count Number of failures.
+     * @param interval Drain interval of the key type in milliseconds.
+     */
+    private void add(AttemptKey attemptKey, int count, long interval) {
+        while (true) {
+            PendingFailures failures = pending.get(attemptKey);
+            if (failures == null) {
+                PendingFailures created = new PendingFailures(interval);
+                created.count.set(count);
+                if (pending.putIfAbsent(attemptKey, created) == null) {
+                    return;
+                }
+                continue;
+            }
+            int current = failures.count.get();
+            if (current == RETIRED) {
+                // Finish the removal so the next pass installs a fresh count
+                pending.remove(attemptKey, failures);
+                continue;
+            }
+            if (failures.count.compareAndSet(current, current + count)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @brief Gets the local failures of a key not yet taken by a flush.
+     * @param attemptKey The key.
+     * @return Number of failures.
+     */
+    private int pendingCount(AttemptKey attemptKey) {
+        PendingFailures failures = pending.get(attemptKey);
+        return failures == null ? 0 : Math.max(0, failures.count.get());
+    }
+}
@@ -3,7 +3,15 @@
  * @brief Service for tracking and limiting login attempts.
  *
  * This service prevents brute force attacks by tracking failed login attempts
- * and blocking users who exceed the maximum allowed attempts within a time window.
+ * and blocking clients and accounts that exceed the allowed rate of failures.
+ * Attempts drain continuously at the limit per window, so a blocked key gets
+ * one more try per drained attempt instead of waiting for a counter to expire.
+ * The counts themselves live in a LoginAttemptStore, either in memory or in
+ * the database shared by all instances.
+ *
+ * Failures of an IP address also count against its subnet, so an attacker
+ * rotating through the addresses of one /24 or /64 is blocked as a whole.
+ * Static allow and deny lists take precedence over both counts.
  *
  * @author Hikmethan Kolay
  * @date 2025-03-29
@@ -11,78 +19,207 @@
 
 package com.hikmethankolay.user_auth_system.service;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.hikmethankolay.user_auth_system.service.IpAccessList.Access;
+import com.hikmethankolay.user_auth_system.util.IpLiteral;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-
 /**
  * @class LoginAttemptService
  * @brief Service to prevent brute force attacks by limiting login attempts.
  *
- * This service maintains a time-based cache of login attempts, blocking users
- * who exceed the maximum allowed number of failed attempts within a time period.
+ * Holds the limits of each key type and applies them to the counts kept by
+ * the configured store.
  */
 @Service
 public class LoginAttemptService {
-    /** Maximum number of login attempts allowed before blocking. */
-    private final int MAX_ATTEMPT = 10;
 
-    /** Cache storing the number of failed attempts by identifier (username or IP). */
-    private final LoadingCache<String, Integer> attemptsCache;
+    /**
+     * @enum KeyType
+     * @brief Kind of key an attempt is counted against, each with its own limit.
+     */
+    public enum KeyType {
+        /** The client IP address. */
+        IP,
+        /** The username or email the login was attempted for. */
+        IDENTIFIER,
+        /** The subnet of the client IP address, such as "203.0.113.0/24". */
+        SUBNET
+    }
+
+    /** Failed attempts allowed per window for an IP address. */
+    @Value("${api.security.login-attempts.ip.max-attempts}")
+    private Integer ipMaxAttempts;
+
+    /** Window over which IP address attempts drain, in milliseconds. */
+    @Value("${api.security.login-attempts.ip.window}")
+    private Long ipWindow;
+
+    /** Failed attempts allowed per window for an identifier. */
+    @Value("${api.security.login-attempts.identifier.max-attempts}")
+    private Integer identifierMaxAttempts;
+
+    /** Window over which identifier attempts drain, in milliseconds. */
+    @Value("${api.security.login-attempts.identifier.window}")
+    private Long identifierWindow;
+
+    /** Whether failures of an IP address also count against its subnet. */
+    @Value("${api.security.login-attempts.subnet.enabled}")
+    private Boolean subnetEnabled;
+
+    /** Prefix length of the subnets IPv4 addresses are aggregated into. */
+    @Value("${api.security.login-attempts.subnet.ipv4-prefix}")
+    private Integer subnetIpv4Prefix;
+
+    /** Prefix length of the subnets IPv6 addresses are aggregated into. */
+    @Value("${api.security.login-attempts.subnet.ipv6-prefix}")
+    private Integer subnetIpv6Prefix;
+
+    /** Failed attempts allowed per window for a subnet. */
+    @Value("${api.security.login-attempts.subnet.max-attempts}")
+    private Integer subnetMaxAttempts;
+
+    /** Window over which subnet attempts drain, in milliseconds. */
+    @Value("${api.security.login-attempts.subnet.window}")
+    private Long subnetWindow;
+
+    /** Store keeping the attempt counts. */
+    private final LoginAttemptStore loginAttemptStore;
+
+    /** Static allow and deny lists of client addresses. */
+    private final IpAccessList ipAccessList;
 
     /**
-     * @brief Constructor initializing the attempts cache.
-     *
-     * Sets up a cache that expires entries after 1 hour of inactivity.
+     * @brief Constructor for LoginAttemptService.
+     * @param loginAttemptStore The login attempt store instance.
+     * @param ipAccessList The IP access list instance.
      */
-    public LoginAttemptService() {
-        attemptsCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(1, TimeUnit.HOURS)
-                .build(new CacheLoader<>() {
-                    @Override
-                    public Integer load(String key) {
-                        return 0;
-                    }
-                });
+    public LoginAttemptService(LoginAttemptStore loginAttemptStore, IpAccessList ipAccessList) {
+        this.loginAttemptStore = loginAttemptStore;
+        this.ipAccessList = ipAccessList;
     }
 
     /**
-     * @brief Clears the login attempts count for successful logins.
+     * @brief Clears the login attempts for successful logins.
+     *
+     * The subnet of an IP address keeps its count, since one successful
+     * client says nothing about the other addresses in it.
+     *
+     * @param type The kind of key.
      * @param key The identifier (username or IP) of the login attempt.
      */
-    public void loginSucceeded(String key) {
-        attemptsCache.invalidate(key);
+    public void loginSucceeded(KeyType type, String key) {
+        loginAttemptStore.reset(type, key);
     }
 
     /**
-     * @brief Increments the login attempts count for failed logins.
+     * @brief Adds a failed attempt to the key's count.
+     *
+     * A failure of an IP address also counts against its subnet. Allowed
+     * addresses are not counted, so they cannot push their subnet over its limit.
+     *
+     * @param type The kind of key.
      * @param key The identifier (username or IP) of the login attempt.
      */
-    public void loginFailed(String key) {
-        int attempts;
-        try {
-            attempts = attemptsCache.get(key);
-        } catch (ExecutionException e) {
-            attempts = 0;
+    public void loginFailed(KeyType type, String key) {
+        if (type == KeyType.IP && ipAccessList.check(key) == Access.ALLOW) {
+            return;
+        }
+        loginAttemptStore.recordFailure(type, key, limit(type));
+        if (type == KeyType.IP) {
+            String subnet = subnetOf(key);
+            if (subnet != null) {
+                loginAttemptStore.recordFailure(KeyType.SUBNET, subnet, limit(KeyType.SUBNET));
+            }
         }
-        attempts++;
-        attemptsCache.put(key, attempts);
     }
 
     /**
-     * @brief Checks if a user is blocked due to excessive login attempts.
+     * @brief Checks if a key is blocked due to excessive login attempts.
+     *
+     * A key is blocked while it holds more than one attempt less than the
+     * limit, so the limit'th failure in a burst blocks it. An IP address is
+     * also blocked when it is denied by the access list or its subnet is
+     * blocked, and never when it is allowed by the access list.
+     *
+     * @param type The kind of key.
      * @param key The identifier (username or IP) to check.
-     * @return True if the user has exceeded the maximum allowed attempts.
+     * @return True if the key has exceeded the allowed attempts.
      */
-    public boolean isBlocked(String key) {
-        try {
-            return attemptsCache.get(key) >= MAX_ATTEMPT;
-        } catch (ExecutionException e) {
-            return false;
+    public boolean isBlocked(KeyType type, String key) {
+        if (type != KeyType.IP) {
+            return isOverLimit(type, key);
+        }
+        Access access = ipAccessList.check(key);
+        if (access != Access.NONE) {
+            return access == Access.DENY;
+        }
+        if (isOverLimit(KeyType.IP, key)) {
+            return true;
         }
+        String subnet = subnetOf(key);
+        return subnet != null && isOverLimit(KeyType.SUBNET, subnet);
+    }
+
+    /**
+     * @brief Gets the current number of attempts of a key.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     * @return The drained number of attempts.
+     */
+    double attempts(KeyType type, String key) {
+        return loginAttemptStore.attempts(type, key, limit(type));
+    }
+
+    /**
+     * @brief Removes keys whose attempts have fully drained.
+     */
+    @Scheduled(fixedDelayString = "${api.security.login-attempts.purge-interval}")
+    public void purgeDrained() {
+        for (KeyType type : KeyType.values()) {
+            loginAttemptStore.purge(type, limit(type));
+        }
+    }
+
+    /**
+     * @brief Writes out attempts the store buffers locally.
+     */
+    @Scheduled(fixedDelayString = "${api.security.login-attempts.flush-interval}")
+    public void flush() {
+        loginAttemptStore.flush();
+    }
+
+    /**
+     * @brief Gets the subnet an IP address is aggregated into.
+     * @param ip The IP address.
+     * @return The subnet key, or null if aggregation is disabled or the key is not an address literal.
+     */
+    String subnetOf(String ip) {
+        return subnetEnabled ? IpLiteral.subnet(ip, subnetIpv4Prefix, subnetIpv6Prefix) : null;
+    }
+
+    /**
+     * @brief Checks a key's count against its limit.
+     * @param type The kind of key.
+     * @param key The key.
+     * @return True if the key holds more than one attempt less than the limit.
+     */
+    private boolean isOverLimit(KeyType type, String key) {
+        AttemptLimit limit = limit(type);
+        return loginAttemptStore.attempts(type, key, limit) > limit.maxAttempts() - 1;
+    }
+
+    /**
+     * @brief Gets the limit of a key type.
+     * @param type The kind of key.
+     * @return Attempts allowed per window and the window length.
+     */
+    private AttemptLimit limit(KeyType type) {
+        return switch (type) {
+            case IP -> new AttemptLimit(ipMaxAttempts, ipWindow);
+            case IDENTIFIER -> new AttemptLimit(identifierMaxAttempts, identifierWindow);
+            case SUBNET -> new AttemptLimit(subnetMaxAttempts, subnetWindow);
+        };
     }
-} 
\ No newline at end of file
+}
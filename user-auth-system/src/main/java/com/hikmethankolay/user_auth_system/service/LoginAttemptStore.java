@@ -0,0 +1,64 @@
+/**
+ * @file LoginAttemptStore.java
+ * @brief Storage of failed login attempts.
+ *
+ * Separates where attempt counts live from the limits LoginAttemptService
+ * enforces, so instances behind a load balancer can share one store.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+
+/**
+ * @interface LoginAttemptStore
+ * @brief Keeps a draining count of failed attempts per key.
+ *
+ * Implementations must be thread safe and must not lose failures recorded
+ * concurrently for the same key. Counts drain at the rate of the limit passed
+ * with each call.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * @brief Records a failed attempt.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     * @param limit The limit of the key type.
+     */
+    void recordFailure(KeyType type, String key, AttemptLimit limit);
+
+    /**
+     * @brief Clears the attempts of a key.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     */
+    void reset(KeyType type, String key);
+
+    /**
+     * @brief Gets the current number of attempts of a key.
+     * @param type The kind of key.
+     * @param key The identifier (username or IP).
+     * @param limit The limit of the key type.
+     * @return The drained number of attempts.
+     */
+    double attempts(KeyType type, String key, AttemptLimit limit);
+
+    /**
+     * @brief Removes keys whose attempts have fully drained.
+     * @param type The kind of key.
+     * @param limit The limit of the key type.
+     */
+    void purge(KeyType type, AttemptLimit limit);
+
+    /**
+     * @brief Writes out attempts buffered locally.
+     *
+     * Called periodically; does nothing for stores that write immediately.
+     */
+    default void flush() {
+    }
+}
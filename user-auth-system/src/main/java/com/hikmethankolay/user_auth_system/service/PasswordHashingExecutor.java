@@ -0,0 +1,112 @@
+/**
+ * @file PasswordHashingExecutor.java
+ * @brief Dedicated executor for password hashing and verification.
+ *
+ * BCrypt costs tens of milliseconds of CPU per call. Running it on request
+ * threads lets a burst of logins starve cheap endpoints, so operations that
+ * hash or verify passwords run here instead: a pool sized to the CPU count
+ * with a bounded queue. When the queue is full, work is rejected at once
+ * rather than waiting behind an ever growing backlog.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @class PasswordHashingExecutor
+ * @brief Bounded pool running password work off the request threads.
+ *
+ * Uses platform threads even when request handling runs on virtual threads:
+ * hashing is CPU bound, and the pool is what bounds how many hashes run at once.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    /** Maximum number of tasks waiting for a thread. */
+    @Value("${api.security.password-hashing.queue-capacity}")
+    private Integer queueCapacity;
+
+    /** Retry-After value sent when the queue is full, in seconds. */
+    @Value("${api.security.password-hashing.retry-after}")
+    private Long retryAfterSeconds;
+
+    /** Underlying pool. */
+    private ThreadPoolExecutor executor;
+
+    /** Decorator propagating the submitter's context to the pool thread. */
+    private final TaskDecorator taskDecorator;
+
+    /**
+     * @brief Constructor for PasswordHashingExecutor.
+     * @param taskDecorator The decorator applied to every task.
+     */
+    public PasswordHashingExecutor(TaskDecorator taskDecorator) {
+        this.taskDecorator = taskDecorator;
+    }
+
+    /**
+     * @brief Creates the pool with one thread per available processor.
+     */
+    @PostConstruct
+    public void init() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @brief Runs a task on the pool.
+     * @param task The task, typically a login, registration or password change.
+     * @param <T> The result type.
+     * @return A future completed with the task's result on a pool thread,
+     *         which runs with the caller's security context.
+     * @throws ServerBusyException If the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, runnable -> executor.execute(taskDecorator.decorate(runnable)));
+        } catch (RejectedExecutionException e) {
+            throw new ServerBusyException("Server is busy, please try again later", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * @brief Gets the underlying pool for metrics registration.
+     * @return The thread pool.
+     */
+    public ThreadPoolExecutor nativeExecutor() {
+        return executor;
+    }
+
+    /**
+     * @brief Stops the pool, letting queued tasks finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,301 @@
+/**
+ * @file PasswordMigrationService.java
+ * @brief Background job upgrading stored password hashes in bulk.
+ *
+ * Rehash-on-login only reaches users who log in. This job walks the users
+ * table in ID order and upgrades the hashes of everyone else without knowing
+ * their passwords: BCrypt hashes are wrapped in a hash of the configured
+ * algorithm (see WrappedPasswordEncoder), or only given their {bcrypt} prefix
+ * when BCrypt is still the configured algorithm.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.hikmethankolay.user_auth_system.dto.PasswordMigrationStatusDTO;
+import com.hikmethankolay.user_auth_system.entity.PasswordMigrationCheckpoint;
+import com.hikmethankolay.user_auth_system.repository.PasswordMigrationCheckpointRepository;
+import com.hikmethankolay.user_auth_system.util.WrappedPasswordEncoder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @class PasswordMigrationService
+ * @brief Admin triggered, resumable and throttled password hash migration.
+ *
+ * Each chunk is read with one query, hashed in parallel on a pool limited to
+ * a share of the CPUs, written back with one batch of compare-and-set updates
+ * and then recorded in the checkpoint. Upgraded hashes are skipped when seen
+ * again, so a chunk repeated after a crash between the update and the
+ * checkpoint does no harm.
+ */
+@Service
+public class PasswordMigrationService {
+
+    /** Name of the checkpoint row. */
+    static final String JOB_NAME = "password-hash-migration";
+
+    /** Query reading the next chunk of users. */
+    static final String SELECT_CHUNK = "SELECT id, password FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    /** Update replacing a hash only if it did not change since it was read. */
+    static final String UPDATE_HASH = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+
+    /** ID prefix of BCrypt hashes. */
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+
+    /** Logger for progress and failures. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** JDBC access for chunked reads and batched writes. */
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Encoder creating the outer hashes. */
+    private final PasswordEncoder passwordEncoder;
+
+    /** Repository storing the progress. */
+    private final PasswordMigrationCheckpointRepository checkpointRepository;
+
+    /** Algorithm used for new hashes. */
+    @Value("${api.security.password.algorithm}")
+    private String algorithm;
+
+    /** Number of users read per chunk. */
+    @Value("${api.security.password-migration.chunk-size}")
+    private Integer chunkSize;
+
+    /** Maximum number of users processed per second. */
+    @Value("${api.security.password-migration.rows-per-second}")
+    private Double rowsPerSecond;
+
+    /** Share of the CPUs the job may use for hashing, between 0 and 1. */
+    @Value("${api.security.password-migration.cpu-share}")
+    private Double cpuShare;
+
+    /** Whether a run is in progress. */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** Set to end the current run after its chunk. */
+    private volatile boolean stopRequested;
+
+    /**
+     * @brief Constructor for PasswordMigrationService.
+     * @param jdbcTemplate The JDBC template instance.
+     * @param passwordEncoder The password encoder instance.
+     * @param checkpointRepository The checkpoint repository instance.
+     */
+    public PasswordMigrationService(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                                    PasswordMigrationCheckpointRepository checkpointRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    /**
+     * @brief Starts a run in the background.
+     *
+     * An unfinished run continues from its checkpoint; after a completed run
+     * a new one starts from the first user.
+     *
+     * @return False if a run is already in progress.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        stopRequested = false;
+        Thread thread = new Thread(() -> {
+            try {
+                migrate();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Password migration failed", e);
+            } finally {
+                running.set(false);
+            }
+        }, "password-migration");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * @brief Asks the current run to stop after its chunk; the checkpoint is kept.
+     * @return False if no run is in progress.
+     */
+    public boolean stop() {
+        if (!running.get()) {
+            return false;
+        }
+        stopRequested = true;
+        return true;
+    }
+
+    /**
+     * @brief Stops the current run when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    /**
+     * @brief Gets the progress of the current or last run.
+     * @return The migration status.
+     */
+    public PasswordMigrationStatusDTO status() {
+        boolean active = running.get();
+        return checkpointRepository.findById(JOB_NAME)
+                .map(c -> new PasswordMigrationStatusDTO(active, c.isCompleted(), c.getLastUserId(),
+                        c.getScannedCount(), c.getMigratedCount()))
+                .orElseGet(() -> new PasswordMigrationStatusDTO(active, false, 0, 0, 0));
+    }
+
+    /**
+     * @brief Processes chunks until the end of the table or a stop request.
+     */
+    void migrate() {
+        PasswordMigrationCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .filter(c -> !c.isCompleted())
+                .orElseGet(() -> new PasswordMigrationCheckpoint(JOB_NAME));
+        int workers = workerCount();
+        RateLimiter rateLimiter = RateLimiter.create(rowsPerSecond);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "password-migration-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        logger.info("Password migration starting after user " + checkpoint.getLastUserId() + " with " + workers + " workers");
+        try {
+            while (!stopRequested) {
+                List<StoredHash> chunk = jdbcTemplate.query(SELECT_CHUNK,
+                        (rs, rowNum) -> new StoredHash(rs.getLong("id"), rs.getString("password")),
+                        checkpoint.getLastUserId(), chunkSize);
+                if (chunk.isEmpty()) {
+                    checkpoint.setCompleted(true);
+                    save(checkpoint);
+                    break;
+                }
+
+                rateLimiter.acquire(chunk.size());
+                int migrated = write(upgradeAll(chunk, pool, workers));
+
+                checkpoint.setLastUserId(chunk.get(chunk.size() - 1).id());
+                checkpoint.setScannedCount(checkpoint.getScannedCount() + chunk.size());
+                checkpoint.setMigratedCount(checkpoint.getMigratedCount() + migrated);
+                save(checkpoint);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        logger.info("Password migration " + (checkpoint.isCompleted() ? "completed" : "stopped") + " after user "
+                + checkpoint.getLastUserId() + ", " + checkpoint.getMigratedCount() + " hashes upgraded");
+    }
+
+    /**
+     * @brief Computes the new hash of a stored one.
+     * @param stored The stored hash.
+     * @return The upgraded hash, or null if it needs no upgrade or cannot be upgraded without the password.
+     */
+    String upgrade(String stored) {
+        boolean legacy = stored != null && !stored.startsWith("{");
+        String bcryptHash = legacy ? stored
+                : stored != null && stored.startsWith(BCRYPT_PREFIX) ? stored.substring(BCRYPT_PREFIX.length()) : null;
+        if (!WrappedPasswordEncoder.isBCryptHash(bcryptHash)) {
+            return null;
+        }
+        if ("bcrypt".equals(algorithm)) {
+            return legacy ? BCRYPT_PREFIX + bcryptHash : null;
+        }
+        return WrappedPasswordEncoder.wrap(bcryptHash, passwordEncoder);
+    }
+
+    /**
+     * @brief Upgrades the hashes of a chunk in parallel.
+     * @param chunk The users of the chunk.
+     * @param pool The worker pool.
+     * @param workers The number of workers.
+     * @return Update arguments: new hash, user ID and old hash.
+     */
+    private List<Object[]> upgradeAll(List<StoredHash> chunk, ExecutorService pool, int workers) {
+        int sliceSize = (chunk.size() + workers - 1) / workers;
+        List<CompletableFuture<List<Object[]>>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<StoredHash> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> {
+                List<Object[]> updates = new ArrayList<>();
+                for (StoredHash row : slice) {
+                    String upgraded = upgrade(row.password());
+                    if (upgraded != null) {
+                        updates.add(new Object[]{upgraded, row.id(), row.password()});
+                    }
+                }
+                return updates;
+            }, pool));
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        for (CompletableFuture<List<Object[]>> slice : slices) {
+            updates.addAll(slice.join());
+        }
+        return updates;
+    }
+
+    /**
+     * @brief Writes upgraded hashes in one batch.
+     * @param updates Update arguments: new hash, user ID and old hash.
+     * @return The number of rows updated; rows changed since they were read are skipped.
+     */
+    private int write(List<Object[]> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        return (int) Arrays.stream(jdbcTemplate.batchUpdate(UPDATE_HASH, updates))
+                .filter(count -> count > 0)
+                .count();
+    }
+
+    /**
+     * @brief Stores the checkpoint.
+     * @param checkpoint The checkpoint to store.
+     */
+    private void save(PasswordMigrationCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * @brief Gets the number of hashing workers allowed by the CPU share.
+     * @return The number of workers, at least one.
+     */
+    private int workerCount() {
+        return Math.max(1, (int) (Runtime.getRuntime().availableProcessors() * cpuShare));
+    }
+
+    /**
+     * @brief User ID and stored hash read from a chunk.
+     * @param id The user ID.
+     * @param password The stored hash.
+     */
+    private record StoredHash(long id, String password) {
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * @file PrincipalCache.java
+ * @brief Bounded, TTL based cache of authenticated user snapshots.
+ *
+ * Lets the JWT filter authenticate repeated requests of the same user without
+ * loading the user row every time. Writes made through UserService invalidate
+ * the affected entry; the TTL bounds how long writes made by other instances
+ * take to show up.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hikmethankolay.user_auth_system.entity.User;
+import com.hikmethankolay.user_auth_system.repository.UserRepository;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.util.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * @class PrincipalCache
+ * @brief Cache of UserPrincipal snapshots keyed by user ID.
+ *
+ * Unknown users are not cached, so a user registered on another instance is
+ * found as soon as it is committed.
+ */
+@Component
+public class PrincipalCache {
+
+    /** Repository used to load users on a cache miss. */
+    private final UserRepository userRepository;
+
+    /** Lifetime of cached principals in milliseconds. */
+    @Value("${api.security.principal-cache.ttl}")
+    private Long ttlMs;
+
+    /** Maximum number of cached principals. */
+    @Value("${api.security.principal-cache.max-size}")
+    private Long maxSize;
+
+    /** Cached principals. */
+    private AsyncCache<Long, UserPrincipal> cache;
+
+    /**
+     * @brief Constructor for PrincipalCache.
+     * @param userRepository The user repository instance.
+     */
+    public PrincipalCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @brief Creates the cache from the configured size and TTL.
+     */
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * @brief Gets the principal of a user, loading it on a miss.
+     *
+     * Concurrent misses for the same user are loaded once, on the calling
+     * thread and outside the cache's locks.
+     *
+     * @param userId The user ID.
+     * @return The principal, or empty if the user does not exist.
+     */
+    public Optional<UserPrincipal> get(Long userId) {
+        return Optional.ofNullable(SingleFlight.load(cache, userId,
+                id -> userRepository.findById(id).map(UserPrincipal::of).orElse(null)));
+    }
+
+    /**
+     * @brief Replaces the cached principal of a user with a fresh snapshot.
+     *
+     * Inside a transaction the entry is only replaced after commit.
+     *
+     * @param user The saved user entity.
+     */
+    public void refresh(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        UserPrincipal principal = UserPrincipal.of(user);
+        afterCommit(() -> cache.synchronous().put(principal.id(), principal));
+    }
+
+    /**
+     * @brief Drops the cached principal of a user.
+     *
+     * The entry is dropped at once and, inside a transaction, again after
+     * commit so that a load racing with the write cannot keep the old state.
+     *
+     * @param userId The user ID.
+     */
+    public void invalidate(Long userId) {
+        cache.synchronous().invalidate(userId);
+        afterCommit(() -> cache.synchronous().invalidate(userId));
+    }
+
+    /**
+     * @brief Gets the underlying cache for metrics registration.
+     * @return The native Caffeine cache.
+     */
+    public Cache<Long, UserPrincipal> nativeCache() {
+        return cache.synchronous();
+    }
+
+    /**
+     * @brief Runs an action after the current transaction commits, or at once outside a transaction.
+     * @param action The action to run.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ * @file RefreshTokenService.java
+ * @brief Service for issuing and rotating opaque refresh tokens.
+ *
+ * Refresh tokens are random values handed to the client once and stored as
+ * SHA-256 hashes. They are the only credential that touches the database;
+ * access tokens stay short-lived and are verified without it.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.google.common.hash.Hashing;
+import com.hikmethankolay.user_auth_system.entity.RefreshToken;
+import com.hikmethankolay.user_auth_system.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * @class RefreshTokenService
+ * @brief Service managing refresh token families.
+ *
+ * Every refresh returns a new token and marks the presented one as rotated.
+ * Presenting a rotated token again means it was copied, so the whole family
+ * is revoked and both the attacker and the victim have to log in again.
+ * Within a short grace period after the rotation the request is only
+ * rejected, since two tabs refreshing at once or a retried request present
+ * the same token legitimately.
+ */
+@Service
+public class RefreshTokenService {
+
+    /** Number of random bytes in a refresh token. */
+    private static final int TOKEN_BYTES = 32;
+
+    /** Logger for detected token reuse. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Repository for refresh tokens. */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /** Source of token values. */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /** Whether login issues refresh tokens. */
+    @Value("${api.security.refresh-token.enabled}")
+    private boolean enabled;
+
+    /** Lifetime of refresh tokens in milliseconds. */
+    @Value("${api.security.refresh-token.expiration}")
+    private Long expirationMs;
+
+    /** Time after a rotation in which presenting the old token again is not treated as reuse, in milliseconds. */
+    @Value("${api.security.refresh-token.reuse-grace}")
+    private Long reuseGraceMs;
+
+    /** Lifetime of refresh tokens for Remember Me logins in milliseconds. */
+    @Value("${api.security.token.remember-me-expiration}")
+    private Long rememberMeExpirationMs;
+
+    /**
+     * @brief Result of a successful rotation.
+     * @param userId The ID of the user the token belongs to.
+     * @param rememberMe Whether the login used Remember Me.
+     * @param refreshToken The new refresh token.
+     */
+    public record Rotation(Long userId, boolean rememberMe, String refreshToken) {
+    }
+
+    /**
+     * @brief Constructor for RefreshTokenService.
+     * @param refreshTokenRepository The refresh token repository instance.
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    /**
+     * @brief Checks whether refresh tokens are issued.
+     * @return True if login issues refresh tokens.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @brief Issues the first refresh token of a new family.
+     * @param userId The ID of the user.
+     * @param rememberMe Whether the login used Remember Me.
+     * @return The refresh token, or null if refresh tokens are disabled.
+     */
+    public String issue(Long userId, boolean rememberMe) {
+        if (!enabled) {
+            return null;
+        }
+        return create(userId, UUID.randomUUID().toString(), rememberMe);
+    }
+
+    /**
+     * @brief Exchanges a refresh token for a new one.
+     * @param refreshToken The presented refresh token.
+     * @return The rotation result, or empty if the token is unknown, expired or already rotated.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String refreshToken) {
+        if (!enabled || refreshToken == null || refreshToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = found.get();
+        Instant now = Instant.now();
+
+        if (current.getRotatedAt() != null) {
+            if (current.getRotatedAt().plusMillis(reuseGraceMs).isAfter(now)) {
+                // A concurrent refresh of the same client; its successor already went to the winner
+                return Optional.empty();
+            }
+            logger.warning("Refresh token reuse detected for user " + current.getUserId() + ", revoking token family");
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            return Optional.empty();
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        current.setRotatedAt(now);
+        refreshTokenRepository.save(current);
+
+        String next = create(current.getUserId(), current.getFamilyId(), current.isRememberMe());
+        return Optional.of(new Rotation(current.getUserId(), current.isRememberMe(), next));
+    }
+
+    /**
+     * @brief Revokes the family of a refresh token, used on logout.
+     * @param refreshToken The presented refresh token.
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    /**
+     * @brief Revokes every refresh token of a user.
+     * @param userId The user ID.
+     */
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * @brief Deletes expired refresh tokens.
+     */
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.purge-interval}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    /**
+     * @brief Creates and stores a new refresh token.
+     * @param userId The ID of the user.
+     * @param familyId The token family ID.
+     * @param rememberMe Whether the login used Remember Me.
+     * @return The refresh token.
+     */
+    private String create(Long userId, String familyId, boolean rememberMe) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        long lifetime = rememberMe ? rememberMeExpirationMs : expirationMs;
+        refreshTokenRepository.save(new RefreshToken(
+                hash(token), userId, familyId, rememberMe, Instant.now().plusMillis(lifetime)));
+        return token;
+    }
+
+    /**
+     * @brief Hashes a refresh token for storage and lookup.
+     *
+     * A fast hash is enough because the token carries 256 random bits.
+     *
+     * @param token The refresh token.
+     * @return The hex encoded SHA-256 hash.
+     */
+    private String hash(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.US_ASCII).toString();
+    }
+}
@@ -0,0 +1,333 @@
+/**
+ * @file TokenIntrospectionService.java
+ * @brief Service answering RFC 7662 style token introspection requests.
+ *
+ * Services that cannot validate tokens themselves ask this service whether a
+ * token is active. Results are cached by token hash for a short time, so a
+ * cache hit costs one SHA-256 and a map lookup and never touches the database.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.hikmethankolay.user_auth_system.dto.IntrospectionResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.TokenValidationResultDTO;
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.SingleFlight;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @class TokenIntrospectionService
+ * @brief Service deciding whether access tokens are active.
+ *
+ * A token is active when its signature and lifetime are valid, it has not
+ * been revoked and its version claim is current. A cached result may lag
+ * behind a revocation made elsewhere by at most the cache TTL; logout on this
+ * instance evicts the token right away.
+ *
+ * Batches are validated on a dedicated pool, by default one thread per core,
+ * rather than the common ForkJoinPool, so bulk validation cannot starve other
+ * users of that pool.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    /** JWT utilities for token verification. */
+    private final JwtUtils jwtUtils;
+
+    /** User service for loading users missing from the version table. */
+    private final UserService userService;
+
+    /** Token version table used in stateless mode. */
+    private final TokenVersionService tokenVersionService;
+
+    /** Denylist of revoked tokens. */
+    private final TokenRevocationService tokenRevocationService;
+
+    /** Lifetime of cached introspection results in milliseconds. */
+    @Value("${api.security.introspection.cache-ttl}")
+    private Long cacheTtlMs;
+
+    /** Maximum number of cached introspection results. */
+    @Value("${api.security.introspection.cache-max-size}")
+    private Long cacheMaxSize;
+
+    /** Number of threads validating batches, 0 for one per available processor. */
+    @Value("${api.security.introspection.batch-threads}")
+    private Integer batchThreads;
+
+    /** Maximum number of batch slices waiting for a validation thread. */
+    @Value("${api.security.introspection.batch-queue-capacity}")
+    private Integer batchQueueCapacity;
+
+    /** Cache of introspection results keyed by token hash. */
+    private AsyncCache<HashCode, IntrospectionResponseDTO> cache;
+
+    /** Pool validating batch slices. */
+    private ThreadPoolExecutor batchExecutor;
+
+    /** Number of threads of the batch pool. */
+    private int batchPoolSize;
+
+    /**
+     * @brief Constructor for TokenIntrospectionService.
+     * @param jwtUtils The JWT utility instance.
+     * @param userService The user service instance.
+     * @param tokenVersionService The token version service instance.
+     * @param tokenRevocationService The token revocation service instance.
+     */
+    public TokenIntrospectionService(JwtUtils jwtUtils, UserService userService, TokenVersionService tokenVersionService,
+                                     TokenRevocationService tokenRevocationService) {
+        this.jwtUtils = jwtUtils;
+        this.userService = userService;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * @brief Creates the result cache and the batch validation pool.
+     *
+     * Cache entries live for the cache TTL, or until the token expires if that
+     * comes first. Slices rejected by the full queue run on the submitting thread.
+     */
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<HashCode, IntrospectionResponseDTO>() {
+                    @Override
+                    public long expireAfterCreate(HashCode key, IntrospectionResponseDTO result, long currentTime) {
+                        return maxAge(result).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(HashCode key, IntrospectionResponseDTO result, long currentTime, long currentDuration) {
+                        return maxAge(result).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(HashCode key, IntrospectionResponseDTO result, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+
+        batchPoolSize = batchThreads > 0 ? batchThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        batchExecutor = new ThreadPoolExecutor(batchPoolSize, batchPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-validation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @brief Introspects a token.
+     *
+     * Concurrent misses for the same token are computed once, outside the
+     * cache's locks.
+     *
+     * @param token The raw access token.
+     * @return The introspection result.
+     */
+    public IntrospectionResponseDTO introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return IntrospectionResponseDTO.inactive();
+        }
+
+        IntrospectionResponseDTO result = SingleFlight.load(cache, key(token), key -> compute(token));
+
+        // Guard against timer granularity; an expired token is never reported active
+        if (result.active() && result.exp() <= Instant.now().getEpochSecond()) {
+            return IntrospectionResponseDTO.inactive();
+        }
+        return result;
+    }
+
+    /**
+     * @brief Validates a batch of tokens in parallel.
+     *
+     * Only the signature, lifetime and denylist are checked; unlike
+     * introspection no user data is looked up, so results are not cached.
+     * The tokens are split into one slice per batch thread; the calling thread
+     * validates the first slice itself, and also any slice the pool's queue
+     * has no room for, so a flood of batches slows down instead of queuing
+     * without bound.
+     *
+     * @param tokens The raw access tokens.
+     * @return The validation results, in the order of the tokens.
+     */
+    public List<TokenValidationResultDTO> validate(List<String> tokens) {
+        int slices = Math.min(batchPoolSize + 1, tokens.size());
+        if (slices <= 1) {
+            return tokens.stream().map(this::validate).toList();
+        }
+
+        int sliceSize = (tokens.size() + slices - 1) / slices;
+        List<CompletableFuture<List<TokenValidationResultDTO>>> others = new ArrayList<>(slices - 1);
+        for (int from = sliceSize; from < tokens.size(); from += sliceSize) {
+            List<String> slice = tokens.subList(from, Math.min(from + sliceSize, tokens.size()));
+            others.add(CompletableFuture.supplyAsync(() -> slice.stream().map(this::validate).toList(), batchExecutor));
+        }
+
+        List<TokenValidationResultDTO> results = new ArrayList<>(tokens.size());
+        tokens.subList(0, sliceSize).forEach(token -> results.add(validate(token)));
+        others.forEach(slice -> results.addAll(slice.join()));
+        return results;
+    }
+
+    /**
+     * @brief Removes a token from the cache, used when it is revoked on this instance.
+     * @param token The raw access token.
+     */
+    public void evict(String token) {
+        if (token != null && !token.isBlank()) {
+            cache.synchronous().invalidate(key(token));
+        }
+    }
+
+    /**
+     * @brief Computes how long callers may cache a result.
+     * @param result The introspection result.
+     * @return The cache TTL, shortened to the remaining lifetime of active tokens.
+     */
+    public Duration maxAge(IntrospectionResponseDTO result) {
+        Duration ttl = Duration.ofMillis(cacheTtlMs);
+        if (!result.active()) {
+            return ttl;
+        }
+        Duration remaining = Duration.ofSeconds(Math.max(0, result.exp() - Instant.now().getEpochSecond()));
+        return remaining.compareTo(ttl) < 0 ? remaining : ttl;
+    }
+
+    /**
+     * @brief Gets the underlying cache for metrics registration.
+     * @return The native Caffeine cache.
+     */
+    public Cache<HashCode, ?> nativeCache() {
+        return cache.synchronous();
+    }
+
+    /**
+     * @brief Stops the batch validation pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+    }
+
+    /**
+     * @brief Decides whether a token is active without using the cache.
+     *
+     * Follows the same rules as the JWT filter: the version table is trusted in
+     * stateless mode, otherwise the user is taken from the principal cache.
+     *
+     * @param token The raw access token.
+     * @return The introspection result.
+     */
+    private IntrospectionResponseDTO compute(String token) {
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+        if (!verifiedToken.isValid() || tokenRevocationService.isRevoked(verifiedToken.jti())) {
+            return IntrospectionResponseDTO.inactive();
+        }
+
+        Long userId;
+        try {
+            userId = verifiedToken.userId();
+        } catch (NumberFormatException e) {
+            return IntrospectionResponseDTO.inactive();
+        }
+
+        if (tokenVersionService.isStatelessEnabled() && verifiedToken.hasAuthorityClaims()) {
+            Integer currentVersion = tokenVersionService.getVersion(userId);
+            if (currentVersion != null) {
+                return currentVersion.equals(verifiedToken.tokenVersion())
+                        ? active(verifiedToken, verifiedToken.username(), verifiedToken.role())
+                        : IntrospectionResponseDTO.inactive();
+            }
+        }
+
+        Optional<UserPrincipal> principal = userService.findPrincipalById(userId);
+        if (principal.isEmpty() || (verifiedToken.tokenVersion() != null
+                && verifiedToken.tokenVersion() != principal.get().tokenVersion())) {
+            return IntrospectionResponseDTO.inactive();
+        }
+        tokenVersionService.update(userId, principal.get().tokenVersion());
+
+        return active(verifiedToken, principal.get().username(), principal.get().role());
+    }
+
+    /**
+     * @brief Validates a single token of a batch.
+     * @param token The raw access token.
+     * @return The validation result; revoked tokens are reported as INVALID.
+     */
+    private TokenValidationResultDTO validate(String token) {
+        if (token == null || token.isBlank()) {
+            return new TokenValidationResultDTO(TokenStatus.INVALID, null);
+        }
+
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+        if (!verifiedToken.isValid()) {
+            return new TokenValidationResultDTO(verifiedToken.status(), null);
+        }
+        if (tokenRevocationService.isRevoked(verifiedToken.jti())) {
+            return new TokenValidationResultDTO(TokenStatus.INVALID, null);
+        }
+        return new TokenValidationResultDTO(TokenStatus.VALID, verifiedToken.subject());
+    }
+
+    /**
+     * @brief Builds the result for an active token.
+     * @param verifiedToken The verified token.
+     * @param username The username of the user.
+     * @param role The role of the user.
+     * @return The active introspection result.
+     */
+    private IntrospectionResponseDTO active(VerifiedToken verifiedToken, String username, String role) {
+        return new IntrospectionResponseDTO(true, verifiedToken.subject(), username, role,
+                verifiedToken.expiresAt().getEpochSecond());
+    }
+
+    /**
+     * @brief Computes the cache key for a token.
+     *
+     * Keying by hash keeps raw tokens out of the heap once their request is done.
+     *
+     * @param token The raw access token.
+     * @return The SHA-256 hash of the token.
+     */
+    private static HashCode key(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.US_ASCII);
+    }
+}
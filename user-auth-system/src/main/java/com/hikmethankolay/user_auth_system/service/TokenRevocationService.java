@@ -0,0 +1,169 @@
+/**
+ * @file TokenRevocationService.java
+ * @brief Service for revoking JWT tokens before they expire.
+ *
+ * Revoked token IDs are persisted so every instance sees them, and kept in
+ * memory behind a Bloom filter so the per-request check never touches the
+ * database.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.hikmethankolay.user_auth_system.entity.RevokedToken;
+import com.hikmethankolay.user_auth_system.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * @class TokenRevocationService
+ * @brief Service maintaining the denylist of revoked, not yet expired tokens.
+ *
+ * Lookups first ask the Bloom filter; only its rare positives consult the
+ * exact map. Entries leave the map once the token expires, and the Bloom
+ * filter is rebuilt from the map on every sync because Bloom filters cannot
+ * forget entries. Memory is therefore bounded by the revocation rate times the
+ * token lifetime.
+ */
+@Service
+public class TokenRevocationService {
+
+    /** Logger for synchronization failures. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Repository for persisted revocations. */
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    /** Expiration time of every revoked, unexpired token ID. */
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    /** Filter answering "definitely not revoked" for almost every token, replaced on every synchronization. */
+    private volatile BloomFilter<CharSequence> bloomFilter;
+
+    /** Number of revocations the Bloom filter is sized for. */
+    @Value("${api.security.token.revocation.expected-entries}")
+    private int expectedEntries;
+
+    /** Target false positive probability of the Bloom filter. */
+    @Value("${api.security.token.revocation.false-positive-rate}")
+    private double falsePositiveRate;
+
+    /**
+     * @brief Constructor for TokenRevocationService.
+     * @param revokedTokenRepository The revoked token repository instance.
+     */
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    /**
+     * @brief Creates an empty Bloom filter, filled by the first synchronization.
+     */
+    @PostConstruct
+    public void init() {
+        bloomFilter = buildBloomFilter();
+    }
+
+    /**
+     * @brief Checks whether a token has been revoked.
+     * @param jti The token ID, may be null for tokens issued without one.
+     * @return True if the token was revoked and has not expired yet.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * @brief Revokes a token until it expires.
+     *
+     * The revocation takes effect locally even if it cannot be persisted.
+     *
+     * @param jti The token ID.
+     * @param expiresAt The expiration time of the token.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+
+        // Only the in-memory update races with a filter rebuild; the database
+        // write stays outside the lock so it never pins a virtual thread
+        synchronized (this) {
+            // Exact entry first, so a concurrent Bloom filter hit always finds it
+            revoked.put(jti, expiresAt);
+            bloomFilter.put(jti);
+        }
+
+        try {
+            revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        } catch (DataAccessException e) {
+            // Still revoked on this instance; other instances miss it until it expires
+            logger.warning("Could not persist revoked token " + jti + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @brief Gets the number of revoked tokens kept in memory.
+     * @return The size of the denylist.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * @brief Loads revocations made by other instances and prunes expired ones.
+     *
+     * Runs on startup and then periodically. If the database is unavailable the
+     * local denylist is still pruned and the load is retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token.revocation.sync-interval}")
+    public void synchronize() {
+        Instant now = Instant.now();
+
+        List<RevokedToken> loaded = List.of();
+        try {
+            loaded = revokedTokenRepository.findByExpiresAtAfter(now);
+            revokedTokenRepository.deleteExpired(now);
+        } catch (DataAccessException e) {
+            logger.warning("Could not synchronize revoked tokens: " + e.getMessage());
+        }
+
+        synchronized (this) {
+            for (RevokedToken token : loaded) {
+                revoked.putIfAbsent(token.getJti(), token.getExpiresAt());
+            }
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            bloomFilter = buildBloomFilter();
+        }
+    }
+
+    /**
+     * @brief Builds a Bloom filter holding every entry of the exact map.
+     * @return The new Bloom filter.
+     */
+    private BloomFilter<CharSequence> buildBloomFilter() {
+        int capacity = Math.max(expectedEntries, revoked.size() * 2);
+        BloomFilter<CharSequence> filter = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.US_ASCII), capacity, falsePositiveRate);
+        revoked.keySet().forEach(filter::put);
+        return filter;
+    }
+}
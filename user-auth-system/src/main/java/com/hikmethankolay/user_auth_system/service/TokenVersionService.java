@@ -0,0 +1,181 @@
+/**
+ * @file TokenVersionService.java
+ * @brief Service keeping the current token version of recently active users in memory.
+ *
+ * In stateless mode the JWT filter authenticates requests from the role and
+ * token version claims and only checks the version against this table, so no
+ * user row has to be loaded per request. The table is a bounded cache filled
+ * as users authenticate, so its size does not grow with the user count.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hikmethankolay.user_auth_system.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @class TokenVersionService
+ * @brief Service mapping user IDs to their current token version.
+ *
+ * Versions only move forward: updates and database syncs keep the highest
+ * version seen, so a sync that read an older snapshot never re-enables a
+ * revoked token. Users missing from the table are authenticated the stateful
+ * way, which puts their version into the table. Entries expire after the sync
+ * interval, so version bumps and deletions made by other instances are picked
+ * up without reading the whole users table; only tables no larger than the
+ * configured preload limit are read in full.
+ */
+@Service
+public class TokenVersionService {
+
+    /** Version stored for deleted users so that none of their tokens match. */
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    /** Repository used to load token versions. */
+    private final UserRepository userRepository;
+
+    /** Whether the JWT filter authenticates from token claims. */
+    @Value("${api.security.stateless.enabled}")
+    private boolean statelessEnabled;
+
+    /** How long a recorded version is trusted, in milliseconds. */
+    @Value("${api.security.stateless.version-sync-interval}")
+    private long syncIntervalMs;
+
+    /** Maximum number of users whose version is kept in memory. */
+    @Value("${api.security.stateless.version-cache.max-size}")
+    private long maxSize;
+
+    /** Largest users table that is loaded in full on every sync, 0 to never load it. */
+    @Value("${api.security.stateless.preload-max-users}")
+    private long preloadMaxUsers;
+
+    /** Current token version by user ID. */
+    private Cache<Long, Integer> versions;
+
+    /**
+     * @brief Constructor for TokenVersionService.
+     * @param userRepository The user repository instance.
+     */
+    public TokenVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @brief Creates the version table from the configured size and sync interval.
+     */
+    @PostConstruct
+    public void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(syncIntervalMs))
+                .build();
+    }
+
+    /**
+     * @brief Checks whether stateless authentication is enabled.
+     * @return True if requests are authenticated from token claims.
+     */
+    public boolean isStatelessEnabled() {
+        return statelessEnabled;
+    }
+
+    /**
+     * @brief Gets the current token version of a user.
+     * @param userId The user ID.
+     * @return The token version, or null if the user is not in the table.
+     */
+    public Integer getVersion(Long userId) {
+        return versions.getIfPresent(userId);
+    }
+
+    /**
+     * @brief Records the current token version of a user.
+     *
+     * Inside a transaction the table is only updated after commit, so a rolled
+     * back bump cannot lock the user out.
+     *
+     * @param userId The user ID.
+     * @param tokenVersion The token version read from or written to the database.
+     */
+    public void update(Long userId, int tokenVersion) {
+        if (!statelessEnabled) {
+            return;
+        }
+
+        afterCommit(() -> versions.asMap().merge(userId, tokenVersion, Math::max));
+    }
+
+    /**
+     * @brief Rejects every token of a deleted user until the entry expires.
+     *
+     * Like update(), this waits for the surrounding transaction to commit, so
+     * a deletion that rolls back leaves the user's tokens valid.
+     *
+     * @param userId The user ID.
+     */
+    public void revokeAll(Long userId) {
+        if (statelessEnabled) {
+            afterCommit(() -> versions.put(userId, REVOKED));
+        }
+    }
+
+    /**
+     * @brief Loads all token versions from the database when the users table is small.
+     *
+     * Runs once on startup and then periodically. Larger tables are never read
+     * in full; their users are added as they authenticate.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.security.stateless.version-sync-interval}",
+            initialDelayString = "${api.security.stateless.version-sync-interval}")
+    public void synchronize() {
+        if (!statelessEnabled || preloadMaxUsers <= 0 || userRepository.count() > preloadMaxUsers) {
+            return;
+        }
+
+        List<UserRepository.TokenVersionView> loaded = userRepository.findAllTokenVersions();
+        Set<Long> ids = new HashSet<>(loaded.size() * 2);
+        for (UserRepository.TokenVersionView view : loaded) {
+            ids.add(view.getId());
+            versions.asMap().merge(view.getId(), view.getTokenVersion(), Math::max);
+        }
+
+        // Users deleted since the last sync are looked up the stateful way again
+        versions.asMap().keySet().retainAll(ids);
+    }
+
+    /**
+     * @brief Runs an action after the current transaction commits, or at once outside a transaction.
+     * @param action The action to run.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
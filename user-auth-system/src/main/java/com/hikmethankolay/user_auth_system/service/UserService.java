@@ -18,13 +18,17 @@ import com.hikmethankolay.user_auth_system.dto.*;
 import com.hikmethankolay.user_auth_system.entity.Role;
 import com.hikmethankolay.user_auth_system.entity.User;
 import com.hikmethankolay.user_auth_system.enums.ERole;
-import com.hikmethankolay.user_auth_system.enums.TokenStatus;
 import com.hikmethankolay.user_auth_system.repository.RoleRepository;
 import com.hikmethankolay.user_auth_system.repository.UserRepository;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
 import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.SingleFlight;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,6 +37,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
 
 /**
  * @class UserService
@@ -61,6 +68,30 @@ public class UserService {
     /** Login attempt service for tracking login attempts. */
     private final LoginAttemptService loginAttemptService;
 
+    /** Token version service for revoking issued tokens. */
+    private final TokenVersionService tokenVersionService;
+
+    /** Refresh token service for issuing and rotating refresh tokens. */
+    private final RefreshTokenService refreshTokenService;
+
+    /** Cache of authenticated user snapshots, invalidated on every user write. */
+    private final PrincipalCache principalCache;
+
+    /** Pool running password hashing and verification. */
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    /** Executor finishing a login once its password has been checked, so database work stays off the hashing pool. */
+    private final Executor taskExecutor;
+
+    /** Logger for password hash upgrades. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Coalesces concurrent lookups of the same user ID. */
+    private final SingleFlight<Long, Optional<User>> userByIdLoads = new SingleFlight<>();
+
+    /** Coalesces concurrent lookups of the same username or email. */
+    private final SingleFlight<String, Optional<User>> userByIdentifierLoads = new SingleFlight<>();
+
     /**
      * @brief Constructor for UserService.
      * @param userRepository The user repository instance.
@@ -68,14 +99,26 @@ public class UserService {
      * @param passwordEncoder The password encoder instance.
      * @param jwtUtils The JWT utility instance.
      * @param validator The validator instance.
+     * @param loginAttemptService The login attempt service instance.
+     * @param tokenVersionService The token version service instance.
+     * @param refreshTokenService The refresh token service instance.
+     * @param principalCache The principal cache instance.
+     * @param passwordHashingExecutor The password hashing pool.
+     * @param taskExecutor Spring's application task executor.
      */
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, JwtUtils jwtUtils, Validator validator, LoginAttemptService loginAttemptService) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, JwtUtils jwtUtils, Validator validator, LoginAttemptService loginAttemptService, TokenVersionService tokenVersionService, RefreshTokenService refreshTokenService, PrincipalCache principalCache,
+                       PasswordHashingExecutor passwordHashingExecutor, @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
         this.validator = validator;
         this.loginAttemptService = loginAttemptService;
+        this.tokenVersionService = tokenVersionService;
+        this.refreshTokenService = refreshTokenService;
+        this.principalCache = principalCache;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.taskExecutor = taskExecutor;
     }
 
     /**
@@ -89,17 +132,25 @@ public class UserService {
 
     /**
      * @brief Finds a user by username or email.
+     *
+     * Concurrent lookups of the same identifier share one query.
+     *
      * @param identifier The username or email of the user.
      * @return An Optional containing the user if found.
      */
     public Optional<User> findByUsernameOrEmail(String identifier) {
-        return userRepository.findByUsernameOrEmail(identifier, identifier);
+        return userByIdentifierLoads.load(identifier, key -> userRepository.findByUsernameOrEmail(key, key));
     }
 
     /**
      * @brief Deletes a user by ID.
+     *
+     * Refresh tokens are revoked in the same transaction, and cached token
+     * versions are only revoked once it commits.
+     *
      * @param id The ID of the user to delete.
      */
+    @Transactional
     public void deleteById(Long id, Long requesterId) {
         if (id.equals(requesterId)) {
             throw new RuntimeException("Cannot delete your own account");
@@ -108,16 +159,34 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id " + id));
 
+        refreshTokenService.revokeAll(id);
         userRepository.delete(user);
+        tokenVersionService.revokeAll(id);
+        principalCache.invalidate(id);
     }
 
     /**
      * @brief Finds a user by ID.
+     *
+     * Concurrent lookups of the same ID share one query.
+     *
      * @param id The user ID.
      * @return An Optional containing the user if found.
      */
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return userByIdLoads.load(id, userRepository::findById);
+    }
+
+    /**
+     * @brief Finds the authentication snapshot of a user by ID.
+     *
+     * Served from the principal cache; the user row is only loaded on a miss.
+     *
+     * @param id The user ID.
+     * @return An Optional containing the principal if the user exists.
+     */
+    public Optional<UserPrincipal> findPrincipalById(Long id) {
+        return principalCache.get(id);
     }
 
     /**
@@ -143,69 +212,122 @@ public class UserService {
         // Assign default role
         assignRoleToUser(user, ERole.ROLE_USER);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCache.refresh(savedUser);
+        return savedUser;
     }
 
     /**
      * @brief Authenticates a user.
+     *
+     * The block checks and the user lookup run on the calling thread, so
+     * blocked clients and unknown users never take a place in the hashing
+     * pool's queue. Only the password check is submitted to the pool, which
+     * throws ServerBusyException when its queue is full; the rest of the login
+     * runs on the application task executor.
+     *
      * @param loginRequest The login request containing username or email and password.
-     * @param clientIp The client IP for rate limiting.
-     * @return A JWT token if authentication is successful, otherwise null.
+     * @param clientIp The client IP for rate limiting, as resolved by ClientIp.
+     * @return Future of the access token and, if enabled, a refresh token when authentication is successful, otherwise of null.
      * @throws RuntimeException if the account or IP is blocked due to too many failed login attempts.
      */
-    public String authenticateUser(LoginRequestDTO loginRequest, String clientIp) {
+    public CompletableFuture<AuthTokensDTO> authenticateUser(LoginRequestDTO loginRequest, String clientIp) {
         String identifier = loginRequest.identifier();
 
         // Check if the IP address is blocked due to too many failed login attempts
-        if (loginAttemptService.isBlocked(clientIp)) {
+        if (loginAttemptService.isBlocked(KeyType.IP, clientIp)) {
             throw new RuntimeException("Too many failed login attempts from this IP. Please try again later.");
         }
 
         // Check if the user is blocked due to too many failed attempts
-        if (loginAttemptService.isBlocked(identifier)) {
+        if (loginAttemptService.isBlocked(KeyType.IDENTIFIER, identifier)) {
             throw new RuntimeException("Account is temporarily locked due to too many failed login attempts. Please try again later.");
         }
 
-        Optional<User> user = userRepository.findByUsernameOrEmail(identifier, identifier);
+        Optional<User> found = userRepository.findByUsernameOrEmail(identifier, identifier);
+        if (found.isEmpty()) {
+            loginFailed(clientIp, identifier);
+            return CompletableFuture.completedFuture(null);
+        }
 
-        if (user.isPresent() && passwordEncoder.matches(loginRequest.password(), user.get().getPassword())) {
-            // Authentication successful - reset failed attempts counter
-            loginAttemptService.loginSucceeded(clientIp);
-            loginAttemptService.loginSucceeded(identifier);
+        User user = found.get();
+        return passwordHashingExecutor.submit(() -> passwordEncoder.matches(loginRequest.password(), user.getPassword()))
+                .thenComposeAsync(matches -> {
+                    if (!matches) {
+                        loginFailed(clientIp, identifier);
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    // Authentication successful - reset failed attempts counter
+                    loginAttemptService.loginSucceeded(KeyType.IP, clientIp);
+                    loginAttemptService.loginSucceeded(KeyType.IDENTIFIER, identifier);
+                    return rehashIfOutdated(user, loginRequest.password())
+                            .thenApply(ignored -> issueTokens(user, loginRequest.rememberMe(),
+                                    refreshTokenService.issue(user.getId(), loginRequest.rememberMe())));
+                }, taskExecutor);
+    }
 
-            return jwtUtils.generateJwtToken(
-                    String.valueOf(user.get().getId()),
-                    user.get().getUsername(),
-                    loginRequest.rememberMe()
-            );
-        } else {
-            // Authentication failed - increment failed attempts counter
-            loginAttemptService.loginFailed(clientIp);
-            loginAttemptService.loginFailed(identifier);
-            return null;
+    /**
+     * @brief Records a failed login.
+     * @param clientIp The client IP.
+     * @param identifier The username or email the login was made for.
+     */
+    private void loginFailed(String clientIp, String identifier) {
+        // Authentication failed - increment failed attempts counter
+        loginAttemptService.loginFailed(KeyType.IP, clientIp);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, identifier);
+    }
+
+    /**
+     * @brief Re-encodes a password whose stored hash uses an old algorithm or cost.
+     *
+     * Only possible right after a successful login, while the raw password is
+     * known. The hash is replaced only if it is still the one that was verified,
+     * so a concurrent password change is never overwritten. The new hash is
+     * computed on the hashing pool and stored on the application task
+     * executor. Failures, including a full pool, are logged and do not affect
+     * the login.
+     *
+     * @param user The authenticated user.
+     * @param rawPassword The verified raw password.
+     * @return Future completed once the hash is stored or skipped.
+     */
+    private CompletableFuture<Void> rehashIfOutdated(User user, String rawPassword) {
+        String storedHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(storedHash)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return passwordHashingExecutor.submit(() -> passwordEncoder.encode(rawPassword))
+                    .thenAcceptAsync(newHash -> {
+                        if (userRepository.replacePasswordHash(user.getId(), storedHash, newHash) == 1) {
+                            user.setPassword(newHash);
+                        }
+                    }, taskExecutor)
+                    .exceptionally(e -> {
+                        logger.warning("Could not upgrade password hash of user " + user.getId() + ": " + e.getMessage());
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            logger.warning("Could not upgrade password hash of user " + user.getId() + ": " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
         }
     }
 
     /**
      * @brief Refreshes an authentication token.
-     * @param token The current token to refresh.
+     * @param verifiedToken The already verified current token.
      * @return A new JWT token if refresh is successful, otherwise null.
      */
-    public String refreshToken(String token) {
-        if (token != null && jwtUtils.validateJwtToken(token) != TokenStatus.INVALID) {
+    public String refreshToken(VerifiedToken verifiedToken) {
+        if (verifiedToken != null && verifiedToken.isValid()) {
             try {
-                Long userId = jwtUtils.getUserIdFromJwtToken(token);
-                Optional<User> userOpt = findById(userId);
-
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    boolean wasRememberMe = jwtUtils.wasRememberMe(token);
-
-                    return jwtUtils.generateJwtToken(
-                            String.valueOf(user.getId()),
-                            user.getUsername(),
-                            wasRememberMe
-                    );
+                Optional<User> userOpt = findById(verifiedToken.userId());
+
+                // Tokens issued before the last version bump cannot be refreshed
+                if (userOpt.isPresent() && (verifiedToken.tokenVersion() == null
+                        || verifiedToken.tokenVersion() == userOpt.get().getTokenVersion())) {
+                    return issueToken(userOpt.get(), verifiedToken.rememberMe());
                 }
             } catch (Exception e) {
                 // Token processing failed
@@ -215,18 +337,67 @@ public class UserService {
         return null;
     }
 
+    /**
+     * @brief Exchanges a refresh token for a new access token and refresh token.
+     * @param refreshToken The opaque refresh token.
+     * @return The new tokens, or null if the refresh token is invalid, expired or reused.
+     */
+    public AuthTokensDTO refreshTokens(String refreshToken) {
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(refreshToken);
+        if (rotation.isEmpty()) {
+            return null;
+        }
+
+        Optional<User> user = findById(rotation.get().userId());
+        return user.map(value -> issueTokens(value, rotation.get().rememberMe(), rotation.get().refreshToken()))
+                .orElse(null);
+    }
+
+    /**
+     * @brief Issues a replacement for a token that is about to expire.
+     *
+     * Uses the same lifetime as a token issued at login, so a renewed token
+     * never outlives a fresh one.
+     *
+     * @param principal The authenticated principal of the expiring token.
+     * @param rememberMe Whether the expiring token was issued with Remember Me.
+     * @return The signed JWT token.
+     */
+    public String renewToken(UserPrincipal principal, boolean rememberMe) {
+        return issueToken(String.valueOf(principal.id()), principal.username(), principal.role(),
+                principal.tokenVersion(), rememberMe);
+    }
+
+    /**
+     * @brief Revokes every token issued to a user so far.
+     * @param id The user ID.
+     * @throws RuntimeException if the user is not found.
+     */
+    @Transactional
+    public void logoutEverywhere(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+
+        bumpTokenVersion(user);
+        userRepository.save(user);
+        tokenVersionService.update(id, user.getTokenVersion());
+        principalCache.refresh(user);
+    }
+
     /**
      * Updates a user using the provided update DTO, applying only non-null fields.
      * Validates the update data and ensures username/email uniqueness.
+     * Changing the password or role revokes the user's existing tokens.
      *
      * @param updates DTO with update data (must not be null)
      * @param id the ID of the user to update
+     * @param requester the authenticated user making the request
      * @return the updated User
      * @throws IllegalArgumentException if updates is null
      * @throws RuntimeException if the user is not found or uniqueness checks fail
      */
     @Transactional
-    public User updateUser(UserDTO updates, Long id, Long requesterId) {
+    public User updateUser(UserDTO updates, Long id, UserPrincipal requester) {
         if (updates == null) {
             throw new IllegalArgumentException("Updates cannot be null");
         }
@@ -242,11 +413,7 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
 
-        User requester = userRepository.findById(requesterId)
-                .orElseThrow(() -> new RuntimeException("Requester not found with id: " + requesterId));
-
-        boolean isAdminAction = requester.getRole() != null && 
-                requester.getRole().getName().equals(ERole.ROLE_ADMIN);
+        boolean isAdminAction = ERole.ROLE_ADMIN.name().equals(requester.role());
 
         if (StringUtils.hasText(updates.getUsername())) {
             user.setUsername(updates.getUsername().trim());
@@ -256,15 +423,77 @@ public class UserService {
             user.setEmail(updates.getEmail().trim());
         }
 
+        boolean revokeTokens = false;
+
         if (StringUtils.hasText(updates.getPassword())) {
             user.setPassword(passwordEncoder.encode(updates.getPassword().trim()));
+            revokeTokens = true;
         }
 
         if (updates.getRole() != null && isAdminAction) {
+            revokeTokens |= user.getRole() == null || user.getRole().getName() != updates.getRole();
             assignRoleToUser(user, updates.getRole());
         }
 
-        return userRepository.save(user);
+        if (revokeTokens) {
+            bumpTokenVersion(user);
+        }
+
+        User savedUser = userRepository.save(user);
+        tokenVersionService.update(id, user.getTokenVersion());
+        principalCache.refresh(user);
+        return savedUser;
+    }
+
+    /**
+     * @brief Issues a token carrying the user's role and token version.
+     * @param user The authenticated user.
+     * @param rememberMe Whether to use extended expiration time.
+     * @return The signed JWT token.
+     */
+    private String issueToken(User user, boolean rememberMe) {
+        String role = user.getRole() != null ? user.getRole().getName().name() : null;
+        return issueToken(String.valueOf(user.getId()), user.getUsername(), role, user.getTokenVersion(), rememberMe);
+    }
+
+    /**
+     * @brief Issues a token from the fields of a user.
+     *
+     * With refresh tokens enabled the token is always short-lived, because
+     * Remember Me is carried by the refresh token instead.
+     *
+     * @param userId The user ID.
+     * @param username The username.
+     * @param role The role name, or null if the user has no role.
+     * @param tokenVersion The user's current token version.
+     * @param rememberMe Whether to use extended expiration time.
+     * @return The signed JWT token.
+     */
+    private String issueToken(String userId, String username, String role, int tokenVersion, boolean rememberMe) {
+        if (refreshTokenService.isEnabled()) {
+            return jwtUtils.generateAccessToken(userId, username, role, tokenVersion, rememberMe);
+        }
+        return jwtUtils.generateJwtToken(userId, username, role, tokenVersion, rememberMe);
+    }
+
+    /**
+     * @brief Issues an access token and pairs it with a refresh token.
+     * @param user The authenticated user.
+     * @param rememberMe Whether the login used Remember Me.
+     * @param refreshToken The refresh token, or null if refresh tokens are disabled.
+     * @return The issued tokens.
+     */
+    private AuthTokensDTO issueTokens(User user, boolean rememberMe, String refreshToken) {
+        return new AuthTokensDTO(issueToken(user, rememberMe), refreshToken, rememberMe);
+    }
+
+    /**
+     * @brief Increments the token version so that all previously issued tokens are rejected.
+     * @param user The user whose tokens are revoked.
+     */
+    private void bumpTokenVersion(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        refreshTokenService.revokeAll(user.getId());
     }
 
     /**
@@ -0,0 +1,161 @@
+/**
+ * @file VirtualThreadPinningMonitor.java
+ * @brief Reports virtual threads pinned to their carrier thread.
+ *
+ * A virtual thread that blocks inside a synchronized block or a native frame
+ * cannot unmount and holds its carrier, so a few slow JDBC or Hibernate calls
+ * made under a monitor can stall every request. This component listens for
+ * the JFR jdk.VirtualThreadPinned event in-process, counts pinned periods
+ * longer than a threshold and logs the stack of each new pinning site once.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+package com.hikmethankolay.user_auth_system.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * @class VirtualThreadPinningMonitor
+ * @brief JFR based pinning detector, active only when virtual threads are enabled.
+ *
+ * Pinning sites are identified by the first stack frame outside the JDK.
+ * Counts are published by MetricsConfig as jvm.threads.virtual.pinned.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    /** JFR event emitted when a virtual thread parks while pinned. */
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /** Maximum number of distinct pinning sites tracked. */
+    private static final int MAX_SITES = 100;
+
+    /** Number of frames logged for a new pinning site. */
+    private static final int LOGGED_FRAMES = 12;
+
+    /** Logger for new pinning sites. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Minimum pinned duration reported, in milliseconds. */
+    @Value("${api.threads.pinning-threshold}")
+    private Long thresholdMs;
+
+    /** Number of pinned periods seen. */
+    private final AtomicLong pinnedCount = new AtomicLong();
+
+    /** Total pinned time in nanoseconds. */
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    /** Pinned periods per site. */
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    /** Running event stream, null until started. */
+    private RecordingStream stream;
+
+    /**
+     * @brief Starts listening for pinning events.
+     */
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+    }
+
+    /**
+     * @brief Stops listening for pinning events.
+     */
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * @brief Gets the number of pinned periods seen.
+     * @return The number of events.
+     */
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    /**
+     * @brief Gets the total pinned time.
+     * @return The total time in nanoseconds.
+     */
+    public long getPinnedNanos() {
+        return pinnedNanos.sum();
+    }
+
+    /**
+     * @brief Gets the number of pinned periods per site.
+     * @return The counts keyed by the first frame outside the JDK.
+     */
+    public Map<String, Long> getSites() {
+        return sites.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+    }
+
+    /**
+     * @brief Records a pinning event.
+     * @param event The jdk.VirtualThreadPinned event.
+     */
+    void record(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        pinnedNanos.add(event.getDuration().toNanos());
+
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::describe)
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+
+        LongAdder count = sites.get(site);
+        if (count == null && sites.size() < MAX_SITES) {
+            LongAdder created = new LongAdder();
+            count = sites.putIfAbsent(site, created);
+            if (count == null) {
+                count = created;
+                logger.warning("Virtual thread pinned for " + event.getDuration().toMillis() + " ms at " + site + ":\n    "
+                        + frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe)
+                        .collect(Collectors.joining("\n    ")));
+            }
+        }
+        if (count != null) {
+            count.increment();
+        }
+    }
+
+    /**
+     * @brief Formats a stack frame.
+     * @param frame The frame.
+     * @return The class, method and line of the frame.
+     */
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
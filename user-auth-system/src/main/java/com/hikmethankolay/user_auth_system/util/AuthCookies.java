@@ -0,0 +1,109 @@
+/**
+ * @file AuthCookies.java
+ * @brief Builder for the authentication cookies.
+ *
+ * Keeps the attributes of the auth_token and refresh_token cookies in one
+ * place for the controller and the JWT filter.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.springframework.http.ResponseCookie;
+
+import java.time.Duration;
+
+/**
+ * @class AuthCookies
+ * @brief Static helpers creating and clearing the authentication cookies.
+ */
+public final class AuthCookies {
+
+    /** Name of the cookie holding the JWT token. */
+    public static final String NAME = "auth_token";
+
+    /** Name of the cookie holding the refresh token. */
+    public static final String REFRESH_NAME = "refresh_token";
+
+    /** Path of the refresh cookie; it is only needed by the auth endpoints. */
+    private static final String REFRESH_PATH = "/api/auth";
+
+    /**
+     * @brief Private constructor to prevent instantiation.
+     */
+    private AuthCookies() {
+    }
+
+    /**
+     * @brief Creates the cookie carrying a token.
+     * @param token The JWT token.
+     * @param rememberMe Whether the cookie outlives the browser session.
+     * @param rememberMeExpirationMs Lifetime of Remember Me cookies in milliseconds.
+     * @return The cookie.
+     */
+    public static ResponseCookie create(String token, boolean rememberMe, long rememberMeExpirationMs) {
+        return build(NAME, token, "/", maxAge(rememberMe, rememberMeExpirationMs));
+    }
+
+    /**
+     * @brief Creates a cookie that removes the token from the browser.
+     * @return The expired cookie.
+     */
+    public static ResponseCookie clear() {
+        return build(NAME, "", "/", Duration.ZERO);
+    }
+
+    /**
+     * @brief Creates the cookie carrying a refresh token.
+     * @param refreshToken The opaque refresh token.
+     * @param rememberMe Whether the cookie outlives the browser session.
+     * @param rememberMeExpirationMs Lifetime of Remember Me cookies in milliseconds.
+     * @return The cookie, only sent to the auth endpoints.
+     */
+    public static ResponseCookie createRefresh(String refreshToken, boolean rememberMe, long rememberMeExpirationMs) {
+        return build(REFRESH_NAME, refreshToken, REFRESH_PATH, maxAge(rememberMe, rememberMeExpirationMs));
+    }
+
+    /**
+     * @brief Creates a cookie that removes the refresh token from the browser.
+     * @return The expired cookie.
+     */
+    public static ResponseCookie clearRefresh() {
+        return build(REFRESH_NAME, "", REFRESH_PATH, Duration.ZERO);
+    }
+
+    /**
+     * @brief Computes the cookie lifetime.
+     * @param rememberMe Whether the cookie outlives the browser session.
+     * @param rememberMeExpirationMs Lifetime of Remember Me cookies in milliseconds.
+     * @return The lifetime, negative for a session cookie.
+     */
+    private static Duration maxAge(boolean rememberMe, long rememberMeExpirationMs) {
+        // Session cookie unless Remember Me was requested
+        return rememberMe ? Duration.ofMillis(rememberMeExpirationMs) : Duration.ofSeconds(-1);
+    }
+
+    /**
+     * @brief Builds a cookie with the shared attributes.
+     * @param name The cookie name.
+     * @param value The cookie value.
+     * @param path The cookie path.
+     * @param maxAge The cookie lifetime.
+     * @return The cookie.
+     */
+    private static ResponseCookie build(String name, String value, String path, Duration maxAge) {
+        return ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(false) // Enable in production with HTTPS
+                .path(path)
+                .maxAge(maxAge)
+                .sameSite("Strict")
+                .build();
+    }
+}
@@ -0,0 +1,315 @@
+/**
+ * @file CidrTrie.java
+ * @brief Binary radix trie of IPv4 and IPv6 prefixes.
+ *
+ * Maps CIDR prefixes to a small value and finds the value of the longest
+ * prefix containing an address. Paths without branches are compressed into a
+ * single node, so n prefixes take fewer than 2n nodes, and a lookup visits at
+ * most one node per bit of the longest matching prefix.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import java.util.Arrays;
+
+/**
+ * @class CidrTrie
+ * @brief Longest-prefix-match table over address bits, stored in one long array.
+ *
+ * Each node is four consecutive longs rather than an object: its prefix, its
+ * two children, and its length and value. A node visit then reads half a cache
+ * line, a million prefixes fit in about 64 MB, and lookups allocate nothing.
+ * Inserts are not thread-safe; a trie is built once and then published, after
+ * which any number of threads may look up addresses.
+ */
+public final class CidrTrie {
+
+    /** Value returned when no prefix contains the address. */
+    public static final byte NO_MATCH = 0;
+
+    /** Root of the IPv4 prefixes. Roots are never children, so 0 and 1 also mean "no child". */
+    private static final int IPV4_ROOT = 0;
+
+    /** Root of the IPv6 prefixes. */
+    private static final int IPV6_ROOT = 1;
+
+    /** Longs per node. */
+    private static final int STRIDE = 4;
+
+    /** Offset of the high half of the node prefix, host bits cleared. */
+    private static final int KEY_HIGH = 0;
+
+    /** Offset of the low half of the node prefix, host bits cleared. */
+    private static final int KEY_LOW = 1;
+
+    /** Offset of the children: the one continuing with a 0 bit in the high 32 bits, with a 1 bit in the low. */
+    private static final int CHILDREN = 2;
+
+    /** Offset of the prefix length, shifted left by 8, and the value, NO_MATCH for nodes that only branch. */
+    private static final int META = 3;
+
+    /** Nodes, STRIDE longs each. */
+    private long[] nodes = new long[16 * STRIDE];
+
+    /** Number of nodes in use. */
+    private int nodeCount;
+
+    /** Number of prefixes with a value. */
+    private int size;
+
+    /**
+     * @brief Constructor creating an empty trie.
+     */
+    public CidrTrie() {
+        nodeCount = 2;
+    }
+
+    /**
+     * @brief Maps a prefix to a value, replacing any value it had.
+     *
+     * Host bits beyond the prefix length are ignored, and an address without a
+     * length is a prefix of its full length.
+     *
+     * @param cidr The prefix, such as "203.0.113.0/24", "2001:db8::/32" or "192.0.2.7".
+     * @param value The value, anything but NO_MATCH.
+     * @throws IllegalArgumentException If the prefix is malformed or the value is NO_MATCH.
+     */
+    public void insert(String cidr, byte value) {
+        if (value == NO_MATCH) {
+            throw new IllegalArgumentException("Cannot insert the NO_MATCH value");
+        }
+        int slash = cidr.indexOf('/');
+        String address = slash < 0 ? cidr : cidr.substring(0, slash);
+        int family = IpLiteral.family(address);
+        if (family == IpLiteral.INVALID) {
+            throw new IllegalArgumentException("Invalid address in prefix: " + cidr);
+        }
+        int width = family == IpLiteral.IPV4 ? 32 : 128;
+        int length;
+        try {
+            length = slash < 0 ? width : Integer.parseInt(cidr.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid prefix length: " + cidr, e);
+        }
+        if (family == IpLiteral.IPV4 && address.indexOf(':') >= 0 && slash >= 0) {
+            // IPv4-mapped IPv6 prefix, counted over the 96 bits of ::ffff:0:0/96
+            length -= 96;
+        }
+        if (length < 0 || length > width) {
+            throw new IllegalArgumentException("Invalid prefix length: " + cidr);
+        }
+        insert(family == IpLiteral.IPV4 ? IPV4_ROOT : IPV6_ROOT,
+                IpLiteral.high(address), family == IpLiteral.IPV4 ? 0L : IpLiteral.low(address), length, value);
+    }
+
+    /**
+     * @brief Finds the value of the longest prefix containing an address.
+     * @param address The address literal.
+     * @return The value, or NO_MATCH if no prefix contains the address or it is not a literal.
+     */
+    public byte match(String address) {
+        int family = IpLiteral.family(address);
+        if (family == IpLiteral.IPV4) {
+            return match(IPV4_ROOT, IpLiteral.high(address), 0L, 32);
+        }
+        if (family == IpLiteral.IPV6) {
+            return match(IPV6_ROOT, IpLiteral.high(address), IpLiteral.low(address), 128);
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * @brief Gets the number of prefixes with a value.
+     * @return The number of prefixes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @brief Gets the memory used by the nodes in use.
+     * @return Approximate size in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) nodeCount * STRIDE * Long.BYTES;
+    }
+
+    /**
+     * @brief Walks from a root towards an address, keeping the last value seen.
+     * @param node The root of the address family.
+     * @param high High half of the address.
+     * @param low Low half of the address.
+     * @param width Bits in an address of the family.
+     * @return The value of the longest matching prefix, or NO_MATCH.
+     */
+    private byte match(int node, long high, long low, int width) {
+        byte best = NO_MATCH;
+        while (true) {
+            int base = node * STRIDE;
+            long meta = nodes[base + META];
+            int length = (int) (meta >>> 8);
+            if (commonPrefix(nodes[base + KEY_HIGH], nodes[base + KEY_LOW], high, low) < length) {
+                return best;
+            }
+            if ((byte) meta != NO_MATCH) {
+                best = (byte) meta;
+            }
+            if (length == width) {
+                return best;
+            }
+            int child = child(node, bit(high, low, length));
+            if (child <= IPV6_ROOT) {
+                return best;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * @brief Inserts a prefix below a root.
+     * @param root The root of the address family.
+     * @param high High half of the prefix.
+     * @param low Low half of the prefix.
+     * @param length Prefix length.
+     * @param value The value.
+     */
+    private void insert(int root, long high, long low, int length, byte value) {
+        high &= IpLiteral.mask(length);
+        low &= IpLiteral.mask(length - 64);
+        int node = root;
+        while (true) {
+            int nodeLength = length(node);
+            if (nodeLength == length) {
+                if (value(node) == NO_MATCH) {
+                    size++;
+                }
+                nodes[node * STRIDE + META] = (long) length << 8 | (value & 0xFF);
+                return;
+            }
+            int direction = bit(high, low, nodeLength);
+            int child = child(node, direction);
+            if (child <= IPV6_ROOT) {
+                setChild(node, direction, newNode(high, low, length, value));
+                size++;
+                return;
+            }
+            int childLength = length(child);
+            long childHigh = nodes[child * STRIDE + KEY_HIGH];
+            long childLow = nodes[child * STRIDE + KEY_LOW];
+            int common = Math.min(commonPrefix(childHigh, childLow, high, low), Math.min(childLength, length));
+            if (common == childLength) {
+                node = child;
+                continue;
+            }
+            // The new prefix leaves the child's path: split it at the shared bits
+            int split = newNode(high & IpLiteral.mask(common), low & IpLiteral.mask(common - 64), common,
+                    common == length ? value : NO_MATCH);
+            setChild(split, bit(childHigh, childLow, common), child);
+            if (common != length) {
+                setChild(split, bit(high, low, common), newNode(high, low, length, value));
+            }
+            setChild(node, direction, split);
+            size++;
+            return;
+        }
+    }
+
+    /**
+     * @brief Appends a node.
+     * @param high High half of its prefix.
+     * @param low Low half of its prefix.
+     * @param length Its prefix length.
+     * @param value Its value.
+     * @return The index of the node.
+     */
+    private int newNode(long high, long low, int length, byte value) {
+        if (nodeCount * STRIDE == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        int node = nodeCount++;
+        int base = node * STRIDE;
+        nodes[base + KEY_HIGH] = high;
+        nodes[base + KEY_LOW] = low;
+        nodes[base + META] = (long) length << 8 | (value & 0xFF);
+        return node;
+    }
+
+    /**
+     * @brief Gets the prefix length of a node.
+     * @param node The node.
+     * @return The prefix length, 0 to 128.
+     */
+    private int length(int node) {
+        return (int) (nodes[node * STRIDE + META] >>> 8);
+    }
+
+    /**
+     * @brief Gets the value of a node.
+     * @param node The node.
+     * @return The value, NO_MATCH for nodes that only branch.
+     */
+    private byte value(int node) {
+        return (byte) nodes[node * STRIDE + META];
+    }
+
+    /**
+     * @brief Gets a child of a node.
+     * @param node The parent.
+     * @param direction The bit leading to the child.
+     * @return The child, or a root index if there is none.
+     */
+    private int child(int node, int direction) {
+        long children = nodes[node * STRIDE + CHILDREN];
+        return (int) (direction == 0 ? children >>> 32 : children);
+    }
+
+    /**
+     * @brief Sets a child of a node.
+     * @param node The parent.
+     * @param direction The bit leading to the child.
+     * @param child The child.
+     */
+    private void setChild(int node, int direction, int child) {
+        int index = node * STRIDE + CHILDREN;
+        nodes[index] = direction == 0
+                ? (long) child << 32 | (nodes[index] & 0xFFFFFFFFL)
+                : (nodes[index] & 0xFFFFFFFF00000000L) | (child & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @brief Gets one bit of a 128-bit value.
+     * @param high High half.
+     * @param low Low half.
+     * @param position Bit position, 0 being the most significant.
+     * @return The bit, 0 or 1.
+     */
+    private static int bit(long high, long low, int position) {
+        return position < 64
+                ? (int) (high >>> (63 - position)) & 1
+                : (int) (low >>> (127 - position)) & 1;
+    }
+
+    /**
+     * @brief Counts the leading bits two 128-bit values share.
+     * @param highA High half of the first value.
+     * @param lowA Low half of the first value.
+     * @param highB High half of the second value.
+     * @param lowB Low half of the second value.
+     * @return The number of shared leading bits, 0 to 128.
+     */
+    private static int commonPrefix(long highA, long lowA, long highB, long lowB) {
+        long difference = highA ^ highB;
+        if (difference != 0) {
+            return Long.numberOfLeadingZeros(difference);
+        }
+        difference = lowA ^ lowB;
+        return difference == 0 ? 128 : 64 + Long.numberOfLeadingZeros(difference);
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * @file ClientIp.java
+ * @brief Resolution of the client IP address of a request.
+ *
+ * Shared by the login endpoints, which count failed attempts per address, and
+ * the rate limit filter, which keys its buckets by it. X-Forwarded-For is only
+ * honored when the connection comes from a configured trusted proxy, since any
+ * other client can put whatever address it likes in the header.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @class ClientIp
+ * @brief Takes the client address from the connection, or from X-Forwarded-For behind trusted proxies.
+ *
+ * Each trusted proxy appends the address it received the request from, so the
+ * header is read from right to left, skipping trusted proxies, and the first
+ * address that is not one of them is the client. Entries left of it were sent
+ * by the client itself and are ignored.
+ */
+@Component
+public class ClientIp {
+
+    /** Header listing the addresses a request was forwarded for, the nearest hop last. */
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    /** Trie value of trusted proxy prefixes. */
+    private static final byte TRUSTED = 1;
+
+    /** Addresses or CIDR prefixes of the proxies allowed to set X-Forwarded-For, empty for none. */
+    @Value("${api.security.trusted-proxies}")
+    private List<String> trustedProxies;
+
+    /** Prefixes of the trusted proxies, created once from the property. */
+    private CidrTrie trustedTrie;
+
+    /**
+     * @brief Parses the trusted proxy prefixes.
+     * @throws IllegalArgumentException If a prefix is malformed.
+     */
+    @PostConstruct
+    public void init() {
+        CidrTrie trie = new CidrTrie();
+        if (trustedProxies != null) {
+            for (String proxy : trustedProxies) {
+                if (!proxy.isBlank()) {
+                    trie.insert(proxy.trim(), TRUSTED);
+                }
+            }
+        }
+        trustedTrie = trie;
+    }
+
+    /**
+     * @brief Extracts the client IP address from a servlet request.
+     * @param request The HTTP request.
+     * @return The client IP address.
+     */
+    public String of(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!isTrusted(remoteAddress)) {
+            return remoteAddress;
+        }
+        return of(request.getHeader(FORWARDED_FOR_HEADER), remoteAddress);
+    }
+
+    /**
+     * @brief Picks the client IP address from the forwarded header or the peer address.
+     * @param forwardedFor The X-Forwarded-For header value, may be null.
+     * @param remoteAddress The address of the connection peer, may be null.
+     * @return The right-most address of the header that is not a trusted proxy,
+     *         or the peer address if the peer is not a trusted proxy.
+     */
+    public String of(String forwardedFor, String remoteAddress) {
+        if (forwardedFor == null || !isTrusted(remoteAddress)) {
+            return remoteAddress;
+        }
+        String client = remoteAddress;
+        int end = forwardedFor.length();
+        while (end > 0) {
+            int comma = forwardedFor.lastIndexOf(',', end - 1);
+            String hop = forwardedFor.substring(comma + 1, end).trim();
+            if (IpLiteral.family(hop) == IpLiteral.INVALID) {
+                // Nothing reliable lies beyond an entry that is not an address, such as "unknown"
+                return client;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+            end = comma < 0 ? 0 : comma;
+        }
+        return client;
+    }
+
+    /**
+     * @brief Checks whether an address belongs to a trusted proxy.
+     * @param address The address literal, may be null.
+     * @return True if a trusted prefix contains the address.
+     */
+    private boolean isTrusted(String address) {
+        return trustedTrie.match(address) == TRUSTED;
+    }
+}
@@ -0,0 +1,542 @@
+/**
+ * @file Hs256FastVerifier.java
+ * @brief Allocation-light verifier for the HS256 tokens issued by JwtUtils.
+ *
+ * Verifies the signature with a per-thread Mac, compares it in constant time
+ * against the token characters and reads the claims with a minimal scanner,
+ * without building intermediate Strings or JSON trees.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * @class Hs256FastVerifier
+ * @brief Fast path for HS256 token verification.
+ *
+ * Only handles the shape of token this application issues: a header with
+ * alg HS256 and an optional typ, and a flat payload of strings, integers and
+ * booleans without escape sequences. Anything else makes verify return null
+ * so the caller can fall back to the library verifier, which gives the
+ * authoritative answer for unusual tokens.
+ */
+public class Hs256FastVerifier {
+
+    /** Length of an HMAC-SHA256 signature in bytes. */
+    private static final int MAC_LENGTH = 32;
+
+    /** Length of a base64url encoded HMAC-SHA256 signature without padding. */
+    private static final int SIGNATURE_LENGTH = 43;
+
+    /** Longest token handled by the fast path; keeps the per-thread buffers small. */
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    /** Base64url alphabet. */
+    private static final byte[] ENCODE =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    /** Reverse base64url alphabet; -1 for characters outside it. */
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ENCODE.length; i++) {
+            DECODE[ENCODE[i]] = (byte) i;
+        }
+    }
+
+    /** Claim names, as bytes for comparison against the decoded JSON. */
+    private static final byte[] ALG = ascii("alg");
+    private static final byte[] TYP = ascii("typ");
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] EXP = ascii("exp");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] NBF = ascii("nbf");
+    private static final byte[] JTI = ascii("jti");
+    private static final byte[] USERNAME = ascii("username");
+    private static final byte[] REMEMBER_ME = ascii("rememberMe");
+    private static final byte[] ROLE = ascii("role");
+    private static final byte[] VER = ascii("ver");
+
+    /** HMAC key derived from the shared secret. */
+    private final SecretKeySpec key;
+
+    /** Per-thread Mac and buffers, reused across tokens. */
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * @brief Reusable per-thread state.
+     */
+    private static final class Scratch {
+
+        /** Mac initialized with the signing key. */
+        final Mac mac;
+
+        /** Computed signature. */
+        final byte[] signature = new byte[MAC_LENGTH];
+
+        /** Raw token bytes followed by the decoded header or payload. */
+        byte[] buffer = new byte[1024];
+
+        /** Claims of the token being verified. */
+        final Claims claims = new Claims();
+
+        /**
+         * @brief Creates the per-thread state.
+         * @param key The HMAC key.
+         */
+        Scratch(SecretKeySpec key) {
+            try {
+                mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        }
+    }
+
+    /**
+     * @brief Claims read by the scanner.
+     */
+    private static final class Claims {
+        String alg;
+        String typ;
+        String sub;
+        String username;
+        String role;
+        String jti;
+        Integer ver;
+        boolean rememberMe;
+        long exp;
+        long iat;
+        long nbf;
+        boolean hasExp;
+        boolean hasIat;
+        boolean hasNbf;
+        boolean unknownHeader;
+
+        /**
+         * @brief Clears all claims before a new token is scanned.
+         */
+        void reset() {
+            alg = typ = sub = username = role = jti = null;
+            ver = null;
+            rememberMe = hasExp = hasIat = hasNbf = unknownHeader = false;
+        }
+    }
+
+    /**
+     * @brief Constructor for Hs256FastVerifier.
+     * @param secret The shared HMAC secret, encoded the same way as for the library verifier.
+     */
+    public Hs256FastVerifier(byte[] secret) {
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(key));
+    }
+
+    /**
+     * @brief Verifies a token issued with HS256.
+     * @param token The raw token string.
+     * @return The verification result, or null if the token must be checked by the library verifier.
+     */
+    public VerifiedToken verify(String token) {
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || length - secondDot - 1 != SIGNATURE_LENGTH) {
+            return null;
+        }
+
+        Scratch state = scratch.get();
+        byte[] buffer = state.buffer;
+        int required = length + (secondDot / 4 + 1) * 3;
+        if (buffer.length < required) {
+            buffer = new byte[Math.max(required, buffer.length * 2)];
+            state.buffer = buffer;
+        }
+
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                return null;
+            }
+            buffer[i] = (byte) c;
+        }
+
+        if (!signatureMatches(state, buffer, secondDot)) {
+            return VerifiedToken.invalid();
+        }
+
+        Claims claims = state.claims;
+        claims.reset();
+
+        int headerLength = decode(buffer, 0, firstDot, buffer, length);
+        if (headerLength < 0 || !scan(buffer, length, length + headerLength, claims, true)
+                || claims.unknownHeader || !"HS256".equals(claims.alg)
+                || (claims.typ != null && !"JWT".equals(claims.typ))) {
+            return null;
+        }
+
+        int payloadLength = decode(buffer, firstDot + 1, secondDot, buffer, length);
+        if (payloadLength < 0 || !scan(buffer, length, length + payloadLength, claims, false) || !claims.hasExp) {
+            return null;
+        }
+
+        // Same checks as the library verifier with zero leeway, at second precision
+        long now = System.currentTimeMillis() / 1000;
+        if ((claims.hasNbf && now < claims.nbf) || (claims.hasIat && now < claims.iat)) {
+            return VerifiedToken.invalid();
+        }
+        if (now > claims.exp) {
+            return VerifiedToken.expired();
+        }
+
+        return new VerifiedToken(
+                TokenStatus.VALID,
+                claims.sub,
+                claims.username,
+                claims.role,
+                claims.ver,
+                claims.rememberMe,
+                Instant.ofEpochSecond(claims.exp),
+                claims.jti
+        );
+    }
+
+    /**
+     * @brief Computes the signature and compares it with the token in constant time.
+     *
+     * The computed signature is base64url encoded on the fly and compared
+     * character by character with the token, so the token signature is never decoded.
+     *
+     * @param state The per-thread state.
+     * @param buffer The raw token bytes.
+     * @param secondDot Index of the dot before the signature.
+     * @return True if the signature is valid.
+     */
+    private static boolean signatureMatches(Scratch state, byte[] buffer, int secondDot) {
+        byte[] signature = state.signature;
+        try {
+            state.mac.update(buffer, 0, secondDot);
+            state.mac.doFinal(signature, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+
+        int diff = 0;
+        int pos = secondDot + 1;
+        int i = 0;
+        for (; i + 3 <= MAC_LENGTH; i += 3) {
+            int bits = (signature[i] & 0xff) << 16 | (signature[i + 1] & 0xff) << 8 | (signature[i + 2] & 0xff);
+            diff |= buffer[pos++] ^ ENCODE[bits >>> 18 & 63];
+            diff |= buffer[pos++] ^ ENCODE[bits >>> 12 & 63];
+            diff |= buffer[pos++] ^ ENCODE[bits >>> 6 & 63];
+            diff |= buffer[pos++] ^ ENCODE[bits & 63];
+        }
+
+        // The last two bytes encode to three characters
+        int bits = (signature[i] & 0xff) << 16 | (signature[i + 1] & 0xff) << 8;
+        diff |= buffer[pos++] ^ ENCODE[bits >>> 18 & 63];
+        diff |= buffer[pos++] ^ ENCODE[bits >>> 12 & 63];
+        diff |= buffer[pos] ^ ENCODE[bits >>> 6 & 63];
+
+        return diff == 0;
+    }
+
+    /**
+     * @brief Decodes unpadded base64url.
+     * @param src The source bytes.
+     * @param from The first index to decode.
+     * @param to The index after the last one to decode.
+     * @param dst The destination buffer.
+     * @param dstPos The first destination index.
+     * @return The number of decoded bytes, or -1 if the input is not unpadded base64url.
+     */
+    private static int decode(byte[] src, int from, int to, byte[] dst, int dstPos) {
+        if ((to - from) % 4 == 1) {
+            return -1;
+        }
+
+        int bits = 0;
+        int bitCount = 0;
+        int out = dstPos;
+        for (int i = from; i < to; i++) {
+            int value = DECODE[src[i]];
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6 | value) & 0xffff;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[out++] = (byte) (bits >>> bitCount);
+            }
+        }
+        return out - dstPos;
+    }
+
+    /**
+     * @brief Scans a flat JSON object and stores the known claims.
+     * @param b The buffer holding the JSON.
+     * @param pos The index of the first JSON byte.
+     * @param end The index after the last JSON byte.
+     * @param claims The claims to fill.
+     * @param header True when scanning the token header.
+     * @return False if the JSON uses anything the scanner does not handle.
+     */
+    private static boolean scan(byte[] b, int pos, int end, Claims claims, boolean header) {
+        pos = skipWhitespace(b, pos, end);
+        if (pos >= end || b[pos] != '{') {
+            return false;
+        }
+        pos = skipWhitespace(b, pos + 1, end);
+        if (pos < end && b[pos] == '}') {
+            return skipWhitespace(b, pos + 1, end) == end;
+        }
+
+        while (true) {
+            if (pos >= end || b[pos] != '"') {
+                return false;
+            }
+            int keyStart = pos + 1;
+            int keyEnd = endOfString(b, keyStart, end);
+            if (keyEnd < 0) {
+                return false;
+            }
+
+            pos = skipWhitespace(b, keyEnd + 1, end);
+            if (pos >= end || b[pos] != ':') {
+                return false;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+            if (pos >= end) {
+                return false;
+            }
+
+            byte first = b[pos];
+            if (first == '"') {
+                int valueEnd = endOfString(b, pos + 1, end);
+                if (valueEnd < 0 || !setString(b, keyStart, keyEnd, pos + 1, valueEnd, claims, header)) {
+                    return false;
+                }
+                pos = valueEnd + 1;
+            } else if (first == '-' || (first >= '0' && first <= '9')) {
+                int valueEnd = endOfNumber(b, pos, end);
+                if (valueEnd < 0 || header || !setNumber(b, keyStart, keyEnd, parseLong(b, pos, valueEnd), claims)) {
+                    return false;
+                }
+                pos = valueEnd;
+            } else if (matches(b, pos, end, "true") || matches(b, pos, end, "false")) {
+                boolean value = first == 't';
+                if (header || !setBoolean(b, keyStart, keyEnd, value, claims)) {
+                    return false;
+                }
+                pos += value ? 4 : 5;
+            } else {
+                // null, objects and arrays are left to the library verifier
+                return false;
+            }
+
+            pos = skipWhitespace(b, pos, end);
+            if (pos >= end) {
+                return false;
+            }
+            if (b[pos] == '}') {
+                return skipWhitespace(b, pos + 1, end) == end;
+            }
+            if (b[pos] != ',') {
+                return false;
+            }
+            pos = skipWhitespace(b, pos + 1, end);
+        }
+    }
+
+    /**
+     * @brief Stores a string claim.
+     * @return False if the claim is known but must not be a string.
+     */
+    private static boolean setString(byte[] b, int keyStart, int keyEnd, int start, int end, Claims claims, boolean header) {
+        if (header) {
+            if (is(b, keyStart, keyEnd, ALG)) {
+                claims.alg = new String(b, start, end - start, StandardCharsets.UTF_8);
+            } else if (is(b, keyStart, keyEnd, TYP)) {
+                claims.typ = new String(b, start, end - start, StandardCharsets.UTF_8);
+            } else {
+                claims.unknownHeader = true;
+            }
+            return true;
+        }
+
+        if (is(b, keyStart, keyEnd, SUB)) {
+            claims.sub = new String(b, start, end - start, StandardCharsets.UTF_8);
+        } else if (is(b, keyStart, keyEnd, USERNAME)) {
+            claims.username = new String(b, start, end - start, StandardCharsets.UTF_8);
+        } else if (is(b, keyStart, keyEnd, ROLE)) {
+            claims.role = new String(b, start, end - start, StandardCharsets.UTF_8);
+        } else if (is(b, keyStart, keyEnd, JTI)) {
+            claims.jti = new String(b, start, end - start, StandardCharsets.UTF_8);
+        } else {
+            return !isNumericClaim(b, keyStart, keyEnd) && !is(b, keyStart, keyEnd, REMEMBER_ME);
+        }
+        return true;
+    }
+
+    /**
+     * @brief Stores a numeric claim.
+     * @return False if the claim is known but must not be a number, or is out of range.
+     */
+    private static boolean setNumber(byte[] b, int keyStart, int keyEnd, long value, Claims claims) {
+        if (is(b, keyStart, keyEnd, EXP)) {
+            claims.exp = value;
+            claims.hasExp = true;
+        } else if (is(b, keyStart, keyEnd, IAT)) {
+            claims.iat = value;
+            claims.hasIat = true;
+        } else if (is(b, keyStart, keyEnd, NBF)) {
+            claims.nbf = value;
+            claims.hasNbf = true;
+        } else if (is(b, keyStart, keyEnd, VER)) {
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                return false;
+            }
+            claims.ver = (int) value;
+        } else {
+            return !isStringClaim(b, keyStart, keyEnd) && !is(b, keyStart, keyEnd, REMEMBER_ME);
+        }
+        return true;
+    }
+
+    /**
+     * @brief Stores a boolean claim.
+     * @return False if the claim is known but must not be a boolean.
+     */
+    private static boolean setBoolean(byte[] b, int keyStart, int keyEnd, boolean value, Claims claims) {
+        if (is(b, keyStart, keyEnd, REMEMBER_ME)) {
+            claims.rememberMe = value;
+            return true;
+        }
+        return !isStringClaim(b, keyStart, keyEnd) && !isNumericClaim(b, keyStart, keyEnd);
+    }
+
+    /**
+     * @brief Checks whether a key names one of the string claims.
+     */
+    private static boolean isStringClaim(byte[] b, int keyStart, int keyEnd) {
+        return is(b, keyStart, keyEnd, SUB) || is(b, keyStart, keyEnd, USERNAME)
+                || is(b, keyStart, keyEnd, ROLE) || is(b, keyStart, keyEnd, JTI);
+    }
+
+    /**
+     * @brief Checks whether a key names one of the numeric claims.
+     */
+    private static boolean isNumericClaim(byte[] b, int keyStart, int keyEnd) {
+        return is(b, keyStart, keyEnd, EXP) || is(b, keyStart, keyEnd, IAT)
+                || is(b, keyStart, keyEnd, NBF) || is(b, keyStart, keyEnd, VER);
+    }
+
+    /**
+     * @brief Compares a key with a claim name without allocating.
+     */
+    private static boolean is(byte[] b, int keyStart, int keyEnd, byte[] name) {
+        return Arrays.equals(b, keyStart, keyEnd, name, 0, name.length);
+    }
+
+    /**
+     * @brief Finds the closing quote of a string.
+     * @return The index of the closing quote, or -1 for escapes, control characters or a missing quote.
+     */
+    private static int endOfString(byte[] b, int pos, int end) {
+        for (int i = pos; i < end; i++) {
+            byte c = b[i];
+            if (c == '"') {
+                return i;
+            }
+            if (c == '\\' || (c >= 0 && c < 0x20)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @brief Finds the end of an integer.
+     * @return The index after the last digit, or -1 for fractions, exponents or overly long numbers.
+     */
+    private static int endOfNumber(byte[] b, int pos, int end) {
+        int i = b[pos] == '-' ? pos + 1 : pos;
+        int digitsStart = i;
+        while (i < end && b[i] >= '0' && b[i] <= '9') {
+            i++;
+        }
+        int digits = i - digitsStart;
+        if (digits == 0 || digits > 18 || (i < end && (b[i] == '.' || b[i] == 'e' || b[i] == 'E'))) {
+            return -1;
+        }
+        return i;
+    }
+
+    /**
+     * @brief Parses an integer found by endOfNumber.
+     */
+    private static long parseLong(byte[] b, int pos, int end) {
+        boolean negative = b[pos] == '-';
+        long value = 0;
+        for (int i = negative ? pos + 1 : pos; i < end; i++) {
+            value = value * 10 + (b[i] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @brief Checks whether a literal starts at the given position.
+     */
+    private static boolean matches(byte[] b, int pos, int end, String literal) {
+        if (end - pos < literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (b[pos + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @brief Skips JSON whitespace.
+     * @return The index of the first non-whitespace byte.
+     */
+    private static int skipWhitespace(byte[] b, int pos, int end) {
+        while (pos < end && (b[pos] == ' ' || b[pos] == '\t' || b[pos] == '\n' || b[pos] == '\r')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * @brief Encodes a claim name as ASCII bytes.
+     */
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,282 @@
+/**
+ * @file IpLiteral.java
+ * @brief Allocation-free parsing of IPv4 and IPv6 address literals.
+ *
+ * Addresses are read as 128-bit values split into a high and a low half,
+ * left-aligned so that a prefix of any length is the leading bits. An IPv4
+ * address fills the top 32 bits of the high half; IPv4-mapped IPv6 addresses
+ * (::ffff:a.b.c.d) are read as the IPv4 address they carry. Host names are
+ * never resolved.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-15
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+/**
+ * @class IpLiteral
+ * @brief Static helpers reading address literals without creating objects.
+ *
+ * Each helper parses the whole literal and returns one value, so a lookup
+ * calls family() to validate and then high() and low() for the halves it
+ * needs, without any holder object per request.
+ */
+public final class IpLiteral {
+
+    /** Family of strings that are not address literals. */
+    public static final int INVALID = 0;
+
+    /** Family of IPv4 addresses, including IPv4-mapped IPv6 ones. */
+    public static final int IPV4 = 4;
+
+    /** Family of IPv6 addresses. */
+    public static final int IPV6 = 6;
+
+    /** Selects the family as the result of parse(). */
+    private static final int FAMILY = 0;
+
+    /** Selects the high half as the result of parse(). */
+    private static final int HIGH = 1;
+
+    /** Selects the low half as the result of parse(). */
+    private static final int LOW = 2;
+
+    /**
+     * @brief Private constructor to prevent instantiation.
+     */
+    private IpLiteral() {
+    }
+
+    /**
+     * @brief Gets the family of a literal.
+     * @param address The address literal.
+     * @return IPV4, IPV6, or INVALID if the string is not an address literal.
+     */
+    public static int family(String address) {
+        return (int) parse(address, FAMILY);
+    }
+
+    /**
+     * @brief Gets the high 64 bits of a valid literal.
+     * @param address The address literal.
+     * @return The high half; an IPv4 address in its top 32 bits.
+     */
+    public static long high(String address) {
+        return parse(address, HIGH);
+    }
+
+    /**
+     * @brief Gets the low 64 bits of a valid literal.
+     * @param address The address literal.
+     * @return The low half; zero for IPv4 addresses.
+     */
+    public static long low(String address) {
+        return parse(address, LOW);
+    }
+
+    /**
+     * @brief Gets the subnet of an address as a string key.
+     * @param address The address literal.
+     * @param ipv4Prefix Prefix length of IPv4 subnets.
+     * @param ipv6Prefix Prefix length of IPv6 subnets.
+     * @return The network address and prefix length, such as "203.0.113.0/24"
+     *         or "2001:db8:0:1:0:0:0:0/64", or null if the string is not an address literal.
+     */
+    public static String subnet(String address, int ipv4Prefix, int ipv6Prefix) {
+        int family = family(address);
+        if (family == IPV4) {
+            long network = high(address) & mask(ipv4Prefix);
+            return (network >>> 56) + "." + ((network >>> 48) & 0xFF) + "." + ((network >>> 40) & 0xFF) + "."
+                    + ((network >>> 32) & 0xFF) + "/" + ipv4Prefix;
+        }
+        if (family == IPV6) {
+            long high = high(address) & mask(ipv6Prefix);
+            long low = low(address) & mask(ipv6Prefix - 64);
+            StringBuilder key = new StringBuilder(48);
+            for (int group = 0; group < 8; group++) {
+                long half = group < 4 ? high : low;
+                key.append(Long.toHexString((half >>> (48 - 16 * (group % 4))) & 0xFFFF)).append(group < 7 ? ":" : "/");
+            }
+            return key.append(ipv6Prefix).toString();
+        }
+        return null;
+    }
+
+    /**
+     * @brief Gets the mask of the leading bits of a 64-bit half.
+     * @param bits Number of leading bits, clamped to 0..64.
+     * @return The mask.
+     */
+    public static long mask(int bits) {
+        if (bits <= 0) {
+            return 0L;
+        }
+        return bits >= 64 ? -1L : -1L << (64 - bits);
+    }
+
+    /**
+     * @brief Parses a literal and returns one part of it.
+     * @param address The address literal.
+     * @param part FAMILY, HIGH or LOW.
+     * @return The requested part; INVALID, or zero for the halves, if the string is not a literal.
+     */
+    private static long parse(String address, int part) {
+        if (address == null || address.isEmpty()) {
+            return 0L;
+        }
+        if (address.indexOf(':') < 0) {
+            long ipv4 = parseIpv4(address, 0, address.length());
+            if (ipv4 < 0) {
+                return 0L;
+            }
+            return part == FAMILY ? IPV4 : part == HIGH ? ipv4 << 32 : 0L;
+        }
+
+        long headHigh = 0;
+        long headLow = 0;
+        int head = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int tail = 0;
+        boolean gap = false;
+        int length = address.length();
+        int i = 0;
+        if (address.startsWith("::")) {
+            gap = true;
+            i = 2;
+        } else if (address.charAt(0) == ':') {
+            return 0L;
+        }
+
+        while (i < length) {
+            int j = i;
+            long value = 0;
+            while (j < length && j - i < 4) {
+                int digit = hexDigit(address.charAt(j));
+                if (digit < 0) {
+                    break;
+                }
+                value = value << 4 | digit;
+                j++;
+            }
+            int groups = 1;
+            if (j < length && address.charAt(j) == '.') {
+                // Embedded IPv4 address, only allowed as the last two groups
+                value = parseIpv4(address, i, length);
+                if (value < 0) {
+                    return 0L;
+                }
+                groups = 2;
+                j = length;
+            } else if (j == i || (j < length && hexDigit(address.charAt(j)) >= 0)) {
+                return 0L;
+            }
+
+            for (int k = groups - 1; k >= 0; k--) {
+                if (head + tail == 8) {
+                    return 0L;
+                }
+                long group = (value >>> (16 * k)) & 0xFFFF;
+                if (gap) {
+                    tailHigh = tailHigh << 16 | tailLow >>> 48;
+                    tailLow = tailLow << 16 | group;
+                    tail++;
+                } else {
+                    if (head < 4) {
+                        headHigh |= group << (48 - 16 * head);
+                    } else {
+                        headLow |= group << (48 - 16 * (head - 4));
+                    }
+                    head++;
+                }
+            }
+
+            if (j == length) {
+                break;
+            }
+            if (address.charAt(j) != ':' || j + 1 == length) {
+                return 0L;
+            }
+            if (address.charAt(j + 1) == ':') {
+                if (gap) {
+                    return 0L;
+                }
+                gap = true;
+                i = j + 2;
+            } else {
+                i = j + 1;
+            }
+        }
+
+        if (gap ? head + tail > 7 : head != 8) {
+            return 0L;
+        }
+        long high = headHigh | tailHigh;
+        long low = headLow | tailLow;
+        if (high == 0 && low >>> 32 == 0xFFFFL) {
+            return part == FAMILY ? IPV4 : part == HIGH ? low << 32 : 0L;
+        }
+        return part == FAMILY ? IPV6 : part == HIGH ? high : low;
+    }
+
+    /**
+     * @brief Parses a dotted IPv4 address.
+     * @param address The string holding the address.
+     * @param from Index of the first character.
+     * @param to Index after the last character.
+     * @return The address in the low 32 bits, or -1 if it is malformed.
+     */
+    private static long parseIpv4(String address, int from, int to) {
+        long value = 0;
+        int octets = 0;
+        int octet = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = address.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || octets == 3) {
+                    return -1;
+                }
+                value = value << 8 | octet;
+                octets++;
+                octet = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                octet = octet * 10 + (c - '0');
+                digits++;
+                if (octet > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || octets != 3) {
+            return -1;
+        }
+        return value << 8 | octet;
+    }
+
+    /**
+     * @brief Gets the value of a hexadecimal digit.
+     * @param c The character.
+     * @return The value, or -1 if the character is not a hexadecimal digit.
+     */
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
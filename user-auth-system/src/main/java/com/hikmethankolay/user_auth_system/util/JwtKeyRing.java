@@ -0,0 +1,373 @@
+/**
+ * @file JwtKeyRing.java
+ * @brief Ring of asymmetric JWT signing keys indexed by key ID.
+ *
+ * Keys are either generated in memory and rotated on a schedule, or loaded
+ * from a PKCS12 key store that is reloaded periodically. Public keys are
+ * published as a JSON Web Key Set so other services can verify tokens locally.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.*;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * @class JwtKeyRing
+ * @brief Thread-safe set of signing keys for RS256 or ES256 tokens.
+ *
+ * A new key is published immediately but only becomes the active signing key
+ * once it is older than the JWKS cache lifetime, so resource servers always see
+ * a key before tokens signed with it reach them. A superseded key is kept for
+ * verification until every token it could have signed has expired.
+ */
+public class JwtKeyRing {
+
+    /** Supported asymmetric algorithms. */
+    public static final Set<String> SUPPORTED_ALGORITHMS = Set.of("RS256", "ES256");
+
+    /**
+     * @brief A signing key pair with its key ID.
+     * @param kid The key ID written to the token header.
+     * @param publicKey The public key used for verification.
+     * @param privateKey The private key used for signing.
+     * @param createdAt The time the key was created.
+     * @param signer The signing algorithm bound to this key.
+     */
+    public record SigningKey(String kid, PublicKey publicKey, PrivateKey privateKey, Instant createdAt, Algorithm signer) {
+    }
+
+    /** Algorithm name (RS256 or ES256). */
+    private final String algorithm;
+
+    /** Optional PKCS12 key store; null when keys are generated in memory. */
+    private final Path keyStorePath;
+
+    /** Password of the key store. */
+    private final char[] keyStorePassword;
+
+    /** How often a new key is generated in memory mode. */
+    private final Duration rotationInterval;
+
+    /** Delay before a published key is used for signing (the JWKS cache lifetime). */
+    private final Duration activationDelay;
+
+    /** Longest lifetime of a token, used to retire old keys. */
+    private final Duration maxTokenLifetime;
+
+    /** Clock used for key ages. */
+    private final Clock clock;
+
+    /** Keys sorted from oldest to newest; replaced atomically. */
+    private volatile List<SigningKey> keys = List.of();
+
+    /**
+     * @brief Constructor for JwtKeyRing.
+     * @param algorithm The algorithm name (RS256 or ES256).
+     * @param keyStorePath The PKCS12 key store path, or null to generate keys in memory.
+     * @param keyStorePassword The key store password.
+     * @param rotationInterval How often a new key is generated in memory mode.
+     * @param activationDelay Delay before a newly published key signs tokens.
+     * @param maxTokenLifetime Longest lifetime of an issued token.
+     * @param clock The clock used for key ages.
+     */
+    public JwtKeyRing(String algorithm, Path keyStorePath, char[] keyStorePassword, Duration rotationInterval,
+                      Duration activationDelay, Duration maxTokenLifetime, Clock clock) {
+        if (!SUPPORTED_ALGORITHMS.contains(algorithm)) {
+            throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.keyStorePath = keyStorePath;
+        this.keyStorePassword = keyStorePassword;
+        this.rotationInterval = rotationInterval;
+        this.activationDelay = activationDelay;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.clock = clock;
+        refresh();
+    }
+
+    /**
+     * @brief Gets the algorithm name.
+     * @return RS256 or ES256.
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @brief Reloads the key store or rotates the in-memory key when due.
+     *
+     * Also drops keys that can no longer have signed an unexpired token.
+     */
+    public synchronized void refresh() {
+        List<SigningKey> updated = new ArrayList<>(keyStorePath != null ? loadKeyStore() : keys);
+
+        if (keyStorePath == null) {
+            Instant now = clock.instant();
+            if (updated.isEmpty() || !updated.get(updated.size() - 1).createdAt().plus(rotationInterval).isAfter(now)) {
+                updated.add(generateKey(now));
+            }
+        }
+
+        keys = List.copyOf(prune(updated));
+    }
+
+    /**
+     * @brief Gets the key that signs new tokens.
+     * @return The newest key older than the activation delay, or the oldest key.
+     */
+    public SigningKey activeKey() {
+        List<SigningKey> current = keys;
+        Instant cutoff = clock.instant().minus(activationDelay);
+        for (int i = current.size() - 1; i > 0; i--) {
+            if (!current.get(i).createdAt().isAfter(cutoff)) {
+                return current.get(i);
+            }
+        }
+        return current.get(0);
+    }
+
+    /**
+     * @brief Finds a public key by its key ID.
+     * @param kid The key ID from the token header.
+     * @return The public key, or null if the key is unknown.
+     */
+    public PublicKey findPublicKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        for (SigningKey key : keys) {
+            if (key.kid().equals(kid)) {
+                return key.publicKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @brief Gets all keys currently published.
+     * @return The keys sorted from oldest to newest.
+     */
+    public List<SigningKey> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @brief Creates the verification algorithm that resolves keys by key ID.
+     * @return An RSA256 or ECDSA256 algorithm backed by this ring.
+     */
+    public Algorithm verificationAlgorithm() {
+        if ("RS256".equals(algorithm)) {
+            return Algorithm.RSA256(new RSAKeyProvider() {
+                @Override
+                public RSAPublicKey getPublicKeyById(String keyId) {
+                    return (RSAPublicKey) findPublicKey(keyId);
+                }
+
+                @Override
+                public RSAPrivateKey getPrivateKey() {
+                    return null;
+                }
+
+                @Override
+                public String getPrivateKeyId() {
+                    return null;
+                }
+            });
+        }
+        return Algorithm.ECDSA256(new ECDSAKeyProvider() {
+            @Override
+            public ECPublicKey getPublicKeyById(String keyId) {
+                return (ECPublicKey) findPublicKey(keyId);
+            }
+
+            @Override
+            public ECPrivateKey getPrivateKey() {
+                return null;
+            }
+
+            @Override
+            public String getPrivateKeyId() {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @brief Builds the JSON Web Key Set of all published public keys.
+     * @return A map with a "keys" entry, ready for JSON serialization.
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (SigningKey key : keys) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kid", key.kid());
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm);
+            if (key.publicKey() instanceof RSAPublicKey rsa) {
+                jwk.put("kty", "RSA");
+                jwk.put("n", base64Url(unsigned(rsa.getModulus())));
+                jwk.put("e", base64Url(unsigned(rsa.getPublicExponent())));
+            } else if (key.publicKey() instanceof ECPublicKey ec) {
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("x", base64Url(fixedLength(ec.getW().getAffineX(), 32)));
+                jwk.put("y", base64Url(fixedLength(ec.getW().getAffineY(), 32)));
+            }
+            jwks.add(jwk);
+        }
+        return Map.of("keys", jwks);
+    }
+
+    /**
+     * @brief Removes keys whose successor has been active longer than a token lifetime.
+     * @param sorted The keys sorted from oldest to newest.
+     * @return The keys that may still verify unexpired tokens.
+     */
+    private List<SigningKey> prune(List<SigningKey> sorted) {
+        sorted.sort(Comparator.comparing(SigningKey::createdAt));
+        Instant now = clock.instant();
+        int firstKept = 0;
+        for (int i = 0; i < sorted.size() - 1; i++) {
+            Instant supersededAt = sorted.get(i + 1).createdAt().plus(activationDelay);
+            if (supersededAt.plus(maxTokenLifetime).isBefore(now)) {
+                firstKept = i + 1;
+            }
+        }
+        return new ArrayList<>(sorted.subList(firstKept, sorted.size()));
+    }
+
+    /**
+     * @brief Generates a new key pair for the configured algorithm.
+     * @param now The creation time of the key.
+     * @return The new signing key.
+     */
+    private SigningKey generateKey(Instant now) {
+        try {
+            KeyPairGenerator generator;
+            if ("RS256".equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+            } else {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            KeyPair keyPair = generator.generateKeyPair();
+            return toSigningKey(UUID.randomUUID().toString(), keyPair.getPublic(), keyPair.getPrivate(), now);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate " + algorithm + " signing key", e);
+        }
+    }
+
+    /**
+     * @brief Loads all private key entries from the PKCS12 key store.
+     *
+     * The alias is used as key ID and the entry creation date as key age.
+     *
+     * @return The keys found in the key store.
+     */
+    private List<SigningKey> loadKeyStore() {
+        try (InputStream in = Files.newInputStream(keyStorePath)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, keyStorePassword);
+
+            List<SigningKey> loaded = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+                Key privateKey = keyStore.getKey(alias, keyStorePassword);
+                Certificate certificate = keyStore.getCertificate(alias);
+                boolean matches = "RS256".equals(algorithm)
+                        ? privateKey instanceof RSAPrivateKey
+                        : privateKey instanceof ECPrivateKey;
+                if (matches && certificate != null) {
+                    loaded.add(toSigningKey(alias, certificate.getPublicKey(), (PrivateKey) privateKey,
+                            keyStore.getCreationDate(alias).toInstant()));
+                }
+            }
+
+            if (loaded.isEmpty()) {
+                throw new IllegalStateException("No " + algorithm + " keys found in " + keyStorePath);
+            }
+            return loaded;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load JWT key store " + keyStorePath, e);
+        }
+    }
+
+    /**
+     * @brief Creates a signing key with its bound signing algorithm.
+     * @param kid The key ID.
+     * @param publicKey The public key.
+     * @param privateKey The private key.
+     * @param createdAt The creation time.
+     * @return The signing key.
+     */
+    private SigningKey toSigningKey(String kid, PublicKey publicKey, PrivateKey privateKey, Instant createdAt) {
+        Algorithm signer = "RS256".equals(algorithm)
+                ? Algorithm.RSA256((RSAPublicKey) publicKey, (RSAPrivateKey) privateKey)
+                : Algorithm.ECDSA256((ECPublicKey) publicKey, (ECPrivateKey) privateKey);
+        return new SigningKey(kid, publicKey, privateKey, createdAt, signer);
+    }
+
+    /**
+     * @brief Encodes bytes as unpadded base64url.
+     * @param bytes The bytes to encode.
+     * @return The encoded string.
+     */
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @brief Gets the big-endian magnitude of a positive integer without a sign byte.
+     * @param value The integer.
+     * @return The unsigned bytes.
+     */
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            return Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return bytes;
+    }
+
+    /**
+     * @brief Gets the big-endian magnitude of a coordinate padded to a fixed length.
+     * @param value The coordinate.
+     * @param length The output length in bytes.
+     * @return The padded bytes.
+     */
+    private static byte[] fixedLength(BigInteger value, int length) {
+        byte[] bytes = unsigned(value);
+        byte[] padded = new byte[length];
+        System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+        return padded;
+    }
+}
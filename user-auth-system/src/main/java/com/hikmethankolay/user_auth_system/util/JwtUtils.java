@@ -16,16 +16,26 @@
 package com.hikmethankolay.user_auth_system.util;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Utility class for generating, validating, and parsing JWT tokens.
@@ -45,6 +55,90 @@ public class JwtUtils {
     @Value("${api.security.token.remember-me-expiration}")
     private Long rememberMeExpirationMs;
 
+    /** Signing algorithm name (HS256, RS256 or ES256) */
+    @Value("${api.security.token.algorithm}")
+    private String jwtAlgorithm;
+
+    /** PKCS12 key store holding asymmetric signing keys; empty to generate keys in memory */
+    @Value("${api.security.token.key-store}")
+    private String keyStorePath;
+
+    /** Password of the signing key store */
+    @Value("${api.security.token.key-store-password}")
+    private String keyStorePassword;
+
+    /** How often a new in-memory signing key is generated */
+    @Value("${api.security.token.key-rotation-interval}")
+    private Long keyRotationIntervalMs;
+
+    /** Cache lifetime of the JWKS document, also the delay before a new key signs tokens */
+    @Value("${api.security.token.jwks-max-age}")
+    private Long jwksMaxAgeMs;
+
+    /** Whether verified tokens are cached */
+    @Value("${api.security.token.cache.enabled}")
+    private boolean tokenCacheEnabled;
+
+    /** Maximum number of cached verified tokens */
+    @Value("${api.security.token.cache.max-size}")
+    private long tokenCacheMaxSize;
+
+    /** Whether HS256 tokens are verified by the allocation-light fast path */
+    @Value("${api.security.token.fast-path.enabled}")
+    private boolean fastPathEnabled;
+
+    /** Format of issued tokens: jwt, or compact for the binary format */
+    @Value("${api.security.token.format}")
+    private String tokenFormat;
+
+    /** Whether tokens close to expiry are renewed by the JWT filter */
+    @Value("${api.security.token.sliding-renewal.enabled}")
+    private boolean slidingRenewalEnabled;
+
+    /** How long before expiry a token is renewed, in milliseconds */
+    @Value("${api.security.token.sliding-renewal.window}")
+    private long slidingRenewalWindowMs;
+
+    /** Signing algorithm, created once from the secret. Thread-safe. */
+    private Algorithm algorithm;
+
+    /** Token verifier, created once from the algorithm. Thread-safe. */
+    private JWTVerifier verifier;
+
+    /** Asymmetric key ring, created once when an asymmetric algorithm is configured. */
+    private Optional<JwtKeyRing> keyRing;
+
+    /** Cache of verified tokens, created once when enabled. */
+    private Optional<VerifiedTokenCache> tokenCache;
+
+    /** HS256 fast path verifier, created once when enabled and no key ring is used. */
+    private Optional<Hs256FastVerifier> fastVerifier;
+
+    /** Compact token codec, created once when no key ring is used. */
+    private Optional<CompactTokenCodec> compactCodec;
+
+    /**
+     * Creates the signing keys, verifiers and token cache from the configured properties.
+     * Compact tokens are HMAC signed, so the codec is only created with HS256.
+     */
+    @PostConstruct
+    public void init() {
+        keyRing = isAsymmetric() ? Optional.of(createKeyRing()) : Optional.empty();
+        algorithm = keyRing
+                .map(JwtKeyRing::verificationAlgorithm)
+                .orElseGet(() -> Algorithm.HMAC256(jwtSecret));
+        verifier = JWT.require(algorithm).build();
+        tokenCache = tokenCacheEnabled && tokenCacheMaxSize > 0
+                ? Optional.of(new VerifiedTokenCache(tokenCacheMaxSize))
+                : Optional.empty();
+        fastVerifier = fastPathEnabled && keyRing.isEmpty()
+                ? Optional.of(new Hs256FastVerifier(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                : Optional.empty();
+        compactCodec = keyRing.isEmpty()
+                ? Optional.of(new CompactTokenCodec(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                : Optional.empty();
+    }
+
     /**
      * Generates a JWT token for a given user with optional Remember Me.
      *
@@ -54,34 +148,209 @@ public class JwtUtils {
      * @return A signed JWT token string
      */
     public String generateJwtToken(String userId, String username, boolean rememberMe) {
+        return generateJwtToken(userId, username, null, null, rememberMe);
+    }
+
+    /**
+     * Generates a JWT token carrying the user's role and token version.
+     * Tokens with these claims can be authenticated without loading the user,
+     * and stop being accepted once the user's token version is bumped.
+     *
+     * @param userId The user ID to set as the token subject
+     * @param username The username to include as a claim
+     * @param role The role name to include as a claim, or null to omit it
+     * @param tokenVersion The user's current token version, or null to omit it
+     * @param rememberMe Whether to use extended expiration time
+     * @return A signed JWT token string
+     */
+    public String generateJwtToken(String userId, String username, String role, Integer tokenVersion, boolean rememberMe) {
         Long expirationTime = rememberMe ? rememberMeExpirationMs : jwtExpirationMs;
+        return createToken(userId, username, role, tokenVersion, rememberMe, expirationTime);
+    }
+
+    /**
+     * Generates a short-lived access token for use with a refresh token.
+     * The token always uses the standard expiration time; Remember Me only
+     * extends the refresh token.
+     *
+     * @param userId The user ID to set as the token subject
+     * @param username The username to include as a claim
+     * @param role The role name to include as a claim, or null to omit it
+     * @param tokenVersion The user's current token version, or null to omit it
+     * @param rememberMe Whether the login used Remember Me
+     * @return A signed JWT token string
+     */
+    public String generateAccessToken(String userId, String username, String role, Integer tokenVersion, boolean rememberMe) {
+        return createToken(userId, username, role, tokenVersion, rememberMe, jwtExpirationMs);
+    }
+
+    /**
+     * Builds and signs a token in the configured format.
+     * With the compact format, HS256 and a numeric subject a compact token is
+     * issued; otherwise a JWT.
+     *
+     * @param userId The user ID to set as the token subject
+     * @param username The username to include as a claim
+     * @param role The role name to include as a claim, or null to omit it
+     * @param tokenVersion The user's current token version, or null to omit it
+     * @param rememberMe Whether the login used Remember Me
+     * @param expirationTime Token lifetime in milliseconds
+     * @return A signed JWT token string
+     */
+    private String createToken(String userId, String username, String role, Integer tokenVersion, boolean rememberMe, Long expirationTime) {
+        Optional<CompactTokenCodec> codec = compactCodec;
+        if ("compact".equals(tokenFormat) && codec.isPresent() && isNumeric(userId)) {
+            long now = System.currentTimeMillis();
+            return codec.get().encode(Long.parseLong(userId), username, role, tokenVersion, rememberMe,
+                    UUID.randomUUID(), now / 1000, (now + expirationTime) / 1000);
+        }
 
-        return JWT.create()
+        JWTCreator.Builder builder = JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
                 .withSubject(userId)
                 .withClaim("username", username)
                 .withClaim("rememberMe", rememberMe)
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime))
-                .sign(Algorithm.HMAC256(jwtSecret));
+                .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime));
+
+        if (role != null) {
+            builder.withClaim("role", role);
+        }
+        if (tokenVersion != null) {
+            builder.withClaim("ver", tokenVersion);
+        }
+
+        Optional<JwtKeyRing> ring = getKeyRing();
+        if (ring.isPresent()) {
+            // Sign with one snapshot of the active key so kid and signature always match
+            JwtKeyRing.SigningKey signingKey = ring.get().activeKey();
+            return builder.withKeyId(signingKey.kid()).sign(signingKey.signer());
+        }
+        return builder.sign(algorithm);
     }
 
     /**
-     * Validates the JWT token and returns its status.
+     * Verifies the JWT token once and returns its status together with its claims.
+     * When the token cache is enabled, a previously verified token is returned
+     * from the cache without recomputing its signature.
      *
-     * @param token The JWT token string to validate
-     * @return The token status (VALID, EXPIRED, or INVALID)
+     * @param token The JWT token string to verify
+     * @return The verified token (claims are only set when the token is VALID)
      */
-    public TokenStatus validateJwtToken(String token) {
+    public VerifiedToken verifyToken(String token) {
+        if (token == null) {
+            return VerifiedToken.invalid();
+        }
+
+        VerifiedTokenCache cache = getTokenCache().orElse(null);
+        if (cache == null) {
+            return verifySignature(token);
+        }
+
+        VerifiedToken cached = cache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verifiedToken = verifySignature(token);
+        cache.put(token, verifiedToken);
+        return verifiedToken;
+    }
+
+    /**
+     * Checks whether a verified token should be replaced by a fresh one.
+     * Only valid tokens within the sliding renewal window before expiry qualify.
+     *
+     * @param verifiedToken The verified token
+     * @return True if sliding renewal is enabled and the token expires soon
+     */
+    public boolean isDueForRenewal(VerifiedToken verifiedToken) {
+        return slidingRenewalEnabled
+                && verifiedToken.isValid()
+                && verifiedToken.expiresAt() != null
+                && verifiedToken.expiresAt().toEpochMilli() - System.currentTimeMillis() <= slidingRenewalWindowMs;
+    }
+
+    /**
+     * Gets the asymmetric signing key ring.
+     *
+     * @return The key ring, or empty if tokens are signed with the shared HMAC secret
+     */
+    public Optional<JwtKeyRing> getKeyRing() {
+        return keyRing;
+    }
+
+    /**
+     * Rotates or reloads the asymmetric signing keys.
+     * Runs once per JWKS cache lifetime so new keys are picked up before they sign tokens.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token.jwks-max-age}", initialDelayString = "${api.security.token.jwks-max-age}")
+    public void refreshSigningKeys() {
+        getKeyRing().ifPresent(JwtKeyRing::refresh);
+    }
+
+    /**
+     * Gets the verified token cache.
+     *
+     * @return The cache, or empty if caching is disabled
+     */
+    public Optional<VerifiedTokenCache> getTokenCache() {
+        return tokenCache;
+    }
+
+    /**
+     * Verifies the signature and claims of a JWT or compact token.
+     * Compact tokens are accepted whatever format is configured for new tokens,
+     * so both formats work while clients migrate. HS256 tokens are handled by
+     * the fast path when enabled; tokens it does not recognize are verified by
+     * the library.
+     *
+     * @param token The token string to verify
+     * @return The verified token (claims are only set when the token is VALID)
+     */
+    private VerifiedToken verifySignature(String token) {
+        if (CompactTokenCodec.isCompact(token)) {
+            return compactCodec.map(codec -> codec.verify(token)).orElseGet(VerifiedToken::invalid);
+        }
+
+        Hs256FastVerifier fast = fastVerifier.orElse(null);
+        if (fast != null) {
+            VerifiedToken verifiedToken = fast.verify(token);
+            if (verifiedToken != null) {
+                return verifiedToken;
+            }
+        }
+
         try {
-            DecodedJWT jwt = JWT.require(Algorithm.HMAC256(jwtSecret)).build().verify(token);
-            return TokenStatus.VALID;
+            DecodedJWT jwt = verifier.verify(token);
+            Boolean rememberMe = jwt.getClaim("rememberMe").asBoolean();
+            return new VerifiedToken(
+                    TokenStatus.VALID,
+                    jwt.getSubject(),
+                    jwt.getClaim("username").asString(),
+                    jwt.getClaim("role").asString(),
+                    jwt.getClaim("ver").asInt(),
+                    Boolean.TRUE.equals(rememberMe),
+                    jwt.getExpiresAtAsInstant(),
+                    jwt.getId()
+            );
         } catch (TokenExpiredException e) {
-            return TokenStatus.EXPIRED;
+            return VerifiedToken.expired();
         } catch (Exception e) {
-            return TokenStatus.INVALID;
+            return VerifiedToken.invalid();
         }
     }
 
+    /**
+     * Validates the JWT token and returns its status.
+     *
+     * @param token The JWT token string to validate
+     * @return The token status (VALID, EXPIRED, or INVALID)
+     */
+    public TokenStatus validateJwtToken(String token) {
+        return verifyToken(token).status();
+    }
+
     /**
      * Extracts the user ID (subject) from a JWT token.
      *
@@ -89,7 +358,7 @@ public class JwtUtils {
      * @return The user ID as a Long
      */
     public Long getUserIdFromJwtToken(String token) {
-        DecodedJWT jwt = JWT.require(Algorithm.HMAC256(jwtSecret)).build().verify(token);
+        DecodedJWT jwt = verifier.verify(token);
         return Long.valueOf(jwt.getSubject());
     }
 
@@ -100,7 +369,7 @@ public class JwtUtils {
      * @return The username claim as a String
      */
     public String getUserNameFromJwtToken(String token) {
-        DecodedJWT jwt = JWT.require(Algorithm.HMAC256(jwtSecret)).build().verify(token);
+        DecodedJWT jwt = verifier.verify(token);
         return jwt.getClaim("username").asString();
     }
 
@@ -112,7 +381,7 @@ public class JwtUtils {
      */
     public boolean wasRememberMe(String token) {
         try {
-            DecodedJWT jwt = JWT.require(Algorithm.HMAC256(jwtSecret)).build().verify(token);
+            DecodedJWT jwt = verifier.verify(token);
             return jwt.getClaim("rememberMe").asBoolean();
         } catch (Exception e) {
             return false;
@@ -135,7 +404,7 @@ public class JwtUtils {
         Cookie[] cookies = request.getCookies();
         if (cookies != null) {
             for (Cookie cookie : cookies) {
-                if ("auth_token".equals(cookie.getName())) {
+                if (AuthCookies.NAME.equals(cookie.getName())) {
                     return cookie.getValue();
                 }
             }
@@ -143,4 +412,49 @@ public class JwtUtils {
 
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks whether a subject can be stored in the varint subject of a compact token.
+     *
+     * @param userId The subject
+     * @return True for non-negative decimal numbers that fit in a long
+     */
+    private boolean isNumeric(String userId) {
+        if (userId == null || userId.isEmpty() || userId.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < userId.length(); i++) {
+            if (userId.charAt(i) < '0' || userId.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether tokens are signed with an asymmetric key.
+     *
+     * @return True for RS256 and ES256
+     */
+    private boolean isAsymmetric() {
+        return jwtAlgorithm != null && !"HS256".equals(jwtAlgorithm);
+    }
+
+    /**
+     * Creates the key ring from the configured key store or in-memory keys.
+     *
+     * @return The new key ring
+     */
+    private JwtKeyRing createKeyRing() {
+        boolean useKeyStore = keyStorePath != null && !keyStorePath.isBlank();
+        return new JwtKeyRing(
+                jwtAlgorithm,
+                useKeyStore ? Path.of(keyStorePath) : null,
+                keyStorePassword != null ? keyStorePassword.toCharArray() : new char[0],
+                Duration.ofMillis(keyRotationIntervalMs),
+                Duration.ofMillis(jwksMaxAgeMs),
+                Duration.ofMillis(Math.max(jwtExpirationMs, rememberMeExpirationMs)),
+                Clock.systemUTC()
+        );
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * @file PasswordHashCalibrator.java
+ * @brief Picks password hashing cost parameters for the current hardware.
+ *
+ * Benchmarks increasing cost settings of an algorithm and returns the
+ * strongest one whose verification still fits a target latency. Used by
+ * AuthConfig at startup when calibration is enabled, and runnable on its own
+ * with the application classpath to print recommended properties:
+ *
+ *     java -cp <classpath> com.hikmethankolay.user_auth_system.util.PasswordHashCalibrator [target-ms]
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * @class PasswordHashCalibrator
+ * @brief Cost calibration for BCrypt, Argon2id and scrypt.
+ *
+ * Every algorithm is calibrated along a single cost axis: the log rounds of
+ * BCrypt, the iterations of Argon2id at a fixed memory size, and log2 of the
+ * CPU/memory cost of scrypt. Verification time grows monotonically along each
+ * axis, so the search stops at the first setting over the target.
+ */
+public final class PasswordHashCalibrator {
+
+    /** Password hashed during calibration. */
+    private static final String SAMPLE_PASSWORD = "Calibrati0n-Sample!";
+
+    /** Timed verifications per candidate; the fastest one counts. */
+    private static final int SAMPLES = 3;
+
+    /**
+     * @brief Outcome of a calibration.
+     * @param cost The chosen cost on the algorithm's axis.
+     * @param verifyTime Measured verification time at that cost.
+     */
+    public record Result(int cost, Duration verifyTime) {
+    }
+
+    /**
+     * @brief Private constructor to prevent instantiation.
+     */
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * @brief Calibrates the BCrypt strength.
+     * @param target The target verification latency.
+     * @return The strongest strength, between 4 and 31, within the target.
+     */
+    public static Result bcrypt(Duration target) {
+        return calibrate(BCryptPasswordEncoder::new, 4, 31, target);
+    }
+
+    /**
+     * @brief Calibrates the Argon2id iteration count.
+     * @param target The target verification latency.
+     * @param memoryKib Memory per hash in KiB.
+     * @param parallelism Number of lanes.
+     * @return The highest iteration count, between 1 and 20, within the target.
+     */
+    public static Result argon2(Duration target, int memoryKib, int parallelism) {
+        return calibrate(iterations -> new Argon2PasswordEncoder(16, 32, parallelism, memoryKib, iterations),
+                1, 20, target);
+    }
+
+    /**
+     * @brief Calibrates the scrypt CPU/memory cost.
+     * @param target The target verification latency.
+     * @param blockSize The block size parameter r.
+     * @param parallelization The parallelization parameter p.
+     * @return The highest log2 of the cost, between 10 and 20, within the target.
+     */
+    public static Result scrypt(Duration target, int blockSize, int parallelization) {
+        return calibrate(logCost -> new SCryptPasswordEncoder(1 << logCost, blockSize, parallelization, 32, 16),
+                10, 20, target);
+    }
+
+    /**
+     * @brief Finds the highest cost whose verification fits the target.
+     *
+     * If even the lowest cost is over the target, the lowest cost is returned.
+     *
+     * @param encoderForCost Creates an encoder for a cost.
+     * @param minCost The lowest cost tried.
+     * @param maxCost The highest cost tried.
+     * @param target The target verification latency.
+     * @return The chosen cost and its verification time.
+     */
+    static Result calibrate(IntFunction<PasswordEncoder> encoderForCost, int minCost, int maxCost, Duration target) {
+        Result best = null;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            Duration time = measureVerify(encoderForCost.apply(cost));
+            if (time.compareTo(target) > 0) {
+                return best != null ? best : new Result(cost, time);
+            }
+            best = new Result(cost, time);
+        }
+        return best;
+    }
+
+    /**
+     * @brief Measures how long one verification takes.
+     * @param encoder The encoder to measure.
+     * @return The fastest of several timed verifications.
+     */
+    private static Duration measureVerify(PasswordEncoder encoder) {
+        String encoded = encoder.encode(SAMPLE_PASSWORD);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, encoded);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(fastest);
+    }
+
+    /**
+     * @brief Prints recommended properties for every algorithm.
+     * @param args Optional target latency in milliseconds, 250 by default.
+     */
+    public static void main(String[] args) {
+        Duration target = Duration.ofMillis(args.length > 0 ? Long.parseLong(args[0]) : 250);
+
+        Result bcrypt = bcrypt(target);
+        System.out.printf("api.security.password.bcrypt.strength=%d   # %d ms%n",
+                bcrypt.cost(), bcrypt.verifyTime().toMillis());
+
+        Result argon2 = argon2(target, 19456, 1);
+        System.out.printf("api.security.password.argon2.iterations=%d   # %d ms with 19456 KiB%n",
+                argon2.cost(), argon2.verifyTime().toMillis());
+
+        Result scrypt = scrypt(target, 8, 1);
+        System.out.printf("api.security.password.scrypt.cpu-cost=%d   # %d ms with r=8, p=1%n",
+                1 << scrypt.cost(), scrypt.verifyTime().toMillis());
+    }
+}
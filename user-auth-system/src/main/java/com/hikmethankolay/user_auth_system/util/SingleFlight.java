@@ -0,0 +1,128 @@
+/**
+ * @file SingleFlight.java
+ * @brief Coalesces concurrent loads of the same key into one.
+ *
+ * Callers asking for a key that is already being loaded wait for that load
+ * and share its result instead of starting their own. Nothing is kept once
+ * the load finishes, so this only removes duplicate in-flight work; caching
+ * is left to the caller.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * @class SingleFlight
+ * @brief Per-key request coalescing.
+ *
+ * The first caller for a key runs the loader on its own thread; callers
+ * arriving while it runs block until it completes and receive the same
+ * value or exception.
+ *
+ * @tparam K The key type.
+ * @tparam V The value type.
+ */
+public class SingleFlight<K, V> {
+
+    /** Loads currently running, by key. */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @brief Loads a value, joining a load of the same key that is already running.
+     * @param key The key to load, must not be null.
+     * @param loader The function loading the value.
+     * @return The loaded value.
+     */
+    public V load(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            V value = loader.apply(key);
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * @brief Loads a value through an asynchronous cache on the calling thread.
+     *
+     * Unlike Cache.get with a loader, the loader does not run inside the
+     * cache's map lock, so a blocking load does not pin a virtual thread to
+     * its carrier. Concurrent misses share the load through the cache's
+     * in-flight future, and an invalidation during the load drops its result.
+     * A null result is returned but not cached.
+     *
+     * @param cache The cache holding loaded and in-flight values.
+     * @param key The key to load, must not be null.
+     * @param loader The function loading the value.
+     * @param <K> The key type.
+     * @param <V> The value type.
+     * @return The cached or loaded value.
+     */
+    public static <K, V> V load(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> own);
+        if (future != own) {
+            return await(future);
+        }
+
+        try {
+            V value = loader.apply(key);
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @brief Gets the number of loads currently running.
+     * @return The number of keys being loaded.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @brief Waits for a load started by another caller.
+     * @param future The running load.
+     * @param <V> The value type.
+     * @return The loaded value.
+     */
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * @file VerifiedToken.java
+ * @brief Immutable result of a single JWT verification.
+ *
+ * Holds the token status together with the claims that were read while the
+ * token was verified, so callers never have to verify the same token twice.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+
+import java.time.Instant;
+
+/**
+ * Verified JWT token and its parsed claims.
+ *
+ * Claims are only populated when the status is VALID.
+ *
+ * @param status The token status (VALID, EXPIRED, or INVALID)
+ * @param subject The token subject (user ID)
+ * @param username The username claim
+ * @param role The role claim, or null for tokens issued without one
+ * @param tokenVersion The token version claim, or null for tokens issued without one
+ * @param rememberMe Whether the token was created with Remember Me
+ * @param expiresAt The expiration time of the token
+ * @param jti The unique token ID, or null for tokens issued without one
+ */
+public record VerifiedToken(TokenStatus status, String subject, String username, String role, Integer tokenVersion,
+                            boolean rememberMe, Instant expiresAt, String jti) {
+
+    /** Shared result for tokens that failed verification. */
+    private static final VerifiedToken INVALID = new VerifiedToken(TokenStatus.INVALID, null, null, null, null, false, null, null);
+
+    /** Shared result for tokens with a valid signature that have expired. */
+    private static final VerifiedToken EXPIRED = new VerifiedToken(TokenStatus.EXPIRED, null, null, null, null, false, null, null);
+
+    /**
+     * @brief Returns the result used for invalid tokens.
+     * @return A VerifiedToken with INVALID status and no claims.
+     */
+    public static VerifiedToken invalid() {
+        return INVALID;
+    }
+
+    /**
+     * @brief Returns the result used for expired tokens.
+     * @return A VerifiedToken with EXPIRED status and no claims.
+     */
+    public static VerifiedToken expired() {
+        return EXPIRED;
+    }
+
+    /**
+     * @brief Checks whether the token is valid.
+     * @return True if the token status is VALID.
+     */
+    public boolean isValid() {
+        return status == TokenStatus.VALID;
+    }
+
+    /**
+     * @brief Gets the user ID stored in the token subject.
+     * @return The user ID as a Long.
+     */
+    public Long userId() {
+        return Long.valueOf(subject);
+    }
+
+    /**
+     * @brief Checks whether the token carries the claims needed to authenticate without a database lookup.
+     * @return True if both the role and token version claims are present.
+     */
+    public boolean hasAuthorityClaims() {
+        return role != null && tokenVersion != null;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * @file VerifiedTokenCache.java
+ * @brief Size-bounded cache of verified JWT tokens.
+ *
+ * Lets repeated requests carrying the same bearer token skip signature
+ * verification. Entries never outlive the token's own expiration claim.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * @class VerifiedTokenCache
+ * @brief Cache of VALID verification results keyed by a 64-bit token hash.
+ *
+ * The raw token is kept in each entry and compared on lookup, so a hash
+ * collision results in a miss instead of returning another token's claims.
+ */
+public class VerifiedTokenCache {
+
+    /** Fast non-cryptographic hash used to build cache keys. */
+    private static final HashFunction TOKEN_HASH = Hashing.farmHashFingerprint64();
+
+    /** Underlying cache with per-entry expiration. */
+    private final Cache<Long, Entry> cache;
+
+    /**
+     * @brief Cached token together with its verification result.
+     * @param token The raw token string.
+     * @param verifiedToken The verification result.
+     */
+    private record Entry(String token, VerifiedToken verifiedToken) {
+    }
+
+    /**
+     * @brief Constructor for VerifiedTokenCache.
+     * @param maximumSize The maximum number of tokens kept in the cache.
+     */
+    public VerifiedTokenCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Entry entry, long currentTime) {
+                        return nanosUntil(entry.verifiedToken().expiresAt());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Entry entry, long currentTime, long currentDuration) {
+                        return nanosUntil(entry.verifiedToken().expiresAt());
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @brief Looks up a previously verified token.
+     * @param token The raw token string.
+     * @return The cached result, or null on a miss.
+     */
+    public VerifiedToken get(String token) {
+        Entry entry = cache.getIfPresent(key(token));
+        if (entry == null || !entry.token().equals(token)) {
+            return null;
+        }
+
+        // Guard against timer granularity; an expired token must be re-verified
+        if (!entry.verifiedToken().expiresAt().isAfter(Instant.now())) {
+            return null;
+        }
+        return entry.verifiedToken();
+    }
+
+    /**
+     * @brief Stores a verification result.
+     *
+     * Only VALID results with an expiration time are cached.
+     *
+     * @param token The raw token string.
+     * @param verifiedToken The verification result.
+     */
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (verifiedToken.isValid() && verifiedToken.expiresAt() != null) {
+            cache.put(key(token), new Entry(token, verifiedToken));
+        }
+    }
+
+    /**
+     * @brief Gets the hit, miss and eviction counters.
+     * @return A snapshot of the cache statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @brief Gets the underlying cache for metrics registration.
+     * @return The native Caffeine cache.
+     */
+    public Cache<Long, ?> nativeCache() {
+        return cache;
+    }
+
+    /**
+     * @brief Computes the cache key for a token.
+     * @param token The raw token string.
+     * @return The 64-bit hash of the token.
+     */
+    private static long key(String token) {
+        return TOKEN_HASH.hashString(token, StandardCharsets.US_ASCII).asLong();
+    }
+
+    /**
+     * @brief Computes the time left until the given instant.
+     * @param expiresAt The expiration time.
+     * @return The remaining nanoseconds, never negative.
+     */
+    private static long nanosUntil(Instant expiresAt) {
+        return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+    }
+}
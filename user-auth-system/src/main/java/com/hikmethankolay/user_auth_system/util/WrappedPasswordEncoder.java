@@ -0,0 +1,118 @@
+/**
+ * @file WrappedPasswordEncoder.java
+ * @brief Verifies BCrypt hashes that were re-hashed with a stronger algorithm.
+ *
+ * Stored BCrypt hashes can be upgraded without knowing the password by
+ * hashing the BCrypt hash itself with the current algorithm. The BCrypt salt
+ * is kept in front of the outer hash so that the inner hash can be recomputed
+ * from the password at login:
+ *
+ *     {wrapped}$2a$10$<22 char salt>{argon2}$argon2id$...
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.util
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Pattern;
+
+/**
+ * @class WrappedPasswordEncoder
+ * @brief PasswordEncoder for BCrypt hashes wrapped in an outer hash.
+ *
+ * Registered under the ID "wrapped" in the DelegatingPasswordEncoder. It only
+ * verifies; wrapped hashes are created by wrap() and replaced with a plain
+ * hash of the current algorithm on the next successful login.
+ */
+public class WrappedPasswordEncoder implements PasswordEncoder {
+
+    /** ID of wrapped hashes in the DelegatingPasswordEncoder. */
+    public static final String ID = "wrapped";
+
+    /** Length of the version, cost and salt part of a BCrypt hash. */
+    private static final int BCRYPT_SALT_LENGTH = 29;
+
+    /** Format of a complete BCrypt hash. */
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]\\$\\d\\d\\$[./0-9A-Za-z]{53}\\z");
+
+    /** Encoder of the outer hash. */
+    private final PasswordEncoder outer;
+
+    /**
+     * @brief Constructor for WrappedPasswordEncoder.
+     * @param outer Encoder verifying the outer hash; must accept its own encodings with their ID prefix.
+     */
+    public WrappedPasswordEncoder(PasswordEncoder outer) {
+        this.outer = outer;
+    }
+
+    /**
+     * @brief Wraps a BCrypt hash in an outer hash.
+     * @param bcryptHash The stored BCrypt hash, without an ID prefix.
+     * @param outer Encoder creating the outer hash.
+     * @return The wrapped hash including the {wrapped} prefix.
+     */
+    public static String wrap(String bcryptHash, PasswordEncoder outer) {
+        if (!isBCryptHash(bcryptHash)) {
+            throw new IllegalArgumentException("Not a BCrypt hash");
+        }
+        return "{" + ID + "}" + bcryptHash.substring(0, BCRYPT_SALT_LENGTH) + outer.encode(bcryptHash);
+    }
+
+    /**
+     * @brief Checks whether a value is a complete BCrypt hash.
+     * @param value The value to check.
+     * @return True if the value is a BCrypt hash.
+     */
+    public static boolean isBCryptHash(String value) {
+        return value != null && BCRYPT_PATTERN.matcher(value).matches();
+    }
+
+    /**
+     * @brief Not supported; wrapped hashes are only created by wrap().
+     * @param rawPassword The raw password.
+     * @return Never returns.
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        throw new UnsupportedOperationException("Wrapped hashes can only be created from BCrypt hashes");
+    }
+
+    /**
+     * @brief Recomputes the inner BCrypt hash and verifies it against the outer hash.
+     * @param rawPassword The raw password.
+     * @param encodedPassword The wrapped hash without the {wrapped} prefix.
+     * @return True if the password matches.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.length() <= BCRYPT_SALT_LENGTH) {
+            return false;
+        }
+        String inner;
+        try {
+            inner = BCrypt.hashpw(rawPassword.toString(), encodedPassword.substring(0, BCRYPT_SALT_LENGTH));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return outer.matches(inner, encodedPassword.substring(BCRYPT_SALT_LENGTH));
+    }
+
+    /**
+     * @brief Wrapped hashes are always replaced by a plain hash when the password is known.
+     * @param encodedPassword The wrapped hash.
+     * @return Always true.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return true;
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * @file ScopedValueSecurityContextHolderStrategyTest.java
+ * @brief Tests for the ScopedValue security context strategy, filter and task decorator.
+ *
+ * Contains unit tests for scope isolation, the ThreadLocal fallback and
+ * propagation to pool threads. Compiled by the scoped-values profile only.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class ScopedValueSecurityContextHolderStrategyTest
+ * @brief Test class for ScopedValueSecurityContextHolderStrategy.
+ *
+ * This class contains unit tests installing the strategy globally and restoring the default afterwards.
+ */
+public class ScopedValueSecurityContextHolderStrategyTest {
+
+    /**
+     * Strategy installed before the test.
+     */
+    private SecurityContextHolderStrategy original;
+
+    /**
+     * ScopedValueSecurityContextHolderStrategy instance to be tested.
+     */
+    private ScopedValueSecurityContextHolderStrategy strategy;
+
+    /**
+     * Authentication used as the request's identity.
+     */
+    private Authentication authentication;
+
+    /**
+     * @brief Setup method that runs before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        original = SecurityContextHolder.getContextHolderStrategy();
+        strategy = new ScopedValueSecurityContextHolderStrategy();
+        SecurityContextHolder.setContextHolderStrategy(strategy);
+        authentication = new UsernamePasswordAuthenticationToken("testuser", null, List.of());
+    }
+
+    /**
+     * @brief Cleanup method that runs after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        strategy.clearContext();
+        SecurityContextHolder.setContextHolderStrategy(original);
+    }
+
+    /**
+     * @brief Test the context inside and outside a scope.
+     *
+     * Verifies that a context set inside a scope is not visible after it ends,
+     * and that code outside any scope uses the ThreadLocal fallback.
+     */
+    @Test
+    public void testScopeIsolation() throws Exception {
+        // Arrange
+        strategy.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken("outer", null, List.of())));
+
+        // Act
+        Authentication inside = ScopedValueSecurityContextHolderStrategy.call(() -> {
+            assertNull(strategy.getContext().getAuthentication());
+            strategy.getContext().setAuthentication(authentication);
+            return SecurityContextHolder.getContext().getAuthentication();
+        });
+
+        // Assert
+        assertSame(authentication, inside);
+        assertEquals("outer", strategy.getContext().getAuthentication().getName());
+        strategy.clearContext();
+        assertNull(strategy.getContext().getAuthentication());
+    }
+
+    /**
+     * @brief Test deferred contexts.
+     *
+     * Verifies that a deferred context is only resolved when read.
+     */
+    @Test
+    public void testDeferredContext() throws Exception {
+        // Arrange
+        AtomicReference<Integer> loads = new AtomicReference<>(0);
+        SecurityContext context = new SecurityContextImpl(authentication);
+
+        // Act
+        ScopedValueSecurityContextHolderStrategy.call(() -> {
+            strategy.setDeferredContext(() -> {
+                loads.set(loads.get() + 1);
+                return context;
+            });
+            assertEquals(0, loads.get());
+            assertSame(context, strategy.getContext());
+            strategy.clearContext();
+            assertNotSame(context, strategy.getContext());
+            return null;
+        });
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertThrows(IllegalArgumentException.class, () -> strategy.setContext(null));
+    }
+
+    /**
+     * @brief Test the per-request filter.
+     *
+     * Verifies that the chain runs in a new scope and that nothing is left on
+     * the thread after the request.
+     */
+    @Test
+    public void testFilterOpensScope() throws Exception {
+        // Arrange
+        FilterChain chain = (request, response) -> {
+            assertNull(SecurityContextHolder.getContext().getAuthentication());
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        };
+        FilterChain failing = (request, response) -> {
+            throw new ServletException("failed");
+        };
+        ScopedValueSecurityContextFilter filter = new ScopedValueSecurityContextFilter();
+
+        // Act
+        filter.doFilter(mock(HttpServletRequest.class), mock(HttpServletResponse.class), chain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertThrows(ServletException.class,
+                () -> filter.doFilter(mock(HttpServletRequest.class), mock(HttpServletResponse.class), failing));
+    }
+
+    /**
+     * @brief Test handing a task to a pool thread.
+     *
+     * Verifies that the task sees the submitter's context and that the pool
+     * thread has no context once the task ends.
+     */
+    @Test
+    public void testTaskDecoratorPropagatesContext() throws Exception {
+        // Arrange
+        ScopedValueSecurityContextTaskDecorator decorator = new ScopedValueSecurityContextTaskDecorator(strategy);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        AtomicReference<Authentication> after = new AtomicReference<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            Runnable task = ScopedValueSecurityContextHolderStrategy.call(() -> {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                return decorator.decorate(() -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+            });
+            executor.submit(task).get(5, TimeUnit.SECONDS);
+            executor.submit(() -> after.set(SecurityContextHolder.getContext().getAuthentication()))
+                    .get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertSame(authentication, seen.get());
+        assertNull(after.get());
+    }
+}
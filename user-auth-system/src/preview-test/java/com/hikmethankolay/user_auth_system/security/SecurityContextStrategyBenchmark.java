@@ -0,0 +1,153 @@
+/**
+ * @file SecurityContextStrategyBenchmark.java
+ * @brief JMH benchmark comparing ThreadLocal and ScopedValue security context storage.
+ *
+ * Models what a request does with the context: open (or reset) the storage,
+ * set the authentication, read it a few times and clean up. A second pair of
+ * benchmarks measures handing the context to another thread with
+ * DelegatingSecurityContextRunnable and with the ScopedValue task decorator.
+ * Allocation per operation is reported by the GC profiler.
+ *
+ * Run after `mvn -Pscoped-values test-compile` with:
+ * java --enable-preview -cp target/test-classes:target/classes:<test classpath>
+ *     com.hikmethankolay.user_auth_system.security.SecurityContextStrategyBenchmark
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class SecurityContextStrategyBenchmark
+ * @brief Measures time and allocation per request-shaped use of the security context.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SecurityContextStrategyBenchmark {
+
+    /**
+     * Default strategy of Spring Security.
+     */
+    private SecurityContextHolderStrategy threadLocalStrategy;
+
+    /**
+     * ScopedValue backed strategy.
+     */
+    private SecurityContextHolderStrategy scopedValueStrategy;
+
+    /**
+     * ScopedValue task decorator.
+     */
+    private ScopedValueSecurityContextTaskDecorator decorator;
+
+    /**
+     * Authentication set on every request.
+     */
+    private Authentication authentication;
+
+    /**
+     * @brief Creates both strategies.
+     */
+    @Setup
+    public void setUp() {
+        threadLocalStrategy = SecurityContextHolder.getContextHolderStrategy();
+        scopedValueStrategy = new ScopedValueSecurityContextHolderStrategy();
+        decorator = new ScopedValueSecurityContextTaskDecorator(scopedValueStrategy);
+        authentication = new UsernamePasswordAuthenticationToken("benchmarkuser", null, List.of());
+    }
+
+    /**
+     * @brief A request on the ThreadLocal strategy: set, three reads and clear.
+     */
+    @Benchmark
+    public void threadLocalRequest(Blackhole blackhole) {
+        request(threadLocalStrategy, blackhole);
+        threadLocalStrategy.clearContext();
+    }
+
+    /**
+     * @brief A request on the ScopedValue strategy: open a scope, set and three reads.
+     */
+    @Benchmark
+    public void scopedValueRequest(Blackhole blackhole) throws Exception {
+        ScopedValueSecurityContextHolderStrategy.call(() -> {
+            request(scopedValueStrategy, blackhole);
+            return null;
+        });
+    }
+
+    /**
+     * @brief Hand-off with DelegatingSecurityContextRunnable, run on the same thread.
+     */
+    @Benchmark
+    public void threadLocalHandOff(Blackhole blackhole) {
+        threadLocalStrategy.getContext().setAuthentication(authentication);
+        new DelegatingSecurityContextRunnable(() -> blackhole.consume(threadLocalStrategy.getContext()),
+                threadLocalStrategy.getContext()).run();
+        threadLocalStrategy.clearContext();
+    }
+
+    /**
+     * @brief Hand-off with the ScopedValue task decorator, run on the same thread.
+     */
+    @Benchmark
+    public void scopedValueHandOff(Blackhole blackhole) throws Exception {
+        ScopedValueSecurityContextHolderStrategy.call(() -> {
+            scopedValueStrategy.getContext().setAuthentication(authentication);
+            decorator.decorate(() -> blackhole.consume(scopedValueStrategy.getContext())).run();
+            return null;
+        });
+    }
+
+    /**
+     * @brief Sets the authentication and reads it back as a request would.
+     * @param strategy The strategy.
+     * @param blackhole Sink for the reads.
+     */
+    private void request(SecurityContextHolderStrategy strategy, Blackhole blackhole) {
+        strategy.getContext().setAuthentication(authentication);
+        for (int i = 0; i < 3; i++) {
+            blackhole.consume(strategy.getContext().getAuthentication());
+        }
+    }
+
+    /**
+     * @brief Runs the benchmark with the allocation profiler.
+     * @param args Unused.
+     * @throws RunnerException If the benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityContextStrategyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
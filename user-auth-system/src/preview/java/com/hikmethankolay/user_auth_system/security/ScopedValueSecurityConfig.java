@@ -0,0 +1,78 @@
+/**
+ * @file ScopedValueSecurityConfig.java
+ * @brief Configuration switching the security context to ScopedValue storage.
+ *
+ * Active when the scoped-values profile is built and
+ * api.security.context.scoped-values is true; otherwise the default
+ * ThreadLocal strategy and DelegatingSecurityContextRunnable are used.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.util.EnumSet;
+
+/**
+ * @class ScopedValueSecurityConfig
+ * @brief Registers the strategy, the per-request scope filter and the task decorator.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.security.context.scoped-values", havingValue = "true")
+public class ScopedValueSecurityConfig {
+
+    /**
+     * @brief Bean definition for the security context strategy.
+     *
+     * Also installed as the global strategy, because JwtFilter and other
+     * components read the context through SecurityContextHolder.
+     *
+     * @return The ScopedValue backed strategy.
+     */
+    @Bean
+    public SecurityContextHolderStrategy securityContextHolderStrategy() {
+        SecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+        SecurityContextHolder.setContextHolderStrategy(strategy);
+        return strategy;
+    }
+
+    /**
+     * @brief Bean definition registering the scope filter ahead of every other filter.
+     * @return The filter registration.
+     */
+    @Bean
+    public FilterRegistrationBean<ScopedValueSecurityContextFilter> scopedValueSecurityContextFilter() {
+        FilterRegistrationBean<ScopedValueSecurityContextFilter> registration =
+                new FilterRegistrationBean<>(new ScopedValueSecurityContextFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setDispatcherTypes(EnumSet.allOf(DispatcherType.class));
+        return registration;
+    }
+
+    /**
+     * @brief Bean definition replacing the default security context task decorator.
+     * @param strategy The security context strategy.
+     * @return A decorator binding the captured context on the worker thread.
+     */
+    @Bean
+    @Primary
+    public TaskDecorator scopedValueSecurityContextTaskDecorator(SecurityContextHolderStrategy strategy) {
+        return new ScopedValueSecurityContextTaskDecorator(strategy);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * @file ScopedValueSecurityContextFilter.java
+ * @brief Servlet filter opening a security context scope per request.
+ *
+ * Registered ahead of the Spring Security filter chain, so the context that
+ * chain loads and JwtFilter sets lives in the request's scope and disappears
+ * when the dispatch returns.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * @class ScopedValueSecurityContextFilter
+ * @brief Runs every dispatch in a new, empty ScopedValue scope.
+ */
+public class ScopedValueSecurityContextFilter implements Filter {
+
+    /**
+     * @brief Continues the chain inside a new scope.
+     * @param request The request.
+     * @param response The response.
+     * @param chain The filter chain.
+     * @throws IOException If an I/O error occurs.
+     * @throws ServletException If a servlet error occurs.
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            ScopedValueSecurityContextHolderStrategy.call(() -> {
+                chain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * @file ScopedValueSecurityContextHolderStrategy.java
+ * @brief Security context strategy backed by a ScopedValue.
+ *
+ * The default strategy keeps the context in a ThreadLocal, which every
+ * request thread must set and clear, and which virtual threads carry as a
+ * per-thread map entry. This strategy keeps it in a holder bound to a
+ * ScopedValue for the duration of a request or task instead: the binding is
+ * inherited by nothing, is released when the scope ends without a cleanup
+ * step, and costs one lookup per read. Code running outside a bound scope,
+ * such as scheduled jobs, falls back to a ThreadLocal so it behaves as before.
+ *
+ * ScopedValue is a preview API in Java 21, so this class is only compiled by
+ * the scoped-values Maven profile.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * @class ScopedValueSecurityContextHolderStrategy
+ * @brief SecurityContextHolderStrategy reading the context from the current scope.
+ *
+ * The ScopedValue binds a mutable holder rather than the context itself,
+ * because Spring Security sets the context after the scope has been opened by
+ * ScopedValueSecurityContextFilter.
+ */
+public class ScopedValueSecurityContextHolderStrategy implements SecurityContextHolderStrategy {
+
+    /** Holder of the context of the current request or task. */
+    static final ScopedValue<Holder> CONTEXT = ScopedValue.newInstance();
+
+    /** Context of threads running outside a bound scope. */
+    private static final ThreadLocal<Supplier<SecurityContext>> FALLBACK = new ThreadLocal<>();
+
+    /**
+     * @class Holder
+     * @brief Mutable slot for the context of one scope.
+     *
+     * A scope is confined to the thread that opened it, so the slot needs no synchronization.
+     */
+    static final class Holder {
+
+        /** The deferred context, null until set. */
+        private Supplier<SecurityContext> deferredContext;
+
+        /**
+         * @brief Creates an empty holder.
+         */
+        Holder() {
+        }
+
+        /**
+         * @brief Creates a holder with a context.
+         * @param context The context.
+         */
+        Holder(SecurityContext context) {
+            this.deferredContext = () -> context;
+        }
+    }
+
+    /**
+     * @brief Runs a task in a new scope holding a context.
+     * @param context The context visible to the task.
+     * @param task The task.
+     */
+    public static void run(SecurityContext context, Runnable task) {
+        ScopedValue.where(CONTEXT, new Holder(context)).run(task);
+    }
+
+    /**
+     * @brief Runs a task in a new, empty scope.
+     * @param task The task.
+     * @param <T> The result type.
+     * @return The task's result.
+     * @throws Exception If the task fails.
+     */
+    public static <T> T call(Callable<T> task) throws Exception {
+        return ScopedValue.where(CONTEXT, new Holder()).call(task);
+    }
+
+    /**
+     * @brief Clears the context of the current scope.
+     */
+    @Override
+    public void clearContext() {
+        if (CONTEXT.isBound()) {
+            CONTEXT.get().deferredContext = null;
+        } else {
+            FALLBACK.remove();
+        }
+    }
+
+    /**
+     * @brief Gets the context of the current scope, creating an empty one if needed.
+     * @return The context.
+     */
+    @Override
+    public SecurityContext getContext() {
+        return getDeferredContext().get();
+    }
+
+    /**
+     * @brief Gets the deferred context of the current scope, creating an empty one if needed.
+     * @return The deferred context.
+     */
+    @Override
+    public Supplier<SecurityContext> getDeferredContext() {
+        Supplier<SecurityContext> deferredContext = load();
+        if (deferredContext == null) {
+            SecurityContext context = createEmptyContext();
+            deferredContext = () -> context;
+            store(deferredContext);
+        }
+        return deferredContext;
+    }
+
+    /**
+     * @brief Sets the context of the current scope.
+     * @param context The context, not null.
+     */
+    @Override
+    public void setContext(SecurityContext context) {
+        Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
+        store(() -> context);
+    }
+
+    /**
+     * @brief Sets the deferred context of the current scope.
+     * @param deferredContext The deferred context, not null.
+     */
+    @Override
+    public void setDeferredContext(Supplier<SecurityContext> deferredContext) {
+        Assert.notNull(deferredContext, "Only non-null Supplier instances are permitted");
+        store(() -> {
+            SecurityContext context = deferredContext.get();
+            Assert.notNull(context, "A Supplier<SecurityContext> returned null and is not allowed.");
+            return context;
+        });
+    }
+
+    /**
+     * @brief Creates an empty context.
+     * @return A new SecurityContextImpl.
+     */
+    @Override
+    public SecurityContext createEmptyContext() {
+        return new SecurityContextImpl();
+    }
+
+    /**
+     * @brief Reads the deferred context of the current scope or thread.
+     * @return The deferred context, or null if none is set.
+     */
+    private static Supplier<SecurityContext> load() {
+        return CONTEXT.isBound() ? CONTEXT.get().deferredContext : FALLBACK.get();
+    }
+
+    /**
+     * @brief Writes the deferred context of the current scope or thread.
+     * @param deferredContext The deferred context.
+     */
+    private static void store(Supplier<SecurityContext> deferredContext) {
+        if (CONTEXT.isBound()) {
+            CONTEXT.get().deferredContext = deferredContext;
+        } else {
+            FALLBACK.set(deferredContext);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * @file ScopedValueSecurityContextTaskDecorator.java
+ * @brief Task decorator handing the security context to another thread through a scope.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.security
+ * @brief Contains the core components of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+/**
+ * @class ScopedValueSecurityContextTaskDecorator
+ * @brief Captures the submitter's context and runs the task in a scope bound to it.
+ *
+ * Unlike DelegatingSecurityContextRunnable, nothing has to be restored on the
+ * worker thread afterwards: the binding ends with the task.
+ */
+public class ScopedValueSecurityContextTaskDecorator implements TaskDecorator {
+
+    /** Strategy the context is captured from. */
+    private final SecurityContextHolderStrategy strategy;
+
+    /**
+     * @brief Constructor for ScopedValueSecurityContextTaskDecorator.
+     * @param strategy The strategy the context is captured from.
+     */
+    public ScopedValueSecurityContextTaskDecorator(SecurityContextHolderStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * @brief Decorates a task.
+     * @param runnable The task.
+     * @return A task running the original in the captured context.
+     */
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        SecurityContext context = strategy.getContext();
+        return () -> ScopedValueSecurityContextHolderStrategy.run(context, runnable);
+    }
+}
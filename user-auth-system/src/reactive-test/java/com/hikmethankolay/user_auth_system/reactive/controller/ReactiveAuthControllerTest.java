@@ -0,0 +1,280 @@
+/**
+ * @file ReactiveAuthControllerTest.java
+ * @brief Tests for the ReactiveAuthController class.
+ *
+ * Contains tests for registration, login, logout and token refresh on WebFlux.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.reactive.controller;
+
+import com.hikmethankolay.user_auth_system.dto.AuthTokensDTO;
+import com.hikmethankolay.user_auth_system.dto.LoginRequestDTO;
+import com.hikmethankolay.user_auth_system.dto.UserDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveTokenRevocationService;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @class ReactiveAuthControllerTest
+ * @brief Test class for ReactiveAuthController.
+ */
+public class ReactiveAuthControllerTest extends BaseReactiveControllerTest {
+
+    /**
+     * Token revocation service receiving logouts.
+     */
+    @Autowired
+    private ReactiveTokenRevocationService tokenRevocationService;
+
+    /**
+     * @brief Test successful user registration.
+     */
+    @Test
+    public void testRegisterSuccess() {
+        // Arrange
+        // The password is write-only, so the body is written by hand
+        String registerJson = "{\"username\":\"testuser\",\"email\":\"test@example.com\",\"password\":\"P@ssw0rd123!\"}";
+
+        UserDTO registered = new UserDTO();
+        registered.setId(1L);
+        registered.setUsername("testuser");
+        registered.setEmail("test@example.com");
+
+        when(userService.registerUser(any(UserDTO.class))).thenReturn(Mono.just(registered));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(registerJson)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.SUCCESS.name())
+                .jsonPath("$.data.username").isEqualTo("testuser")
+                .jsonPath("$.data.email").isEqualTo("test@example.com")
+                .jsonPath("$.message").isEqualTo("User registered successfully");
+    }
+
+    /**
+     * @brief Test registration with an already existing username.
+     */
+    @Test
+    public void testRegisterUserAlreadyExists() {
+        // Arrange
+        String registerJson = "{\"username\":\"existinguser\",\"email\":\"existing@example.com\",\"password\":\"P@ssw0rd123!\"}";
+
+        when(userService.registerUser(any(UserDTO.class)))
+                .thenReturn(Mono.error(new RuntimeException("Username is already taken!")));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(registerJson)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.FAILURE.name())
+                .jsonPath("$.message").isEqualTo("Username is already taken!");
+    }
+
+    /**
+     * @brief Test successful user login.
+     *
+     * Verifies that the token is returned in the body and in the auth cookie.
+     */
+    @Test
+    public void testLoginSuccess() {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "password", false);
+        String token = "valid.jwt.token";
+
+        when(userService.authenticateUser(any(LoginRequestDTO.class), any()))
+                .thenReturn(Mono.just(new AuthTokensDTO(token, null, false)));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectCookie().exists("auth_token")
+                .expectCookie().httpOnly("auth_token", true)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.SUCCESS.name())
+                .jsonPath("$.data.token").isEqualTo(token)
+                .jsonPath("$.data.tokenType").isEqualTo("Bearer")
+                .jsonPath("$.message").isEqualTo("User authenticated successfully");
+    }
+
+    /**
+     * @brief Test login with invalid credentials.
+     */
+    @Test
+    public void testLoginInvalidCredentials() {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "wrongpassword", false);
+
+        when(userService.authenticateUser(any(LoginRequestDTO.class), any())).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequestDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.FAILURE.name())
+                .jsonPath("$.message").isEqualTo("Wrong username or password");
+    }
+
+    /**
+     * @brief Test login with too many failed attempts.
+     */
+    @Test
+    public void testLoginTooManyAttempts() {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "password", false);
+        String message = "Account is temporarily locked due to too many failed login attempts. Please try again later.";
+
+        when(userService.authenticateUser(any(LoginRequestDTO.class), any()))
+                .thenReturn(Mono.error(new RuntimeException(message)));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequestDTO)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(message);
+    }
+
+    /**
+     * @brief Test login while the password hashing pool is saturated.
+     */
+    @Test
+    public void testLoginServerBusy() {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "password", false);
+
+        when(userService.authenticateUser(any(LoginRequestDTO.class), any()))
+                .thenReturn(Mono.error(new ServerBusyException("Server is busy, please try again later", 1)));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequestDTO)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.FAILURE.name())
+                .jsonPath("$.message").isEqualTo("Server is busy, please try again later");
+    }
+
+    /**
+     * @brief Test that logout revokes the current token and clears the cookie.
+     */
+    @Test
+    public void testLogoutRevokesToken() {
+        // Arrange
+        String token = "logout.jwt.token";
+        authenticateAs(token, new UserPrincipal(1L, "testuser", "ROLE_USER", 0));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectCookie().maxAge("auth_token", Duration.ZERO)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.SUCCESS.name())
+                .jsonPath("$.message").isEqualTo("Logged out successfully");
+
+        assertTrue(tokenRevocationService.isRevoked("jti-" + token));
+    }
+
+    /**
+     * @brief Test that a valid token is exchanged for a new one.
+     *
+     * Verifies that the new token is returned in the body and in the auth cookie.
+     */
+    @Test
+    public void testRefreshTokenSuccess() {
+        // Arrange
+        String token = "refresh.jwt.token";
+        authenticateAs(token, new UserPrincipal(1L, "testuser", "ROLE_USER", 0));
+        when(userService.refreshToken(any(VerifiedToken.class)))
+                .thenReturn(Mono.just(new AuthTokensDTO("new.jwt.token", null, false)));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/refresh-token")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectCookie().valueEquals("auth_token", "new.jwt.token")
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.SUCCESS.name())
+                .jsonPath("$.data.token").isEqualTo("new.jwt.token")
+                .jsonPath("$.message").isEqualTo("Token refreshed successfully");
+    }
+
+    /**
+     * @brief Test that a revoked token cannot be refreshed.
+     */
+    @Test
+    public void testRefreshTokenRevoked() {
+        // Arrange
+        String token = "revoked.jwt.token";
+        authenticateAs(token, new UserPrincipal(1L, "testuser", "ROLE_USER", 0));
+        tokenRevocationService.revoke("jti-" + token, Instant.now().plusSeconds(3600)).block();
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/refresh-token")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.UNAUTHORIZED.name())
+                .jsonPath("$.message").isEqualTo("Invalid or expired token");
+
+        verify(userService, never()).refreshToken(any());
+    }
+
+    /**
+     * @brief Test that a token the service refuses to refresh is answered with 401.
+     */
+    @Test
+    public void testRefreshTokenRejected() {
+        // Arrange
+        String token = "outdated.jwt.token";
+        authenticateAs(token, new UserPrincipal(1L, "testuser", "ROLE_USER", 0));
+        when(userService.refreshToken(any(VerifiedToken.class))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/refresh-token")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid or expired token");
+    }
+}
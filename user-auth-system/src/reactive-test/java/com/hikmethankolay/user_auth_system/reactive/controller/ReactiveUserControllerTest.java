@@ -0,0 +1,247 @@
+/**
+ * @file ReactiveUserControllerTest.java
+ * @brief Tests for the ReactiveUserController class.
+ *
+ * Contains tests for the user endpoints on WebFlux, including the
+ * authentication done by ReactiveJwtFilter and the access rules.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.reactive.controller;
+
+import com.hikmethankolay.user_auth_system.dto.UserDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.enums.ERole;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class ReactiveUserControllerTest
+ * @brief Test class for ReactiveUserController.
+ */
+public class ReactiveUserControllerTest extends BaseReactiveControllerTest {
+
+    /** Principal of a regular user. */
+    private final UserPrincipal user = new UserPrincipal(1L, "testuser", ERole.ROLE_USER.name(), 0);
+
+    /** Principal of an administrator. */
+    private final UserPrincipal admin = new UserPrincipal(2L, "admin", ERole.ROLE_ADMIN.name(), 0);
+
+    /**
+     * @brief Test that requests without a token get the JSON 401 response.
+     */
+    @Test
+    public void testGetLoggedInUserUnauthorized() {
+        // Act & Assert
+        webTestClient.get().uri("/api/users/me")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.FAILURE.name())
+                .jsonPath("$.message").isEqualTo("Unauthorized");
+    }
+
+    /**
+     * @brief Test retrieving the logged-in user with a Bearer token.
+     */
+    @Test
+    public void testGetLoggedInUser() {
+        // Arrange
+        authenticateAs("user.token", user);
+        when(userService.findById(1L)).thenReturn(Mono.just(dto(1L, "testuser", ERole.ROLE_USER)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer user.token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(EApiStatus.SUCCESS.name())
+                .jsonPath("$.data.username").isEqualTo("testuser")
+                .jsonPath("$.message").isEqualTo("User found successfully");
+    }
+
+    /**
+     * @brief Test that the auth cookie authenticates as well as the header.
+     */
+    @Test
+    public void testGetLoggedInUserWithCookie() {
+        // Arrange
+        authenticateAs("cookie.token", user);
+        when(userService.findById(1L)).thenReturn(Mono.just(dto(1L, "testuser", ERole.ROLE_USER)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/users/me")
+                .cookie("auth_token", "cookie.token")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    /**
+     * @brief Test that a token issued before a password change is rejected.
+     */
+    @Test
+    public void testOutdatedTokenVersionRejected() {
+        // Arrange
+        authenticateAs("old.token", user);
+        when(userService.findPrincipalById(1L))
+                .thenReturn(Mono.just(new UserPrincipal(1L, "testuser", ERole.ROLE_USER.name(), 1)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer old.token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    /**
+     * @brief Test that the user list is reserved for administrators.
+     */
+    @Test
+    public void testGetUsersForbiddenForUser() {
+        // Arrange
+        authenticateAs("user.token", user);
+
+        // Act & Assert
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer user.token")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        verify(userService, never()).findAll(any());
+    }
+
+    /**
+     * @brief Test retrieving the default page of users as an administrator.
+     */
+    @Test
+    public void testGetUsers() {
+        // Arrange
+        authenticateAs("admin.token", admin);
+        when(userService.findAll(any(Pageable.class)))
+                .thenAnswer(invocation -> Mono.just(new PageImpl<>(
+                        List.of(dto(1L, "testuser", ERole.ROLE_USER)), invocation.getArgument(0), 1)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer admin.token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.content[0].username").isEqualTo("testuser")
+                .jsonPath("$.message").isEqualTo("Users found successfully");
+
+        verify(userService).findAll(argThat(pageable -> {
+            assertEquals(10, pageable.getPageSize());
+            return pageable.getSort().getOrderFor("id") != null;
+        }));
+    }
+
+    /**
+     * @brief Test retrieving a user that does not exist.
+     */
+    @Test
+    public void testGetUserByIdNotFound() {
+        // Arrange
+        authenticateAs("admin.token", admin);
+        when(userService.findById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/users/99")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer admin.token")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Could not find user with id: 99");
+    }
+
+    /**
+     * @brief Test retrieving a user by username.
+     */
+    @Test
+    public void testGetUserByUsername() {
+        // Arrange
+        authenticateAs("admin.token", admin);
+        when(userService.findByUsernameOrEmail("testuser")).thenReturn(Mono.just(dto(1L, "testuser", ERole.ROLE_USER)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/users?username=testuser")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer admin.token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo(1);
+    }
+
+    /**
+     * @brief Test updating the logged-in user.
+     */
+    @Test
+    public void testUpdateLoggedInUser() {
+        // Arrange
+        authenticateAs("user.token", user);
+        UserDTO updates = new UserDTO();
+        updates.setEmail("new@example.com");
+        UserDTO updated = dto(1L, "testuser", ERole.ROLE_USER);
+        updated.setEmail("new@example.com");
+        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(user))).thenReturn(Mono.just(updated));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer user.token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updates)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.email").isEqualTo("new@example.com")
+                .jsonPath("$.message").isEqualTo("User updated successfully");
+    }
+
+    /**
+     * @brief Test that deleting the own account fails with 400.
+     */
+    @Test
+    public void testDeleteOwnAccount() {
+        // Arrange
+        authenticateAs("admin.token", admin);
+        when(userService.deleteById(2L, 2L)).thenReturn(Mono.error(new RuntimeException("Cannot delete your own account")));
+
+        // Act & Assert
+        webTestClient.delete().uri("/api/users/2")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer admin.token")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Cannot delete your own account");
+    }
+
+    /**
+     * @brief Creates a user DTO.
+     * @param id The user ID.
+     * @param username The username.
+     * @param role The role.
+     * @return The DTO.
+     */
+    private static UserDTO dto(Long id, String username, ERole role) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(id);
+        userDTO.setUsername(username);
+        userDTO.setEmail(username + "@example.com");
+        userDTO.setRole(role);
+        return userDTO;
+    }
+}
@@ -0,0 +1,414 @@
+/**
+ * @file ReactiveUserServiceTest.java
+ * @brief Tests for the ReactiveUserService class.
+ *
+ * Contains unit tests for registration, authentication, token refresh,
+ * updates and deletion on mocked R2DBC repositories.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.reactive.service;
+
+import com.hikmethankolay.user_auth_system.dto.LoginRequestDTO;
+import com.hikmethankolay.user_auth_system.dto.UserDTO;
+import com.hikmethankolay.user_auth_system.enums.ERole;
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import com.hikmethankolay.user_auth_system.reactive.entity.RoleRecord;
+import com.hikmethankolay.user_auth_system.reactive.entity.UserRecord;
+import com.hikmethankolay.user_auth_system.reactive.repository.ReactiveRoleRepository;
+import com.hikmethankolay.user_auth_system.reactive.repository.ReactiveUserRepository;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+import com.hikmethankolay.user_auth_system.service.PasswordHashingExecutor;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class ReactiveUserServiceTest
+ * @brief Test class for ReactiveUserService.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReactiveUserServiceTest {
+
+    /** Mock user repository. */
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    /** Mock role repository. */
+    @Mock
+    private ReactiveRoleRepository roleRepository;
+
+    /** Mock password encoder. */
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    /** Mock JWT utilities. */
+    @Mock
+    private JwtUtils jwtUtils;
+
+    /** Mock validator. */
+    @Mock
+    private Validator validator;
+
+    /** Mock login attempt service. */
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    /** Hashing pool with room for one queued task. */
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    /** ReactiveUserService instance to be tested. */
+    private ReactiveUserService userService;
+
+    /** A stored user. */
+    private final UserRecord storedUser = new UserRecord(1L, "testuser", "test@example.com", "hash", 1L, 0);
+
+    /**
+     * @brief Setup method that runs before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        passwordHashingExecutor = new PasswordHashingExecutor(runnable -> runnable);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "retryAfterSeconds", 1L);
+        passwordHashingExecutor.init();
+
+        userService = new ReactiveUserService(userRepository, roleRepository, passwordEncoder, jwtUtils,
+                validator, loginAttemptService, passwordHashingExecutor);
+        ReflectionTestUtils.setField(userService, "retryAfterSeconds", 1L);
+        ReflectionTestUtils.setField(userService, "principalTtlMs", 60000L);
+        ReflectionTestUtils.setField(userService, "principalMaxSize", 100L);
+        userService.init();
+
+        when(roleRepository.findAll()).thenReturn(Flux.just(
+                new RoleRecord(1L, ERole.ROLE_USER), new RoleRecord(2L, ERole.ROLE_ADMIN)));
+        when(validator.validate(any(UserDTO.class), any(Class[].class))).thenReturn(Set.of());
+    }
+
+    /**
+     * @brief Cleanup method that runs after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        passwordHashingExecutor.nativeExecutor().shutdownNow();
+    }
+
+    /**
+     * @brief Test successful authentication.
+     *
+     * Verifies that a token is issued with the role name and the counters are reset.
+     */
+    @Test
+    public void testAuthenticateUserSuccess() {
+        // Arrange
+        when(userRepository.findFirstByUsernameOrEmail("testuser", "testuser")).thenReturn(Mono.just(storedUser));
+        when(passwordEncoder.matches("password", "hash")).thenReturn(true);
+        when(jwtUtils.generateJwtToken("1", "testuser", "ROLE_USER", 0, true)).thenReturn("token");
+
+        // Act & Assert
+        StepVerifier.create(userService.authenticateUser(new LoginRequestDTO("testuser", "password", true), "127.0.0.1"))
+                .expectNextMatches(tokens -> tokens.accessToken().equals("token") && tokens.rememberMe())
+                .verifyComplete();
+
+        verify(loginAttemptService).loginSucceeded(KeyType.IP, "127.0.0.1");
+        verify(loginAttemptService).loginSucceeded(KeyType.IDENTIFIER, "testuser");
+    }
+
+    /**
+     * @brief Test authentication with a wrong password.
+     */
+    @Test
+    public void testAuthenticateUserWrongPassword() {
+        // Arrange
+        when(userRepository.findFirstByUsernameOrEmail("testuser", "testuser")).thenReturn(Mono.just(storedUser));
+        when(passwordEncoder.matches("wrong", "hash")).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(userService.authenticateUser(new LoginRequestDTO("testuser", "wrong", false), "127.0.0.1"))
+                .verifyComplete();
+
+        verify(loginAttemptService).loginFailed(KeyType.IP, "127.0.0.1");
+        verify(loginAttemptService).loginFailed(KeyType.IDENTIFIER, "testuser");
+        verify(jwtUtils, never()).generateJwtToken(any(), any(), any(), any(), anyBoolean());
+    }
+
+    /**
+     * @brief Test that a blocked IP is rejected before the database is queried.
+     */
+    @Test
+    public void testAuthenticateUserBlockedIp() {
+        // Arrange
+        when(loginAttemptService.isBlocked(KeyType.IP, "127.0.0.1")).thenReturn(true);
+
+        // Act & Assert
+        StepVerifier.create(userService.authenticateUser(new LoginRequestDTO("testuser", "password", false), "127.0.0.1"))
+                .expectErrorMessage("Too many failed login attempts from this IP. Please try again later.")
+                .verify();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * @brief Test that login attempt checks and updates run on the bounded elastic scheduler.
+     *
+     * The jdbc attempt store blocks, so none of its calls may run on the subscribing thread.
+     */
+    @Test
+    public void testAuthenticateUserLoginAttemptsOffCallingThread() {
+        // Arrange
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        when(loginAttemptService.isBlocked(any(), any())).thenAnswer(invocation -> {
+            threads.put("isBlocked", Thread.currentThread().getName());
+            return false;
+        });
+        doAnswer(invocation -> threads.put("loginFailed", Thread.currentThread().getName()))
+                .when(loginAttemptService).loginFailed(any(), any());
+        when(userRepository.findFirstByUsernameOrEmail("testuser", "testuser")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(userService.authenticateUser(new LoginRequestDTO("testuser", "password", false), "127.0.0.1"))
+                .verifyComplete();
+
+        assertTrue(threads.get("isBlocked").startsWith("boundedElastic-"));
+        assertTrue(threads.get("loginFailed").startsWith("boundedElastic-"));
+    }
+
+    /**
+     * @brief Test that a valid token is exchanged for a new one with the same Remember Me setting.
+     */
+    @Test
+    public void testRefreshToken() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Mono.just(storedUser));
+        when(jwtUtils.generateJwtToken("1", "testuser", "ROLE_USER", 0, true)).thenReturn("newtoken");
+
+        // Act & Assert
+        StepVerifier.create(userService.refreshToken(verifiedToken(0)))
+                .expectNextMatches(tokens -> tokens.accessToken().equals("newtoken") && tokens.rememberMe()
+                        && tokens.refreshToken() == null)
+                .verifyComplete();
+    }
+
+    /**
+     * @brief Test that tokens issued before the last token version bump are not refreshed.
+     */
+    @Test
+    public void testRefreshTokenOutdatedVersion() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Mono.just(storedUser.with(
+                "testuser", "test@example.com", "hash", 1L, 1)));
+
+        // Act & Assert
+        StepVerifier.create(userService.refreshToken(verifiedToken(0)))
+                .verifyComplete();
+        StepVerifier.create(userService.refreshToken(VerifiedToken.invalid()))
+                .verifyComplete();
+
+        verify(jwtUtils, never()).generateJwtToken(any(), any(), any(), any(), anyBoolean());
+    }
+
+    /**
+     * @brief Test that an outdated hash is replaced after a successful login.
+     */
+    @Test
+    public void testAuthenticateUserRehashesOutdatedHash() {
+        // Arrange
+        when(userRepository.findFirstByUsernameOrEmail("testuser", "testuser")).thenReturn(Mono.just(storedUser));
+        when(passwordEncoder.matches("password", "hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hash")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("newhash");
+        when(userRepository.replacePasswordHash(1L, "hash", "newhash")).thenReturn(Mono.just(1));
+        when(jwtUtils.generateJwtToken(any(), any(), any(), any(), anyBoolean())).thenReturn("token");
+
+        // Act & Assert
+        StepVerifier.create(userService.authenticateUser(new LoginRequestDTO("testuser", "password", false), "127.0.0.1"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(userRepository).replacePasswordHash(1L, "hash", "newhash");
+    }
+
+    /**
+     * @brief Test that hashing fails fast with ServerBusyException when the pool is saturated.
+     */
+    @Test
+    public void testHashServerBusy() throws InterruptedException {
+        // Arrange: occupy every pool thread and the single queue slot
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = passwordHashingExecutor.nativeExecutor().getMaximumPoolSize();
+        for (int i = 0; i < threads + 1; i++) {
+            passwordHashingExecutor.nativeExecutor().execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // Act & Assert
+        StepVerifier.create(userService.hash(() -> "hash"))
+                .expectError(ServerBusyException.class)
+                .verify();
+
+        release.countDown();
+    }
+
+    /**
+     * @brief Test that registration fails when the username is taken.
+     */
+    @Test
+    public void testRegisterUserUsernameTaken() {
+        // Arrange
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("testuser");
+        userDTO.setEmail("other@example.com");
+        userDTO.setPassword("P@ssw0rd123!");
+        when(userRepository.findByUsername("testuser")).thenReturn(Mono.just(storedUser));
+        when(userRepository.findByEmail("other@example.com")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(userService.registerUser(userDTO))
+                .expectErrorMessage("Username is already taken!")
+                .verify();
+
+        verify(userRepository, never()).save(any());
+    }
+
+    /**
+     * @brief Test successful registration with the default role.
+     */
+    @Test
+    public void testRegisterUserSuccess() {
+        // Arrange
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("newuser");
+        userDTO.setEmail("new@example.com");
+        userDTO.setPassword("P@ssw0rd123!");
+        when(userRepository.findByUsername("newuser")).thenReturn(Mono.empty());
+        when(userRepository.findByEmail("new@example.com")).thenReturn(Mono.empty());
+        when(passwordEncoder.encode("P@ssw0rd123!")).thenReturn("encoded");
+        when(userRepository.save(any(UserRecord.class))).thenAnswer(invocation -> {
+            UserRecord user = invocation.getArgument(0);
+            return Mono.just(new UserRecord(5L, user.username(), user.email(), user.password(), user.roleId(), 0));
+        });
+
+        // Act & Assert
+        StepVerifier.create(userService.registerUser(userDTO))
+                .expectNextMatches(user -> user.getId() == 5L && user.getRole() == ERole.ROLE_USER)
+                .verifyComplete();
+
+        verify(userRepository).save(argThat(user -> "encoded".equals(user.password()) && user.roleId() == 1L));
+    }
+
+    /**
+     * @brief Test that a password change bumps the token version and revokes refresh tokens.
+     */
+    @Test
+    public void testUpdateUserPasswordRevokesTokens() {
+        // Arrange
+        UserDTO updates = new UserDTO();
+        updates.setPassword("N3wP@ssw0rd!");
+        when(userRepository.findById(1L)).thenReturn(Mono.just(storedUser));
+        when(passwordEncoder.encode("N3wP@ssw0rd!")).thenReturn("newhash");
+        when(userRepository.deleteRefreshTokens(1L)).thenReturn(Mono.just(2));
+        when(userRepository.save(any(UserRecord.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(userService.updateUser(updates, 1L, new UserPrincipal(1L, "testuser", "ROLE_USER", 0)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(userRepository).deleteRefreshTokens(1L);
+        verify(userRepository).save(argThat(user -> "newhash".equals(user.password()) && user.tokenVersion() == 1));
+    }
+
+    /**
+     * @brief Test that a regular user cannot change their own role.
+     */
+    @Test
+    public void testUpdateUserRoleIgnoredForNonAdmin() {
+        // Arrange
+        UserDTO updates = new UserDTO();
+        updates.setRole(ERole.ROLE_ADMIN);
+        when(userRepository.findById(1L)).thenReturn(Mono.just(storedUser));
+        when(userRepository.save(any(UserRecord.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(userService.updateUser(updates, 1L, new UserPrincipal(1L, "testuser", "ROLE_USER", 0)))
+                .expectNextMatches(user -> user.getRole() == ERole.ROLE_USER)
+                .verifyComplete();
+
+        verify(userRepository, never()).deleteRefreshTokens(any());
+    }
+
+    /**
+     * @brief Test that deleting the own account is rejected.
+     */
+    @Test
+    public void testDeleteOwnAccount() {
+        // Act & Assert
+        StepVerifier.create(userService.deleteById(1L, 1L))
+                .expectErrorMessage("Cannot delete your own account")
+                .verify();
+
+        verify(userRepository, never()).delete(any());
+    }
+
+    /**
+     * @brief Test that principals are cached between lookups.
+     */
+    @Test
+    public void testFindPrincipalByIdCached() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Mono.just(storedUser));
+
+        // Act & Assert
+        StepVerifier.create(userService.findPrincipalById(1L))
+                .expectNextMatches(principal -> "ROLE_USER".equals(principal.role()))
+                .verifyComplete();
+        StepVerifier.create(userService.findPrincipalById(1L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * @brief Builds a valid Remember Me token of the stored user.
+     * @param tokenVersion The token version carried by the token.
+     * @return The verified token.
+     */
+    private static VerifiedToken verifiedToken(int tokenVersion) {
+        return new VerifiedToken(TokenStatus.VALID, "1", "testuser", "ROLE_USER", tokenVersion, true,
+                Instant.now().plusSeconds(3600), "jti");
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * @file ReactiveUserAuthSystemApplication.java
+ * @brief Entry point of the reactive variant of the User Authentication System.
+ *
+ * Serves the authentication and user endpoints on WebFlux and Reactor Netty,
+ * reading the users and roles tables through R2DBC. It is built with the
+ * reactive Maven profile and runs with the reactive Spring profile, which
+ * switches the web application type and replaces JPA with R2DBC.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive
+ * @brief Contains the WebFlux and R2DBC variant of the User Authentication System.
+ */
+package com.hikmethankolay.user_auth_system.reactive;
+
+import com.hikmethankolay.user_auth_system.config.AuthConfig;
+import com.hikmethankolay.user_auth_system.config.LoginAttemptConfig;
+import com.hikmethankolay.user_auth_system.config.SchedulingConfig;
+import com.hikmethankolay.user_auth_system.exception.GlobalExceptionHandler;
+import com.hikmethankolay.user_auth_system.service.IpAccessList;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService;
+import com.hikmethankolay.user_auth_system.service.PasswordHashingExecutor;
+import com.hikmethankolay.user_auth_system.util.ClientIp;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+/**
+ * @class ReactiveUserAuthSystemApplication
+ * @brief Entry point for the reactive Spring Boot application.
+ *
+ * Only the reactive package is scanned; the components shared with the
+ * servlet variant are imported explicitly. The class is skipped when the
+ * servlet application scans this package.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(basePackageClasses = ReactiveUserAuthSystemApplication.class)
+@Import({AuthConfig.class, LoginAttemptConfig.class, SchedulingConfig.class, GlobalExceptionHandler.class,
+        JwtUtils.class, ClientIp.class, IpAccessList.class, LoginAttemptService.class, PasswordHashingExecutor.class})
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserAuthSystemApplication {
+
+	/**
+	 * Main method that launches the reactive application.
+	 *
+	 * @param args command-line arguments
+	 */
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveUserAuthSystemApplication.class)
+				.profiles("reactive")
+				.run(args);
+	}
+}
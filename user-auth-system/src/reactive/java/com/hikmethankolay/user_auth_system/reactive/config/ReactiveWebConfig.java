@@ -0,0 +1,44 @@
+/**
+ * @file ReactiveWebConfig.java
+ * @brief Configuration for Spring WebFlux.
+ *
+ * This class registers the controller argument resolvers the reactive
+ * variant needs beyond the WebFlux defaults.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.config
+ * @brief Contains configuration components of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * @class ReactiveWebConfig
+ * @brief Spring WebFlux configuration class.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    /**
+     * @brief Registers the resolver for Pageable parameters.
+     *
+     * Spring Boot only configures it for Spring MVC.
+     *
+     * @param configurer The configurer of argument resolvers.
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * @file ReactiveAuthController.java
+ * @brief Controller for user authentication in the reactive variant.
+ *
+ * Serves the register, login, logout and refresh-token endpoints of
+ * AuthController with the same paths, response bodies and status codes.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.controller
+ * @brief Contains the controllers of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.controller;
+
+import com.hikmethankolay.user_auth_system.dto.ApiResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.AuthResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.AuthTokensDTO;
+import com.hikmethankolay.user_auth_system.dto.LoginRequestDTO;
+import com.hikmethankolay.user_auth_system.dto.UserDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import com.hikmethankolay.user_auth_system.reactive.security.ReactiveJwtFilter;
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveTokenRevocationService;
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveUserService;
+import com.hikmethankolay.user_auth_system.util.AuthCookies;
+import com.hikmethankolay.user_auth_system.util.ClientIp;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * @class ReactiveAuthController
+ * @brief Handles user registration, login, logout and token refresh without blocking.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAuthController {
+
+    /** User service for handling authentication logic. */
+    private final ReactiveUserService userService;
+
+    /** JWT utilities for token operations. */
+    private final JwtUtils jwtUtils;
+
+    /** Denylist of revoked tokens. */
+    private final ReactiveTokenRevocationService tokenRevocationService;
+
+    /** Resolver of the client address counted by brute force protection. */
+    private final ClientIp clientIpResolver;
+
+    /** Extended expiration time for Remember Me in milliseconds. */
+    @Value("${api.security.token.remember-me-expiration}")
+    private Long rememberMeExpirationMs;
+
+    /**
+     * @brief Constructor for ReactiveAuthController.
+     * @param userService The user service instance.
+     * @param jwtUtils The JWT utility instance.
+     * @param tokenRevocationService The token revocation service instance.
+     * @param clientIpResolver The client IP resolver instance.
+     */
+    public ReactiveAuthController(ReactiveUserService userService, JwtUtils jwtUtils,
+                                  ReactiveTokenRevocationService tokenRevocationService, ClientIp clientIpResolver) {
+        this.userService = userService;
+        this.jwtUtils = jwtUtils;
+        this.tokenRevocationService = tokenRevocationService;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    /**
+     * @brief Handles user registration.
+     * @param registerRequest The user registration request data.
+     * @return The response entity containing the registration result.
+     */
+    @PostMapping("/register")
+    public Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> register(
+            @Validated(UserDTO.Registration.class) @RequestBody UserDTO registerRequest) {
+        return userService.registerUser(registerRequest)
+                .map(user -> ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, user, "User registered successfully")))
+                .onErrorResume(e -> !(e instanceof ServerBusyException), e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()))));
+    }
+
+    /**
+     * @brief Handles user login with Remember Me support and brute force protection.
+     * @param exchange The current exchange, used to get client IP and set the cookie.
+     * @param loginRequest The login request containing credentials and Remember Me preference.
+     * @return The response entity with token and cookie or error message.
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<ApiResponseDTO<AuthResponseDTO>>> login(ServerWebExchange exchange,
+                                                                       @RequestBody LoginRequestDTO loginRequest) {
+        // Get client IP address for rate limiting
+        String clientIp = getClientIp(exchange.getRequest());
+
+        return userService.authenticateUser(loginRequest, clientIp)
+                .map(tokens -> tokenResponse(exchange.getResponse(), tokens, "User authenticated successfully"))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, "Wrong username or password")))
+                // Handle account/IP blocking errors with appropriate status code
+                .onErrorResume(e -> !(e instanceof ServerBusyException), e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()))));
+    }
+
+    /**
+     * @brief Handles user logout by revoking the current token and clearing cookies.
+     * @param exchange The current exchange containing the current token.
+     * @return Response entity with success message.
+     */
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<ApiResponseDTO<Void>>> logout(ServerWebExchange exchange) {
+        Mono<Void> revoked = Mono.empty();
+
+        // Revoke the token so copies of it stop working before they expire
+        String token = ReactiveJwtFilter.extractToken(exchange.getRequest());
+        if (token != null) {
+            VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+            if (verifiedToken.isValid()) {
+                revoked = tokenRevocationService.revoke(verifiedToken.jti(), verifiedToken.expiresAt());
+            }
+        }
+
+        // Clear the cookies by setting their max age to 0
+        exchange.getResponse().addCookie(AuthCookies.clear());
+        exchange.getResponse().addCookie(AuthCookies.clearRefresh());
+
+        return revoked.then(Mono.fromSupplier(() -> ResponseEntity.ok(
+                new ApiResponseDTO<Void>(EApiStatus.SUCCESS, null, "Logged out successfully"))));
+    }
+
+    /**
+     * @brief Refreshes an authentication token.
+     *
+     * This variant issues no refresh tokens, so, as AuthController does when
+     * they are disabled, the current JWT is exchanged for a new one.
+     *
+     * @param exchange The current exchange containing the current token.
+     * @return Response entity with a new token.
+     */
+    @PostMapping("/refresh-token")
+    public Mono<ResponseEntity<ApiResponseDTO<AuthResponseDTO>>> refreshToken(ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> jwtUtils.verifyToken(ReactiveJwtFilter.extractToken(exchange.getRequest())))
+                // Revoked tokens cannot be refreshed
+                .filter(verifiedToken -> !tokenRevocationService.isRevoked(verifiedToken.jti()))
+                .flatMap(userService::refreshToken)
+                .map(tokens -> tokenResponse(exchange.getResponse(), tokens, "Token refreshed successfully"))
+                // Token processing failed, answered like an invalid token
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ApiResponseDTO<>(EApiStatus.UNAUTHORIZED, null, "Invalid or expired token")));
+    }
+
+    /**
+     * @brief Extracts the client IP address from the request.
+     * @param request The HTTP request.
+     * @return The client IP address.
+     */
+    private String getClientIp(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return clientIpResolver.of(request.getHeaders().getFirst(ClientIp.FORWARDED_FOR_HEADER),
+                remoteAddress != null && remoteAddress.getAddress() != null
+                        ? remoteAddress.getAddress().getHostAddress()
+                        : null);
+    }
+
+    /**
+     * @brief Builds the response of a successful login.
+     * @param response The HTTP response receiving the auth cookie.
+     * @param tokens The issued tokens.
+     * @param message The response message.
+     * @return Response entity carrying the token in the body and in a cookie.
+     */
+    private ResponseEntity<ApiResponseDTO<AuthResponseDTO>> tokenResponse(ServerHttpResponse response, AuthTokensDTO tokens,
+                                                                          String message) {
+        response.addCookie(AuthCookies.create(tokens.accessToken(), tokens.rememberMe(), rememberMeExpirationMs));
+        return ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, new AuthResponseDTO(tokens), message));
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * @file ReactiveUserController.java
+ * @brief Controller for user operations in the reactive variant.
+ *
+ * Serves the /api/users endpoints of UserController with the same paths,
+ * response bodies and status codes.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.controller
+ * @brief Contains the controllers of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.controller;
+
+import com.hikmethankolay.user_auth_system.dto.ApiResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.UserDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveUserService;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * @class ReactiveUserController
+ * @brief Handles user lookups, updates and deletions without blocking.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserController {
+
+    /** User service for handling user-related operations. */
+    private final ReactiveUserService userService;
+
+    /**
+     * @brief Constructor for ReactiveUserController.
+     * @param userService The service managing user operations.
+     */
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * @brief Retrieves paginated list of users.
+     * @param pageable Pagination details.
+     * @return Response entity containing paginated list of users.
+     */
+    @GetMapping("/users")
+    public Mono<ResponseEntity<ApiResponseDTO<Page<UserDTO>>>> getUsers(
+            @PageableDefault(page = 0, size = 10, sort = "id") Pageable pageable
+    ) {
+        return userService.findAll(pageable)
+                .map(page -> ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, page, "Users found successfully")));
+    }
+
+    /**
+     * @brief Retrieves a user by ID.
+     * @param id The user ID.
+     * @return Response entity containing user details or error message.
+     */
+    @GetMapping("/users/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> getUserById(@PathVariable Long id) {
+        return userService.findById(id)
+                .map(user -> ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, user, "User found successfully")))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, "Could not find user with id: " + id)));
+    }
+
+    /**
+     * @brief Retrieves the logged-in user.
+     * @param principal The authenticated user.
+     * @return Response entity containing user details or error message.
+     */
+    @GetMapping("/users/me")
+    public Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> getLoggedInUser(@AuthenticationPrincipal UserPrincipal principal) {
+        return getUserById(principal.id());
+    }
+
+    /**
+     * @brief Retrieves a user by username.
+     * @param username The username.
+     * @return Response entity containing user details or error message.
+     */
+    @GetMapping(value = "/users", params = {"username"})
+    public Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> getUserByUsername(@RequestParam String username) {
+        return findUserByIdentifier(username, "username");
+    }
+
+    /**
+     * @brief Retrieves a user by email.
+     * @param email The email.
+     * @return Response entity containing user details or error message.
+     */
+    @GetMapping(value = "/users", params = {"email"})
+    public Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> getUserByEmail(@RequestParam String email) {
+        return findUserByIdentifier(email, "email");
+    }
+
+    /**
+     * @brief Updates a user by ID.
+     * @param userDTO The user update request data.
+     * @param id The user ID.
+     * @param requester The authenticated user making the request.
+     * @return Response entity containing update status.
+     */
+    @PatchMapping("/users/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> updateUser(
+            @Validated(UserDTO.Update.class) @RequestBody UserDTO userDTO,
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal requester) {
+        return userService.updateUser(userDTO, id, requester)
+                .map(user -> ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, user, "User updated successfully")))
+                .onErrorResume(e -> !(e instanceof ServerBusyException), e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()))));
+    }
+
+    /**
+     * @brief Updates logged-in user.
+     * @param userDTO The user update request data.
+     * @param principal The authenticated user.
+     * @return Response entity containing user details or error message.
+     */
+    @PatchMapping("/users/me")
+    public Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> updateLoggedInUser(
+            @Validated(UserDTO.Update.class) @RequestBody UserDTO userDTO,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return updateUser(userDTO, principal.id(), principal);
+    }
+
+    /**
+     * @brief Deletes a user by ID.
+     * @param id The user ID.
+     * @param requester The authenticated user making the request.
+     * @return Response entity containing delete status.
+     */
+    @DeleteMapping("/users/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<Void>>> deleteUser(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal requester) {
+        return userService.deleteById(id, requester.id())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(
+                        new ApiResponseDTO<Void>(EApiStatus.SUCCESS, null, "User deleted successfully"))))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, e.getMessage()))));
+    }
+
+    /**
+     * @brief Helper method to find user by identifier.
+     * @param identifier The username or email.
+     * @param type The type of identifier for error message.
+     * @return Response entity containing user details or error message.
+     */
+    private Mono<ResponseEntity<ApiResponseDTO<UserDTO>>> findUserByIdentifier(String identifier, String type) {
+        return userService.findByUsernameOrEmail(identifier)
+                .map(user -> ResponseEntity.ok(new ApiResponseDTO<>(EApiStatus.SUCCESS, user, "User found successfully")))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponseDTO<>(EApiStatus.FAILURE, null, "Could not find user with " + type + ": " + identifier)));
+    }
+}
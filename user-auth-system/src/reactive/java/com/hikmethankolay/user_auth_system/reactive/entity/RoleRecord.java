@@ -0,0 +1,28 @@
+/**
+ * @file RoleRecord.java
+ * @brief R2DBC mapping of the roles table.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.entity
+ * @brief Contains the R2DBC mappings of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.entity;
+
+import com.hikmethankolay.user_auth_system.enums.ERole;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * @class RoleRecord
+ * @brief Immutable row of the roles table.
+ *
+ * @param id The role ID.
+ * @param name The role name.
+ */
+@Table("roles")
+public record RoleRecord(@Id Long id, ERole name) {
+}
@@ -0,0 +1,67 @@
+/**
+ * @file UserRecord.java
+ * @brief R2DBC mapping of the users table.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.entity
+ * @brief Contains the R2DBC mappings of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * @class UserRecord
+ * @brief Immutable row of the users table.
+ *
+ * R2DBC does not map relationships, so the role is kept as its ID and
+ * resolved through the cached roles table.
+ *
+ * @param id The user ID, null before insertion.
+ * @param username The username.
+ * @param email The email address.
+ * @param password The password hash.
+ * @param roleId The ID of the user's role, or null if none.
+ * @param tokenVersion The current token version.
+ */
+@Table("users")
+public record UserRecord(
+        @Id Long id,
+        String username,
+        String email,
+        String password,
+        @Column("role_id") Long roleId,
+        @Column("token_version") int tokenVersion
+) {
+
+    /**
+     * @brief Creates a new user that has not been inserted yet.
+     * @param username The username.
+     * @param email The email address.
+     * @param password The password hash.
+     * @param roleId The ID of the user's role.
+     * @return The unsaved record.
+     */
+    public static UserRecord create(String username, String email, String password, Long roleId) {
+        return new UserRecord(null, username, email, password, roleId, 0);
+    }
+
+    /**
+     * @brief Copies this record with other details.
+     * @param username The new username.
+     * @param email The new email address.
+     * @param password The new password hash.
+     * @param roleId The new role ID.
+     * @param tokenVersion The new token version.
+     * @return The updated record.
+     */
+    public UserRecord with(String username, String email, String password, Long roleId, int tokenVersion) {
+        return new UserRecord(id, username, email, password, roleId, tokenVersion);
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * @file ReactiveRoleRepository.java
+ * @brief R2DBC repository for the roles table.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.repository
+ * @brief Contains the R2DBC repositories of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.repository;
+
+import com.hikmethankolay.user_auth_system.reactive.entity.RoleRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+/**
+ * @interface ReactiveRoleRepository
+ * @brief Non-blocking counterpart of RoleRepository.
+ *
+ * The roles table is small and static, so it is read once and cached by ReactiveUserService.
+ */
+public interface ReactiveRoleRepository extends R2dbcRepository<RoleRecord, Long> {
+}
@@ -0,0 +1,77 @@
+/**
+ * @file ReactiveUserRepository.java
+ * @brief R2DBC repository for the users table.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.repository
+ * @brief Contains the R2DBC repositories of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.repository;
+
+import com.hikmethankolay.user_auth_system.reactive.entity.UserRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @interface ReactiveUserRepository
+ * @brief Non-blocking counterpart of UserRepository.
+ */
+public interface ReactiveUserRepository extends R2dbcRepository<UserRecord, Long> {
+
+    /**
+     * @brief Retrieves one page of users.
+     * @param pageable Pagination information.
+     * @return The users of the page.
+     */
+    Flux<UserRecord> findAllBy(Pageable pageable);
+
+    /**
+     * @brief Finds a user by username.
+     * @param username The username of the user.
+     * @return The user, or empty if not found.
+     */
+    Mono<UserRecord> findByUsername(String username);
+
+    /**
+     * @brief Finds a user by email.
+     * @param email The email of the user.
+     * @return The user, or empty if not found.
+     */
+    Mono<UserRecord> findByEmail(String email);
+
+    /**
+     * @brief Finds a user by either username or email.
+     * @param username The username of the user.
+     * @param email The email of the user.
+     * @return The user, or empty if not found.
+     */
+    Mono<UserRecord> findFirstByUsernameOrEmail(String username, String email);
+
+    /**
+     * @brief Replaces a password hash only if it has not changed since it was read.
+     * @param id The user ID.
+     * @param oldHash The hash the new one was derived from.
+     * @param newHash The new hash.
+     * @return The number of updated rows, 0 if the password was changed meanwhile.
+     */
+    @Modifying
+    @Query("UPDATE users SET password = :newHash WHERE id = :id AND password = :oldHash")
+    Mono<Integer> replacePasswordHash(Long id, String oldHash, String newHash);
+
+    /**
+     * @brief Deletes every refresh token of a user.
+     * @param userId The user ID.
+     * @return The number of deleted tokens.
+     */
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE user_id = :userId")
+    Mono<Integer> deleteRefreshTokens(Long userId);
+}
@@ -0,0 +1,183 @@
+/**
+ * @file ReactiveJwtFilter.java
+ * @brief JWT authentication filter of the reactive variant.
+ *
+ * Port of JwtFilter onto WebFlux. The authentication is written to the
+ * Reactor context instead of a thread local, so it follows the request
+ * across the threads its operators run on.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.security
+ * @brief Contains the security components of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.security;
+
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveTokenRevocationService;
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveUserService;
+import com.hikmethankolay.user_auth_system.security.JwtFilter;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.util.AuthCookies;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * @class ReactiveJwtFilter
+ * @brief Filter for JWT authentication.
+ *
+ * Added to the security filter chain by ReactiveSecurityConfig. It is not a
+ * bean, since WebFlux would otherwise also run it outside the security chain.
+ * The stateless token version table of the servlet variant is not used; the
+ * principal always comes from the principal cache.
+ */
+public class ReactiveJwtFilter implements WebFilter {
+
+    /** Endpoints issuing or revoking tokens themselves; never renewed by the filter. */
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
+    /** Utility for JWT operations. */
+    private final JwtUtils jwtUtils;
+
+    /** User service for retrieving principals. */
+    private final ReactiveUserService userService;
+
+    /** Denylist of revoked tokens. */
+    private final ReactiveTokenRevocationService tokenRevocationService;
+
+    /** Extended expiration time for Remember Me in milliseconds. */
+    private final long rememberMeExpirationMs;
+
+    /**
+     * @brief Constructor for ReactiveJwtFilter.
+     * @param jwtUtils The JWT utility instance.
+     * @param userService The user service instance.
+     * @param tokenRevocationService The token revocation service instance.
+     * @param rememberMeExpirationMs The Remember Me lifetime of renewed cookies.
+     */
+    public ReactiveJwtFilter(JwtUtils jwtUtils, ReactiveUserService userService,
+                             ReactiveTokenRevocationService tokenRevocationService, long rememberMeExpirationMs) {
+        this.jwtUtils = jwtUtils;
+        this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.rememberMeExpirationMs = rememberMeExpirationMs;
+    }
+
+    /**
+     * @brief Filters incoming requests for JWT authentication from headers or cookies.
+     * @param exchange The current exchange.
+     * @param chain The filter chain.
+     * @return Completes when the rest of the chain completes.
+     */
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String token = extractToken(exchange.getRequest());
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+        if (!verifiedToken.isValid() || tokenRevocationService.isRevoked(verifiedToken.jti())) {
+            return chain.filter(exchange);
+        }
+
+        return userService.findPrincipalById(verifiedToken.userId())
+                .filter(principal -> isCurrentVersion(principal, verifiedToken))
+                .map(principal -> authenticate(exchange, principal, verifiedToken))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(value -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(value)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    /**
+     * @brief Extracts the token from the Authorization header or the auth cookie.
+     * @param request The HTTP request.
+     * @return The token, or null if the request carries none.
+     */
+    public static String extractToken(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+
+        HttpCookie cookie = request.getCookies().getFirst(AuthCookies.NAME);
+        return cookie != null ? cookie.getValue() : null;
+    }
+
+    /**
+     * @brief Builds the authentication and publishes the principal on the exchange.
+     * @param exchange The current exchange.
+     * @param principal The authenticated principal.
+     * @param verifiedToken The verified token.
+     * @return The authentication to put in the security context.
+     */
+    private Authentication authenticate(ServerWebExchange exchange, UserPrincipal principal, VerifiedToken verifiedToken) {
+        exchange.getAttributes().put("userId", principal.id());
+        exchange.getAttributes().put(JwtFilter.PRINCIPAL_ATTRIBUTE, principal);
+
+        if (jwtUtils.isDueForRenewal(verifiedToken) && !isAuthEndpoint(exchange.getRequest())) {
+            renew(exchange, principal, verifiedToken);
+        }
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+    }
+
+    /**
+     * @brief Issues a fresh token for a request whose token is about to expire.
+     *
+     * Same contract as JwtFilter: the token comes from the service's login
+     * issue path, and is sent in a response header always, and in the cookie
+     * too for clients that did not authenticate with a Bearer header.
+     *
+     * @param exchange The current exchange.
+     * @param principal The authenticated principal.
+     * @param verifiedToken The verified token being renewed.
+     */
+    private void renew(ServerWebExchange exchange, UserPrincipal principal, VerifiedToken verifiedToken) {
+        String newToken = userService.renewToken(principal, verifiedToken.rememberMe());
+
+        exchange.getResponse().getHeaders().set(JwtFilter.RENEWED_TOKEN_HEADER, newToken);
+
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            exchange.getResponse().addCookie(AuthCookies.create(newToken, verifiedToken.rememberMe(), rememberMeExpirationMs));
+        }
+    }
+
+    /**
+     * @brief Checks whether the request targets an authentication endpoint.
+     * @param request The HTTP request.
+     * @return True for login, logout and register requests.
+     */
+    private boolean isAuthEndpoint(ServerHttpRequest request) {
+        return request.getPath().value().startsWith(AUTH_PATH_PREFIX);
+    }
+
+    /**
+     * @brief Checks the token version claim against the loaded user.
+     * @param principal The principal of the loaded user.
+     * @param verifiedToken The verified token.
+     * @return True if the token carries no version or the current one.
+     */
+    private boolean isCurrentVersion(UserPrincipal principal, VerifiedToken verifiedToken) {
+        return verifiedToken.tokenVersion() == null || verifiedToken.tokenVersion() == principal.tokenVersion();
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * @file ReactiveSecurityConfig.java
+ * @brief Security configuration of the reactive variant.
+ *
+ * Mirrors the access rules of SecurityConfig for the endpoints the reactive
+ * variant serves.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.security
+ * @brief Contains the security components of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.security;
+
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveTokenRevocationService;
+import com.hikmethankolay.user_auth_system.reactive.service.ReactiveUserService;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @class ReactiveSecurityConfig
+ * @brief Configures the stateless security filter chain of the reactive variant.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /** Body of 401 responses, the same as the servlet variant's. */
+    private static final byte[] UNAUTHORIZED_BODY =
+            "{\"status\":\"FAILURE\", \"data\":\"\" ,\"message\":\"Unauthorized\"}".getBytes(StandardCharsets.UTF_8);
+
+    /** Extended expiration time for Remember Me in milliseconds. */
+    @Value("${api.security.token.remember-me-expiration}")
+    private Long rememberMeExpirationMs;
+
+    /**
+     * @brief Configures the security filter chain.
+     * @param http The ServerHttpSecurity configuration.
+     * @param jwtUtils The JWT utility instance.
+     * @param userService The user service instance.
+     * @param tokenRevocationService The token revocation service instance.
+     * @return The configured SecurityWebFilterChain.
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtils jwtUtils,
+                                                         ReactiveUserService userService,
+                                                         ReactiveTokenRevocationService tokenRevocationService) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/api/auth/register").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/users/me").authenticated()
+                        .pathMatchers(HttpMethod.PATCH, "/api/users/me").authenticated()
+                        .pathMatchers(HttpMethod.GET, "/api/users/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.PATCH, "/api/users/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/actuator/metrics/**").hasRole("ADMIN")
+                        .anyExchange().permitAll()
+                )
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((exchange, authException) -> {
+                            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                            DataBuffer body = exchange.getResponse().bufferFactory().wrap(UNAUTHORIZED_BODY);
+                            return exchange.getResponse().writeWith(Mono.just(body));
+                        })
+                )
+                .addFilterAt(new ReactiveJwtFilter(jwtUtils, userService, tokenRevocationService, rememberMeExpirationMs),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * @brief Task decorator of the password hashing pool.
+     *
+     * Tasks are passed on unchanged: the reactive variant keeps the
+     * authentication in the Reactor context, which needs no copying.
+     *
+     * @return A decorator returning every task as is.
+     */
+    @Bean
+    public TaskDecorator passwordHashingTaskDecorator() {
+        return runnable -> runnable;
+    }
+
+    /**
+     * @brief Selects Reactor Netty as the web server.
+     *
+     * Tomcat is on the classpath as well, for the servlet variant, and would
+     * otherwise be preferred by the auto-configuration.
+     *
+     * @return The Netty server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
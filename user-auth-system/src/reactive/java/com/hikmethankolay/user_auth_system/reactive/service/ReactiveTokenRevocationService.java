@@ -0,0 +1,130 @@
+/**
+ * @file ReactiveTokenRevocationService.java
+ * @brief Non-blocking denylist of revoked tokens.
+ *
+ * Shares the revoked_tokens table with TokenRevocationService, so revocations
+ * made by either variant reach the other on its next sync. Lookups only read
+ * memory; the database is written on revocation and read periodically.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.service
+ * @brief Contains the services of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * @class ReactiveTokenRevocationService
+ * @brief Keeps revoked, not yet expired token IDs in memory and in the database.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTokenRevocationService {
+
+    /** Persists a revocation; revoking a token twice is a no-op. */
+    static final String INSERT_REVOKED =
+            "INSERT INTO revoked_tokens (jti, expires_at) VALUES (:jti, :expiresAt) ON CONFLICT (jti) DO NOTHING";
+
+    /** Reads the revocations that are still in effect. */
+    static final String SELECT_ACTIVE = "SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > :now";
+
+    /** Logger for persistence failures. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Client for the revoked_tokens table. */
+    private final DatabaseClient databaseClient;
+
+    /** Revoked token IDs and their expiration times. */
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * @brief Constructor for ReactiveTokenRevocationService.
+     * @param databaseClient The R2DBC client.
+     */
+    public ReactiveTokenRevocationService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * @brief Checks whether a token has been revoked.
+     * @param jti The token ID, may be null for tokens issued without one.
+     * @return True if the token was revoked and has not expired yet.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * @brief Revokes a token until it expires.
+     *
+     * The revocation takes effect locally at once, even if it cannot be persisted.
+     *
+     * @param jti The token ID.
+     * @param expiresAt The expiration time of the token.
+     * @return Completes once the revocation is persisted.
+     */
+    public Mono<Void> revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return Mono.empty();
+        }
+        revoked.put(jti, expiresAt);
+
+        return databaseClient.sql(INSERT_REVOKED)
+                .bind("jti", jti)
+                .bind("expiresAt", expiresAt)
+                .then()
+                .onErrorResume(e -> {
+                    // Still revoked on this instance; other instances miss it until it expires
+                    logger.warning("Could not persist revoked token " + jti + ": " + e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * @brief Gets the number of revoked tokens kept in memory.
+     * @return The size of the denylist.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * @brief Loads revocations made by other instances and prunes expired ones.
+     * @return Completes once the load has finished or failed.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token.revocation.sync-interval}")
+    public Mono<Void> synchronize() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+
+        return databaseClient.sql(SELECT_ACTIVE)
+                .bind("now", now)
+                .map((row, metadata) -> Map.entry(row.get("jti", String.class), row.get("expires_at", Instant.class)))
+                .all()
+                .doOnNext(entry -> revoked.putIfAbsent(entry.getKey(), entry.getValue()))
+                .then()
+                .onErrorResume(e -> {
+                    logger.warning("Could not synchronize revoked tokens: " + e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
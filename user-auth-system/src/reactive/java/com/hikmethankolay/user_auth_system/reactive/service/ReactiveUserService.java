@@ -0,0 +1,507 @@
+/**
+ * @file ReactiveUserService.java
+ * @brief Non-blocking user management and authentication.
+ *
+ * Port of UserService onto R2DBC. Database calls never block a thread;
+ * password hashing and verification, which are CPU bound, run on a Reactor
+ * scheduler backed by the bounded PasswordHashingExecutor pool, so a burst of
+ * logins cannot occupy the event loop and excess work is rejected with
+ * ServerBusyException instead of queueing. Calls to LoginAttemptService,
+ * whose jdbc store blocks on JDBC, run on the bounded elastic scheduler.
+ *
+ * @author Hikmethan Kolay
+ * @date 2026-10-14
+ */
+
+/**
+ * @package com.hikmethankolay.user_auth_system.reactive.service
+ * @brief Contains the services of the reactive variant.
+ */
+package com.hikmethankolay.user_auth_system.reactive.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hikmethankolay.user_auth_system.dto.AuthTokensDTO;
+import com.hikmethankolay.user_auth_system.dto.LoginRequestDTO;
+import com.hikmethankolay.user_auth_system.dto.UserDTO;
+import com.hikmethankolay.user_auth_system.enums.ERole;
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import com.hikmethankolay.user_auth_system.reactive.entity.RoleRecord;
+import com.hikmethankolay.user_auth_system.reactive.entity.UserRecord;
+import com.hikmethankolay.user_auth_system.reactive.repository.ReactiveRoleRepository;
+import com.hikmethankolay.user_auth_system.reactive.repository.ReactiveUserRepository;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+import com.hikmethankolay.user_auth_system.service.PasswordHashingExecutor;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+/**
+ * @class ReactiveUserService
+ * @brief Service handling registration, login and user management without blocking.
+ *
+ * Refresh tokens are not issued by this variant; logins return an access
+ * token with the full token lifetime, as UserService does when refresh
+ * tokens are disabled.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserService {
+
+    /** Repository for users. */
+    private final ReactiveUserRepository userRepository;
+
+    /** Password encoder shared with the servlet variant. */
+    private final PasswordEncoder passwordEncoder;
+
+    /** JWT utilities for issuing tokens. */
+    private final JwtUtils jwtUtils;
+
+    /** Validator for user DTOs. */
+    private final Validator validator;
+
+    /** Failed login counters per IP and identifier. */
+    private final LoginAttemptService loginAttemptService;
+
+    /** Scheduler running password hashing on the bounded hashing pool. */
+    private final Scheduler hashingScheduler;
+
+    /** Role names by ID, read once. */
+    private final Mono<Map<Long, ERole>> roles;
+
+    /** Logger for failed hash upgrades. */
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /** Retry-After value sent when the hashing pool is saturated, in seconds. */
+    @Value("${api.security.password-hashing.retry-after}")
+    private Long retryAfterSeconds;
+
+    /** Time a cached principal stays valid, in milliseconds. */
+    @Value("${api.security.principal-cache.ttl}")
+    private Long principalTtlMs;
+
+    /** Maximum number of cached principals. */
+    @Value("${api.security.principal-cache.max-size}")
+    private Long principalMaxSize;
+
+    /** Principals by user ID. */
+    private AsyncCache<Long, UserPrincipal> principals;
+
+    /**
+     * @brief Constructor for ReactiveUserService.
+     * @param userRepository The user repository.
+     * @param roleRepository The role repository.
+     * @param passwordEncoder The password encoder.
+     * @param jwtUtils The JWT utility instance.
+     * @param validator The validator.
+     * @param loginAttemptService The login attempt service.
+     * @param passwordHashingExecutor The pool password hashing runs on.
+     */
+    public ReactiveUserService(ReactiveUserRepository userRepository, ReactiveRoleRepository roleRepository,
+                               PasswordEncoder passwordEncoder, JwtUtils jwtUtils, Validator validator,
+                               LoginAttemptService loginAttemptService, PasswordHashingExecutor passwordHashingExecutor) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtils = jwtUtils;
+        this.validator = validator;
+        this.loginAttemptService = loginAttemptService;
+        this.hashingScheduler = Schedulers.fromExecutorService(passwordHashingExecutor.nativeExecutor(), "password-hashing");
+        this.roles = Mono.defer(() -> roleRepository.findAll().collectMap(RoleRecord::id, RoleRecord::name))
+                .cacheInvalidateIf(Map::isEmpty);
+    }
+
+    /**
+     * @brief Creates the principal cache from the configured size and TTL.
+     */
+    @PostConstruct
+    public void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(principalMaxSize)
+                .expireAfterWrite(Duration.ofMillis(principalTtlMs))
+                .buildAsync();
+    }
+
+    /**
+     * @brief Retrieves one page of users.
+     * @param pageable Pagination information.
+     * @return The page of users.
+     */
+    public Mono<Page<UserDTO>> findAll(Pageable pageable) {
+        return Mono.zip(userRepository.findAllBy(pageable).collectList(), userRepository.count(), roles)
+                .map(page -> new PageImpl<>(
+                        page.getT1().stream().map(user -> toDTO(user, page.getT3())).toList(),
+                        pageable, page.getT2()));
+    }
+
+    /**
+     * @brief Finds a user by ID.
+     * @param id The user ID.
+     * @return The user, or empty if not found.
+     */
+    public Mono<UserDTO> findById(Long id) {
+        return userRepository.findById(id).flatMap(this::toDTO);
+    }
+
+    /**
+     * @brief Finds a user by username or email.
+     * @param identifier The username or email.
+     * @return The user, or empty if not found.
+     */
+    public Mono<UserDTO> findByUsernameOrEmail(String identifier) {
+        return userRepository.findFirstByUsernameOrEmail(identifier, identifier).flatMap(this::toDTO);
+    }
+
+    /**
+     * @brief Gets the principal of a user for request authentication.
+     *
+     * Concurrent misses for the same user share one database read.
+     *
+     * @param id The user ID.
+     * @return The principal, or empty if the user does not exist.
+     */
+    public Mono<UserPrincipal> findPrincipalById(Long id) {
+        return Mono.fromFuture(() -> principals.get(id,
+                (key, executor) -> userRepository.findById(key).flatMap(this::toPrincipal).toFuture()));
+    }
+
+    /**
+     * @brief Registers a new user with the default role.
+     * @param userDTO The registration data.
+     * @return The registered user.
+     */
+    public Mono<UserDTO> registerUser(UserDTO userDTO) {
+        return Mono.defer(() -> {
+                    validate(userDTO, UserDTO.Registration.class);
+                    return checkUserUniqueness(userDTO, null);
+                })
+                .then(roleId(ERole.ROLE_USER))
+                .flatMap(roleId -> hash(() -> passwordEncoder.encode(userDTO.getPassword()))
+                        .map(hash -> UserRecord.create(userDTO.getUsername(), userDTO.getEmail(), hash, roleId)))
+                .flatMap(userRepository::save)
+                .flatMap(this::toDTO);
+    }
+
+    /**
+     * @brief Authenticates a user and issues a token.
+     * @param loginRequest The credentials.
+     * @param clientIp The client IP address, as resolved by ClientIp.
+     * @return The issued tokens, or empty if the credentials are wrong.
+     */
+    public Mono<AuthTokensDTO> authenticateUser(LoginRequestDTO loginRequest, String clientIp) {
+        String identifier = loginRequest.identifier();
+
+        return loginAttempts(() -> {
+                    // Check if the IP address is blocked due to too many failed login attempts
+                    if (loginAttemptService.isBlocked(KeyType.IP, clientIp)) {
+                        throw new RuntimeException("Too many failed login attempts from this IP. Please try again later.");
+                    }
+
+                    // Check if the user is blocked due to too many failed attempts
+                    if (loginAttemptService.isBlocked(KeyType.IDENTIFIER, identifier)) {
+                        throw new RuntimeException("Account is temporarily locked due to too many failed login attempts. Please try again later.");
+                    }
+                })
+                .then(Mono.defer(() -> userRepository.findFirstByUsernameOrEmail(identifier, identifier)))
+                .filterWhen(user -> hash(() -> passwordEncoder.matches(loginRequest.password(), user.password())))
+                .flatMap(user -> loginAttempts(() -> {
+                            // Authentication successful - reset failed attempts counter
+                            loginAttemptService.loginSucceeded(KeyType.IP, clientIp);
+                            loginAttemptService.loginSucceeded(KeyType.IDENTIFIER, identifier);
+                        })
+                        .then(rehashIfOutdated(user, loginRequest.password()))
+                        .then(issueTokens(user, loginRequest.rememberMe())))
+                .switchIfEmpty(loginAttempts(() -> {
+                    // Authentication failed - increment failed attempts counter
+                    loginAttemptService.loginFailed(KeyType.IP, clientIp);
+                    loginAttemptService.loginFailed(KeyType.IDENTIFIER, identifier);
+                }).then(Mono.empty()));
+    }
+
+    /**
+     * @brief Exchanges a valid access token for a new one.
+     *
+     * Tokens issued before the user's last token version bump cannot be
+     * refreshed. The caller checks revocation.
+     *
+     * @param verifiedToken The verified current token.
+     * @return The new tokens with the Remember Me setting of the current one, or empty if it cannot be refreshed.
+     */
+    public Mono<AuthTokensDTO> refreshToken(VerifiedToken verifiedToken) {
+        if (verifiedToken == null || !verifiedToken.isValid()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> userRepository.findById(verifiedToken.userId()))
+                .filter(user -> verifiedToken.tokenVersion() == null || verifiedToken.tokenVersion() == user.tokenVersion())
+                .flatMap(user -> issueTokens(user, verifiedToken.rememberMe()));
+    }
+
+    /**
+     * @brief Updates a user.
+     *
+     * Changing the password or role bumps the token version, which invalidates
+     * every token issued before, and deletes the user's refresh tokens.
+     *
+     * @param updates The fields to update.
+     * @param id The user ID.
+     * @param requester The authenticated user making the request.
+     * @return The updated user.
+     */
+    public Mono<UserDTO> updateUser(UserDTO updates, Long id, UserPrincipal requester) {
+        return Mono.defer(() -> {
+                    if (updates == null) {
+                        return Mono.error(new IllegalArgumentException("Updates cannot be null"));
+                    }
+                    validate(updates, UserDTO.Update.class);
+                    return checkUserUniqueness(updates, id);
+                })
+                .then(userRepository.findById(id))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found with id: " + id)))
+                .flatMap(user -> {
+                    boolean isAdminAction = ERole.ROLE_ADMIN.name().equals(requester.role());
+
+                    Mono<String> password = StringUtils.hasText(updates.getPassword())
+                            ? hash(() -> passwordEncoder.encode(updates.getPassword().trim()))
+                            : Mono.just(user.password());
+                    Mono<Optional<Long>> roleId = updates.getRole() != null && isAdminAction
+                            ? roleId(updates.getRole()).map(Optional::of)
+                            : Mono.just(Optional.ofNullable(user.roleId()));
+
+                    return Mono.zip(password, roleId).flatMap(passwordAndRole -> {
+                        String newPassword = passwordAndRole.getT1();
+                        Long newRoleId = passwordAndRole.getT2().orElse(null);
+                        boolean revokeTokens = !newPassword.equals(user.password())
+                                || !Objects.equals(newRoleId, user.roleId());
+
+                        UserRecord updated = user.with(
+                                StringUtils.hasText(updates.getUsername()) ? updates.getUsername().trim() : user.username(),
+                                StringUtils.hasText(updates.getEmail()) ? updates.getEmail().trim() : user.email(),
+                                newPassword,
+                                newRoleId,
+                                revokeTokens ? user.tokenVersion() + 1 : user.tokenVersion());
+
+                        Mono<Integer> revoked = revokeTokens ? userRepository.deleteRefreshTokens(id) : Mono.just(0);
+                        return revoked.then(userRepository.save(updated));
+                    });
+                })
+                .doOnNext(saved -> principals.synchronous().invalidate(saved.id()))
+                .flatMap(this::toDTO);
+    }
+
+    /**
+     * @brief Deletes a user.
+     * @param id The ID of the user to delete.
+     * @param requesterId The ID of the user making the request.
+     * @return Completes once the user is deleted.
+     */
+    public Mono<Void> deleteById(Long id, Long requesterId) {
+        if (id.equals(requesterId)) {
+            return Mono.error(new RuntimeException("Cannot delete your own account"));
+        }
+
+        // Refresh tokens are removed by the ON DELETE CASCADE of refresh_tokens
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found with id " + id)))
+                .flatMap(userRepository::delete)
+                .doOnSuccess(ignored -> principals.synchronous().invalidate(id));
+    }
+
+    /**
+     * @brief Issues a replacement for a token that is about to expire.
+     *
+     * Uses the same lifetime as a token issued at login, so a renewed token
+     * never outlives a fresh one.
+     *
+     * @param principal The authenticated principal of the expiring token.
+     * @param rememberMe Whether the expiring token was issued with Remember Me.
+     * @return The signed JWT token.
+     */
+    public String renewToken(UserPrincipal principal, boolean rememberMe) {
+        return issueToken(principal.id(), principal.username(), principal.role(), principal.tokenVersion(), rememberMe);
+    }
+
+    /**
+     * @brief Runs password work on the hashing pool.
+     * @param task The hashing or verification task.
+     * @param <T> The result type.
+     * @return The task's result, or ServerBusyException if the pool is saturated.
+     */
+    <T> Mono<T> hash(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(hashingScheduler)
+                .onErrorMap(RejectedExecutionException.class,
+                        e -> new ServerBusyException("Server is busy, please try again later", retryAfterSeconds));
+    }
+
+    /**
+     * @brief Runs LoginAttemptService calls on the bounded elastic scheduler.
+     *
+     * The jdbc store reads and writes attempts with blocking JDBC, which must
+     * not run on the event loop.
+     *
+     * @param task The calls.
+     * @return Completes once the calls ran, or with their error.
+     */
+    private Mono<Void> loginAttempts(Runnable task) {
+        return Mono.fromRunnable(task)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * @brief Re-encodes a password whose hash uses outdated settings.
+     *
+     * Called after a successful verification, while the raw password is known.
+     * Failures are logged and do not affect the login.
+     *
+     * @param user The authenticated user.
+     * @param rawPassword The verified raw password.
+     * @return Completes once the hash is replaced or left as is.
+     */
+    private Mono<Void> rehashIfOutdated(UserRecord user, String rawPassword) {
+        String storedHash = user.password();
+        if (!passwordEncoder.upgradeEncoding(storedHash)) {
+            return Mono.empty();
+        }
+        return hash(() -> passwordEncoder.encode(rawPassword))
+                .flatMap(newHash -> userRepository.replacePasswordHash(user.id(), storedHash, newHash))
+                .then()
+                .onErrorResume(e -> {
+                    logger.warning("Could not upgrade password hash of user " + user.id() + ": " + e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * @brief Issues an access token.
+     * @param user The authenticated user.
+     * @param rememberMe Whether the token gets the Remember Me lifetime.
+     * @return The issued tokens, without a refresh token.
+     */
+    private Mono<AuthTokensDTO> issueTokens(UserRecord user, boolean rememberMe) {
+        return roles.map(roleNames -> {
+            ERole role = user.roleId() != null ? roleNames.get(user.roleId()) : null;
+            String token = issueToken(user.id(), user.username(), role != null ? role.name() : null,
+                    user.tokenVersion(), rememberMe);
+            return new AuthTokensDTO(token, null, rememberMe);
+        });
+    }
+
+    /**
+     * @brief Issues a token from the fields of a user.
+     * @param userId The user ID.
+     * @param username The username.
+     * @param role The role name, or null if the user has no role.
+     * @param tokenVersion The user's current token version.
+     * @param rememberMe Whether the token gets the Remember Me lifetime.
+     * @return The signed JWT token.
+     */
+    private String issueToken(Long userId, String username, String role, int tokenVersion, boolean rememberMe) {
+        return jwtUtils.generateJwtToken(String.valueOf(userId), username, role, tokenVersion, rememberMe);
+    }
+
+    /**
+     * @brief Validates a DTO against a validation group.
+     * @param userDTO The DTO.
+     * @param group The validation group.
+     * @throws ConstraintViolationException If the DTO is invalid.
+     */
+    private void validate(UserDTO userDTO, Class<?> group) {
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(userDTO, group);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    /**
+     * @brief Checks that the username and email are not used by another user.
+     * @param userDTO The DTO with the new username and email.
+     * @param userId The ID of the user being updated, or null when registering.
+     * @return Completes empty, or with an error naming the taken field.
+     */
+    private Mono<Void> checkUserUniqueness(UserDTO userDTO, Long userId) {
+        Mono<Void> username = userDTO.getUsername() == null ? Mono.empty()
+                : userRepository.findByUsername(userDTO.getUsername())
+                .filter(user -> !Objects.equals(user.id(), userId))
+                .flatMap(user -> Mono.error(new RuntimeException("Username is already taken!")));
+        Mono<Void> email = userDTO.getEmail() == null ? Mono.empty()
+                : userRepository.findByEmail(userDTO.getEmail())
+                .filter(user -> !Objects.equals(user.id(), userId))
+                .flatMap(user -> Mono.error(new RuntimeException("Email is already taken!")));
+        return username.then(email);
+    }
+
+    /**
+     * @brief Gets the ID of a role.
+     * @param roleName The role name.
+     * @return The role ID, or an error if the role does not exist.
+     */
+    private Mono<Long> roleId(ERole roleName) {
+        return roles.flatMap(roleNames -> Mono.justOrEmpty(roleNames.entrySet().stream()
+                        .filter(entry -> entry.getValue() == roleName)
+                        .map(Map.Entry::getKey)
+                        .findFirst()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Role not found with name: " + roleName)));
+    }
+
+    /**
+     * @brief Converts a user to a DTO.
+     * @param user The user.
+     * @return The DTO.
+     */
+    private Mono<UserDTO> toDTO(UserRecord user) {
+        return roles.map(roleNames -> toDTO(user, roleNames));
+    }
+
+    /**
+     * @brief Converts a user to a DTO with known role names.
+     * @param user The user.
+     * @param roleNames Role names by ID.
+     * @return The DTO, without the password.
+     */
+    private static UserDTO toDTO(UserRecord user, Map<Long, ERole> roleNames) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(user.id());
+        userDTO.setUsername(user.username());
+        userDTO.setEmail(user.email());
+        userDTO.setRole(user.roleId() != null ? roleNames.get(user.roleId()) : null);
+        return userDTO;
+    }
+
+    /**
+     * @brief Converts a user to a principal.
+     * @param user The user.
+     * @return The principal.
+     */
+    private Mono<UserPrincipal> toPrincipal(UserRecord user) {
+        return roles.map(roleNames -> {
+            ERole role = user.roleId() != null ? roleNames.get(user.roleId()) : null;
+            return new UserPrincipal(user.id(), user.username(), role != null ? role.name() : null, user.tokenVersion());
+        });
+    }
+}
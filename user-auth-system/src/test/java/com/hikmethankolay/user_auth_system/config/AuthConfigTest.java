@@ -2,22 +2,19 @@
  * @file AuthConfigTest.java
  * @brief Tests for the AuthConfig class.
  *
- * Contains unit tests for authentication configuration including
- * password encoder and authentication manager beans.
+ * Contains unit tests for the delegating password encoder.
  *
  * @author Test Suite Generator
- * @date 2025-03-29
+ * @date 2026-10-14
  */
 package com.hikmethankolay.user_auth_system.config;
 
+import com.hikmethankolay.user_auth_system.util.WrappedPasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,53 +22,148 @@ import static org.junit.jupiter.api.Assertions.*;
  * @class AuthConfigTest
  * @brief Test class for AuthConfig.
  *
- * This class contains unit tests for authentication configuration.
+ * This class contains unit tests for algorithm prefixes, legacy hashes and upgrades.
  */
-@SpringBootTest
 public class AuthConfigTest {
 
     /**
      * AuthConfig instance to be tested.
      */
-    @Autowired
     private AuthConfig authConfig;
 
     /**
-     * Mock AuthenticationConfiguration for testing authentication manager.
+     * @brief Setup method that runs before each test.
+     *
+     * Configures cheap parameters for every algorithm.
      */
-    @MockitoBean
-    private AuthenticationConfiguration authenticationConfiguration;
+    @BeforeEach
+    public void setUp() {
+        authConfig = new AuthConfig();
+        ReflectionTestUtils.setField(authConfig, "algorithm", "bcrypt");
+        ReflectionTestUtils.setField(authConfig, "bcryptStrength", 5);
+        ReflectionTestUtils.setField(authConfig, "argon2Memory", 1024);
+        ReflectionTestUtils.setField(authConfig, "argon2Iterations", 1);
+        ReflectionTestUtils.setField(authConfig, "argon2Parallelism", 1);
+        ReflectionTestUtils.setField(authConfig, "scryptCpuCost", 1024);
+        ReflectionTestUtils.setField(authConfig, "scryptBlockSize", 8);
+        ReflectionTestUtils.setField(authConfig, "scryptParallelization", 1);
+        ReflectionTestUtils.setField(authConfig, "calibrationTargetMs", 0L);
+    }
 
     /**
-     * Mock AuthenticationManager for testing.
+     * @brief Test hashes of the configured algorithm.
+     *
+     * Verifies that new hashes carry the algorithm prefix and are current.
      */
-    @MockitoBean
-    private AuthenticationManager authenticationManager;
+    @Test
+    public void testEncodeWithAlgorithmPrefix() {
+        // Act
+        PasswordEncoder encoder = authConfig.passwordEncoder();
+        String encoded = encoder.encode("P@ssw0rd123!");
+
+        // Assert
+        assertTrue(encoded.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("P@ssw0rd123!", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+    }
 
     /**
-     * @brief Test password encoder bean.
+     * @brief Test hashes stored before algorithm prefixes were introduced.
      *
-     * Verifies that passwordEncoder correctly returns a BCryptPasswordEncoder.
+     * Verifies that unprefixed BCrypt hashes still match and are marked for upgrade.
      */
     @Test
-    public void testPasswordEncoder() {
+    public void testLegacyBCryptHash() {
+        // Arrange
+        String legacy = new BCryptPasswordEncoder(4).encode("P@ssw0rd123!");
+
         // Act
         PasswordEncoder encoder = authConfig.passwordEncoder();
-        
+
         // Assert
-        assertNotNull(encoder);
-        assertTrue(encoder instanceof BCryptPasswordEncoder);
-        
-        // Test encoding
-        String password = "testPassword";
-        String encoded = encoder.encode(password);
-        
-        // Verify encoding produces different results each time
-        String encoded2 = encoder.encode(password);
-        assertNotEquals(encoded, encoded2);
-        
-        // Verify matches works correctly
-        assertTrue(encoder.matches(password, encoded));
-        assertFalse(encoder.matches("wrongPassword", encoded));
+        assertTrue(encoder.matches("P@ssw0rd123!", legacy));
+        assertFalse(encoder.matches("wrong", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    /**
+     * @brief Test switching the algorithm.
+     *
+     * Verifies that hashes of the previous algorithm still match and are marked for upgrade.
+     */
+    @Test
+    public void testAlgorithmChange() {
+        // Arrange
+        String bcryptHash = authConfig.passwordEncoder().encode("P@ssw0rd123!");
+        ReflectionTestUtils.setField(authConfig, "algorithm", "argon2");
+
+        // Act
+        PasswordEncoder encoder = authConfig.passwordEncoder();
+        String argon2Hash = encoder.encode("P@ssw0rd123!");
+
+        // Assert
+        assertTrue(argon2Hash.startsWith("{argon2}$argon2id$"));
+        assertTrue(encoder.matches("P@ssw0rd123!", bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+        assertFalse(encoder.upgradeEncoding(argon2Hash));
+    }
+
+    /**
+     * @brief Test raising the cost of the current algorithm.
+     *
+     * Verifies that hashes with a lower cost are marked for upgrade.
+     */
+    @Test
+    public void testCostIncrease() {
+        // Arrange
+        ReflectionTestUtils.setField(authConfig, "algorithm", "scrypt");
+        String weak = authConfig.passwordEncoder().encode("P@ssw0rd123!");
+        ReflectionTestUtils.setField(authConfig, "scryptCpuCost", 2048);
+
+        // Act
+        PasswordEncoder encoder = authConfig.passwordEncoder();
+
+        // Assert
+        assertTrue(weak.startsWith("{scrypt}"));
+        assertTrue(encoder.matches("P@ssw0rd123!", weak));
+        assertTrue(encoder.upgradeEncoding(weak));
+    }
+
+    /**
+     * @brief Test hashes wrapped by the migration job.
+     *
+     * Verifies that a wrapped BCrypt hash matches and is marked for upgrade.
+     */
+    @Test
+    public void testWrappedHash() {
+        // Arrange
+        ReflectionTestUtils.setField(authConfig, "algorithm", "argon2");
+        PasswordEncoder encoder = authConfig.passwordEncoder();
+        String wrapped = WrappedPasswordEncoder.wrap(new BCryptPasswordEncoder(4).encode("P@ssw0rd123!"), encoder);
+
+        // Assert
+        assertTrue(wrapped.startsWith("{wrapped}$2a$04$"));
+        assertTrue(encoder.matches("P@ssw0rd123!", wrapped));
+        assertFalse(encoder.matches("wrong", wrapped));
+        assertTrue(encoder.upgradeEncoding(wrapped));
+    }
+
+    /**
+     * @brief Test algorithms that cannot encode new hashes.
+     *
+     * Verifies that the wrapped format and unknown names are rejected at startup
+     * instead of failing every registration.
+     */
+    @Test
+    public void testRejectsNonEncodingAlgorithm() {
+        // Arrange
+        ReflectionTestUtils.setField(authConfig, "algorithm", WrappedPasswordEncoder.ID);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> authConfig.passwordEncoder());
+        ReflectionTestUtils.setField(authConfig, "algorithm", "md5");
+        assertThrows(IllegalArgumentException.class, () -> authConfig.passwordEncoder());
+        ReflectionTestUtils.setField(authConfig, "algorithm", "");
+        assertThrows(IllegalArgumentException.class, () -> authConfig.passwordEncoder());
     }
-} 
\ No newline at end of file
+}
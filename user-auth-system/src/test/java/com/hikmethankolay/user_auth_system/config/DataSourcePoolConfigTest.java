@@ -0,0 +1,103 @@
+/**
+ * @file DataSourcePoolConfigTest.java
+ * @brief Tests for the DataSourcePoolConfig class.
+ *
+ * Contains unit tests for sizing the connection pool.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class DataSourcePoolConfigTest
+ * @brief Test class for DataSourcePoolConfig.
+ *
+ * This class contains unit tests for explicit and CPU based pool sizes, for
+ * user-set Hikari properties and for the platform thread mode.
+ */
+public class DataSourcePoolConfigTest {
+
+    /**
+     * Context runner with Spring Boot's data source configuration and the default properties.
+     */
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(DataSourcePoolConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:postgresql://localhost:5432/test",
+                    "api.datasource.pool-size=0",
+                    "api.datasource.connection-timeout=3000");
+
+    /**
+     * @brief Test the default pool size.
+     *
+     * Verifies a fixed-size pool of two connections per CPU plus one.
+     */
+    @Test
+    public void testDefaultPoolSize() {
+        // Act & Assert
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+            int expected = Runtime.getRuntime().availableProcessors() * 2 + 1;
+            assertEquals(expected, dataSource.getMaximumPoolSize());
+            assertEquals(expected, dataSource.getMinimumIdle());
+            assertEquals(3000L, dataSource.getConnectionTimeout());
+            assertEquals("jdbc:postgresql://localhost:5432/test", dataSource.getJdbcUrl());
+        });
+    }
+
+    /**
+     * @brief Test an explicit pool size.
+     */
+    @Test
+    public void testExplicitPoolSize() {
+        // Act & Assert
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true", "api.datasource.pool-size=7")
+                .run(context -> {
+                    HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+                    assertEquals(7, dataSource.getMaximumPoolSize());
+                    assertEquals(7, dataSource.getMinimumIdle());
+                });
+    }
+
+    /**
+     * @brief Test values set under spring.datasource.hikari take precedence.
+     *
+     * Verifies that only the values left unset get the defaults.
+     */
+    @Test
+    public void testUserSetHikariPropertiesWin() {
+        // Act & Assert
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true", "api.datasource.pool-size=7",
+                        "spring.datasource.hikari.maximum-pool-size=12",
+                        "spring.datasource.hikari.connection-timeout=10000")
+                .run(context -> {
+                    HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+                    assertEquals(12, dataSource.getMaximumPoolSize());
+                    assertEquals(7, dataSource.getMinimumIdle());
+                    assertEquals(10000L, dataSource.getConnectionTimeout());
+                });
+    }
+
+    /**
+     * @brief Test the pool is left to Spring Boot with platform threads.
+     */
+    @Test
+    public void testPlatformThreadsKeepBootDefaults() {
+        // Act & Assert
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=false").run(context -> {
+            assertTrue(context.getBeansOfType(DataSourcePoolConfig.class).isEmpty());
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+            assertEquals(30000L, dataSource.getConnectionTimeout());
+        });
+    }
+}
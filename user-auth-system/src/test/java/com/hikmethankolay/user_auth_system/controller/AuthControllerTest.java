@@ -10,18 +10,29 @@
  */
 package com.hikmethankolay.user_auth_system.controller;
 
+import com.hikmethankolay.user_auth_system.dto.AuthTokensDTO;
 import com.hikmethankolay.user_auth_system.dto.LoginRequestDTO;
+import com.hikmethankolay.user_auth_system.dto.RefreshTokenRequestDTO;
 import com.hikmethankolay.user_auth_system.dto.UserDTO;
 import com.hikmethankolay.user_auth_system.entity.User;
 import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -53,7 +64,7 @@ public class AuthControllerTest extends BaseControllerTest {
         when(userService.registerUser(any(UserDTO.class))).thenReturn(registeredUser);
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        performAsync(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerDTO)))
                 .andExpect(status().isOk())
@@ -81,7 +92,7 @@ public class AuthControllerTest extends BaseControllerTest {
                 .thenThrow(new RuntimeException("Username is already taken!"));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        performAsync(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerDTO)))
                 .andExpect(status().isBadRequest())
@@ -101,10 +112,10 @@ public class AuthControllerTest extends BaseControllerTest {
         LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "password", false);
         String token = "valid.jwt.token";
 
-        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn(token);
+        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn(CompletableFuture.completedFuture(new AuthTokensDTO(token, null, false)));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequestDTO)))
                 .andExpect(status().isOk())
@@ -127,10 +138,10 @@ public class AuthControllerTest extends BaseControllerTest {
         LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "password", true);
         String token = "valid.jwt.token";
 
-        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn(token);
+        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn(CompletableFuture.completedFuture(new AuthTokensDTO(token, null, true)));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequestDTO)))
                 .andExpect(status().isOk())
@@ -151,10 +162,10 @@ public class AuthControllerTest extends BaseControllerTest {
         // Arrange
         LoginRequestDTO loginRequestDTO = new LoginRequestDTO("wrong", "credentials", false);
 
-        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn(null);
+        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequestDTO)))
                 .andExpect(status().isBadRequest())
@@ -177,7 +188,7 @@ public class AuthControllerTest extends BaseControllerTest {
                 .thenThrow(new RuntimeException("Account is temporarily locked due to too many failed login attempts"));
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequestDTO)))
                 .andExpect(status().isTooManyRequests())
@@ -186,6 +197,29 @@ public class AuthControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.message").value("Account is temporarily locked due to too many failed login attempts"));
     }
 
+    /**
+     * @brief Test login while the password hashing pool is saturated.
+     *
+     * Verifies that the request is rejected with 503 and Retry-After.
+     */
+    @Test
+    public void testLoginServerBusy() throws Exception {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "password", false);
+
+        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString()))
+                .thenThrow(new ServerBusyException("Server is busy, please try again later", 1));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(EApiStatus.FAILURE.name()))
+                .andExpect(jsonPath("$.message").value("Server is busy, please try again later"));
+    }
+
     /**
      * @brief Test successful logout.
      *
@@ -203,6 +237,47 @@ public class AuthControllerTest extends BaseControllerTest {
                 .andExpect(cookie().maxAge("auth_token", 0));
     }
 
+    /**
+     * @brief Test that logout revokes the current token.
+     *
+     * Verifies that the token ID is added to the denylist until the token expires
+     * and that its cached introspection result is dropped.
+     */
+    @Test
+    public void testLogoutRevokesToken() throws Exception {
+        // Arrange
+        String token = "current.jwt.token";
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        VerifiedToken verifiedToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", null, null, false, expiresAt, "token-id");
+
+        when(jwtUtils.extractTokenFromRequest(any())).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(verifiedToken);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge("auth_token", 0));
+
+        verify(tokenRevocationService).revoke("token-id", expiresAt);
+        verify(tokenIntrospectionService).evict(token);
+    }
+
+    /**
+     * @brief Test logging out on every device.
+     *
+     * Verifies that all tokens of the user are revoked and the cookie is cleared.
+     */
+    @Test
+    public void testLogoutEverywhere() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout-all").requestAttr("userId", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(EApiStatus.SUCCESS.name()))
+                .andExpect(cookie().maxAge("auth_token", 0));
+
+        verify(userService).logoutEverywhere(1L);
+    }
+
     /**
      * @brief Test successful token refresh.
      *
@@ -214,9 +289,11 @@ public class AuthControllerTest extends BaseControllerTest {
         String oldToken = "old.jwt.token";
         String newToken = "new.jwt.token";
 
+        VerifiedToken verifiedToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", null, null, false, Instant.now().plusSeconds(60), null);
+
         when(jwtUtils.extractTokenFromRequest(any())).thenReturn(oldToken);
-        when(userService.refreshToken(oldToken)).thenReturn(newToken);
-        when(jwtUtils.wasRememberMe(oldToken)).thenReturn(false);
+        when(jwtUtils.verifyToken(oldToken)).thenReturn(verifiedToken);
+        when(userService.refreshToken(verifiedToken)).thenReturn(newToken);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/refresh-token"))
@@ -239,7 +316,8 @@ public class AuthControllerTest extends BaseControllerTest {
         String invalidToken = "invalid.jwt.token";
 
         when(jwtUtils.extractTokenFromRequest(any())).thenReturn(invalidToken);
-        when(userService.refreshToken(invalidToken)).thenReturn(null);
+        when(jwtUtils.verifyToken(invalidToken)).thenReturn(VerifiedToken.invalid());
+        when(userService.refreshToken(VerifiedToken.invalid())).thenReturn(null);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/refresh-token"))
@@ -260,9 +338,11 @@ public class AuthControllerTest extends BaseControllerTest {
         String oldToken = "old.jwt.token";
         String newToken = "new.jwt.token";
 
+        VerifiedToken verifiedToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", null, null, true, Instant.now().plusSeconds(60), null);
+
         when(jwtUtils.extractTokenFromRequest(any())).thenReturn(oldToken);
-        when(userService.refreshToken(oldToken)).thenReturn(newToken);
-        when(jwtUtils.wasRememberMe(oldToken)).thenReturn(true);
+        when(jwtUtils.verifyToken(oldToken)).thenReturn(verifiedToken);
+        when(userService.refreshToken(verifiedToken)).thenReturn(newToken);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/refresh-token"))
@@ -273,4 +353,111 @@ public class AuthControllerTest extends BaseControllerTest {
                 .andExpect(cookie().exists("auth_token"))
                 .andExpect(cookie().httpOnly("auth_token", true));
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Test token refresh with a revoked token.
+     *
+     * Verifies that a logged out token cannot be exchanged for a new one.
+     */
+    @Test
+    public void testRefreshTokenRevoked() throws Exception {
+        // Arrange
+        String oldToken = "old.jwt.token";
+        VerifiedToken verifiedToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", null, null, false, Instant.now().plusSeconds(60), "token-id");
+
+        when(jwtUtils.extractTokenFromRequest(any())).thenReturn(oldToken);
+        when(jwtUtils.verifyToken(oldToken)).thenReturn(verifiedToken);
+        when(tokenRevocationService.isRevoked("token-id")).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh-token"))
+                .andExpect(status().isUnauthorized());
+
+        verify(userService, never()).refreshToken(any());
+    }
+
+    /**
+     * @brief Test login with refresh tokens enabled.
+     *
+     * Verifies that the refresh token is returned in the body and in a cookie limited to the auth endpoints.
+     */
+    @Test
+    public void testLoginIssuesRefreshToken() throws Exception {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("testuser", "password", false);
+
+        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new AuthTokensDTO("access.jwt.token", "opaque-refresh-token", false)));
+
+        // Act & Assert
+        performAsync(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").value("access.jwt.token"))
+                .andExpect(jsonPath("$.data.refreshToken").value("opaque-refresh-token"))
+                .andExpect(cookie().value("auth_token", "access.jwt.token"))
+                .andExpect(cookie().value("refresh_token", "opaque-refresh-token"))
+                .andExpect(cookie().path("refresh_token", "/api/auth"))
+                .andExpect(cookie().httpOnly("refresh_token", true));
+    }
+
+    /**
+     * @brief Test rotating a refresh token sent as a cookie.
+     *
+     * Verifies that new access and refresh tokens are returned without verifying the access token.
+     */
+    @Test
+    public void testRefreshTokenRotation() throws Exception {
+        // Arrange
+        when(refreshTokenService.isEnabled()).thenReturn(true);
+        when(userService.refreshTokens("old-refresh-token"))
+                .thenReturn(new AuthTokensDTO("access.jwt.token", "new-refresh-token", true));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh-token")
+                        .cookie(new Cookie("refresh_token", "old-refresh-token")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").value("access.jwt.token"))
+                .andExpect(jsonPath("$.data.refreshToken").value("new-refresh-token"))
+                .andExpect(cookie().value("refresh_token", "new-refresh-token"));
+
+        verify(jwtUtils, never()).verifyToken(any());
+        verify(userService, never()).refreshToken(any());
+    }
+
+    /**
+     * @brief Test rotating a refresh token sent in the request body.
+     *
+     * Verifies that a rejected refresh token results in 401.
+     */
+    @Test
+    public void testRefreshTokenRotationRejected() throws Exception {
+        // Arrange
+        when(refreshTokenService.isEnabled()).thenReturn(true);
+        when(userService.refreshTokens("reused-refresh-token")).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO("reused-refresh-token"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value(EApiStatus.UNAUTHORIZED.name()));
+    }
+
+    /**
+     * @brief Test that logout revokes the refresh token.
+     *
+     * Verifies that the refresh token family is revoked and its cookie cleared.
+     */
+    @Test
+    public void testLogoutRevokesRefreshToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout")
+                        .cookie(new Cookie("refresh_token", "current-refresh-token")))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge("refresh_token", 0));
+
+        verify(refreshTokenService).revoke("current-refresh-token");
+    }
+}
@@ -16,6 +16,11 @@ import com.hikmethankolay.user_auth_system.repository.UserRepository;
 import com.hikmethankolay.user_auth_system.service.RoleService;
 import com.hikmethankolay.user_auth_system.service.UserService;
 import com.hikmethankolay.user_auth_system.service.LoginAttemptService;
+import com.hikmethankolay.user_auth_system.service.PasswordHashingExecutor;
+import com.hikmethankolay.user_auth_system.service.PasswordMigrationService;
+import com.hikmethankolay.user_auth_system.service.RefreshTokenService;
+import com.hikmethankolay.user_auth_system.service.TokenIntrospectionService;
+import com.hikmethankolay.user_auth_system.service.TokenRevocationService;
 import com.hikmethankolay.user_auth_system.util.JwtUtils;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,10 +31,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
 
 
 /**
@@ -106,6 +118,36 @@ public abstract class BaseControllerTest {
     @MockitoBean
     protected LoginAttemptService loginAttemptService;
 
+    /**
+     * Mock TokenRevocationService for token revocation.
+     */
+    @MockitoBean
+    protected TokenRevocationService tokenRevocationService;
+
+    /**
+     * Mock RefreshTokenService for refresh token handling.
+     */
+    @MockitoBean
+    protected RefreshTokenService refreshTokenService;
+
+    /**
+     * Mock TokenIntrospectionService for token introspection.
+     */
+    @MockitoBean
+    protected TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * Mock PasswordMigrationService for the migration job.
+     */
+    @MockitoBean
+    protected PasswordMigrationService passwordMigrationService;
+
+    /**
+     * Spy on the real PasswordHashingExecutor running asynchronous endpoints.
+     */
+    @MockitoSpyBean
+    protected PasswordHashingExecutor passwordHashingExecutor;
+
     /**
      * @brief Setup method that runs before each test.
      *
@@ -117,4 +159,17 @@ public abstract class BaseControllerTest {
                 .webAppContextSetup(webApplicationContext)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Performs a request to an asynchronous endpoint and dispatches its result.
+     * @param requestBuilder The request to perform.
+     * @return The result actions of the async dispatch.
+     * @throws Exception If the request fails.
+     */
+    protected ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * @file EndpointLoadBenchmark.java
+ * @brief HTTP load generator comparing platform thread, virtual thread and reactive request handling.
+ *
+ * Drives GET /api/users/me and GET /api/users of a running instance with a
+ * fixed number of concurrent clients and reports throughput, p50, p99 and
+ * maximum latency, plus the peak number of live server threads and of
+ * database connections in use, sampled from the actuator during the run.
+ * Run it against an instance started with spring.threads.virtual.enabled=false,
+ * one started with true, and the reactive variant, on the same data and hardware.
+ *
+ * Run after `mvn test-compile` with:
+ * java -cp target/test-classes com.hikmethankolay.user_auth_system.controller.EndpointLoadBenchmark
+ *     <base-url> <admin-access-token> [concurrency=1000] [seconds=30]
+ *
+ * For 10000 concurrent clients, raise the open file limit of both processes
+ * (ulimit -n 65536) and pass 10000 as the concurrency.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @class EndpointLoadBenchmark
+ * @brief Closed-loop load test: every client sends its next request as soon as the previous one returns.
+ */
+public class EndpointLoadBenchmark {
+
+    /** Endpoints measured, in order. */
+    private static final List<String> ENDPOINTS = List.of("/api/users/me", "/api/users?page=0&size=10");
+
+    /** Warmup time per endpoint before measuring. */
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    /** How often server metrics are sampled during a run. */
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(250);
+
+    /** Connections in use: HikariCP for the servlet variant, R2DBC pool for the reactive one. */
+    private static final List<String> CONNECTION_METRICS = List.of("hikaricp.connections.active", "r2dbc.pool.acquired");
+
+    /** Extracts the value of a metric. */
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    /**
+     * @brief Latencies and failures recorded by one client.
+     * @param latencies Latencies of successful requests in nanoseconds.
+     * @param errors Number of failed requests.
+     */
+    private record ClientResult(long[] latencies, int errors) {
+    }
+
+    /**
+     * @brief Runs the load test.
+     * @param args Base URL, access token of an admin, concurrency and duration in seconds.
+     * @throws Exception If the test cannot be run.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: EndpointLoadBenchmark <base-url> <admin-access-token> [concurrency] [seconds]");
+            System.exit(1);
+        }
+        String baseUrl = args[0].replaceAll("/$", "");
+        String token = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 30);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.printf("%-28s %10s %8s %12s %10s %10s %10s %12s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "peak threads", "peak conns");
+        for (String endpoint : ENDPOINTS) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            run(client, request, concurrency, WARMUP);
+            ServerSampler sampler = new ServerSampler(client, baseUrl, token);
+            List<ClientResult> results;
+            try (sampler) {
+                results = run(client, request, concurrency, duration);
+            }
+            report(endpoint, results, duration, sampler);
+        }
+    }
+
+    /**
+     * @brief Sends requests from concurrent clients for a fixed time.
+     * @param client The HTTP client.
+     * @param request The request to send.
+     * @param concurrency The number of clients.
+     * @param duration How long to send requests.
+     * @return The results of every client.
+     * @throws Exception If a client fails unexpectedly.
+     */
+    private static List<ClientResult> run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ClientResult>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    int errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return new ClientResult(Arrays.copyOf(latencies, count), errors);
+                }));
+            }
+
+            List<ClientResult> results = new ArrayList<>();
+            for (Future<ClientResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    /**
+     * @brief Prints throughput and latency percentiles of an endpoint.
+     * @param endpoint The endpoint.
+     * @param results The results of every client.
+     * @param duration The measured duration.
+     * @param sampler The sampler of server threads and connections during the run.
+     */
+    private static void report(String endpoint, List<ClientResult> results, Duration duration, ServerSampler sampler) {
+        long[] latencies = results.stream().flatMapToLong(r -> Arrays.stream(r.latencies())).sorted().toArray();
+        int errors = results.stream().mapToInt(ClientResult::errors).sum();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%-28s %10d %8d %12.1f %10.2f %10.2f %10.2f %12s %10s%n",
+                endpoint, latencies.length, errors, latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length > 0 ? latencies[latencies.length - 1] / 1e6 : 0.0,
+                format(sampler.peakThreads()), format(sampler.peakConnections()));
+    }
+
+    /**
+     * @brief Gets a percentile of sorted latencies.
+     * @param sorted Latencies in nanoseconds, sorted ascending.
+     * @param percentile The percentile between 0 and 1.
+     * @return The latency in milliseconds.
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * @brief Formats a sampled peak.
+     * @param peak The peak, or -1 if the metric could not be read.
+     * @return The peak, or "n/a".
+     */
+    private static String format(long peak) {
+        return peak < 0 ? "n/a" : String.valueOf(peak);
+    }
+
+    /**
+     * @brief Reads a metric of the server.
+     * @param client The HTTP client.
+     * @param baseUrl The base URL.
+     * @param token The access token of an admin.
+     * @param name The metric name.
+     * @return The value, or -1 if the metric cannot be read.
+     */
+    private static long metric(HttpClient client, String baseUrl, String token, String name) {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/actuator/metrics/" + name))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = METRIC_VALUE.matcher(response.body());
+            return response.statusCode() == 200 && matcher.find() ? (long) Double.parseDouble(matcher.group(1)) : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @class ServerSampler
+     * @brief Polls the server's live threads and connections in use, keeping the peaks.
+     */
+    private static final class ServerSampler implements AutoCloseable {
+
+        /** Highest live thread count seen, -1 until read. */
+        private final AtomicLong peakThreads = new AtomicLong(-1);
+
+        /** Highest number of connections in use seen, -1 until read. */
+        private final AtomicLong peakConnections = new AtomicLong(-1);
+
+        /** Thread polling the metrics. */
+        private final Thread poller;
+
+        /**
+         * @brief Starts sampling.
+         * @param client The HTTP client.
+         * @param baseUrl The base URL.
+         * @param token The access token of an admin.
+         */
+        ServerSampler(HttpClient client, String baseUrl, String token) {
+            poller = Thread.ofVirtual().start(() -> {
+                // The first connection metric the server exposes is used for the whole run
+                String connectionMetric = null;
+                while (!Thread.currentThread().isInterrupted()) {
+                    peakThreads.accumulateAndGet(metric(client, baseUrl, token, "jvm.threads.live"), Math::max);
+                    if (connectionMetric == null) {
+                        for (String candidate : CONNECTION_METRICS) {
+                            if (metric(client, baseUrl, token, candidate) >= 0) {
+                                connectionMetric = candidate;
+                                break;
+                            }
+                        }
+                    }
+                    if (connectionMetric != null) {
+                        peakConnections.accumulateAndGet(metric(client, baseUrl, token, connectionMetric), Math::max);
+                    }
+                    try {
+                        Thread.sleep(SAMPLE_INTERVAL);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        /**
+         * @brief Gets the highest live thread count seen.
+         * @return The peak, or -1 if the metric could not be read.
+         */
+        long peakThreads() {
+            return peakThreads.get();
+        }
+
+        /**
+         * @brief Gets the highest number of connections in use seen.
+         * @return The peak, or -1 if no connection metric could be read.
+         */
+        long peakConnections() {
+            return peakConnections.get();
+        }
+
+        /**
+         * @brief Stops sampling.
+         */
+        @Override
+        public void close() throws InterruptedException {
+            poller.interrupt();
+            poller.join();
+        }
+    }
+}
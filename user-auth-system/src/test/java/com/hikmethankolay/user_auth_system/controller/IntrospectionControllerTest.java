@@ -0,0 +1,163 @@
+/**
+ * @file IntrospectionControllerTest.java
+ * @brief Tests for the IntrospectionController class.
+ *
+ * Contains unit tests for the token introspection endpoint.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.controller;
+
+import com.hikmethankolay.user_auth_system.dto.IntrospectionResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.TokenValidationResultDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @class IntrospectionControllerTest
+ * @brief Test class for IntrospectionController.
+ *
+ * This class contains unit tests for form and JSON introspection requests
+ * and for batch validation.
+ */
+public class IntrospectionControllerTest extends BaseControllerTest {
+
+    /**
+     * @brief Test introspecting an active token sent as a form parameter.
+     *
+     * Verifies the RFC 7662 fields and the private cache header.
+     */
+    @Test
+    public void testIntrospectActiveToken() throws Exception {
+        // Arrange
+        IntrospectionResponseDTO result = new IntrospectionResponseDTO(true, "1", "testuser", "ROLE_USER", 1893456000L);
+        when(tokenIntrospectionService.introspect("valid.jwt.token")).thenReturn(result);
+        when(tokenIntrospectionService.maxAge(result)).thenReturn(Duration.ofSeconds(5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "valid.jwt.token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=5")))
+                .andExpect(header().string("Cache-Control", containsString("private")))
+                .andExpect(jsonPath("$.active").value(true))
+                .andExpect(jsonPath("$.sub").value("1"))
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.role").value("ROLE_USER"))
+                .andExpect(jsonPath("$.exp").value(1893456000L));
+    }
+
+    /**
+     * @brief Test introspecting an inactive token sent in a JSON body.
+     *
+     * Verifies that only the active flag is returned.
+     */
+    @Test
+    public void testIntrospectInactiveToken() throws Exception {
+        // Arrange
+        when(tokenIntrospectionService.introspect("invalid.jwt.token")).thenReturn(IntrospectionResponseDTO.inactive());
+        when(tokenIntrospectionService.maxAge(any())).thenReturn(Duration.ofSeconds(5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"invalid.jwt.token\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false))
+                .andExpect(jsonPath("$.sub").doesNotExist())
+                .andExpect(jsonPath("$.username").doesNotExist());
+    }
+
+    /**
+     * @brief Test introspection without a token.
+     *
+     * Verifies that the request is rejected before the service is called.
+     */
+    @Test
+    public void testIntrospectMissingToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("invalid_request"));
+
+        verify(tokenIntrospectionService, never()).introspect(anyString());
+    }
+
+    /**
+     * @brief Test validating a batch of tokens.
+     *
+     * Verifies that the streamed response keeps the order of the request.
+     */
+    @Test
+    public void testValidateBatch() throws Exception {
+        // Arrange
+        when(tokenIntrospectionService.validate(List.of("valid.jwt.token", "expired.jwt.token", "invalid.jwt.token")))
+                .thenReturn(List.of(
+                        new TokenValidationResultDTO(TokenStatus.VALID, "1"),
+                        new TokenValidationResultDTO(TokenStatus.EXPIRED, null),
+                        new TokenValidationResultDTO(TokenStatus.INVALID, null)));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/auth/validate-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"valid.jwt.token\",\"expired.jwt.token\",\"invalid.jwt.token\"]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(EApiStatus.SUCCESS.name()))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].status").value("VALID"))
+                .andExpect(jsonPath("$.data[0].sub").value("1"))
+                .andExpect(jsonPath("$.data[1].status").value("EXPIRED"))
+                .andExpect(jsonPath("$.data[1].sub").doesNotExist())
+                .andExpect(jsonPath("$.data[2].status").value("INVALID"));
+    }
+
+    /**
+     * @brief Test validating a batch larger than the limit.
+     *
+     * Verifies that the batch is rejected before any token is verified.
+     */
+    @Test
+    public void testValidateBatchTooLarge() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(Collections.nCopies(101, "jwt.token"));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/auth/validate-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(EApiStatus.FAILURE.name()));
+
+        verify(tokenIntrospectionService, never()).validate(anyList());
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * @file JwksControllerTest.java
+ * @brief Tests for the JwksController class.
+ *
+ * Contains unit tests for the JSON Web Key Set endpoint.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.controller;
+
+import com.hikmethankolay.user_auth_system.util.JwtKeyRing;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @class JwksControllerTest
+ * @brief Test class for JwksController.
+ *
+ * This class contains unit tests for publishing signing keys.
+ */
+public class JwksControllerTest extends BaseControllerTest {
+
+    /**
+     * @brief Test the JWKS document when asymmetric signing is enabled.
+     *
+     * Verifies that the active key is published with public cache headers.
+     */
+    @Test
+    public void testGetJwksWithKeyRing() throws Exception {
+        // Arrange
+        JwtKeyRing keyRing = new JwtKeyRing("ES256", null, null, Duration.ofDays(1),
+                Duration.ofMinutes(5), Duration.ofMinutes(15), Clock.systemUTC());
+        when(jwtUtils.getKeyRing()).thenReturn(Optional.of(keyRing));
+
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=300")))
+                .andExpect(header().string("Cache-Control", containsString("public")))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.keys.length()").value(1))
+                .andExpect(jsonPath("$.keys[0].kid").value(keyRing.activeKey().kid()))
+                .andExpect(jsonPath("$.keys[0].kty").value("EC"))
+                .andExpect(jsonPath("$.keys[0].alg").value("ES256"));
+    }
+
+    /**
+     * @brief Test a request carrying the current ETag gets 304 Not Modified.
+     *
+     * Verifies that the key set is not sent again while it is unchanged, and is
+     * sent once the client's ETag no longer matches.
+     */
+    @Test
+    public void testGetJwksNotModified() throws Exception {
+        // Arrange
+        JwtKeyRing keyRing = new JwtKeyRing("ES256", null, null, Duration.ofDays(1),
+                Duration.ofMinutes(5), Duration.ofMinutes(15), Clock.systemUTC());
+        when(jwtUtils.getKeyRing()).thenReturn(Optional.of(keyRing));
+        String etag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys.length()").value(1));
+    }
+
+    /**
+     * @brief Test the JWKS document when tokens are signed with HMAC.
+     *
+     * Verifies that an empty key set is returned.
+     */
+    @Test
+    public void testGetJwksWithoutKeyRing() throws Exception {
+        // Arrange
+        when(jwtUtils.getKeyRing()).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys.length()").value(0));
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * @file PasswordMigrationControllerTest.java
+ * @brief Tests for the PasswordMigrationController class.
+ *
+ * Contains unit tests for starting, stopping and monitoring the migration job.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.controller;
+
+import com.hikmethankolay.user_auth_system.dto.PasswordMigrationStatusDTO;
+import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @class PasswordMigrationControllerTest
+ * @brief Test class for PasswordMigrationController.
+ *
+ * This class contains unit tests for the migration administration endpoints.
+ */
+public class PasswordMigrationControllerTest extends BaseControllerTest {
+
+    /**
+     * @brief Test starting the migration.
+     *
+     * Verifies that the request is accepted and the status is returned.
+     */
+    @Test
+    public void testStart() throws Exception {
+        // Arrange
+        when(passwordMigrationService.start()).thenReturn(true);
+        when(passwordMigrationService.status()).thenReturn(new PasswordMigrationStatusDTO(true, false, 500, 500, 42));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/password-migration"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value(EApiStatus.SUCCESS.name()))
+                .andExpect(jsonPath("$.data.running").value(true))
+                .andExpect(jsonPath("$.data.lastUserId").value(500))
+                .andExpect(jsonPath("$.data.migrated").value(42));
+    }
+
+    /**
+     * @brief Test starting the migration while it is running.
+     *
+     * Verifies that a conflict is returned.
+     */
+    @Test
+    public void testStartWhileRunning() throws Exception {
+        // Arrange
+        when(passwordMigrationService.start()).thenReturn(false);
+        when(passwordMigrationService.status()).thenReturn(new PasswordMigrationStatusDTO(true, false, 0, 0, 0));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/password-migration"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(EApiStatus.FAILURE.name()))
+                .andExpect(jsonPath("$.message").value("Password migration is already running"));
+    }
+
+    /**
+     * @brief Test stopping the migration when it is not running.
+     *
+     * Verifies that a conflict is returned.
+     */
+    @Test
+    public void testStopWhenNotRunning() throws Exception {
+        // Arrange
+        when(passwordMigrationService.stop()).thenReturn(false);
+        when(passwordMigrationService.status()).thenReturn(new PasswordMigrationStatusDTO(false, true, 900, 900, 900));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/admin/password-migration"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Password migration is not running"));
+    }
+
+    /**
+     * @brief Test retrieving the migration status.
+     *
+     * Verifies that the checkpoint fields are returned.
+     */
+    @Test
+    public void testStatus() throws Exception {
+        // Arrange
+        when(passwordMigrationService.status()).thenReturn(new PasswordMigrationStatusDTO(false, true, 900, 900, 850));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/password-migration"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.completed").value(true))
+                .andExpect(jsonPath("$.data.scanned").value(900))
+                .andExpect(jsonPath("$.data.migrated").value(850));
+    }
+}
@@ -12,6 +12,8 @@ package com.hikmethankolay.user_auth_system.controller;
 import com.hikmethankolay.user_auth_system.dto.UserDTO;
 import com.hikmethankolay.user_auth_system.entity.User;
 import com.hikmethankolay.user_auth_system.enums.EApiStatus;
+import com.hikmethankolay.user_auth_system.security.JwtFilter;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -24,8 +26,7 @@ import org.springframework.http.MediaType;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -38,6 +39,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 public class UserControllerTest extends BaseControllerTest {
 
+    /**
+     * @brief Creates the principal JwtFilter would store for a user.
+     * @param id The user ID.
+     * @return The principal.
+     */
+    private UserPrincipal principal(Long id) {
+        return new UserPrincipal(id, "user" + id, "ROLE_USER", 0);
+    }
+
     /**
      * @brief Test successful retrieval of paginated users.
      *
@@ -129,7 +139,7 @@ public class UserControllerTest extends BaseControllerTest {
         // Act & Assert
         mockMvc.perform(get("/api/users/me")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .requestAttr("userId", 1L))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(1L)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value(EApiStatus.SUCCESS.name()))
                 .andExpect(jsonPath("$.data.id").value(1))
@@ -239,13 +249,13 @@ public class UserControllerTest extends BaseControllerTest {
         User updatedUser = new User("updateduser", "updated@example.com", "password");
         updatedUser.setId(1L);
 
-        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(2L))).thenReturn(updatedUser);
+        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(principal(2L)))).thenReturn(updatedUser);
 
         // Act & Assert
-        mockMvc.perform(patch("/api/users/1")
+        performAsync(patch("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateDTO))
-                        .requestAttr("userId", 2L))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(2L)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value(EApiStatus.SUCCESS.name()))
                 .andExpect(jsonPath("$.data.id").value(1))
@@ -266,14 +276,14 @@ public class UserControllerTest extends BaseControllerTest {
         updateDTO.setUsername("short"); // Too short username
         updateDTO.setEmail("invalid-email"); // Invalid email format
 
-        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(2L)))
+        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(principal(2L))))
                 .thenThrow(new RuntimeException("Validation failed: Username must be between 8 and 32 characters"));
 
         // Act & Assert
-        mockMvc.perform(patch("/api/users/1")
+        performAsync(patch("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateDTO))
-                        .requestAttr("userId", 2L))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(2L)))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(EApiStatus.FAILURE.name()))
                 .andExpect(jsonPath("$.data").doesNotExist())
@@ -295,13 +305,13 @@ public class UserControllerTest extends BaseControllerTest {
         User updatedUser = new User("updateduser", "updated@example.com", "password");
         updatedUser.setId(1L);
 
-        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(1L))).thenReturn(updatedUser);
+        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(principal(1L)))).thenReturn(updatedUser);
 
         // Act & Assert
-        mockMvc.perform(patch("/api/users/me")
+        performAsync(patch("/api/users/me")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateDTO))
-                        .requestAttr("userId", 1L))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(1L)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value(EApiStatus.SUCCESS.name()))
                 .andExpect(jsonPath("$.data.id").value(1))
@@ -310,6 +320,41 @@ public class UserControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.message").value("User updated successfully"));
     }
 
+    /**
+     * @brief Test a password change.
+     *
+     * Verifies that updates carrying a password run on the password hashing pool and others do not.
+     */
+    @Test
+    public void testUpdateUserPasswordRunsOnHashingPool() throws Exception {
+        // Arrange
+        // The password is write-only in UserDTO, so the request body is written by hand
+        String passwordBody = "{\"password\":\"NewP@ssw0rd123!\"}";
+        UserDTO emailDTO = new UserDTO();
+        emailDTO.setEmail("updated@example.com");
+
+        User updatedUser = new User("testuser", "updated@example.com", "password");
+        updatedUser.setId(1L);
+
+        when(userService.updateUser(any(UserDTO.class), eq(1L), eq(principal(1L)))).thenReturn(updatedUser);
+
+        // Act & Assert
+        performAsync(patch("/api/users/me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(emailDTO))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(1L)))
+                .andExpect(status().isOk());
+        verify(passwordHashingExecutor, never()).submit(any());
+
+        performAsync(patch("/api/users/me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(passwordBody)
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(1L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("User updated successfully"));
+        verify(passwordHashingExecutor).submit(any());
+    }
+
     /**
      * @brief Test successful user deletion.
      *
@@ -323,7 +368,7 @@ public class UserControllerTest extends BaseControllerTest {
         // Act & Assert
         mockMvc.perform(delete("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .requestAttr("userId", 2L))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(2L)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value(EApiStatus.SUCCESS.name()))
                 .andExpect(jsonPath("$.data").doesNotExist())
@@ -344,7 +389,7 @@ public class UserControllerTest extends BaseControllerTest {
         // Act & Assert
         mockMvc.perform(delete("/api/users/99")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .requestAttr("userId", 2L))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(2L)))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(EApiStatus.FAILURE.name()))
                 .andExpect(jsonPath("$.data").doesNotExist())
@@ -365,10 +410,25 @@ public class UserControllerTest extends BaseControllerTest {
         // Act & Assert
         mockMvc.perform(delete("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .requestAttr("userId", 1L))
+                        .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, principal(1L)))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(EApiStatus.FAILURE.name()))
                 .andExpect(jsonPath("$.data").doesNotExist())
                 .andExpect(jsonPath("$.message").value("Cannot delete your own account"));
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Test retrieval of the logged-in user without an authenticated principal.
+     *
+     * Verifies that the request fails without loading any user.
+     */
+    @Test
+    public void testGetLoggedInUserWithoutPrincipal() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError());
+
+        verify(userService, never()).findById(any());
+    }
+}
@@ -13,8 +13,11 @@ import com.hikmethankolay.user_auth_system.entity.Role;
 import com.hikmethankolay.user_auth_system.entity.User;
 import com.hikmethankolay.user_auth_system.enums.ERole;
 import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.service.TokenRevocationService;
+import com.hikmethankolay.user_auth_system.service.TokenVersionService;
 import com.hikmethankolay.user_auth_system.service.UserService;
 import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,6 +35,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -66,6 +70,18 @@ public class JwtFilterTest {
     @MockitoBean
     private UserService userService;
 
+    /**
+     * Mock TokenVersionService for filter dependencies.
+     */
+    @MockitoBean
+    private TokenVersionService tokenVersionService;
+
+    /**
+     * Mock TokenRevocationService for filter dependencies.
+     */
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Mock HttpServletRequest for testing.
      */
@@ -94,6 +110,25 @@ public class JwtFilterTest {
         SecurityContextHolder.clearContext();
     }
 
+    /**
+     * @brief Creates a verified token result for the given user.
+     * @param userId The user ID to use as the token subject.
+     * @return A VALID verified token.
+     */
+    private VerifiedToken validToken(Long userId) {
+        return new VerifiedToken(TokenStatus.VALID, String.valueOf(userId), "testuser", null, null, false, Instant.now().plusSeconds(60), null);
+    }
+
+    /**
+     * @brief Creates a verified token result carrying role and version claims.
+     * @param userId The user ID to use as the token subject.
+     * @param tokenVersion The token version claim.
+     * @return A VALID verified token.
+     */
+    private VerifiedToken statelessToken(Long userId, int tokenVersion) {
+        return new VerifiedToken(TokenStatus.VALID, String.valueOf(userId), "testuser", "ROLE_ADMIN", tokenVersion, false, Instant.now().plusSeconds(60), null);
+    }
+
     /**
      * @brief Test filtering with valid JWT token.
      *
@@ -114,25 +149,24 @@ public class JwtFilterTest {
         user.setRole(role);
         
         when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(TokenStatus.VALID);
-        when(jwtUtils.getUserIdFromJwtToken(token)).thenReturn(userId);
-        when(userService.findById(userId)).thenReturn(Optional.of(user));
+        when(jwtUtils.verifyToken(token)).thenReturn(validToken(userId));
+        when(userService.findPrincipalById(userId)).thenReturn(Optional.of(UserPrincipal.of(user)));
 
         // Act
         jwtFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         verify(jwtUtils).extractTokenFromRequest(request);
-        verify(jwtUtils).validateJwtToken(token);
-        verify(jwtUtils).getUserIdFromJwtToken(token);
-        verify(userService).findById(userId);
+        verify(jwtUtils).verifyToken(token);
+        verify(userService).findPrincipalById(userId);
         verify(request).setAttribute("userId", userId);
+        verify(request).setAttribute(JwtFilter.PRINCIPAL_ATTRIBUTE, UserPrincipal.of(user));
         verify(filterChain).doFilter(request, response);
         
         // Verify authentication was set in SecurityContext
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNotNull(authentication);
-        assertEquals(user, authentication.getPrincipal());
+        assertEquals(UserPrincipal.of(user), authentication.getPrincipal());
         assertTrue(authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
     }
@@ -152,9 +186,8 @@ public class JwtFilterTest {
 
         // Assert
         verify(jwtUtils).extractTokenFromRequest(request);
-        verify(jwtUtils, never()).validateJwtToken(anyString());
-        verify(jwtUtils, never()).getUserIdFromJwtToken(anyString());
-        verify(userService, never()).findById(anyLong());
+        verify(jwtUtils, never()).verifyToken(anyString());
+        verify(userService, never()).findPrincipalById(anyLong());
         verify(filterChain).doFilter(request, response);
         
         // Verify no authentication was set
@@ -172,16 +205,15 @@ public class JwtFilterTest {
         String token = "invalid.jwt.token";
         
         when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(TokenStatus.INVALID);
+        when(jwtUtils.verifyToken(token)).thenReturn(VerifiedToken.invalid());
 
         // Act
         jwtFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         verify(jwtUtils).extractTokenFromRequest(request);
-        verify(jwtUtils).validateJwtToken(token);
-        verify(jwtUtils, never()).getUserIdFromJwtToken(anyString());
-        verify(userService, never()).findById(anyLong());
+        verify(jwtUtils).verifyToken(token);
+        verify(userService, never()).findPrincipalById(anyLong());
         verify(filterChain).doFilter(request, response);
         
         // Verify no authentication was set
@@ -199,16 +231,15 @@ public class JwtFilterTest {
         String token = "expired.jwt.token";
         
         when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(TokenStatus.EXPIRED);
+        when(jwtUtils.verifyToken(token)).thenReturn(VerifiedToken.expired());
 
         // Act
         jwtFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         verify(jwtUtils).extractTokenFromRequest(request);
-        verify(jwtUtils).validateJwtToken(token);
-        verify(jwtUtils, never()).getUserIdFromJwtToken(anyString());
-        verify(userService, never()).findById(anyLong());
+        verify(jwtUtils).verifyToken(token);
+        verify(userService, never()).findPrincipalById(anyLong());
         verify(filterChain).doFilter(request, response);
         
         // Verify no authentication was set
@@ -227,18 +258,16 @@ public class JwtFilterTest {
         Long userId = 1L;
         
         when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(TokenStatus.VALID);
-        when(jwtUtils.getUserIdFromJwtToken(token)).thenReturn(userId);
-        when(userService.findById(userId)).thenReturn(Optional.empty());
+        when(jwtUtils.verifyToken(token)).thenReturn(validToken(userId));
+        when(userService.findPrincipalById(userId)).thenReturn(Optional.empty());
 
         // Act
         jwtFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         verify(jwtUtils).extractTokenFromRequest(request);
-        verify(jwtUtils).validateJwtToken(token);
-        verify(jwtUtils).getUserIdFromJwtToken(token);
-        verify(userService).findById(userId);
+        verify(jwtUtils).verifyToken(token);
+        verify(userService).findPrincipalById(userId);
         verify(request, never()).setAttribute(eq("userId"), any());
         verify(filterChain).doFilter(request, response);
         
@@ -262,9 +291,8 @@ public class JwtFilterTest {
         user.setId(userId);
         
         when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
-        when(jwtUtils.validateJwtToken(token)).thenReturn(TokenStatus.VALID);
-        when(jwtUtils.getUserIdFromJwtToken(token)).thenReturn(userId);
-        when(userService.findById(userId)).thenReturn(Optional.of(user));
+        when(jwtUtils.verifyToken(token)).thenReturn(validToken(userId));
+        when(userService.findPrincipalById(userId)).thenReturn(Optional.of(UserPrincipal.of(user)));
         
         // Simulate exception during filter chain execution
         doThrow(new RuntimeException("Simulated error")).when(filterChain).doFilter(request, response);
@@ -274,8 +302,248 @@ public class JwtFilterTest {
         
         // Verify proper cleanup
         verify(jwtUtils).extractTokenFromRequest(request);
-        verify(jwtUtils).validateJwtToken(token);
-        verify(jwtUtils).getUserIdFromJwtToken(token);
-        verify(userService).findById(userId);
+        verify(jwtUtils).verifyToken(token);
+        verify(userService).findPrincipalById(userId);
+    }
+
+    /**
+     * @brief Test stateless authentication from token claims.
+     *
+     * Verifies that a token with the current version is authenticated without loading the user.
+     */
+    @Test
+    public void testDoFilterInternalStatelessCurrentVersion() throws ServletException, IOException {
+        // Arrange
+        String token = "stateless.jwt.token";
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(statelessToken(1L, 2));
+        when(tokenVersionService.isStatelessEnabled()).thenReturn(true);
+        when(tokenVersionService.getVersion(1L)).thenReturn(2);
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(userService, never()).findPrincipalById(anyLong());
+        verify(request).setAttribute("userId", 1L);
+        verify(filterChain).doFilter(request, response);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(1L, ((UserPrincipal) authentication.getPrincipal()).id());
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    /**
+     * @brief Test stateless authentication with a revoked token version.
+     *
+     * Verifies that a token with an outdated version is rejected without a database lookup.
+     */
+    @Test
+    public void testDoFilterInternalStatelessRevokedVersion() throws ServletException, IOException {
+        // Arrange
+        String token = "stateless.jwt.token";
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(statelessToken(1L, 1));
+        when(tokenVersionService.isStatelessEnabled()).thenReturn(true);
+        when(tokenVersionService.getVersion(1L)).thenReturn(2);
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(userService, never()).findPrincipalById(anyLong());
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * @brief Test stateless authentication with an unknown role claim.
+     *
+     * Verifies that the token is treated as invalid instead of failing the request.
+     */
+    @Test
+    public void testDoFilterInternalStatelessUnknownRole() throws ServletException, IOException {
+        // Arrange
+        String token = "stateless.jwt.token";
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(new VerifiedToken(TokenStatus.VALID, "1", "testuser",
+                "ROLE_ROOT", 2, false, Instant.now().plusSeconds(60), null));
+        when(tokenVersionService.isStatelessEnabled()).thenReturn(true);
+        when(tokenVersionService.getVersion(1L)).thenReturn(2);
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        verify(request, never()).setAttribute(eq("userId"), any());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * @brief Test stateless authentication for a user missing from the version table.
+     *
+     * Verifies that the filter falls back to loading the user and records its version.
+     */
+    @Test
+    public void testDoFilterInternalStatelessUnknownUser() throws ServletException, IOException {
+        // Arrange
+        String token = "stateless.jwt.token";
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        user.setRole(new Role(ERole.ROLE_ADMIN));
+        user.setTokenVersion(2);
+
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(statelessToken(1L, 2));
+        when(tokenVersionService.isStatelessEnabled()).thenReturn(true);
+        when(tokenVersionService.getVersion(1L)).thenReturn(null);
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user)));
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(userService).findPrincipalById(1L);
+        verify(tokenVersionService).update(1L, 2);
+        assertEquals(UserPrincipal.of(user), SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    /**
+     * @brief Test stateful authentication with a revoked token version.
+     *
+     * Verifies that the version claim is also enforced when the user is loaded from the database.
+     */
+    @Test
+    public void testDoFilterInternalStatefulRevokedVersion() throws ServletException, IOException {
+        // Arrange
+        String token = "stateless.jwt.token";
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        user.setTokenVersion(3);
+
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(statelessToken(1L, 2));
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user)));
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(request, never()).setAttribute(anyString(), any());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * @brief Test filtering with a revoked JWT token.
+     *
+     * Verifies that a token on the denylist is rejected without loading the user.
+     */
+    @Test
+    public void testDoFilterInternalWithRevokedToken() throws ServletException, IOException {
+        // Arrange
+        String token = "revoked.jwt.token";
+        VerifiedToken verifiedToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", null, null, false, Instant.now().plusSeconds(60), "revoked-jti");
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(verifiedToken);
+        when(tokenRevocationService.isRevoked("revoked-jti")).thenReturn(true);
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(userService, never()).findPrincipalById(anyLong());
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * @brief Test sliding renewal of a cookie token close to expiry.
+     *
+     * Verifies that a fresh token is returned in the header and the cookie, keeping Remember Me.
+     */
+    @Test
+    public void testDoFilterInternalRenewsCookieToken() throws ServletException, IOException {
+        // Arrange
+        String token = "expiring.jwt.token";
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        user.setRole(new Role(ERole.ROLE_USER));
+        user.setTokenVersion(2);
+        VerifiedToken verifiedToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", "ROLE_USER", 2, true, Instant.now().plusSeconds(30), null);
+
+        when(request.getRequestURI()).thenReturn("/api/users/me");
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(verifiedToken);
+        when(jwtUtils.isDueForRenewal(verifiedToken)).thenReturn(true);
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user)));
+        when(userService.renewToken(UserPrincipal.of(user), true)).thenReturn("renewed.jwt.token");
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response).setHeader(JwtFilter.RENEWED_TOKEN_HEADER, "renewed.jwt.token");
+        verify(response).addHeader(eq("Set-Cookie"), argThat(cookie ->
+                cookie.startsWith("auth_token=renewed.jwt.token") && cookie.contains("Max-Age=")));
+        verify(filterChain).doFilter(request, response);
+    }
+
+    /**
+     * @brief Test sliding renewal of a bearer token.
+     *
+     * Verifies that header clients only get the renewed token header.
+     */
+    @Test
+    public void testDoFilterInternalRenewsBearerTokenWithoutCookie() throws ServletException, IOException {
+        // Arrange
+        String token = "expiring.jwt.token";
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        VerifiedToken verifiedToken = validToken(1L);
+
+        when(request.getRequestURI()).thenReturn("/api/users/me");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(verifiedToken);
+        when(jwtUtils.isDueForRenewal(verifiedToken)).thenReturn(true);
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user)));
+        when(userService.renewToken(UserPrincipal.of(user), false)).thenReturn("renewed.jwt.token");
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response).setHeader(JwtFilter.RENEWED_TOKEN_HEADER, "renewed.jwt.token");
+        verify(response, never()).addHeader(eq("Set-Cookie"), anyString());
+    }
+
+    /**
+     * @brief Test that authentication endpoints are never renewed by the filter.
+     *
+     * Verifies that a logout request does not receive a fresh token.
+     */
+    @Test
+    public void testDoFilterInternalSkipsRenewalOnAuthEndpoints() throws ServletException, IOException {
+        // Arrange
+        String token = "expiring.jwt.token";
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        VerifiedToken verifiedToken = validToken(1L);
+
+        when(request.getRequestURI()).thenReturn("/api/auth/logout");
+        when(jwtUtils.extractTokenFromRequest(request)).thenReturn(token);
+        when(jwtUtils.verifyToken(token)).thenReturn(verifiedToken);
+        when(jwtUtils.isDueForRenewal(verifiedToken)).thenReturn(true);
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user)));
+
+        // Act
+        jwtFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(userService, never()).renewToken(any(), anyBoolean());
+        verify(response, never()).setHeader(eq(JwtFilter.RENEWED_TOKEN_HEADER), anyString());
     }
 }
@@ -0,0 +1,314 @@
+/**
+ * @file RateLimitFilterTest.java
+ * @brief Tests for the RateLimitFilter class.
+ *
+ * Contains unit tests for per-route, per-IP and per-user rate limits, the
+ * RateLimit and Retry-After headers, rule parsing and bucket refilling.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-15
+ */
+package com.hikmethankolay.user_auth_system.security;
+
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.util.ClientIp;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class RateLimitFilterTest
+ * @brief Test class for RateLimitFilter.
+ *
+ * This class contains unit tests for request rate limiting.
+ */
+public class RateLimitFilterTest {
+
+    /**
+     * RateLimitFilter instance to be tested.
+     */
+    private RateLimitFilter rateLimitFilter;
+
+    /**
+     * Mock JwtUtils resolving the user of user rules.
+     */
+    private JwtUtils jwtUtils;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Allows 3 registrations per IP and 2 user listings per user per minute,
+     * and trusts X-Forwarded-For from 10.0.0.1 only.
+     */
+    @BeforeEach
+    public void setUp() {
+        jwtUtils = mock(JwtUtils.class);
+        ClientIp clientIp = new ClientIp();
+        ReflectionTestUtils.setField(clientIp, "trustedProxies", List.of("10.0.0.1"));
+        clientIp.init();
+        rateLimitFilter = new RateLimitFilter(jwtUtils, clientIp);
+        ReflectionTestUtils.setField(rateLimitFilter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimitFilter, "rules", List.of(
+                "POST /api/auth/register ip 3 60000",
+                "GET /api/users/** user 2 60000"));
+        ReflectionTestUtils.setField(rateLimitFilter, "stripes", 4);
+        ReflectionTestUtils.setField(rateLimitFilter, "maxTracked", 100);
+        rateLimitFilter.loadRules();
+    }
+
+    /**
+     * @brief Test requests over the limit are rejected with 429 and Retry-After.
+     */
+    @Test
+    public void testRejectsRequestsOverLimit() throws ServletException, IOException {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, filter(register("10.0.0.1")).response().getStatus());
+        }
+
+        // Act
+        Result result = filter(register("10.0.0.1"));
+
+        // Assert
+        assertEquals(429, result.response().getStatus());
+        assertNull(result.chain().getRequest());
+        assertEquals("20", result.response().getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", result.response().getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertTrue(result.response().getContentAsString().contains("Too many requests"));
+    }
+
+    /**
+     * @brief Test allowed requests carry the RateLimit headers of their rule.
+     */
+    @Test
+    public void testSetsRateLimitHeaders() throws ServletException, IOException {
+        // Act
+        Result result = filter(register("10.0.0.1"));
+
+        // Assert
+        assertNotNull(result.chain().getRequest());
+        assertEquals("3;w=60", result.response().getHeader(RateLimitFilter.POLICY_HEADER));
+        assertEquals("3", result.response().getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("2", result.response().getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("20", result.response().getHeader(RateLimitFilter.RESET_HEADER));
+        assertNull(result.response().getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * @brief Test each client IP has its own bucket, taken from X-Forwarded-For behind a trusted proxy.
+     */
+    @Test
+    public void testLimitsEachIpSeparately() throws ServletException, IOException {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            filter(register("10.0.0.1"));
+        }
+        MockHttpServletRequest forwarded = register("10.0.0.1");
+        forwarded.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+
+        // Act & Assert
+        assertEquals(429, filter(register("10.0.0.1")).response().getStatus());
+        assertEquals(200, filter(register("10.0.0.2")).response().getStatus());
+        assertEquals(200, filter(forwarded).response().getStatus());
+    }
+
+    /**
+     * @brief Test a client cannot leave its bucket by sending its own X-Forwarded-For.
+     */
+    @Test
+    public void testIgnoresSpoofedForwardedFor() throws ServletException, IOException {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            filter(register("198.51.100.9"));
+        }
+
+        // Act & Assert - every spoofed address still lands in the peer's bucket
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest spoofed = register("198.51.100.9");
+            spoofed.addHeader("X-Forwarded-For", "203.0.113." + i);
+            assertEquals(429, filter(spoofed).response().getStatus());
+        }
+    }
+
+    /**
+     * @brief Test user rules count the user of a valid token, whatever the IP.
+     */
+    @Test
+    public void testLimitsEachUser() throws ServletException, IOException {
+        // Arrange
+        when(jwtUtils.extractTokenFromRequest(any(HttpServletRequest.class))).thenReturn("token");
+        when(jwtUtils.verifyToken("token")).thenReturn(new VerifiedToken(TokenStatus.VALID, "1", "testuser",
+                null, null, false, Instant.now().plusSeconds(60), null));
+        filter(listUsers("10.0.0.1"));
+        filter(listUsers("10.0.0.2"));
+
+        // Act
+        Result result = filter(listUsers("10.0.0.3"));
+
+        // Assert
+        assertEquals(429, result.response().getStatus());
+        assertEquals("30", result.response().getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * @brief Test user rules do not count requests without a valid token.
+     */
+    @Test
+    public void testUserRuleSkipsRequestsWithoutValidToken() throws ServletException, IOException {
+        // Arrange
+        when(jwtUtils.extractTokenFromRequest(any(HttpServletRequest.class))).thenReturn("token");
+        when(jwtUtils.verifyToken("token")).thenReturn(VerifiedToken.invalid());
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            Result result = filter(listUsers("10.0.0.1"));
+            assertEquals(200, result.response().getStatus());
+            assertNull(result.response().getHeader(RateLimitFilter.LIMIT_HEADER));
+        }
+    }
+
+    /**
+     * @brief Test routes without a rule are neither limited nor verified.
+     */
+    @Test
+    public void testIgnoresUnmatchedRoutes() throws ServletException, IOException {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+            assertEquals(200, filter(request).response().getStatus());
+        }
+
+        // Assert
+        verifyNoInteractions(jwtUtils);
+    }
+
+    /**
+     * @brief Test nothing is limited when rate limiting is disabled.
+     */
+    @Test
+    public void testDisabled() throws ServletException, IOException {
+        // Arrange
+        ReflectionTestUtils.setField(rateLimitFilter, "enabled", false);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, filter(register("10.0.0.1")).response().getStatus());
+        }
+    }
+
+    /**
+     * @brief Test rules are parsed from their configured form and malformed ones rejected.
+     */
+    @Test
+    public void testParseRule() {
+        // Act
+        RateLimitRule rule = RateLimitRule.parse("  *   /api/**  USER 10 1000 ");
+
+        // Assert
+        assertNull(rule.method());
+        assertEquals(RateLimitRule.Scope.USER, rule.scope());
+        assertEquals("* /api/** user 10 1000", rule.toString());
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("POST /api/auth/login ip 10"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("POST /api/auth/login host 10 1000"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("POST /api/auth/login ip 0 1000"));
+    }
+
+    /**
+     * @brief Test buckets refill continuously and full buckets are purged.
+     */
+    @Test
+    public void testBucketRefillAndPurge() {
+        // Arrange
+        TokenBucketTable table = new TokenBucketTable(4, 100);
+        long period = TimeUnit.SECONDS.toNanos(10);
+        table.tryAcquire("key", 2, period, 0);
+        table.tryAcquire("key", 2, period, 0);
+
+        // Act & Assert - one token comes back every 5 seconds
+        TokenBucketTable.Decision rejected = table.tryAcquire("key", 2, period, TimeUnit.SECONDS.toNanos(1));
+        assertFalse(rejected.allowed());
+        assertEquals(TimeUnit.SECONDS.toNanos(4), rejected.retryAfterNanos(), 1);
+        assertTrue(table.tryAcquire("key", 2, period, TimeUnit.SECONDS.toNanos(5)).allowed());
+
+        table.purge(TimeUnit.SECONDS.toNanos(14));
+        assertEquals(1, table.size());
+        table.purge(TimeUnit.SECONDS.toNanos(15));
+        assertEquals(0, table.size());
+    }
+
+    /**
+     * @brief Test the table drops the least recently used buckets once full.
+     */
+    @Test
+    public void testTableIsBounded() {
+        // Arrange
+        TokenBucketTable table = new TokenBucketTable(4, 40);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            table.tryAcquire("10.0." + (i / 256) + "." + (i % 256), 5, TimeUnit.SECONDS.toNanos(60), 0);
+        }
+
+        // Assert
+        assertTrue(table.size() <= 40);
+    }
+
+    /**
+     * @brief Response and chain of a filtered request.
+     * @param response The response.
+     * @param chain The chain, holding the request if it was passed on.
+     */
+    private record Result(MockHttpServletResponse response, MockFilterChain chain) {
+    }
+
+    /**
+     * @brief Runs a request through the filter.
+     * @param request The request.
+     * @return The response and the chain.
+     */
+    private Result filter(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        rateLimitFilter.doFilter(request, response, chain);
+        return new Result(response, chain);
+    }
+
+    /**
+     * @brief Builds a registration request.
+     * @param remoteAddress The client address.
+     * @return The request.
+     */
+    private static MockHttpServletRequest register(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/register");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    /**
+     * @brief Builds a user listing request.
+     * @param remoteAddress The client address.
+     * @return The request.
+     */
+    private static MockHttpServletRequest listUsers(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import com.hikmethankolay.user_auth_system.dto.AuthTokensDTO;
 import com.hikmethankolay.user_auth_system.dto.LoginRequestDTO;
 import com.hikmethankolay.user_auth_system.dto.UserDTO;
 import com.hikmethankolay.user_auth_system.entity.User;
@@ -27,6 +28,8 @@ import com.hikmethankolay.user_auth_system.service.UserService;
 import com.hikmethankolay.user_auth_system.service.RoleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -90,7 +93,7 @@ public class SecurityConfigTest {
         User mockUser = new User("testuser", "test@example.com", "encodedPassword");
         mockUser.setId(1L);
         when(userService.registerUser(any(UserDTO.class))).thenReturn(mockUser);
-        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn("jwt.token.string");
+        when(userService.authenticateUser(any(LoginRequestDTO.class), anyString())).thenReturn(CompletableFuture.completedFuture(new AuthTokensDTO("jwt.token.string", null, false)));
 
         // Test registration endpoint
         mockMvc.perform(post("/api/auth/register")
@@ -137,7 +140,7 @@ public class SecurityConfigTest {
 
         // Test protected user endpoints with authentication
         mockMvc.perform(get("/api/users/me")
-                .requestAttr("userId", 1L))
+                .requestAttr(JwtFilter.PRINCIPAL_ATTRIBUTE, UserPrincipal.of(mockUser)))
                 .andExpect(status().isOk());
     }
 
@@ -155,6 +158,9 @@ public class SecurityConfigTest {
         
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/admin/password-migration"))
+                .andExpect(status().isForbidden());
     }
 
     /**
@@ -174,6 +180,104 @@ public class SecurityConfigTest {
                 .andExpect(status().isOk());
     }
 
+    /**
+     * @brief Test token introspection without authentication.
+     *
+     * Verifies that anonymous callers cannot learn whether a token is active.
+     */
+    @Test
+    public void testIntrospectionRejectedWithoutAuth() throws Exception {
+        mockMvc.perform(post("/api/auth/introspect")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "some.jwt.token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * @brief Test token introspection by callers without the introspector role.
+     *
+     * Verifies that regular users and admins cannot introspect other tokens.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void testIntrospectionRejectedForOtherRoles() throws Exception {
+        mockMvc.perform(post("/api/auth/introspect")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "some.jwt.token"))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * @brief Test token introspection by a service account.
+     *
+     * Verifies that callers with the introspector role get the RFC 7662 response.
+     */
+    @Test
+    @WithMockUser(roles = "INTROSPECTOR")
+    public void testIntrospectionAccessibleForIntrospectors() throws Exception {
+        mockMvc.perform(post("/api/auth/introspect")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "some.jwt.token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false));
+    }
+
+    /**
+     * @brief Test batch token validation without authentication.
+     *
+     * Verifies that anonymous callers cannot validate tokens in bulk.
+     */
+    @Test
+    public void testBatchValidationRejectedWithoutAuth() throws Exception {
+        mockMvc.perform(post("/api/auth/validate-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"some.jwt.token\"]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * @brief Test batch token validation by callers without the introspector role.
+     *
+     * Verifies that batch validation needs the same role as introspection.
+     */
+    @Test
+    @WithMockUser
+    public void testBatchValidationRejectedForOtherRoles() throws Exception {
+        mockMvc.perform(post("/api/auth/validate-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"some.jwt.token\"]"))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * @brief Test batch token validation is rate limited per client.
+     *
+     * Verifies that the configured rule rejects the eleventh batch in a minute.
+     */
+    @Test
+    @WithMockUser(roles = "INTROSPECTOR")
+    public void testBatchValidationRateLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/auth/validate-batch")
+                    .with(request -> {
+                        request.setRemoteAddr("198.51.100.10");
+                        return request;
+                    })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[\"some.jwt.token\"]"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/api/auth/validate-batch")
+                .with(request -> {
+                    request.setRemoteAddr("198.51.100.10");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"some.jwt.token\"]"))
+                .andExpect(status().isTooManyRequests());
+    }
+
     /**
      * @brief Test CORS configuration allows specified origins.
      *
@@ -65,4 +65,22 @@ public abstract class BaseServiceTest {
      */
     @MockitoBean
     protected LoginAttemptService loginAttemptService;
-}
\ No newline at end of file
+
+    /**
+     * Mock TokenVersionService for service dependencies.
+     */
+    @MockitoBean
+    protected TokenVersionService tokenVersionService;
+
+    /**
+     * Mock RefreshTokenService for service dependencies.
+     */
+    @MockitoBean
+    protected RefreshTokenService refreshTokenService;
+
+    /**
+     * Mock PrincipalCache for service dependencies.
+     */
+    @MockitoBean
+    protected PrincipalCache principalCache;
+}
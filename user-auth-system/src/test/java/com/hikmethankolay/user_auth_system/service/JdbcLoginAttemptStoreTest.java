@@ -0,0 +1,243 @@
+/**
+ * @file JdbcLoginAttemptStoreTest.java
+ * @brief Tests for the JdbcLoginAttemptStore class.
+ *
+ * Starts several application contexts on the same local database, each playing
+ * one instance behind a load balancer, and checks that limits, resets and
+ * lockouts are shared between them. Skipped when the database is unavailable.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-15
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.config.LoginAttemptConfig;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class JdbcLoginAttemptStoreTest
+ * @brief Test class for JdbcLoginAttemptStore.
+ *
+ * This class contains multi-instance tests against a shared database.
+ */
+public class JdbcLoginAttemptStoreTest {
+
+    /** Table definition, as in sql_tables.sql. */
+    private static final String CREATE_TABLE = "CREATE UNLOGGED TABLE IF NOT EXISTS login_attempts ("
+            + "key_type VARCHAR(16) NOT NULL, attempt_key TEXT NOT NULL, arrival_at BIGINT NOT NULL, "
+            + "PRIMARY KEY (key_type, attempt_key))";
+
+    /**
+     * @class Node
+     * @brief Minimal application context of one instance.
+     */
+    @TestConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @Import({LoginAttemptConfig.class, IpAccessList.class, LoginAttemptService.class})
+    static class Node {
+    }
+
+    /**
+     * Contexts started by the current test.
+     */
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    /**
+     * Identifier used by the current test.
+     */
+    private String key;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the table if needed and picks an identifier no other run uses.
+     */
+    @BeforeEach
+    public void setUp() {
+        key = "node-test-" + UUID.randomUUID() + "@example.com";
+        try {
+            jdbcTemplate(startNode()).execute(CREATE_TABLE);
+        } catch (DataAccessException e) {
+            Assumptions.abort("PostgreSQL is not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @brief Cleanup method that runs after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        if (!nodes.isEmpty()) {
+            try {
+                jdbcTemplate(nodes.getFirst()).update("DELETE FROM login_attempts WHERE attempt_key = ?", key);
+            } catch (DataAccessException ignored) {
+                // Nothing was written
+            }
+        }
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    /**
+     * @brief Test the limit applies to the failures of all instances together.
+     */
+    @Test
+    public void testLimitIsSharedAcrossNodes() {
+        // Arrange
+        LoginAttemptService nodeA = service(nodes.getFirst());
+        LoginAttemptService nodeB = service(startNode());
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            nodeA.loginFailed(KeyType.IDENTIFIER, key);
+        }
+        nodeA.flush();
+        for (int i = 0; i < 3; i++) {
+            nodeB.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Assert - B sees A's flushed failures and its own
+        assertFalse(nodeB.isBlocked(KeyType.IDENTIFIER, key));
+        nodeB.loginFailed(KeyType.IDENTIFIER, key);
+        assertTrue(nodeB.isBlocked(KeyType.IDENTIFIER, key));
+
+        // Assert - A sees B's failures once B flushes
+        assertFalse(nodeA.isBlocked(KeyType.IDENTIFIER, key));
+        nodeB.flush();
+        assertTrue(nodeA.isBlocked(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Test failed logins are only written on flush.
+     */
+    @Test
+    public void testFailuresAreWrittenOnFlush() {
+        // Arrange
+        ConfigurableApplicationContext node = nodes.getFirst();
+        LoginAttemptService service = service(node);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            service.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Assert
+        assertEquals(0, countRows(node));
+        assertEquals(5.0, service.attempts(KeyType.IDENTIFIER, key), 0.01);
+        service.flush();
+        assertEquals(1, countRows(node));
+        assertEquals(5.0, service.attempts(KeyType.IDENTIFIER, key), 0.01);
+    }
+
+    /**
+     * @brief Test a lockout survives a restart of the instance.
+     */
+    @Test
+    public void testLockoutSurvivesRestart() {
+        // Arrange
+        ConfigurableApplicationContext nodeA = nodes.getFirst();
+        LoginAttemptService serviceA = service(nodeA);
+        for (int i = 0; i < 10; i++) {
+            serviceA.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Act - closing flushes what is left
+        nodes.removeFirst();
+        nodeA.close();
+        LoginAttemptService restarted = service(startNode());
+
+        // Assert
+        assertTrue(restarted.isBlocked(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Test a successful login on one instance clears the key on all of them.
+     */
+    @Test
+    public void testResetIsShared() {
+        // Arrange
+        LoginAttemptService nodeA = service(nodes.getFirst());
+        LoginAttemptService nodeB = service(startNode());
+        for (int i = 0; i < 10; i++) {
+            nodeA.loginFailed(KeyType.IDENTIFIER, key);
+        }
+        nodeA.flush();
+        assertTrue(nodeB.isBlocked(KeyType.IDENTIFIER, key));
+
+        // Act
+        nodeB.loginSucceeded(KeyType.IDENTIFIER, key);
+
+        // Assert - B clears at once, A once B flushes
+        assertFalse(nodeB.isBlocked(KeyType.IDENTIFIER, key));
+        assertTrue(nodeA.isBlocked(KeyType.IDENTIFIER, key));
+        nodeB.flush();
+        assertFalse(nodeA.isBlocked(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Starts an instance using the JDBC store.
+     *
+     * A zero refresh interval reads the database on every check, so each
+     * check sees the latest flushed state. Arguments are used because they take precedence
+     * over application.properties.
+     *
+     * @return The started context.
+     */
+    private ConfigurableApplicationContext startNode() {
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(Node.class)
+                .web(WebApplicationType.NONE)
+                .run("--api.security.login-attempts.store=jdbc",
+                        "--api.security.login-attempts.jdbc.refresh-interval=0",
+                        "--spring.main.banner-mode=off");
+        nodes.add(node);
+        return node;
+    }
+
+    /**
+     * @brief Gets the login attempt service of an instance.
+     * @param node The context of the instance.
+     * @return The service.
+     */
+    private static LoginAttemptService service(ConfigurableApplicationContext node) {
+        return node.getBean(LoginAttemptService.class);
+    }
+
+    /**
+     * @brief Gets the JDBC template of an instance.
+     * @param node The context of the instance.
+     * @return The JDBC template.
+     */
+    private static JdbcTemplate jdbcTemplate(ConfigurableApplicationContext node) {
+        return node.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * @brief Counts the rows of the test's identifier.
+     * @param node The context used for the query.
+     * @return The number of rows.
+     */
+    private int countRows(ConfigurableApplicationContext node) {
+        Integer count = jdbcTemplate(node).queryForObject(
+                "SELECT COUNT(*) FROM login_attempts WHERE attempt_key = ?", Integer.class, key);
+        return count == null ? 0 : count;
+    }
+}
@@ -2,7 +2,9 @@
  * @file LoginAttemptServiceTest.java
  * @brief Tests for the LoginAttemptService class.
  *
- * Contains unit tests for login attempt tracking and blocking operations.
+ * Contains unit tests for login attempt tracking, blocking, draining,
+ * concurrent updates, the bounded mode, subnet aggregation and the IP
+ * access lists.
  *
  * @author Test Suite Generator
  * @date 2025-03-29
@@ -10,8 +12,24 @@
 package com.hikmethankolay.user_auth_system.service;
 
 
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+import com.hikmethankolay.user_auth_system.util.ClientIp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,14 +46,63 @@ public class LoginAttemptServiceTest {
      */
     private LoginAttemptService loginAttemptService;
 
+    /**
+     * In-memory store behind the service.
+     */
+    private InMemoryLoginAttemptStore store;
+
+    /**
+     * Access lists consulted for IP addresses, empty unless a test loads files.
+     */
+    private IpAccessList ipAccessList;
+
+    /**
+     * Directory for the access list files of a test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Current time seen by the service, in milliseconds.
+     */
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
     /**
      * @brief Setup method that runs before each test.
      *
-     * Initializes the login attempt service.
+     * Initializes the login attempt service over an exact in-memory store.
      */
     @BeforeEach
     public void setUp() {
-        loginAttemptService = new LoginAttemptService();
+        useStore(false, 100);
+    }
+
+    /**
+     * @brief Creates the service over a new in-memory store.
+     *
+     * The store uses a manual clock; the service allows 10 attempts per hour for
+     * identifiers, 20 per hour for IP addresses and 50 per hour for their /24
+     * or /64 subnets.
+     *
+     * @param bounded Whether the store runs in bounded mode.
+     * @param maxTracked Maximum number of exact buckets in bounded mode.
+     */
+    private void useStore(boolean bounded, int maxTracked) {
+        store = new InMemoryLoginAttemptStore(bounded, 65_536, 4, maxTracked, now::get);
+        ipAccessList = new IpAccessList();
+        ReflectionTestUtils.setField(ipAccessList, "allowFile", "");
+        ReflectionTestUtils.setField(ipAccessList, "denyFile", "");
+        ipAccessList.load();
+        loginAttemptService = new LoginAttemptService(store, ipAccessList);
+        ReflectionTestUtils.setField(loginAttemptService, "ipMaxAttempts", 20);
+        ReflectionTestUtils.setField(loginAttemptService, "ipWindow", 3_600_000L);
+        ReflectionTestUtils.setField(loginAttemptService, "identifierMaxAttempts", 10);
+        ReflectionTestUtils.setField(loginAttemptService, "identifierWindow", 3_600_000L);
+        ReflectionTestUtils.setField(loginAttemptService, "subnetEnabled", true);
+        ReflectionTestUtils.setField(loginAttemptService, "subnetIpv4Prefix", 24);
+        ReflectionTestUtils.setField(loginAttemptService, "subnetIpv6Prefix", 64);
+        ReflectionTestUtils.setField(loginAttemptService, "subnetMaxAttempts", 50);
+        ReflectionTestUtils.setField(loginAttemptService, "subnetWindow", 3_600_000L);
     }
 
     /**
@@ -47,13 +114,13 @@ public class LoginAttemptServiceTest {
     public void testLoginSucceeded() {
         // Arrange
         String key = "test@example.com";
-        loginAttemptService.loginFailed(key); // One failed attempt
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key); // One failed attempt
         
         // Act
-        loginAttemptService.loginSucceeded(key);
+        loginAttemptService.loginSucceeded(KeyType.IDENTIFIER, key);
         
         // Assert
-        assertFalse(loginAttemptService.isBlocked(key));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
     }
 
     /**
@@ -67,12 +134,12 @@ public class LoginAttemptServiceTest {
         String key = "test@example.com";
         
         // Act - simulate 3 failed attempts
-        loginAttemptService.loginFailed(key);
-        loginAttemptService.loginFailed(key);
-        loginAttemptService.loginFailed(key);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
         
         // Assert - should not be blocked yet (10 is the threshold)
-        assertFalse(loginAttemptService.isBlocked(key));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
     }
 
     /**
@@ -87,11 +154,11 @@ public class LoginAttemptServiceTest {
         
         // Act - simulate 10 failed attempts (the maximum allowed)
         for (int i = 0; i < 10; i++) {
-            loginAttemptService.loginFailed(key);
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
         }
         
         // Assert
-        assertTrue(loginAttemptService.isBlocked(key));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
     }
 
     /**
@@ -102,7 +169,7 @@ public class LoginAttemptServiceTest {
     @Test
     public void testIsNotBlockedInitially() {
         // Assert
-        assertFalse(loginAttemptService.isBlocked("new@example.com"));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, "new@example.com"));
     }
 
     /**
@@ -118,13 +185,13 @@ public class LoginAttemptServiceTest {
         
         // Act - block key1 but not key2
         for (int i = 0; i < 10; i++) {
-            loginAttemptService.loginFailed(key1);
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key1);
         }
-        loginAttemptService.loginFailed(key2);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key2);
         
         // Assert
-        assertTrue(loginAttemptService.isBlocked(key1));
-        assertFalse(loginAttemptService.isBlocked(key2));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key1));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key2));
     }
 
     /**
@@ -139,14 +206,434 @@ public class LoginAttemptServiceTest {
         
         // Block the key
         for (int i = 0; i < 10; i++) {
-            loginAttemptService.loginFailed(key);
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
         }
-        assertTrue(loginAttemptService.isBlocked(key));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
         
         // Act - succeed login
-        loginAttemptService.loginSucceeded(key);
+        loginAttemptService.loginSucceeded(KeyType.IDENTIFIER, key);
         
         // Assert - should no longer be blocked
-        assertFalse(loginAttemptService.isBlocked(key));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Test attempts drain over time instead of resetting.
+     *
+     * Verifies that a blocked key gets one more attempt after one attempt has
+     * drained, and is blocked again by the next failure.
+     */
+    @Test
+    public void testAttemptsDrainOverTime() {
+        // Arrange
+        String key = "test@example.com";
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        }
+        assertTrue(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+
+        // Act - one tenth of the window drains one attempt
+        now.addAndGet(360_000L);
+
+        // Assert
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+        assertEquals(9.0, loginAttemptService.attempts(KeyType.IDENTIFIER, key), 1e-9);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        assertTrue(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+
+        // Act - a full window drains everything
+        now.addAndGet(3_600_000L);
+
+        // Assert
+        assertEquals(0.0, loginAttemptService.attempts(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Test key types have separate limits and counters.
+     *
+     * Verifies that the same key is tracked separately per type and that IP
+     * addresses use their own limit.
+     */
+    @Test
+    public void testKeyTypesUseSeparateLimits() {
+        // Arrange
+        String key = "127.0.0.1";
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.loginFailed(KeyType.IP, key);
+        }
+
+        // Assert
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, key));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.loginFailed(KeyType.IP, key);
+        }
+
+        // Assert
+        assertTrue(loginAttemptService.isBlocked(KeyType.IP, key));
+    }
+
+    /**
+     * @brief Test purging removes only drained buckets.
+     */
+    @Test
+    public void testPurgeDrained() {
+        // Arrange
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, "old@example.com");
+        now.addAndGet(3_600_000L);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, "recent@example.com");
+
+        // Act
+        loginAttemptService.purgeDrained();
+
+        // Assert
+        assertEquals(1, store.size(KeyType.IDENTIFIER));
+        assertEquals(1.0, loginAttemptService.attempts(KeyType.IDENTIFIER, "recent@example.com"));
+
+        // A failure after the purge starts a new bucket
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, "old@example.com");
+        assertEquals(1.0, loginAttemptService.attempts(KeyType.IDENTIFIER, "old@example.com"));
+    }
+
+    /**
+     * @brief Test concurrent failures for one key are all counted.
+     *
+     * Many threads record failures for the same key at once, with the clock
+     * stopped so nothing drains. Every failure must be in the final count.
+     */
+    @Test
+    public void testConcurrentFailuresAreNotLost() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(loginAttemptService, "identifierMaxAttempts", 1_000_000);
+        int threads = 16;
+        int failuresPerThread = 5_000;
+        String key = "contended@example.com";
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < failuresPerThread; i++) {
+                        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(threads * failuresPerThread, loginAttemptService.attempts(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Test failures racing with resets are never lost after the reset.
+     *
+     * One thread keeps resetting a key while others record failures on it.
+     * Once the resets stop, failures recorded afterwards must all be counted.
+     */
+    @Test
+    public void testFailuresRacingWithResets() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(loginAttemptService, "identifierMaxAttempts", 1_000_000);
+        String key = "reset@example.com";
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        try {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2_000; i++) {
+                    loginAttemptService.loginSucceeded(KeyType.IDENTIFIER, key);
+                }
+                return null;
+            }));
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        loginAttemptService.loginSucceeded(KeyType.IDENTIFIER, key);
+        for (int i = 0; i < 100; i++) {
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Assert
+        assertEquals(100.0, loginAttemptService.attempts(KeyType.IDENTIFIER, key));
+        assertEquals(1, store.size(KeyType.IDENTIFIER));
+    }
+
+    /**
+     * @brief Test bounded mode counts exactly once a key reaches half its limit.
+     *
+     * Verifies that the first failures stay in the sketch, the fifth admits the
+     * key to the exact table, and the tenth blocks it.
+     */
+    @Test
+    public void testBoundedModeAdmitsAtHalfLimit() {
+        // Arrange
+        useStore(true, 100);
+        String key = "test@example.com";
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Assert
+        assertEquals(0, store.size(KeyType.IDENTIFIER));
+        assertEquals(4.0, loginAttemptService.attempts(KeyType.IDENTIFIER, key));
+
+        // Act
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+
+        // Assert
+        assertEquals(1, store.size(KeyType.IDENTIFIER));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Assert
+        assertTrue(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Test bounded mode keeps no state for keys failing a few times.
+     *
+     * Verifies that many distinct keys leave the exact table empty and are not blocked.
+     */
+    @Test
+    public void testBoundedModeIgnoresManyDistinctKeys() {
+        // Arrange - the addresses share a few /24s, which would block them as subnets
+        useStore(true, 100);
+        ReflectionTestUtils.setField(loginAttemptService, "subnetEnabled", false);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            loginAttemptService.loginFailed(KeyType.IP, "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        // Assert
+        assertEquals(0, store.size(KeyType.IP));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, "10.0.0.1"));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, "192.168.0.1"));
+    }
+
+    /**
+     * @brief Test bounded mode falls back to the sketch when the table is full.
+     *
+     * Verifies that the table never grows past its cap and that keys left out
+     * of it are still blocked on their estimate.
+     */
+    @Test
+    public void testBoundedModeCapsExactTable() {
+        // Arrange
+        useStore(true, 2);
+
+        // Act
+        for (int k = 0; k < 3; k++) {
+            for (int i = 0; i < 10; i++) {
+                loginAttemptService.loginFailed(KeyType.IDENTIFIER, "user" + k + "@example.com");
+            }
+        }
+
+        // Assert
+        assertEquals(2, store.size(KeyType.IDENTIFIER));
+        for (int k = 0; k < 3; k++) {
+            assertTrue(loginAttemptService.isBlocked(KeyType.IDENTIFIER, "user" + k + "@example.com"));
+        }
+    }
+
+    /**
+     * @brief Test bounded mode drains the sketch like the exact buckets.
+     */
+    @Test
+    public void testBoundedModeSketchDrains() {
+        // Arrange
+        useStore(true, 100);
+        String key = "test@example.com";
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Act
+        now.addAndGet(720_000L);
+
+        // Assert
+        assertEquals(2.0, loginAttemptService.attempts(KeyType.IDENTIFIER, key), 1e-9);
+    }
+
+    /**
+     * @brief Test a successful login in bounded mode readmits the key at half its limit.
+     */
+    @Test
+    public void testBoundedModeLoginSucceeded() {
+        // Arrange
+        useStore(true, 100);
+        String key = "test@example.com";
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+        }
+
+        // Act
+        loginAttemptService.loginSucceeded(KeyType.IDENTIFIER, key);
+        loginAttemptService.loginFailed(KeyType.IDENTIFIER, key);
+
+        // Assert
+        assertEquals(5.0, loginAttemptService.attempts(KeyType.IDENTIFIER, key));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IDENTIFIER, key));
+    }
+
+    /**
+     * @brief Test failures spread over an IPv4 /24 block the whole subnet.
+     */
+    @Test
+    public void testSubnetAggregatesIpv4Addresses() {
+        // Arrange - 5 failures from each of 10 addresses, each well under its own limit
+        for (int host = 1; host <= 10; host++) {
+            for (int i = 0; i < 5; i++) {
+                loginAttemptService.loginFailed(KeyType.IP, "198.51.100." + host);
+            }
+        }
+
+        // Act & Assert
+        assertEquals(50.0, store.attempts(KeyType.SUBNET, "198.51.100.0/24", new AttemptLimit(50, 3_600_000L)));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IP, "198.51.100.1"));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IP, "198.51.100.200"));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, "198.51.101.1"));
+    }
+
+    /**
+     * @brief Test failures rotating through an IPv6 /64 block the whole subnet.
+     */
+    @Test
+    public void testSubnetAggregatesIpv6Addresses() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            loginAttemptService.loginFailed(KeyType.IP, "2001:db8:0:7::" + Integer.toHexString(i + 1));
+        }
+
+        // Act & Assert
+        assertEquals("2001:db8:0:7:0:0:0:0/64", loginAttemptService.subnetOf("2001:db8::7:ffff:1:2:3"));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IP, "2001:db8:0:7:abcd::1"));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, "2001:db8:0:8::1"));
+    }
+
+    /**
+     * @brief Test keys that are not address literals are only counted exactly.
+     */
+    @Test
+    public void testSubnetIgnoresNonAddresses() {
+        // Act
+        loginAttemptService.loginFailed(KeyType.IP, "unknown");
+
+        // Assert
+        assertNull(loginAttemptService.subnetOf("unknown"));
+        assertEquals(1.0, loginAttemptService.attempts(KeyType.IP, "unknown"));
+        assertEquals(0, store.size(KeyType.SUBNET));
+    }
+
+    /**
+     * @brief Test the access lists override the counts, longest prefix first.
+     */
+    @Test
+    public void testAccessListsOverrideCounts() throws IOException {
+        // Arrange
+        Path allow = Files.writeString(tempDir.resolve("allow.txt"), "# office\n192.0.2.7\n\n");
+        Path deny = Files.writeString(tempDir.resolve("deny.txt"), "192.0.2.0/24  # abusive range\n2001:db8:bad::/48\n");
+        ReflectionTestUtils.setField(ipAccessList, "allowFile", allow.toString());
+        ReflectionTestUtils.setField(ipAccessList, "denyFile", deny.toString());
+        ipAccessList.load();
+
+        // Act
+        for (int i = 0; i < 30; i++) {
+            loginAttemptService.loginFailed(KeyType.IP, "192.0.2.7");
+        }
+
+        // Assert
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, "192.0.2.7"));
+        assertEquals(0.0, loginAttemptService.attempts(KeyType.IP, "192.0.2.7"));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IP, "192.0.2.8"));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IP, "2001:db8:bad:1::1"));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, "192.0.3.8"));
+    }
+
+    /**
+     * @brief Test an allowlisted address forged in X-Forwarded-For does not escape throttling.
+     *
+     * Only the proxy at 10.0.0.1 is trusted, so the header of a direct client is
+     * ignored and its failures count against its own address.
+     */
+    @Test
+    public void testForgedAllowlistedForwardedForIsThrottled() throws IOException {
+        // Arrange
+        Path allow = Files.writeString(tempDir.resolve("allow.txt"), "192.0.2.7\n");
+        ReflectionTestUtils.setField(ipAccessList, "allowFile", allow.toString());
+        ipAccessList.load();
+        ClientIp clientIp = new ClientIp();
+        ReflectionTestUtils.setField(clientIp, "trustedProxies", List.of("10.0.0.1"));
+        clientIp.init();
+        MockHttpServletRequest forged = new MockHttpServletRequest("POST", "/api/auth/login");
+        forged.setRemoteAddr("198.51.100.9");
+        forged.addHeader(ClientIp.FORWARDED_FOR_HEADER, "192.0.2.7");
+        MockHttpServletRequest proxied = new MockHttpServletRequest("POST", "/api/auth/login");
+        proxied.setRemoteAddr("10.0.0.1");
+        proxied.addHeader(ClientIp.FORWARDED_FOR_HEADER, "192.0.2.7");
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            loginAttemptService.loginFailed(KeyType.IP, clientIp.of(forged));
+            loginAttemptService.loginFailed(KeyType.IP, clientIp.of(proxied));
+        }
+
+        // Assert
+        assertEquals("198.51.100.9", clientIp.of(forged));
+        assertTrue(loginAttemptService.isBlocked(KeyType.IP, clientIp.of(forged)));
+        assertFalse(loginAttemptService.isBlocked(KeyType.IP, clientIp.of(proxied)));
+    }
+
+    /**
+     * @brief Test a malformed access list entry fails loading with its line number.
+     */
+    @Test
+    public void testAccessListRejectsMalformedEntry() throws IOException {
+        // Arrange
+        Path deny = Files.writeString(tempDir.resolve("deny.txt"), "192.0.2.0/24\n192.0.2.0/33\n");
+        ReflectionTestUtils.setField(ipAccessList, "denyFile", deny.toString());
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class, ipAccessList::load);
+
+        // Assert
+        assertTrue(exception.getMessage().contains(":2:"));
     }
 }
@@ -0,0 +1,138 @@
+/**
+ * @file PasswordHashingExecutorTest.java
+ * @brief Tests for the PasswordHashingExecutor class.
+ *
+ * Contains unit tests for running tasks, propagating the security context and shedding
+ * load when the queue is full.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.exception.ServerBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class PasswordHashingExecutorTest
+ * @brief Test class for PasswordHashingExecutor.
+ *
+ * This class contains unit tests for task execution and rejection.
+ */
+public class PasswordHashingExecutorTest {
+
+    /**
+     * PasswordHashingExecutor instance to be tested.
+     */
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the executor with a queue of two tasks.
+     */
+    @BeforeEach
+    public void setUp() {
+        passwordHashingExecutor = new PasswordHashingExecutor(runnable -> runnable);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "queueCapacity", 2);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "retryAfterSeconds", 3L);
+        passwordHashingExecutor.init();
+    }
+
+    /**
+     * @brief Cleanup method that runs after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        passwordHashingExecutor.nativeExecutor().shutdownNow();
+    }
+
+    /**
+     * @brief Test running a task.
+     *
+     * Verifies that the task runs on a pool thread and its result is returned.
+     */
+    @Test
+    public void testSubmit() throws Exception {
+        // Act
+        String threadName = passwordHashingExecutor.submit(() -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(threadName.startsWith("password-hashing-"));
+        assertEquals(Runtime.getRuntime().availableProcessors(),
+                passwordHashingExecutor.nativeExecutor().getMaximumPoolSize());
+    }
+
+    /**
+     * @brief Test submitting while every thread is busy and the queue is full.
+     *
+     * Verifies that the task is rejected at once with the configured retry delay.
+     */
+    @Test
+    public void testRejectWhenSaturated() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        int capacity = passwordHashingExecutor.nativeExecutor().getMaximumPoolSize() + 2;
+        for (int i = 0; i < capacity; i++) {
+            passwordHashingExecutor.submit(() -> {
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+        }
+
+        // Act
+        ServerBusyException exception = assertThrows(ServerBusyException.class,
+                () -> passwordHashingExecutor.submit(() -> true));
+
+        // Assert
+        assertEquals(3L, exception.getRetryAfterSeconds());
+        release.countDown();
+    }
+
+    /**
+     * @brief Test running a task with the security context decorator.
+     *
+     * Verifies that the task sees the submitter's authentication.
+     */
+    @Test
+    public void testSubmitPropagatesSecurityContext() throws Exception {
+        // Arrange
+        passwordHashingExecutor = new PasswordHashingExecutor(DelegatingSecurityContextRunnable::new);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "queueCapacity", 2);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "retryAfterSeconds", 3L);
+        passwordHashingExecutor.init();
+        Authentication authentication = new UsernamePasswordAuthenticationToken("testuser", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        try {
+            // Act
+            Authentication seen = passwordHashingExecutor
+                    .submit(() -> SecurityContextHolder.getContext().getAuthentication())
+                    .get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertSame(authentication, seen);
+            assertSame(authentication, SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
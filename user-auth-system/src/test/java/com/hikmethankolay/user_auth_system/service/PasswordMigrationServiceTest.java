@@ -0,0 +1,213 @@
+/**
+ * @file PasswordMigrationServiceTest.java
+ * @brief Tests for the PasswordMigrationService class.
+ *
+ * Contains unit tests for upgrading hashes, chunking and checkpointing.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.entity.PasswordMigrationCheckpoint;
+import com.hikmethankolay.user_auth_system.repository.PasswordMigrationCheckpointRepository;
+import com.hikmethankolay.user_auth_system.util.WrappedPasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class PasswordMigrationServiceTest
+ * @brief Test class for PasswordMigrationService.
+ *
+ * This class contains unit tests with a mocked JdbcTemplate and a cheap scrypt encoder.
+ */
+public class PasswordMigrationServiceTest {
+
+    /**
+     * Mock JdbcTemplate for reading and writing users.
+     */
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mock repository for checkpoints.
+     */
+    private PasswordMigrationCheckpointRepository checkpointRepository;
+
+    /**
+     * Encoder of the configured algorithm.
+     */
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * PasswordMigrationService instance to be tested.
+     */
+    private PasswordMigrationService passwordMigrationService;
+
+    /**
+     * BCrypt hash of the test password.
+     */
+    private String bcryptHash;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Configures scrypt as the algorithm with chunks of two users.
+     */
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        checkpointRepository = mock(PasswordMigrationCheckpointRepository.class);
+        passwordEncoder = new DelegatingPasswordEncoder("scrypt",
+                Map.of("scrypt", new SCryptPasswordEncoder(1024, 8, 1, 32, 16)));
+        passwordMigrationService = new PasswordMigrationService(jdbcTemplate, passwordEncoder, checkpointRepository);
+        ReflectionTestUtils.setField(passwordMigrationService, "algorithm", "scrypt");
+        ReflectionTestUtils.setField(passwordMigrationService, "chunkSize", 2);
+        ReflectionTestUtils.setField(passwordMigrationService, "rowsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(passwordMigrationService, "cpuShare", 0.5);
+        bcryptHash = new BCryptPasswordEncoder(4).encode("P@ssw0rd123!");
+    }
+
+    /**
+     * @brief Maps a row with the row mapper of the chunk query.
+     * @param mapper The row mapper passed to the query.
+     * @param id The user ID.
+     * @param password The stored hash.
+     * @return The mapped row.
+     * @throws Exception If mapping fails.
+     */
+    private Object row(RowMapper<?> mapper, long id, String password) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(id);
+        when(resultSet.getString("password")).thenReturn(password);
+        return mapper.mapRow(resultSet, 0);
+    }
+
+    /**
+     * @brief Test which stored hashes are upgraded.
+     *
+     * Verifies that BCrypt hashes are wrapped and other hashes are left alone.
+     */
+    @Test
+    public void testUpgrade() {
+        // Act
+        String legacy = passwordMigrationService.upgrade(bcryptHash);
+        String prefixed = passwordMigrationService.upgrade("{bcrypt}" + bcryptHash);
+
+        // Assert
+        assertTrue(legacy.startsWith("{wrapped}" + bcryptHash.substring(0, 29) + "{scrypt}"));
+        assertTrue(prefixed.startsWith("{wrapped}"));
+        assertNull(passwordMigrationService.upgrade(legacy));
+        assertNull(passwordMigrationService.upgrade("{scrypt}$e0801$abc"));
+        assertNull(passwordMigrationService.upgrade("plain-text"));
+    }
+
+    /**
+     * @brief Test upgrades while BCrypt is still the configured algorithm.
+     *
+     * Verifies that legacy hashes only get their prefix.
+     */
+    @Test
+    public void testUpgradeWithBCryptAlgorithm() {
+        // Arrange
+        ReflectionTestUtils.setField(passwordMigrationService, "algorithm", "bcrypt");
+
+        // Assert
+        assertEquals("{bcrypt}" + bcryptHash, passwordMigrationService.upgrade(bcryptHash));
+        assertNull(passwordMigrationService.upgrade("{bcrypt}" + bcryptHash));
+    }
+
+    /**
+     * @brief Test a run over two chunks.
+     *
+     * Verifies batched compare-and-set updates, that rows changed concurrently
+     * are not counted, and the checkpoint after every chunk.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMigrateWritesBatchesAndCheckpoints() throws Exception {
+        // Arrange
+        when(checkpointRepository.findById(PasswordMigrationService.JOB_NAME)).thenReturn(Optional.empty());
+        when(jdbcTemplate.query(eq(PasswordMigrationService.SELECT_CHUNK), any(RowMapper.class), any(), any()))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> mapper = invocation.getArgument(1);
+                    long after = invocation.getArgument(2);
+                    if (after == 0L) {
+                        return List.of(row(mapper, 1, bcryptHash), row(mapper, 2, "{scrypt}$e0801$abc"));
+                    }
+                    if (after == 2L) {
+                        return List.of(row(mapper, 5, "{bcrypt}" + bcryptHash));
+                    }
+                    return Collections.emptyList();
+                });
+        when(jdbcTemplate.batchUpdate(eq(PasswordMigrationService.UPDATE_HASH), anyList()))
+                .thenReturn(new int[]{0})
+                .thenReturn(new int[]{1});
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<PasswordMigrationCheckpoint> checkpoints = ArgumentCaptor.forClass(PasswordMigrationCheckpoint.class);
+
+        // Act
+        passwordMigrationService.migrate();
+
+        // Assert
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(PasswordMigrationService.UPDATE_HASH), batches.capture());
+        Object[] first = batches.getAllValues().get(0).get(0);
+        assertEquals(1, batches.getAllValues().get(0).size());
+        assertEquals(1L, first[1]);
+        assertEquals(bcryptHash, first[2]);
+        assertTrue(new WrappedPasswordEncoder(passwordEncoder)
+                .matches("P@ssw0rd123!", ((String) first[0]).substring("{wrapped}".length())));
+        assertEquals(5L, batches.getAllValues().get(1).get(0)[1]);
+
+        verify(checkpointRepository, times(3)).save(checkpoints.capture());
+        PasswordMigrationCheckpoint last = checkpoints.getValue();
+        assertTrue(last.isCompleted());
+        assertEquals(5L, last.getLastUserId());
+        assertEquals(3L, last.getScannedCount());
+        assertEquals(1L, last.getMigratedCount());
+    }
+
+    /**
+     * @brief Test resuming an unfinished run.
+     *
+     * Verifies that reading continues after the checkpointed user.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMigrateResumesFromCheckpoint() {
+        // Arrange
+        PasswordMigrationCheckpoint checkpoint = new PasswordMigrationCheckpoint(PasswordMigrationService.JOB_NAME);
+        checkpoint.setLastUserId(700L);
+        when(checkpointRepository.findById(PasswordMigrationService.JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(jdbcTemplate.query(eq(PasswordMigrationService.SELECT_CHUNK), any(RowMapper.class), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        passwordMigrationService.migrate();
+
+        // Assert
+        verify(jdbcTemplate).query(eq(PasswordMigrationService.SELECT_CHUNK), any(RowMapper.class), eq(700L), eq(2));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertTrue(checkpoint.isCompleted());
+    }
+}
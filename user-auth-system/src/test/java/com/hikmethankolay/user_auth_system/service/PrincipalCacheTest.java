@@ -0,0 +1,153 @@
+/**
+ * @file PrincipalCacheTest.java
+ * @brief Tests for the PrincipalCache class.
+ *
+ * Contains unit tests for loading, refreshing and invalidating cached principals.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.entity.Role;
+import com.hikmethankolay.user_auth_system.entity.User;
+import com.hikmethankolay.user_auth_system.enums.ERole;
+import com.hikmethankolay.user_auth_system.repository.UserRepository;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class PrincipalCacheTest
+ * @brief Test class for PrincipalCache.
+ *
+ * This class contains unit tests for cache hits, misses and invalidation.
+ */
+public class PrincipalCacheTest {
+
+    /**
+     * Mock UserRepository for loading users.
+     */
+    private UserRepository userRepository;
+
+    /**
+     * PrincipalCache instance to be tested.
+     */
+    private PrincipalCache principalCache;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the cache with a one minute TTL.
+     */
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        principalCache = new PrincipalCache(userRepository);
+        ReflectionTestUtils.setField(principalCache, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100L);
+        principalCache.init();
+    }
+
+    /**
+     * @brief Creates user 1.
+     * @param tokenVersion The token version.
+     * @return The user.
+     */
+    private User user(int tokenVersion) {
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        user.setRole(new Role(ERole.ROLE_USER));
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+
+    /**
+     * @brief Test repeated lookups of the same user.
+     *
+     * Verifies that the user is loaded once and the snapshot holds its fields.
+     */
+    @Test
+    public void testGetLoadsOnce() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(2)));
+
+        // Act
+        Optional<UserPrincipal> first = principalCache.get(1L);
+        Optional<UserPrincipal> second = principalCache.get(1L);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals("testuser", first.get().username());
+        assertEquals("ROLE_USER", first.get().role());
+        assertEquals(2, first.get().tokenVersion());
+        assertEquals("ROLE_USER", first.get().authorities().get(0).getAuthority());
+        assertSame(first.get(), second.get());
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(0.5, principalCache.nativeCache().stats().hitRate());
+    }
+
+    /**
+     * @brief Test looking up an unknown user.
+     *
+     * Verifies that misses are not cached.
+     */
+    @Test
+    public void testGetUnknownUserIsNotCached() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        assertTrue(principalCache.get(1L).isEmpty());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(0)));
+
+        // Assert
+        assertTrue(principalCache.get(1L).isPresent());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    /**
+     * @brief Test refreshing a cached user.
+     *
+     * Verifies that the new snapshot replaces the old one without a reload.
+     */
+    @Test
+    public void testRefresh() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(0)));
+        principalCache.get(1L);
+
+        // Act
+        principalCache.refresh(user(1));
+
+        // Assert
+        assertEquals(1, principalCache.get(1L).orElseThrow().tokenVersion());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * @brief Test invalidating a cached user.
+     *
+     * Verifies that the next lookup loads the user again.
+     */
+    @Test
+    public void testInvalidate() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(0)));
+        principalCache.get(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        principalCache.invalidate(1L);
+
+        // Assert
+        assertTrue(principalCache.get(1L).isEmpty());
+        verify(userRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * @file RefreshTokenServiceTest.java
+ * @brief Tests for the RefreshTokenService class.
+ *
+ * Contains unit tests for issuing, rotating and revoking refresh tokens.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.entity.RefreshToken;
+import com.hikmethankolay.user_auth_system.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class RefreshTokenServiceTest
+ * @brief Test class for RefreshTokenService.
+ *
+ * This class contains unit tests for refresh token rotation and reuse detection.
+ */
+public class RefreshTokenServiceTest {
+
+    /**
+     * Mock RefreshTokenRepository for stored tokens.
+     */
+    private RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * RefreshTokenService instance to be tested.
+     */
+    private RefreshTokenService refreshTokenService;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the service with refresh tokens enabled and a two second reuse grace period.
+     */
+    @BeforeEach
+    public void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "enabled", true);
+        ReflectionTestUtils.setField(refreshTokenService, "expirationMs", 86400000L);
+        ReflectionTestUtils.setField(refreshTokenService, "rememberMeExpirationMs", 2592000000L);
+        ReflectionTestUtils.setField(refreshTokenService, "reuseGraceMs", 2000L);
+    }
+
+    /**
+     * @brief Issues a token and returns the stored row.
+     * @param token Array receiving the issued token.
+     * @param rememberMe Whether the login used Remember Me.
+     * @return The stored refresh token.
+     */
+    private RefreshToken issueAndCapture(String[] token, boolean rememberMe) {
+        token[0] = refreshTokenService.issue(1L, rememberMe);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        clearInvocations(refreshTokenRepository);
+        return captor.getValue();
+    }
+
+    /**
+     * @brief Test issuing a refresh token.
+     *
+     * Verifies that only the hash is stored and that Remember Me extends the lifetime.
+     */
+    @Test
+    public void testIssue() {
+        // Act
+        String[] token = new String[1];
+        RefreshToken stored = issueAndCapture(token, true);
+
+        // Assert
+        assertEquals(43, token[0].length());
+        assertNotEquals(token[0], stored.getTokenHash());
+        assertEquals(64, stored.getTokenHash().length());
+        assertEquals(1L, stored.getUserId());
+        assertTrue(stored.isRememberMe());
+        assertTrue(stored.getExpiresAt().isAfter(Instant.now().plusSeconds(86400)));
+    }
+
+    /**
+     * @brief Test that nothing is issued when refresh tokens are disabled.
+     *
+     * Verifies that no token is stored.
+     */
+    @Test
+    public void testIssueDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "enabled", false);
+
+        // Act & Assert
+        assertNull(refreshTokenService.issue(1L, false));
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    /**
+     * @brief Test rotating a current refresh token.
+     *
+     * Verifies that the token is marked as rotated and a new token of the same family is issued.
+     */
+    @Test
+    public void testRotate() {
+        // Arrange
+        String[] token = new String[1];
+        RefreshToken stored = issueAndCapture(token, false);
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // Act
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(token[0]);
+
+        // Assert
+        assertTrue(rotation.isPresent());
+        assertEquals(1L, rotation.get().userId());
+        assertNotEquals(token[0], rotation.get().refreshToken());
+        assertNotNull(stored.getRotatedAt());
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(2)).save(captor.capture());
+        assertEquals(stored.getFamilyId(), captor.getAllValues().get(1).getFamilyId());
+    }
+
+    /**
+     * @brief Test presenting an already rotated refresh token.
+     *
+     * Verifies that reuse revokes the whole token family.
+     */
+    @Test
+    public void testRotateReusedToken() {
+        // Arrange
+        String[] token = new String[1];
+        RefreshToken stored = issueAndCapture(token, false);
+        stored.setRotatedAt(Instant.now().minusSeconds(5));
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // Act
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(token[0]);
+
+        // Assert
+        assertTrue(rotation.isEmpty());
+        verify(refreshTokenRepository).deleteByFamilyId(stored.getFamilyId());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    /**
+     * @brief Test presenting a refresh token rotated moments ago.
+     *
+     * Verifies that a concurrent refresh is rejected without revoking the family.
+     */
+    @Test
+    public void testRotateWithinReuseGrace() {
+        // Arrange
+        String[] token = new String[1];
+        RefreshToken stored = issueAndCapture(token, false);
+        stored.setRotatedAt(Instant.now().minusMillis(500));
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // Act
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(token[0]);
+
+        // Assert
+        assertTrue(rotation.isEmpty());
+        verify(refreshTokenRepository, never()).deleteByFamilyId(anyString());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    /**
+     * @brief Test rotating an unknown or expired refresh token.
+     *
+     * Verifies that no new token is issued.
+     */
+    @Test
+    public void testRotateUnknownOrExpiredToken() {
+        // Arrange
+        RefreshToken expired = new RefreshToken("hash", 1L, "family", false, Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(refreshTokenService.rotate("unknown").isEmpty());
+        assertTrue(refreshTokenService.rotate(null).isEmpty());
+
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(expired));
+        assertTrue(refreshTokenService.rotate("expired").isEmpty());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    /**
+     * @brief Test revoking a refresh token on logout.
+     *
+     * Verifies that the family of the presented token is deleted.
+     */
+    @Test
+    public void testRevoke() {
+        // Arrange
+        String[] token = new String[1];
+        RefreshToken stored = issueAndCapture(token, false);
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // Act
+        refreshTokenService.revoke(token[0]);
+        refreshTokenService.revoke(null);
+
+        // Assert
+        verify(refreshTokenRepository).deleteByFamilyId(stored.getFamilyId());
+    }
+}
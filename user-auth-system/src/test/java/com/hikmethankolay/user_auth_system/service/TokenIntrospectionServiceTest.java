@@ -0,0 +1,365 @@
+/**
+ * @file TokenIntrospectionServiceTest.java
+ * @brief Tests for the TokenIntrospectionService class.
+ *
+ * Contains unit tests for introspection results and their caching.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.dto.IntrospectionResponseDTO;
+import com.hikmethankolay.user_auth_system.dto.TokenValidationResultDTO;
+import com.hikmethankolay.user_auth_system.entity.Role;
+import com.hikmethankolay.user_auth_system.entity.User;
+import com.hikmethankolay.user_auth_system.enums.ERole;
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.util.JwtUtils;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class TokenIntrospectionServiceTest
+ * @brief Test class for TokenIntrospectionService.
+ *
+ * This class contains unit tests for active and inactive tokens and the result cache.
+ */
+public class TokenIntrospectionServiceTest {
+
+    /**
+     * Token used by the tests.
+     */
+    private static final String TOKEN = "valid.jwt.token";
+
+    /**
+     * Mock JwtUtils for token verification.
+     */
+    private JwtUtils jwtUtils;
+
+    /**
+     * Mock UserService for user lookups.
+     */
+    private UserService userService;
+
+    /**
+     * Mock TokenVersionService for the version table.
+     */
+    private TokenVersionService tokenVersionService;
+
+    /**
+     * Mock TokenRevocationService for the denylist.
+     */
+    private TokenRevocationService tokenRevocationService;
+
+    /**
+     * TokenIntrospectionService instance to be tested.
+     */
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * Expiration time of the test token.
+     */
+    private Instant expiresAt;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the service with a five second cache TTL and two batch threads.
+     */
+    @BeforeEach
+    public void setUp() {
+        jwtUtils = mock(JwtUtils.class);
+        userService = mock(UserService.class);
+        tokenVersionService = mock(TokenVersionService.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        tokenIntrospectionService = new TokenIntrospectionService(jwtUtils, userService, tokenVersionService, tokenRevocationService);
+        ReflectionTestUtils.setField(tokenIntrospectionService, "cacheTtlMs", 5000L);
+        ReflectionTestUtils.setField(tokenIntrospectionService, "cacheMaxSize", 1000L);
+        ReflectionTestUtils.setField(tokenIntrospectionService, "batchThreads", 2);
+        ReflectionTestUtils.setField(tokenIntrospectionService, "batchQueueCapacity", 1);
+        tokenIntrospectionService.init();
+
+        expiresAt = Instant.now().plusSeconds(600);
+    }
+
+    /**
+     * @brief Cleanup method that runs after each test.
+     *
+     * Stops the batch validation pool.
+     */
+    @AfterEach
+    public void tearDown() {
+        tokenIntrospectionService.shutdown();
+    }
+
+    /**
+     * @brief Creates a verified token for user 1.
+     * @param role The role claim.
+     * @param tokenVersion The token version claim.
+     * @return The verified token.
+     */
+    private VerifiedToken verifiedToken(String role, Integer tokenVersion) {
+        return new VerifiedToken(TokenStatus.VALID, "1", "testuser", role, tokenVersion, false, expiresAt, "token-id");
+    }
+
+    /**
+     * @brief Creates the stored user 1.
+     * @param tokenVersion The current token version.
+     * @return The user.
+     */
+    private User user(int tokenVersion) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setRole(new Role(ERole.ROLE_ADMIN));
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+
+    /**
+     * @brief Test introspecting an active token.
+     *
+     * Verifies the returned fields and that a repeated call is served from the cache.
+     */
+    @Test
+    public void testIntrospectActiveTokenIsCached() {
+        // Arrange
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(verifiedToken(null, 0));
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user(0))));
+
+        // Act
+        IntrospectionResponseDTO first = tokenIntrospectionService.introspect(TOKEN);
+        IntrospectionResponseDTO second = tokenIntrospectionService.introspect(TOKEN);
+
+        // Assert
+        assertTrue(first.active());
+        assertEquals("1", first.sub());
+        assertEquals("testuser", first.username());
+        assertEquals("ROLE_ADMIN", first.role());
+        assertEquals(expiresAt.getEpochSecond(), first.exp());
+        assertEquals(first, second);
+        verify(jwtUtils, times(1)).verifyToken(TOKEN);
+        verify(userService, times(1)).findPrincipalById(1L);
+        verify(tokenVersionService).update(1L, 0);
+    }
+
+    /**
+     * @brief Test introspection in stateless mode.
+     *
+     * Verifies that the version table is used instead of loading the user.
+     */
+    @Test
+    public void testIntrospectStatelessUsesVersionTable() {
+        // Arrange
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(verifiedToken("ROLE_USER", 3));
+        when(tokenVersionService.isStatelessEnabled()).thenReturn(true);
+        when(tokenVersionService.getVersion(1L)).thenReturn(3);
+
+        // Act
+        IntrospectionResponseDTO result = tokenIntrospectionService.introspect(TOKEN);
+
+        // Assert
+        assertTrue(result.active());
+        assertEquals("ROLE_USER", result.role());
+        verify(userService, never()).findPrincipalById(any());
+    }
+
+    /**
+     * @brief Test introspecting a token with an outdated version.
+     *
+     * Verifies that tokens issued before a version bump are inactive.
+     */
+    @Test
+    public void testIntrospectStaleVersion() {
+        // Arrange
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(verifiedToken(null, 0));
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user(1))));
+
+        // Act & Assert
+        assertFalse(tokenIntrospectionService.introspect(TOKEN).active());
+    }
+
+    /**
+     * @brief Test introspecting a revoked token.
+     *
+     * Verifies that revoked tokens are inactive without loading the user.
+     */
+    @Test
+    public void testIntrospectRevokedToken() {
+        // Arrange
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(verifiedToken(null, 0));
+        when(tokenRevocationService.isRevoked("token-id")).thenReturn(true);
+
+        // Act
+        IntrospectionResponseDTO result = tokenIntrospectionService.introspect(TOKEN);
+
+        // Assert
+        assertFalse(result.active());
+        assertNull(result.sub());
+        verify(userService, never()).findPrincipalById(any());
+    }
+
+    /**
+     * @brief Test introspecting invalid and missing tokens.
+     *
+     * Verifies that both are inactive and blank tokens are not verified.
+     */
+    @Test
+    public void testIntrospectInvalidToken() {
+        // Arrange
+        when(jwtUtils.verifyToken("invalid.jwt.token")).thenReturn(VerifiedToken.invalid());
+
+        // Act & Assert
+        assertFalse(tokenIntrospectionService.introspect("invalid.jwt.token").active());
+        assertFalse(tokenIntrospectionService.introspect(" ").active());
+        verify(jwtUtils, never()).verifyToken(" ");
+    }
+
+    /**
+     * @brief Test evicting a cached token.
+     *
+     * Verifies that the next introspection recomputes the result.
+     */
+    @Test
+    public void testEvict() {
+        // Arrange
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(verifiedToken(null, 0));
+        when(userService.findPrincipalById(1L)).thenReturn(Optional.of(UserPrincipal.of(user(0))));
+        assertTrue(tokenIntrospectionService.introspect(TOKEN).active());
+
+        when(tokenRevocationService.isRevoked(anyString())).thenReturn(true);
+
+        // Act
+        tokenIntrospectionService.evict(TOKEN);
+
+        // Assert
+        assertFalse(tokenIntrospectionService.introspect(TOKEN).active());
+        verify(jwtUtils, times(2)).verifyToken(TOKEN);
+    }
+
+    /**
+     * @brief Test the cache lifetime given to callers.
+     *
+     * Verifies that active results never outlive the token.
+     */
+    @Test
+    public void testMaxAge() {
+        // Arrange
+        long soon = Instant.now().getEpochSecond() + 2;
+        IntrospectionResponseDTO expiringSoon = new IntrospectionResponseDTO(true, "1", "testuser", "ROLE_USER", soon);
+        IntrospectionResponseDTO longLived = new IntrospectionResponseDTO(true, "1", "testuser", "ROLE_USER", soon + 600);
+
+        // Act & Assert
+        assertTrue(tokenIntrospectionService.maxAge(expiringSoon).compareTo(Duration.ofSeconds(2)) <= 0);
+        assertEquals(Duration.ofSeconds(5), tokenIntrospectionService.maxAge(longLived));
+        assertEquals(Duration.ofSeconds(5), tokenIntrospectionService.maxAge(IntrospectionResponseDTO.inactive()));
+    }
+
+    /**
+     * @brief Test validating a batch of tokens.
+     *
+     * Verifies the status of every token and that the order of a large batch is kept.
+     */
+    @Test
+    public void testValidateBatch() {
+        // Arrange
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String token = "token-" + i;
+            tokens.add(token);
+            when(jwtUtils.verifyToken(token)).thenReturn(new VerifiedToken(TokenStatus.VALID, String.valueOf(i),
+                    "user" + i, null, null, false, expiresAt, "id-" + i));
+        }
+        when(jwtUtils.verifyToken("expired.jwt.token")).thenReturn(VerifiedToken.expired());
+        when(jwtUtils.verifyToken("revoked.jwt.token")).thenReturn(verifiedToken(null, 0));
+        when(tokenRevocationService.isRevoked("token-id")).thenReturn(true);
+        tokens.add("expired.jwt.token");
+        tokens.add("revoked.jwt.token");
+        tokens.add("");
+
+        // Act
+        List<TokenValidationResultDTO> results = tokenIntrospectionService.validate(tokens);
+
+        // Assert
+        assertEquals(503, results.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(new TokenValidationResultDTO(TokenStatus.VALID, String.valueOf(i)), results.get(i));
+        }
+        assertEquals(new TokenValidationResultDTO(TokenStatus.EXPIRED, null), results.get(500));
+        assertEquals(new TokenValidationResultDTO(TokenStatus.INVALID, null), results.get(501));
+        assertEquals(new TokenValidationResultDTO(TokenStatus.INVALID, null), results.get(502));
+    }
+
+    /**
+     * @brief Test batches are validated on the dedicated pool and the calling thread.
+     *
+     * Verifies that the common ForkJoinPool is never used, and that slices the
+     * full queue rejects still get validated.
+     */
+    @Test
+    public void testValidateBatchUsesDedicatedPool() {
+        // Arrange
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(jwtUtils.verifyToken(anyString())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return VerifiedToken.expired();
+        });
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 90; i++) {
+            tokens.add("token-" + i);
+        }
+
+        // Act
+        List<List<TokenValidationResultDTO>> batches = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batches.add(tokenIntrospectionService.validate(tokens));
+        }
+
+        // Assert
+        for (List<TokenValidationResultDTO> results : batches) {
+            assertEquals(90, results.size());
+            assertTrue(results.stream().allMatch(result -> result.status() == TokenStatus.EXPIRED));
+        }
+        assertTrue(threads.contains(Thread.currentThread().getName()));
+        assertTrue(threads.stream().allMatch(name -> name.equals(Thread.currentThread().getName())
+                || name.startsWith("token-validation-")), threads.toString());
+    }
+
+    /**
+     * @brief Test the default batch pool size.
+     *
+     * Verifies that zero batch threads starts one thread per available processor.
+     */
+    @Test
+    public void testBatchThreadsDefaultToProcessorCount() {
+        // Arrange
+        tokenIntrospectionService.shutdown();
+        ReflectionTestUtils.setField(tokenIntrospectionService, "batchThreads", 0);
+
+        // Act
+        tokenIntrospectionService.init();
+
+        // Assert
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(tokenIntrospectionService, "batchExecutor");
+        assertEquals(Runtime.getRuntime().availableProcessors(), executor.getMaximumPoolSize());
+    }
+}
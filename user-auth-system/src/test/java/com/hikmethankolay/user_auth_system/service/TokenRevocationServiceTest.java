@@ -0,0 +1,148 @@
+/**
+ * @file TokenRevocationServiceTest.java
+ * @brief Tests for the TokenRevocationService class.
+ *
+ * Contains unit tests for revoking, synchronizing and pruning revoked tokens.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.hikmethankolay.user_auth_system.entity.RevokedToken;
+import com.hikmethankolay.user_auth_system.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class TokenRevocationServiceTest
+ * @brief Test class for TokenRevocationService.
+ *
+ * This class contains unit tests for the revoked token denylist.
+ */
+public class TokenRevocationServiceTest {
+
+    /**
+     * Mock RevokedTokenRepository for persisted revocations.
+     */
+    private RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * TokenRevocationService instance to be tested.
+     */
+    private TokenRevocationService tokenRevocationService;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the service with a small Bloom filter.
+     */
+    @BeforeEach
+    public void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.001);
+        tokenRevocationService.init();
+    }
+
+    /**
+     * @brief Test revoking a token.
+     *
+     * Verifies that the token is persisted and reported as revoked.
+     */
+    @Test
+    public void testRevoke() {
+        // Act
+        tokenRevocationService.revoke("jti-1", Instant.now().plusSeconds(60));
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+        assertFalse(tokenRevocationService.isRevoked("jti-2"));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    /**
+     * @brief Test revoking an already expired token.
+     *
+     * Verifies that nothing is stored for tokens that can no longer be used.
+     */
+    @Test
+    public void testRevokeExpiredToken() {
+        // Act
+        tokenRevocationService.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        // Assert
+        assertFalse(tokenRevocationService.isRevoked("jti-1"));
+        assertEquals(0, tokenRevocationService.size());
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    /**
+     * @brief Test that a revocation survives a database failure.
+     *
+     * Verifies that the token is still revoked on this instance.
+     */
+    @Test
+    public void testRevokeWhenDatabaseUnavailable() {
+        // Arrange
+        when(revokedTokenRepository.save(any(RevokedToken.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        tokenRevocationService.revoke("jti-1", Instant.now().plusSeconds(60));
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+    }
+
+    /**
+     * @brief Test synchronizing with the database.
+     *
+     * Verifies that revocations from other instances are loaded and expired rows deleted.
+     */
+    @Test
+    public void testSynchronize() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken("remote-jti", Instant.now().plusSeconds(60))));
+
+        // Act
+        tokenRevocationService.synchronize();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked("remote-jti"));
+        verify(revokedTokenRepository).deleteExpired(any(Instant.class));
+    }
+
+    /**
+     * @brief Test pruning of expired revocations.
+     *
+     * Verifies that tokens leave the denylist once they have expired.
+     */
+    @Test
+    public void testSynchronizePrunesExpired() throws InterruptedException {
+        // Arrange
+        tokenRevocationService.revoke("short-jti", Instant.now().plusMillis(50));
+        tokenRevocationService.revoke("long-jti", Instant.now().plusSeconds(60));
+
+        // Act
+        Thread.sleep(100);
+        tokenRevocationService.synchronize();
+
+        // Assert
+        assertEquals(1, tokenRevocationService.size());
+        assertFalse(tokenRevocationService.isRevoked("short-jti"));
+        assertTrue(tokenRevocationService.isRevoked("long-jti"));
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * @file TokenVersionServiceTest.java
+ * @brief Tests for the TokenVersionService class.
+ *
+ * Contains unit tests for the in-memory token version table.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hikmethankolay.user_auth_system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @class TokenVersionServiceTest
+ * @brief Test class for TokenVersionService.
+ *
+ * This class contains unit tests for recording, revoking and synchronizing token versions.
+ */
+public class TokenVersionServiceTest {
+
+    /**
+     * Mock UserRepository supplying token versions.
+     */
+    private UserRepository userRepository;
+
+    /**
+     * TokenVersionService instance to be tested.
+     */
+    private TokenVersionService tokenVersionService;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the service with stateless mode enabled and a users table of up
+     * to 10 rows loaded in full.
+     */
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenVersionService = new TokenVersionService(userRepository);
+        ReflectionTestUtils.setField(tokenVersionService, "statelessEnabled", true);
+        ReflectionTestUtils.setField(tokenVersionService, "syncIntervalMs", 60000L);
+        ReflectionTestUtils.setField(tokenVersionService, "maxSize", 100L);
+        ReflectionTestUtils.setField(tokenVersionService, "preloadMaxUsers", 10L);
+        tokenVersionService.init();
+    }
+
+    /**
+     * @brief Creates a token version projection.
+     * @param id The user ID.
+     * @param tokenVersion The token version.
+     * @return The projection.
+     */
+    private UserRepository.TokenVersionView view(Long id, int tokenVersion) {
+        return new UserRepository.TokenVersionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+
+    /**
+     * @brief Test that versions only move forward.
+     *
+     * Verifies that an older version never replaces a newer one.
+     */
+    @Test
+    public void testUpdateKeepsHighestVersion() {
+        // Act
+        tokenVersionService.update(1L, 3);
+        tokenVersionService.update(1L, 2);
+
+        // Assert
+        assertEquals(3, tokenVersionService.getVersion(1L));
+        assertNull(tokenVersionService.getVersion(2L));
+    }
+
+    /**
+     * @brief Test revoking all tokens of a deleted user.
+     *
+     * Verifies that no token version can match after revocation.
+     */
+    @Test
+    public void testRevokeAll() {
+        // Arrange
+        tokenVersionService.update(1L, 3);
+
+        // Act
+        tokenVersionService.revokeAll(1L);
+        tokenVersionService.update(1L, 4);
+
+        // Assert
+        assertEquals(Integer.MAX_VALUE, tokenVersionService.getVersion(1L));
+    }
+
+    /**
+     * @brief Test revocation inside a transaction waits for the commit.
+     *
+     * Verifies that a rolled back deletion leaves the version table untouched.
+     */
+    @Test
+    public void testRevokeAllDeferredUntilCommit() {
+        // Arrange
+        tokenVersionService.update(1L, 3);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            tokenVersionService.revokeAll(1L);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            // Assert
+            assertEquals(3, tokenVersionService.getVersion(1L));
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(3, tokenVersionService.getVersion(1L));
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            assertEquals(Integer.MAX_VALUE, tokenVersionService.getVersion(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * @brief Test synchronizing with the database.
+     *
+     * Verifies that a small table is loaded, stale entries are raised and deleted users are dropped.
+     */
+    @Test
+    public void testSynchronize() {
+        // Arrange
+        tokenVersionService.update(1L, 5);
+        tokenVersionService.update(2L, 0);
+        tokenVersionService.revokeAll(3L);
+        when(userRepository.count()).thenReturn(3L);
+        when(userRepository.findAllTokenVersions()).thenReturn(List.of(view(1L, 4), view(2L, 1), view(4L, 0)));
+
+        // Act
+        tokenVersionService.synchronize();
+
+        // Assert
+        assertEquals(5, tokenVersionService.getVersion(1L));
+        assertEquals(1, tokenVersionService.getVersion(2L));
+        assertNull(tokenVersionService.getVersion(3L));
+        assertEquals(0, tokenVersionService.getVersion(4L));
+    }
+
+    /**
+     * @brief Test that a users table above the preload limit is never read in full.
+     *
+     * Verifies that the recorded versions are kept and only the row count is queried.
+     */
+    @Test
+    public void testSynchronizeSkipsLargeTable() {
+        // Arrange
+        tokenVersionService.update(1L, 5);
+        when(userRepository.count()).thenReturn(11L);
+
+        // Act
+        tokenVersionService.synchronize();
+
+        // Assert
+        assertEquals(5, tokenVersionService.getVersion(1L));
+        verify(userRepository, never()).findAllTokenVersions();
+    }
+
+    /**
+     * @brief Test that the table is bounded.
+     *
+     * Verifies that recording more users than the maximum size evicts the excess.
+     */
+    @Test
+    public void testTableIsBounded() {
+        // Act
+        for (long id = 1; id <= 1000; id++) {
+            tokenVersionService.update(id, 1);
+        }
+
+        // Assert
+        Cache<?, ?> versions = (Cache<?, ?>) ReflectionTestUtils.getField(tokenVersionService, "versions");
+        versions.cleanUp();
+        assertTrue(versions.estimatedSize() <= 100);
+    }
+
+    /**
+     * @brief Test that nothing is tracked when stateless mode is disabled.
+     *
+     * Verifies that the database is never queried.
+     */
+    @Test
+    public void testDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(tokenVersionService, "statelessEnabled", false);
+
+        // Act
+        tokenVersionService.update(1L, 1);
+        tokenVersionService.synchronize();
+
+        // Assert
+        assertNull(tokenVersionService.getVersion(1L));
+        verifyNoInteractions(userRepository);
+    }
+}
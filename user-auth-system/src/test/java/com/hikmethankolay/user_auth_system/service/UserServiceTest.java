@@ -10,12 +10,16 @@
  */
 package com.hikmethankolay.user_auth_system.service;
 
+import com.hikmethankolay.user_auth_system.dto.AuthTokensDTO;
 import com.hikmethankolay.user_auth_system.dto.LoginRequestDTO;
 import com.hikmethankolay.user_auth_system.dto.UserDTO;
 import com.hikmethankolay.user_auth_system.entity.Role;
 import com.hikmethankolay.user_auth_system.entity.User;
 import com.hikmethankolay.user_auth_system.enums.ERole;
 import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import com.hikmethankolay.user_auth_system.security.UserPrincipal;
+import com.hikmethankolay.user_auth_system.service.LoginAttemptService.KeyType;
+import com.hikmethankolay.user_auth_system.util.VerifiedToken;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +30,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -103,6 +108,7 @@ public class UserServiceTest extends BaseServiceTest {
         verify(userRepository).findByEmail(registerDTO.getEmail());
         verify(passwordEncoder).encode(registerDTO.getPassword());
         verify(userRepository).save(any(User.class));
+        verify(principalCache).refresh(savedUser);
     }
 
     /**
@@ -203,21 +209,108 @@ public class UserServiceTest extends BaseServiceTest {
         when(userRepository.findByUsernameOrEmail(loginRequest.identifier(), loginRequest.identifier()))
                 .thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginRequest.password(), user.getPassword())).thenReturn(true);
-        when(jwtUtils.generateJwtToken(anyString(), anyString(), eq(false))).thenReturn("valid.jwt.token");
-        when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
+        when(jwtUtils.generateJwtToken(anyString(), anyString(), isNull(), eq(0), eq(false))).thenReturn("valid.jwt.token");
+        when(loginAttemptService.isBlocked(any(KeyType.class), anyString())).thenReturn(false);
 
         // Act
-        String token = userService.authenticateUser(loginRequest, clientIp);
+        AuthTokensDTO tokens = userService.authenticateUser(loginRequest, clientIp).join();
 
         // Assert
-        assertNotNull(token);
-        assertEquals("valid.jwt.token", token);
+        assertNotNull(tokens);
+        assertEquals("valid.jwt.token", tokens.accessToken());
+        assertNull(tokens.refreshToken());
 
         verify(userRepository).findByUsernameOrEmail(loginRequest.identifier(), loginRequest.identifier());
         verify(passwordEncoder).matches(loginRequest.password(), user.getPassword());
-        verify(jwtUtils).generateJwtToken(eq("1"), eq("testuser"), eq(false));
-        verify(loginAttemptService).loginSucceeded(clientIp);
-        verify(loginAttemptService).loginSucceeded(loginRequest.identifier());
+        verify(jwtUtils).generateJwtToken(eq("1"), eq("testuser"), isNull(), eq(0), eq(false));
+        verify(loginAttemptService).loginSucceeded(KeyType.IP, clientIp);
+        verify(loginAttemptService).loginSucceeded(KeyType.IDENTIFIER, loginRequest.identifier());
+        verify(userRepository, never()).replacePasswordHash(anyLong(), anyString(), anyString());
+    }
+
+    /**
+     * @brief Test authentication of a user whose password hash is outdated.
+     *
+     * Verifies that the password is re-encoded and stored only if the old hash is unchanged.
+     */
+    @Test
+    public void testAuthenticateUserRehashesOutdatedPassword() {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("testuser", "password", false);
+
+        User user = new User("testuser", "test@example.com", "$2a$10$legacyHash");
+        user.setId(1L);
+
+        when(userRepository.findByUsernameOrEmail(loginRequest.identifier(), loginRequest.identifier()))
+                .thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "$2a$10$legacyHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$legacyHash")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("{argon2}newHash");
+        when(userRepository.replacePasswordHash(1L, "$2a$10$legacyHash", "{argon2}newHash")).thenReturn(1);
+        when(jwtUtils.generateJwtToken(anyString(), anyString(), isNull(), eq(0), eq(false))).thenReturn("valid.jwt.token");
+
+        // Act
+        AuthTokensDTO tokens = userService.authenticateUser(loginRequest, "127.0.0.1").join();
+
+        // Assert
+        assertNotNull(tokens);
+        assertEquals("{argon2}newHash", user.getPassword());
+        assertEquals(0, user.getTokenVersion());
+        verify(userRepository).replacePasswordHash(1L, "$2a$10$legacyHash", "{argon2}newHash");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    /**
+     * @brief Test that only the password check runs on the hashing pool.
+     *
+     * Verifies that the refresh token is issued off the pool.
+     */
+    @Test
+    public void testAuthenticateUserHashesOnPoolOnly() {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("testuser", "password", false);
+        User user = new User("testuser", "test@example.com", "encodedPassword");
+        user.setId(1L);
+        Map<String, String> threads = new HashMap<>();
+
+        when(userRepository.findByUsernameOrEmail("testuser", "testuser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenAnswer(invocation -> {
+            threads.put("matches", Thread.currentThread().getName());
+            return true;
+        });
+        when(refreshTokenService.issue(1L, false)).thenAnswer(invocation -> {
+            threads.put("issue", Thread.currentThread().getName());
+            return null;
+        });
+
+        // Act
+        userService.authenticateUser(loginRequest, "127.0.0.1").join();
+
+        // Assert
+        assertTrue(threads.get("matches").startsWith("password-hashing-"), threads.toString());
+        assertFalse(threads.get("issue").startsWith("password-hashing-"), threads.toString());
+    }
+
+    /**
+     * @brief Test authentication of an unknown user.
+     *
+     * Verifies that the failure is recorded without checking a password.
+     */
+    @Test
+    public void testAuthenticateUserUnknownUser() {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("nobody", "password", false);
+
+        when(userRepository.findByUsernameOrEmail("nobody", "nobody")).thenReturn(Optional.empty());
+
+        // Act
+        AuthTokensDTO tokens = userService.authenticateUser(loginRequest, "127.0.0.1").join();
+
+        // Assert
+        assertNull(tokens);
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(loginAttemptService).loginFailed(KeyType.IP, "127.0.0.1");
+        verify(loginAttemptService).loginFailed(KeyType.IDENTIFIER, "nobody");
     }
 
     /**
@@ -237,19 +330,19 @@ public class UserServiceTest extends BaseServiceTest {
         when(userRepository.findByUsernameOrEmail(loginRequest.identifier(), loginRequest.identifier()))
                 .thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginRequest.password(), user.getPassword())).thenReturn(false);
-        when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
+        when(loginAttemptService.isBlocked(any(KeyType.class), anyString())).thenReturn(false);
 
         // Act
-        String token = userService.authenticateUser(loginRequest, clientIp);
+        AuthTokensDTO tokens = userService.authenticateUser(loginRequest, clientIp).join();
 
         // Assert
-        assertNull(token);
+        assertNull(tokens);
 
         verify(userRepository).findByUsernameOrEmail(loginRequest.identifier(), loginRequest.identifier());
         verify(passwordEncoder).matches(loginRequest.password(), user.getPassword());
-        verify(loginAttemptService).loginFailed(clientIp);
-        verify(loginAttemptService).loginFailed(loginRequest.identifier());
-        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), anyBoolean());
+        verify(loginAttemptService).loginFailed(KeyType.IP, clientIp);
+        verify(loginAttemptService).loginFailed(KeyType.IDENTIFIER, loginRequest.identifier());
+        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), any(), any(), anyBoolean());
     }
 
     /**
@@ -263,7 +356,7 @@ public class UserServiceTest extends BaseServiceTest {
         LoginRequestDTO loginRequest = new LoginRequestDTO("testuser", "password", false);
         String clientIp = "127.0.0.1";
 
-        when(loginAttemptService.isBlocked(clientIp)).thenReturn(true);
+        when(loginAttemptService.isBlocked(KeyType.IP, clientIp)).thenReturn(true);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -271,7 +364,7 @@ public class UserServiceTest extends BaseServiceTest {
 
         assertTrue(exception.getMessage().contains("Too many failed login attempts from this IP"));
 
-        verify(loginAttemptService).isBlocked(clientIp);
+        verify(loginAttemptService).isBlocked(KeyType.IP, clientIp);
         verify(userRepository, never()).findByUsernameOrEmail(anyString(), anyString());
     }
 
@@ -286,8 +379,8 @@ public class UserServiceTest extends BaseServiceTest {
         LoginRequestDTO loginRequest = new LoginRequestDTO("blockeduser", "password", false);
         String clientIp = "127.0.0.1";
 
-        when(loginAttemptService.isBlocked(clientIp)).thenReturn(false);
-        when(loginAttemptService.isBlocked(loginRequest.identifier())).thenReturn(true);
+        when(loginAttemptService.isBlocked(KeyType.IP, clientIp)).thenReturn(false);
+        when(loginAttemptService.isBlocked(KeyType.IDENTIFIER, loginRequest.identifier())).thenReturn(true);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -295,8 +388,8 @@ public class UserServiceTest extends BaseServiceTest {
 
         assertTrue(exception.getMessage().contains("Account is temporarily locked"));
 
-        verify(loginAttemptService).isBlocked(clientIp);
-        verify(loginAttemptService).isBlocked(loginRequest.identifier());
+        verify(loginAttemptService).isBlocked(KeyType.IP, clientIp);
+        verify(loginAttemptService).isBlocked(KeyType.IDENTIFIER, loginRequest.identifier());
         verify(userRepository, never()).findByUsernameOrEmail(anyString(), anyString());
     }
 
@@ -308,17 +401,14 @@ public class UserServiceTest extends BaseServiceTest {
     @Test
     public void testRefreshTokenSuccess() {
         // Arrange
-        String oldToken = "old.jwt.token";
         String newToken = "new.jwt.token";
 
         User user = new User("testuser", "test@example.com", "password");
         user.setId(1L);
 
-        when(jwtUtils.validateJwtToken(oldToken)).thenReturn(TokenStatus.VALID);
-        when(jwtUtils.getUserIdFromJwtToken(oldToken)).thenReturn(1L);
+        VerifiedToken oldToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", null, null, true, Instant.now().plusSeconds(60), null);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user)); // Fixed: Now using userRepository
-        when(jwtUtils.wasRememberMe(oldToken)).thenReturn(true);
-        when(jwtUtils.generateJwtToken(eq("1"), eq("testuser"), eq(true))).thenReturn(newToken);
+        when(jwtUtils.generateJwtToken(eq("1"), eq("testuser"), isNull(), eq(0), eq(true))).thenReturn(newToken);
 
         // Act
         String result = userService.refreshToken(oldToken);
@@ -327,11 +417,9 @@ public class UserServiceTest extends BaseServiceTest {
         assertNotNull(result);
         assertEquals(newToken, result);
 
-        verify(jwtUtils).validateJwtToken(oldToken);
-        verify(jwtUtils).getUserIdFromJwtToken(oldToken);
         verify(userRepository).findById(1L); // Fixed: Verify userRepository call
-        verify(jwtUtils).wasRememberMe(oldToken);
-        verify(jwtUtils).generateJwtToken(eq("1"), eq("testuser"), eq(true));
+        verify(jwtUtils).generateJwtToken(eq("1"), eq("testuser"), isNull(), eq(0), eq(true));
+        verify(jwtUtils, never()).verifyToken(anyString());
     }
 
     /**
@@ -342,9 +430,7 @@ public class UserServiceTest extends BaseServiceTest {
     @Test
     public void testRefreshTokenInvalid() {
         // Arrange
-        String invalidToken = "invalid.jwt.token";
-
-        when(jwtUtils.validateJwtToken(invalidToken)).thenReturn(TokenStatus.INVALID);
+        VerifiedToken invalidToken = VerifiedToken.invalid();
 
         // Act
         String result = userService.refreshToken(invalidToken);
@@ -352,8 +438,8 @@ public class UserServiceTest extends BaseServiceTest {
         // Assert
         assertNull(result);
 
-        verify(jwtUtils).validateJwtToken(invalidToken);
-        verify(jwtUtils, never()).getUserIdFromJwtToken(anyString());
+        verify(userRepository, never()).findById(anyLong());
+        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), any(), any(), anyBoolean());
     }
 
     /**
@@ -364,10 +450,7 @@ public class UserServiceTest extends BaseServiceTest {
     @Test
     public void testRefreshTokenUserNotFound() {
         // Arrange
-        String token = "valid.but.unknown.user.token";
-
-        when(jwtUtils.validateJwtToken(token)).thenReturn(TokenStatus.VALID);
-        when(jwtUtils.getUserIdFromJwtToken(token)).thenReturn(99L);
+        VerifiedToken token = new VerifiedToken(TokenStatus.VALID, "99", "ghost", null, null, false, Instant.now().plusSeconds(60), null);
         when(userRepository.findById(99L)).thenReturn(Optional.empty()); // Fixed: Now using userRepository
 
         // Act
@@ -376,10 +459,195 @@ public class UserServiceTest extends BaseServiceTest {
         // Assert
         assertNull(result);
 
-        verify(jwtUtils).validateJwtToken(token);
-        verify(jwtUtils).getUserIdFromJwtToken(token);
         verify(userRepository).findById(99L); // Fixed: Verify userRepository call
-        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), anyBoolean());
+        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), any(), any(), anyBoolean());
+    }
+
+    /**
+     * @brief Test token refresh with a revoked token version.
+     *
+     * Verifies that a token issued before the last version bump cannot be refreshed.
+     */
+    @Test
+    public void testRefreshTokenRevokedVersion() {
+        // Arrange
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        user.setTokenVersion(3);
+
+        VerifiedToken oldToken = new VerifiedToken(TokenStatus.VALID, "1", "testuser", "ROLE_USER", 2, false, Instant.now().plusSeconds(60), null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // Act
+        String result = userService.refreshToken(oldToken);
+
+        // Assert
+        assertNull(result);
+        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), any(), any(), anyBoolean());
+    }
+
+    /**
+     * @brief Test logging a user out everywhere.
+     *
+     * Verifies that the token version is bumped and published.
+     */
+    @Test
+    public void testLogoutEverywhere() {
+        // Arrange
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        user.setTokenVersion(4);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // Act
+        userService.logoutEverywhere(1L);
+
+        // Assert
+        assertEquals(5, user.getTokenVersion());
+        verify(userRepository).save(user);
+        verify(tokenVersionService).update(1L, 5);
+        verify(refreshTokenService).revokeAll(1L);
+        verify(principalCache).refresh(user);
+    }
+
+    /**
+     * @brief Test authentication with refresh tokens enabled.
+     *
+     * Verifies that a short-lived access token is paired with a refresh token.
+     */
+    @Test
+    public void testAuthenticateUserIssuesRefreshToken() {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("testuser", "password", true);
+        User user = new User("testuser", "test@example.com", "encodedPassword");
+        user.setId(1L);
+
+        when(userRepository.findByUsernameOrEmail("testuser", "testuser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(refreshTokenService.isEnabled()).thenReturn(true);
+        when(refreshTokenService.issue(1L, true)).thenReturn("opaque-refresh-token");
+        when(jwtUtils.generateAccessToken("1", "testuser", null, 0, true)).thenReturn("access.jwt.token");
+
+        // Act
+        AuthTokensDTO tokens = userService.authenticateUser(loginRequest, "127.0.0.1").join();
+
+        // Assert
+        assertEquals("access.jwt.token", tokens.accessToken());
+        assertEquals("opaque-refresh-token", tokens.refreshToken());
+        assertTrue(tokens.rememberMe());
+        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), any(), any(), anyBoolean());
+    }
+
+    /**
+     * @brief Test exchanging a refresh token.
+     *
+     * Verifies that the rotated refresh token is returned with a new access token.
+     */
+    @Test
+    public void testRefreshTokens() {
+        // Arrange
+        User user = new User("testuser", "test@example.com", "password");
+        user.setId(1L);
+        user.setTokenVersion(2);
+
+        when(refreshTokenService.isEnabled()).thenReturn(true);
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(Optional.of(new RefreshTokenService.Rotation(1L, false, "new-refresh-token")));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtUtils.generateAccessToken("1", "testuser", null, 2, false)).thenReturn("access.jwt.token");
+
+        // Act
+        AuthTokensDTO tokens = userService.refreshTokens("old-refresh-token");
+
+        // Assert
+        assertEquals("access.jwt.token", tokens.accessToken());
+        assertEquals("new-refresh-token", tokens.refreshToken());
+        assertFalse(tokens.rememberMe());
+    }
+
+    /**
+     * @brief Test sliding renewal with refresh tokens enabled.
+     *
+     * Verifies that a renewed Remember Me token is short-lived like a token issued at login.
+     */
+    @Test
+    public void testRenewTokenWithRefreshTokensEnabled() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(1L, "testuser", ERole.ROLE_USER.name(), 2);
+        when(refreshTokenService.isEnabled()).thenReturn(true);
+        when(jwtUtils.generateAccessToken("1", "testuser", "ROLE_USER", 2, true)).thenReturn("access.jwt.token");
+
+        // Act
+        String token = userService.renewToken(principal, true);
+
+        // Assert
+        assertEquals("access.jwt.token", token);
+        verify(jwtUtils, never()).generateJwtToken(anyString(), anyString(), any(), any(), anyBoolean());
+    }
+
+    /**
+     * @brief Test sliding renewal with refresh tokens disabled.
+     *
+     * Verifies that a renewed token keeps the Remember Me lifetime, as a token issued at login does.
+     */
+    @Test
+    public void testRenewTokenWithRefreshTokensDisabled() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(1L, "testuser", ERole.ROLE_USER.name(), 2);
+        when(refreshTokenService.isEnabled()).thenReturn(false);
+        when(jwtUtils.generateJwtToken("1", "testuser", "ROLE_USER", 2, true)).thenReturn("renewed.jwt.token");
+
+        // Act
+        String token = userService.renewToken(principal, true);
+
+        // Assert
+        assertEquals("renewed.jwt.token", token);
+        verify(jwtUtils, never()).generateAccessToken(anyString(), anyString(), any(), any(), anyBoolean());
+    }
+
+    /**
+     * @brief Test exchanging an invalid or reused refresh token.
+     *
+     * Verifies that no tokens are issued.
+     */
+    @Test
+    public void testRefreshTokensRejected() {
+        // Arrange
+        when(refreshTokenService.rotate("reused-refresh-token")).thenReturn(Optional.empty());
+
+        // Act
+        AuthTokensDTO tokens = userService.refreshTokens("reused-refresh-token");
+
+        // Assert
+        assertNull(tokens);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * @brief Test that an email change keeps existing tokens valid.
+     *
+     * Verifies that the token version is only bumped for password and role changes.
+     */
+    @Test
+    public void testUpdateUserEmailKeepsTokenVersion() {
+        // Arrange
+        UserDTO updateDTO = new UserDTO();
+        updateDTO.setEmail("new@example.com");
+
+        User existingUser = new User("testuser", "old@example.com", "password");
+        existingUser.setId(1L);
+
+        when(validator.validate(updateDTO, UserDTO.Update.class)).thenReturn(Collections.emptySet());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(userRepository.findByEmail(updateDTO.getEmail())).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenReturn(existingUser);
+
+        // Act
+        User result = userService.updateUser(updateDTO, 1L, UserPrincipal.of(existingUser));
+
+        // Assert
+        assertEquals(0, result.getTokenVersion());
+        verify(tokenVersionService).update(1L, 0);
     }
 
     /**
@@ -398,35 +666,34 @@ public class UserServiceTest extends BaseServiceTest {
         User existingUser = new User("oldusername", "old@example.com", "oldpassword");
         existingUser.setId(1L);
 
-        User requester = new User("admin", "admin@example.com", "adminpassword");
-        requester.setId(2L);
-        Role adminRole = new Role(ERole.ROLE_ADMIN);
-        requester.setRole(adminRole);
+        UserPrincipal requester = new UserPrincipal(2L, "admin", ERole.ROLE_ADMIN.name(), 0);
 
         when(validator.validate(updateDTO, UserDTO.Update.class)).thenReturn(Collections.emptySet());
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(requester));
         when(userRepository.findByUsername(updateDTO.getUsername())).thenReturn(Optional.empty());
         when(userRepository.findByEmail(updateDTO.getEmail())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(updateDTO.getPassword())).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(existingUser);
 
         // Act
-        User result = userService.updateUser(updateDTO, 1L, 2L);
+        User result = userService.updateUser(updateDTO, 1L, requester);
 
         // Assert
         assertNotNull(result);
         assertEquals("newusername", result.getUsername());
         assertEquals("new@example.com", result.getEmail());
         assertEquals("newEncodedPassword", result.getPassword());
+        assertEquals(1, result.getTokenVersion());
 
         verify(validator).validate(updateDTO, UserDTO.Update.class);
         verify(userRepository).findById(1L);
-        verify(userRepository).findById(2L);
+        verify(userRepository, never()).findById(2L);
         verify(userRepository).findByUsername(updateDTO.getUsername());
         verify(userRepository).findByEmail(updateDTO.getEmail());
         verify(passwordEncoder).encode(updateDTO.getPassword());
         verify(userRepository).save(existingUser);
+        verify(tokenVersionService).update(1L, 1);
+        verify(principalCache).refresh(existingUser);
     }
 
     /**
@@ -448,7 +715,7 @@ public class UserServiceTest extends BaseServiceTest {
         when(validator.validate(updateDTO, UserDTO.Update.class)).thenReturn(violations);
 
         // Act & Assert
-        assertThrows(ConstraintViolationException.class, () -> userService.updateUser(updateDTO, 1L, 2L));
+        assertThrows(ConstraintViolationException.class, () -> userService.updateUser(updateDTO, 1L, new UserPrincipal(2L, "admin", ERole.ROLE_ADMIN.name(), 0)));
 
         verify(validator).validate(updateDTO, UserDTO.Update.class);
         verify(userRepository, never()).save(any(User.class));
@@ -474,7 +741,7 @@ public class UserServiceTest extends BaseServiceTest {
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> userService.updateUser(updateDTO, 1L, 3L));
+                () -> userService.updateUser(updateDTO, 1L, new UserPrincipal(3L, "admin", null, 0)));
         assertEquals("Username is already taken!", exception.getMessage());
 
         verify(validator).validate(updateDTO, UserDTO.Update.class);
@@ -500,18 +767,14 @@ public class UserServiceTest extends BaseServiceTest {
         User otherUser = new User("otheruser", "existing@example.com", "otherpassword");
         otherUser.setId(2L);
 
-        User requester = new User("admin", "admin@example.com", "adminpassword");
-        requester.setId(3L);
-
         when(validator.validate(updateDTO, UserDTO.Update.class)).thenReturn(Collections.emptySet());
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findById(3L)).thenReturn(Optional.of(requester));
         when(userRepository.findByUsername(updateDTO.getUsername())).thenReturn(Optional.empty());
         when(userRepository.findByEmail(updateDTO.getEmail())).thenReturn(Optional.of(otherUser));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> userService.updateUser(updateDTO, 1L, 3L));
+                () -> userService.updateUser(updateDTO, 1L, new UserPrincipal(3L, "admin", null, 0)));
         assertEquals("Email is already taken!", exception.getMessage());
 
         verify(validator).validate(updateDTO, UserDTO.Update.class);
@@ -532,16 +795,12 @@ public class UserServiceTest extends BaseServiceTest {
         updateDTO.setUsername("newusername");
         updateDTO.setEmail("new@example.com");
 
-        User requester = new User("admin", "admin@example.com", "adminpassword");
-        requester.setId(2L);
-
         when(validator.validate(updateDTO, UserDTO.Update.class)).thenReturn(Collections.emptySet());
         when(userRepository.findById(99L)).thenReturn(Optional.empty());
-        when(userRepository.findById(2L)).thenReturn(Optional.of(requester));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> userService.updateUser(updateDTO, 99L, 2L));
+                () -> userService.updateUser(updateDTO, 99L, new UserPrincipal(2L, "admin", ERole.ROLE_ADMIN.name(), 0)));
         assertEquals("User not found with id: 99", exception.getMessage());
 
         verify(validator).validate(updateDTO, UserDTO.Update.class);
@@ -550,33 +809,32 @@ public class UserServiceTest extends BaseServiceTest {
     }
 
     /**
-     * @brief Test user update with requester not found.
+     * @brief Test a role change requested by a regular user.
      *
-     * Verifies that user update fails when the requester doesn't exist.
+     * Verifies that the role is ignored and the requester is not loaded from the database.
      */
     @Test
-    public void testUpdateUserRequesterNotFound() {
+    public void testUpdateUserRoleIgnoredForNonAdmin() {
         // Arrange
         UserDTO updateDTO = new UserDTO();
-        updateDTO.setUsername("newusername");
-        updateDTO.setEmail("new@example.com");
+        updateDTO.setRole(ERole.ROLE_ADMIN);
 
         User existingUser = new User("oldusername", "old@example.com", "oldpassword");
         existingUser.setId(1L);
+        existingUser.setRole(new Role(ERole.ROLE_USER));
 
         when(validator.validate(updateDTO, UserDTO.Update.class)).thenReturn(Collections.emptySet());
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenReturn(existingUser);
 
-        // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> userService.updateUser(updateDTO, 1L, 99L));
-        assertEquals("Requester not found with id: 99", exception.getMessage());
+        // Act
+        User result = userService.updateUser(updateDTO, 1L, UserPrincipal.of(existingUser));
 
-        verify(validator).validate(updateDTO, UserDTO.Update.class);
-        verify(userRepository).findById(1L);
-        verify(userRepository).findById(99L);
-        verify(userRepository, never()).save(any(User.class));
+        // Assert
+        assertEquals(ERole.ROLE_USER, result.getRole().getName());
+        assertEquals(0, result.getTokenVersion());
+        verify(userRepository, times(1)).findById(1L);
+        verify(roleRepository, never()).findByName(any());
     }
 
     /**
@@ -598,6 +856,9 @@ public class UserServiceTest extends BaseServiceTest {
         // Assert
         verify(userRepository).findById(1L);
         verify(userRepository).delete(existingUser);
+        verify(tokenVersionService).revokeAll(1L);
+        verify(refreshTokenService).revokeAll(1L);
+        verify(principalCache).invalidate(1L);
     }
 
     /**
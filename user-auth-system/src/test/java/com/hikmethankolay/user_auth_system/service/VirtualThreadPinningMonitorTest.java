@@ -0,0 +1,94 @@
+/**
+ * @file VirtualThreadPinningMonitorTest.java
+ * @brief Tests for the VirtualThreadPinningMonitor class.
+ *
+ * Contains a test pinning a virtual thread and waiting for the JFR event.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class VirtualThreadPinningMonitorTest
+ * @brief Test class for VirtualThreadPinningMonitor.
+ *
+ * This class contains tests using a real in-process JFR stream.
+ */
+public class VirtualThreadPinningMonitorTest {
+
+    /**
+     * VirtualThreadPinningMonitor instance to be tested.
+     */
+    private VirtualThreadPinningMonitor monitor;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Starts the monitor with a 10 ms threshold.
+     */
+    @BeforeEach
+    public void setUp() {
+        monitor = new VirtualThreadPinningMonitor();
+        ReflectionTestUtils.setField(monitor, "thresholdMs", 10L);
+        monitor.start();
+    }
+
+    /**
+     * @brief Cleanup method that runs after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        monitor.stop();
+    }
+
+    /**
+     * @brief Blocks while holding a monitor, which pins a virtual thread.
+     */
+    private void sleepWhileSynchronized() {
+        synchronized (this) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @brief Test a virtual thread sleeping inside a synchronized block.
+     *
+     * Verifies that the pinning is counted and attributed to the calling method.
+     */
+    @Test
+    public void testPinningReported() throws Exception {
+        // Act
+        Thread.ofVirtual().start(this::sleepWhileSynchronized).join();
+        // Other tests in the same JVM may pin too, so wait for this test's site
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!reportedSleepWhileSynchronized() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        // Assert
+        assertTrue(monitor.getPinnedCount() >= 1);
+        assertTrue(monitor.getPinnedNanos() >= 40_000_000L);
+        assertTrue(reportedSleepWhileSynchronized());
+    }
+
+    /**
+     * @brief Checks whether the monitor attributed a pinning to sleepWhileSynchronized.
+     * @return True if the site was reported.
+     */
+    private boolean reportedSleepWhileSynchronized() {
+        return monitor.getSites().keySet().stream()
+                .anyMatch(site -> site.startsWith(getClass().getName() + ".sleepWhileSynchronized"));
+    }
+}
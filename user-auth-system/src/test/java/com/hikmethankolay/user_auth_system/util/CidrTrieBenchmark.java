@@ -0,0 +1,187 @@
+/**
+ * @file CidrTrieBenchmark.java
+ * @brief JMH benchmark for access list lookups against a million-entry deny list.
+ *
+ * The deny list holds 700,000 IPv4 addresses, 200,000 IPv4 /24 subnets and
+ * 100,000 IPv6 /64 subnets, drawn at random. Lookups cycle through listed and
+ * unlisted addresses of both families; the allocation profiler shows that a
+ * lookup, parsing included, allocates nothing.
+ *
+ * Run after `mvn test-compile` with:
+ * java -cp target/test-classes:target/classes:<test classpath> com.hikmethankolay.user_auth_system.util.CidrTrieBenchmark
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-15
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class CidrTrieBenchmark
+ * @brief Measures time and allocation per address lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CidrTrieBenchmark {
+
+    /** Number of addresses of each kind looked up in turn. */
+    private static final int QUERIES = 1 << 12;
+
+    /**
+     * Trie holding the deny list.
+     */
+    private CidrTrie trie;
+
+    /**
+     * Listed IPv4 addresses.
+     */
+    private final String[] listedIpv4 = new String[QUERIES];
+
+    /**
+     * Unlisted IPv4 addresses.
+     */
+    private final String[] unlistedIpv4 = new String[QUERIES];
+
+    /**
+     * Addresses in listed IPv6 subnets.
+     */
+    private final String[] listedIpv6 = new String[QUERIES];
+
+    /**
+     * Addresses outside the listed IPv6 subnets.
+     */
+    private final String[] unlistedIpv6 = new String[QUERIES];
+
+    /**
+     * Position in the query arrays.
+     */
+    private int next;
+
+    /**
+     * @brief Builds the deny list and the queries.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        trie = new CidrTrie();
+        for (int i = 0; i < 700_000; i++) {
+            String address = ipv4(random.nextInt());
+            trie.insert(address, (byte) 2);
+            if (i < QUERIES) {
+                listedIpv4[i] = address;
+            }
+        }
+        for (int i = 0; i < 200_000; i++) {
+            trie.insert(ipv4(random.nextInt() & 0xFFFFFF00) + "/24", (byte) 2);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long network = random.nextLong();
+            trie.insert(ipv6(network, 0) + "/64", (byte) 2);
+            if (i < QUERIES) {
+                listedIpv6[i] = ipv6(network, random.nextLong());
+            }
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            unlistedIpv4[i] = ipv4(random.nextInt());
+            unlistedIpv6[i] = ipv6(random.nextLong(), random.nextLong());
+        }
+    }
+
+    /**
+     * @brief Lookup of a listed IPv4 address.
+     */
+    @Benchmark
+    public byte listedIpv4() {
+        return trie.match(listedIpv4[next++ & (QUERIES - 1)]);
+    }
+
+    /**
+     * @brief Lookup of an IPv4 address, almost always unlisted.
+     */
+    @Benchmark
+    public byte unlistedIpv4() {
+        return trie.match(unlistedIpv4[next++ & (QUERIES - 1)]);
+    }
+
+    /**
+     * @brief Lookup of an address in a listed IPv6 subnet.
+     */
+    @Benchmark
+    public byte listedIpv6() {
+        return trie.match(listedIpv6[next++ & (QUERIES - 1)]);
+    }
+
+    /**
+     * @brief Lookup of an IPv6 address outside the listed subnets.
+     */
+    @Benchmark
+    public byte unlistedIpv6() {
+        return trie.match(unlistedIpv6[next++ & (QUERIES - 1)]);
+    }
+
+    /**
+     * @brief Formats an IPv4 address.
+     * @param address The address.
+     * @return The dotted form.
+     */
+    private static String ipv4(int address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+    }
+
+    /**
+     * @brief Formats an IPv6 address without compression.
+     * @param high The high 64 bits.
+     * @param low The low 64 bits.
+     * @return The colon-separated form.
+     */
+    private static String ipv6(long high, long low) {
+        StringBuilder address = new StringBuilder(39);
+        for (int group = 0; group < 8; group++) {
+            long half = group < 4 ? high : low;
+            if (group > 0) {
+                address.append(':');
+            }
+            address.append(Long.toHexString((half >>> (48 - 16 * (group % 4))) & 0xFFFF));
+        }
+        return address.toString();
+    }
+
+    /**
+     * @brief Runs the benchmark with the allocation profiler.
+     * @param args Unused.
+     * @throws RunnerException If the benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        long start = System.nanoTime();
+        CidrTrieBenchmark sizes = new CidrTrieBenchmark();
+        sizes.setUp();
+        System.out.printf("Deny list: %d entries, %d bytes of nodes, built in %d ms%n", sizes.trie.size(),
+                sizes.trie.sizeInBytes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        new Runner(new OptionsBuilder()
+                .include(CidrTrieBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
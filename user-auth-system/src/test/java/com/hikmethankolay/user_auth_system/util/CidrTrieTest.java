@@ -0,0 +1,186 @@
+/**
+ * @file CidrTrieTest.java
+ * @brief Tests for the CidrTrie and IpLiteral classes.
+ *
+ * Contains unit tests for address literal parsing, subnet keys and longest
+ * prefix matching of IPv4 and IPv6 prefixes, checked against a linear scan.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-15
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class CidrTrieTest
+ * @brief Test class for CidrTrie.
+ *
+ * This class contains unit tests for address parsing and prefix lookups.
+ */
+public class CidrTrieTest {
+
+    /**
+     * @brief Test address literals are parsed into left-aligned halves.
+     */
+    @Test
+    public void testParsesLiterals() {
+        // Act & Assert
+        assertEquals(IpLiteral.IPV4, IpLiteral.family("203.0.113.9"));
+        assertEquals(0xCB007109L << 32, IpLiteral.high("203.0.113.9"));
+        assertEquals(0L, IpLiteral.low("203.0.113.9"));
+
+        assertEquals(IpLiteral.IPV6, IpLiteral.family("2001:db8::1"));
+        assertEquals(0x20010DB800000000L, IpLiteral.high("2001:db8::1"));
+        assertEquals(1L, IpLiteral.low("2001:db8::1"));
+        assertEquals(IpLiteral.high("2001:DB8:0:0:0:0:0:1"), IpLiteral.high("2001:db8::1"));
+        assertEquals(IpLiteral.low("2001:DB8:0:0:0:0:0:1"), IpLiteral.low("2001:db8::1"));
+        assertEquals(IpLiteral.IPV6, IpLiteral.family("::"));
+        assertEquals(IpLiteral.IPV6, IpLiteral.family("1::"));
+        assertEquals(0x0000000000000000L, IpLiteral.high("::1"));
+        assertEquals(0x0064FF9B00000000L, IpLiteral.high("64:ff9b::192.0.2.33"));
+        assertEquals(0xC0000221L, IpLiteral.low("64:ff9b::192.0.2.33"));
+    }
+
+    /**
+     * @brief Test IPv4-mapped IPv6 addresses are read as the IPv4 address they carry.
+     */
+    @Test
+    public void testParsesMappedIpv4() {
+        // Act & Assert
+        assertEquals(IpLiteral.IPV4, IpLiteral.family("::ffff:203.0.113.9"));
+        assertEquals(IpLiteral.high("203.0.113.9"), IpLiteral.high("::ffff:203.0.113.9"));
+        assertEquals(IpLiteral.high("203.0.113.9"), IpLiteral.high("::ffff:cb00:7109"));
+    }
+
+    /**
+     * @brief Test strings that are not address literals are rejected.
+     */
+    @Test
+    public void testRejectsMalformedLiterals() {
+        // Arrange
+        String[] malformed = {null, "", "unknown", "localhost", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1..2.3",
+                "1.2.3.4 ", "01234.1.1.1", ":", ":::", "1:2", "1:", ":1", "1::2::3", "12345::", "g::1",
+                "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8", "1:2:3:4:5:6:7:1.2.3.4", "::1.2.3", "[::1]", "fe80::1%eth0"};
+
+        // Act & Assert
+        for (String address : malformed) {
+            assertEquals(IpLiteral.INVALID, IpLiteral.family(address), String.valueOf(address));
+        }
+    }
+
+    /**
+     * @brief Test subnet keys clear the host bits and spell out every group.
+     */
+    @Test
+    public void testSubnetKeys() {
+        // Act & Assert
+        assertEquals("203.0.113.0/24", IpLiteral.subnet("203.0.113.9", 24, 64));
+        assertEquals("203.0.112.0/20", IpLiteral.subnet("::ffff:203.0.113.9", 20, 64));
+        assertEquals("2001:db8:0:7:0:0:0:0/64", IpLiteral.subnet("2001:db8:0:7:1:2:3:4", 24, 64));
+        assertEquals("2001:db8:0:0:0:0:0:0/48", IpLiteral.subnet("2001:db8::7:1:2:3:4", 24, 48));
+        assertNull(IpLiteral.subnet("not-an-ip", 24, 64));
+    }
+
+    /**
+     * @brief Test the longest prefix containing an address decides.
+     */
+    @Test
+    public void testLongestPrefixWins() {
+        // Arrange
+        CidrTrie trie = new CidrTrie();
+        trie.insert("10.0.0.0/8", (byte) 1);
+        trie.insert("10.1.0.0/16", (byte) 2);
+        trie.insert("10.1.2.3", (byte) 3);
+        trie.insert("2001:db8::/32", (byte) 4);
+        trie.insert("2001:db8:1::/48", (byte) 5);
+
+        // Act & Assert
+        assertEquals(3, trie.match("10.1.2.3"));
+        assertEquals(2, trie.match("10.1.2.4"));
+        assertEquals(1, trie.match("10.2.0.1"));
+        assertEquals(CidrTrie.NO_MATCH, trie.match("11.0.0.1"));
+        assertEquals(5, trie.match("2001:db8:1:2::1"));
+        assertEquals(4, trie.match("2001:db8:2::1"));
+        assertEquals(CidrTrie.NO_MATCH, trie.match("2001:db9::1"));
+        assertEquals(3, trie.match("::ffff:10.1.2.3"));
+        assertEquals(CidrTrie.NO_MATCH, trie.match("garbage"));
+        assertEquals(5, trie.size());
+    }
+
+    /**
+     * @brief Test host bits are ignored, reinserting replaces the value and /0 matches everything.
+     */
+    @Test
+    public void testInsertEdgeCases() {
+        // Arrange
+        CidrTrie trie = new CidrTrie();
+        trie.insert("192.0.2.77/24", (byte) 1);
+        trie.insert("192.0.2.0/24", (byte) 2);
+        trie.insert("0.0.0.0/0", (byte) 3);
+        trie.insert("::ffff:198.51.100.0/120", (byte) 4);
+
+        // Act & Assert
+        assertEquals(2, trie.match("192.0.2.1"));
+        assertEquals(3, trie.match("8.8.8.8"));
+        assertEquals(4, trie.match("198.51.100.200"));
+        assertEquals(CidrTrie.NO_MATCH, trie.match("2001:db8::1"));
+        assertEquals(3, trie.size());
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("192.0.2.0/33", (byte) 1));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("192.0.2.0/x", (byte) 1));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("example.com/24", (byte) 1));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("192.0.2.0/24", CidrTrie.NO_MATCH));
+    }
+
+    /**
+     * @brief Test random prefixes match the same as a linear scan for the longest one.
+     */
+    @Test
+    public void testMatchesLinearScan() {
+        // Arrange
+        Random random = new Random(42);
+        CidrTrie trie = new CidrTrie();
+        List<long[]> prefixes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Few distinct leading bits so that prefixes nest and split each other
+            long address = (random.nextInt(4) << 28 | random.nextInt(1 << 28)) & 0xFFFFFFFFL;
+            int length = 8 + random.nextInt(25);
+            long network = address & (0xFFFFFFFFL << (32 - length)) & 0xFFFFFFFFL;
+            byte value = (byte) (1 + random.nextInt(100));
+            trie.insert(toDotted(network) + "/" + length, value);
+            prefixes.removeIf(p -> p[0] == network && p[1] == length);
+            prefixes.add(new long[]{network, length, value});
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 20_000; i++) {
+            long address = (random.nextInt(4) << 28 | random.nextInt(1 << 28)) & 0xFFFFFFFFL;
+            long bestLength = -1;
+            byte expected = CidrTrie.NO_MATCH;
+            for (long[] prefix : prefixes) {
+                long mask = 0xFFFFFFFFL << (32 - prefix[1]) & 0xFFFFFFFFL;
+                if ((address & mask) == prefix[0] && prefix[1] > bestLength) {
+                    bestLength = prefix[1];
+                    expected = (byte) prefix[2];
+                }
+            }
+            assertEquals(expected, trie.match(toDotted(address)), toDotted(address));
+        }
+        assertEquals(prefixes.size(), trie.size());
+    }
+
+    /**
+     * @brief Formats an IPv4 address.
+     * @param address The address in the low 32 bits.
+     * @return The dotted form.
+     */
+    private static String toDotted(long address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * @file ClientIpTest.java
+ * @brief Tests for the ClientIp class.
+ *
+ * Contains unit tests for taking the client address from the connection or,
+ * behind trusted proxies, from the X-Forwarded-For header.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-15
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class ClientIpTest
+ * @brief Test class for ClientIp.
+ *
+ * This class contains unit tests for client address resolution.
+ */
+public class ClientIpTest {
+
+    /**
+     * ClientIp instance to be tested.
+     */
+    private ClientIp clientIp;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Trusts one proxy address and one private subnet.
+     */
+    @BeforeEach
+    public void setUp() {
+        clientIp = new ClientIp();
+        ReflectionTestUtils.setField(clientIp, "trustedProxies", List.of("10.0.0.1", " 172.16.0.0/12", ""));
+        clientIp.init();
+    }
+
+    /**
+     * @brief Test a header sent by a peer that is not a trusted proxy is ignored.
+     */
+    @Test
+    public void testIgnoresSpoofedHeaderFromUntrustedPeer() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("198.51.100.9");
+        request.addHeader(ClientIp.FORWARDED_FOR_HEADER, "192.0.2.7");
+
+        // Act
+        String result = clientIp.of(request);
+
+        // Assert
+        assertEquals("198.51.100.9", result);
+    }
+
+    /**
+     * @brief Test the right-most hop that is not a trusted proxy is the client.
+     */
+    @Test
+    public void testTakesRightMostUntrustedHop() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(ClientIp.FORWARDED_FOR_HEADER, "192.0.2.7, 203.0.113.9,172.16.4.2");
+
+        // Act
+        String result = clientIp.of(request);
+
+        // Assert - 192.0.2.7 was written by the client and is not trusted
+        assertEquals("203.0.113.9", result);
+    }
+
+    /**
+     * @brief Test a trusted peer without a usable header is the client itself.
+     */
+    @Test
+    public void testFallsBackToTrustedPeer() {
+        // Act & Assert
+        assertEquals("10.0.0.1", clientIp.of(null, "10.0.0.1"));
+        assertEquals("10.0.0.1", clientIp.of("", "10.0.0.1"));
+        assertEquals("10.0.0.1", clientIp.of("unknown", "10.0.0.1"));
+        assertEquals("172.16.4.2", clientIp.of("unknown, 172.16.4.2", "10.0.0.1"));
+        assertEquals("172.16.4.2", clientIp.of("172.16.4.2", "10.0.0.1"));
+    }
+
+    /**
+     * @brief Test the header is never trusted when no proxies are configured.
+     */
+    @Test
+    public void testNoTrustedProxies() {
+        // Arrange
+        ClientIp untrusting = new ClientIp();
+        ReflectionTestUtils.setField(untrusting, "trustedProxies", List.of());
+        untrusting.init();
+
+        // Act & Assert
+        assertEquals("10.0.0.1", untrusting.of("203.0.113.9", "10.0.0.1"));
+        assertNull(untrusting.of("203.0.113.9", null));
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * @file CompactTokenCodecTest.java
+ * @brief Tests for the CompactTokenCodec class.
+ *
+ * Contains unit tests for encoding and verifying compact tokens.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class CompactTokenCodecTest
+ * @brief Test class for CompactTokenCodec.
+ *
+ * This class contains unit tests for round trips, tampering and time checks.
+ */
+public class CompactTokenCodecTest {
+
+    /**
+     * Codec under test.
+     */
+    private CompactTokenCodec codec;
+
+    /**
+     * Current time in seconds since the epoch.
+     */
+    private long now;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the codec with a test secret.
+     */
+    @BeforeEach
+    public void setUp() {
+        codec = new CompactTokenCodec("testSecretKeyThatIsLongEnoughForHMAC256".getBytes(StandardCharsets.UTF_8));
+        now = Instant.now().getEpochSecond();
+    }
+
+    /**
+     * @brief Test encoding and verifying a token with every claim.
+     *
+     * Verifies that all claims survive the round trip.
+     */
+    @Test
+    public void testRoundTrip() {
+        // Arrange
+        UUID jti = UUID.randomUUID();
+
+        // Act
+        String token = codec.encode(123456789L, "testuser", "ROLE_ADMIN", 3, true, jti, now, now + 900);
+        VerifiedToken verifiedToken = codec.verify(token);
+
+        // Assert
+        assertTrue(CompactTokenCodec.isCompact(token));
+        assertEquals(TokenStatus.VALID, verifiedToken.status());
+        assertEquals("123456789", verifiedToken.subject());
+        assertEquals("testuser", verifiedToken.username());
+        assertEquals("ROLE_ADMIN", verifiedToken.role());
+        assertEquals(3, verifiedToken.tokenVersion());
+        assertTrue(verifiedToken.rememberMe());
+        assertEquals(Instant.ofEpochSecond(now + 900), verifiedToken.expiresAt());
+        assertEquals(jti.toString(), verifiedToken.jti());
+    }
+
+    /**
+     * @brief Test a token without optional claims.
+     *
+     * Verifies that omitted claims are read back as null or false.
+     */
+    @Test
+    public void testOptionalClaimsOmitted() {
+        // Act
+        VerifiedToken verifiedToken = codec.verify(codec.encode(1L, null, null, null, false, UUID.randomUUID(), now, now + 60));
+
+        // Assert
+        assertEquals(TokenStatus.VALID, verifiedToken.status());
+        assertEquals("1", verifiedToken.subject());
+        assertNull(verifiedToken.username());
+        assertNull(verifiedToken.role());
+        assertNull(verifiedToken.tokenVersion());
+        assertFalse(verifiedToken.rememberMe());
+    }
+
+    /**
+     * @brief Test tampered tokens and tokens signed with another secret.
+     *
+     * Verifies that both are rejected.
+     */
+    @Test
+    public void testTamperedToken() {
+        // Arrange
+        String token = codec.encode(1L, "testuser", "ROLE_USER", 0, false, UUID.randomUUID(), now, now + 60);
+        char[] tampered = token.toCharArray();
+        tampered[5] = tampered[5] == 'A' ? 'B' : 'A';
+        CompactTokenCodec other = new CompactTokenCodec("anotherSecretKeyThatIsLongEnoughForHMAC".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertEquals(TokenStatus.INVALID, codec.verify(new String(tampered)).status());
+        assertEquals(TokenStatus.INVALID, other.verify(token).status());
+    }
+
+    /**
+     * @brief Test the time checks.
+     *
+     * Verifies that expired tokens are EXPIRED and tokens issued in the future are INVALID.
+     */
+    @Test
+    public void testTimeChecks() {
+        // Arrange
+        String expired = codec.encode(1L, "testuser", null, null, false, UUID.randomUUID(), now - 120, now - 60);
+        String future = codec.encode(1L, "testuser", null, null, false, UUID.randomUUID(), now + 60, now + 120);
+
+        // Act & Assert
+        assertEquals(TokenStatus.EXPIRED, codec.verify(expired).status());
+        assertEquals(TokenStatus.INVALID, codec.verify(future).status());
+    }
+
+    /**
+     * @brief Test malformed input.
+     *
+     * Verifies that strings that are not compact tokens are rejected.
+     */
+    @Test
+    public void testMalformedToken() {
+        // Act & Assert
+        assertEquals(TokenStatus.INVALID, codec.verify("").status());
+        assertEquals(TokenStatus.INVALID, codec.verify("not base64!").status());
+        assertEquals(TokenStatus.INVALID, codec.verify("AAAA").status());
+        assertEquals(TokenStatus.INVALID, codec.verify("A".repeat(2000)).status());
+        assertFalse(CompactTokenCodec.isCompact("header.payload.signature"));
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * @file Hs256FastVerifierTest.java
+ * @brief Tests for the Hs256FastVerifier class.
+ *
+ * Contains unit tests comparing the fast path against tokens built by the JWT library.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class Hs256FastVerifierTest
+ * @brief Test class for Hs256FastVerifier.
+ *
+ * This class contains unit tests for the HS256 fast path verifier.
+ */
+public class Hs256FastVerifierTest {
+
+    /**
+     * Secret key for JWT operations.
+     */
+    private final String jwtSecret = "testSecretKeyThatIsLongEnoughForHMAC256Signature";
+
+    /**
+     * Hs256FastVerifier instance to be tested.
+     */
+    private Hs256FastVerifier verifier;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates the verifier for the test secret.
+     */
+    @BeforeEach
+    public void setUp() {
+        verifier = new Hs256FastVerifier(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @brief Test verification of a token shaped like the ones JwtUtils issues.
+     *
+     * Verifies that every claim is read.
+     */
+    @Test
+    public void testVerifyValidToken() {
+        // Arrange
+        Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+        String token = JWT.create()
+                .withJWTId("3f1c2a4e-0000-4000-8000-000000000001")
+                .withSubject("42")
+                .withClaim("username", "testuser")
+                .withClaim("rememberMe", true)
+                .withClaim("role", "ROLE_ADMIN")
+                .withClaim("ver", 3)
+                .withIssuedAt(new Date())
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(jwtSecret));
+
+        // Act
+        VerifiedToken verifiedToken = verifier.verify(token);
+
+        // Assert
+        assertNotNull(verifiedToken);
+        assertEquals(TokenStatus.VALID, verifiedToken.status());
+        assertEquals(42L, verifiedToken.userId());
+        assertEquals("testuser", verifiedToken.username());
+        assertEquals("ROLE_ADMIN", verifiedToken.role());
+        assertEquals(3, verifiedToken.tokenVersion());
+        assertTrue(verifiedToken.rememberMe());
+        assertEquals(expiresAt.getTime() / 1000, verifiedToken.expiresAt().getEpochSecond());
+        assertEquals("3f1c2a4e-0000-4000-8000-000000000001", verifiedToken.jti());
+    }
+
+    /**
+     * @brief Test verification of a token with optional claims left out.
+     *
+     * Verifies that missing claims are null and rememberMe defaults to false.
+     */
+    @Test
+    public void testVerifyTokenWithoutOptionalClaims() {
+        // Arrange
+        String token = JWT.create()
+                .withSubject("1")
+                .withClaim("username", "Zoë")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256(jwtSecret));
+
+        // Act
+        VerifiedToken verifiedToken = verifier.verify(token);
+
+        // Assert
+        assertNotNull(verifiedToken);
+        assertEquals(TokenStatus.VALID, verifiedToken.status());
+        assertEquals("Zoë", verifiedToken.username());
+        assertNull(verifiedToken.role());
+        assertNull(verifiedToken.tokenVersion());
+        assertNull(verifiedToken.jti());
+        assertFalse(verifiedToken.rememberMe());
+    }
+
+    /**
+     * @brief Test verification of tokens with a wrong signature.
+     *
+     * Verifies that a different secret or a modified payload is rejected.
+     */
+    @Test
+    public void testVerifyInvalidSignature() {
+        // Arrange
+        String token = JWT.create()
+                .withSubject("1")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256("differentSecret"));
+        String valid = JWT.create()
+                .withSubject("1")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256(jwtSecret));
+        String[] parts = valid.split("\\.");
+        String forgedPayload = base64Url("{\"sub\":\"2\",\"exp\":" + (System.currentTimeMillis() / 1000 + 60) + "}");
+
+        // Act & Assert
+        assertEquals(TokenStatus.INVALID, verifier.verify(token).status());
+        assertEquals(TokenStatus.INVALID, verifier.verify(parts[0] + "." + forgedPayload + "." + parts[2]).status());
+    }
+
+    /**
+     * @brief Test verification of an expired token.
+     *
+     * Verifies that the token is reported as expired.
+     */
+    @Test
+    public void testVerifyExpiredToken() {
+        // Arrange
+        String token = JWT.create()
+                .withSubject("1")
+                .withIssuedAt(new Date(System.currentTimeMillis() - 20000))
+                .withExpiresAt(new Date(System.currentTimeMillis() - 10000))
+                .sign(Algorithm.HMAC256(jwtSecret));
+
+        // Act
+        VerifiedToken verifiedToken = verifier.verify(token);
+
+        // Assert
+        assertEquals(TokenStatus.EXPIRED, verifiedToken.status());
+    }
+
+    /**
+     * @brief Test verification of a token that is not valid yet.
+     *
+     * Verifies that a future nbf claim is rejected like the library does.
+     */
+    @Test
+    public void testVerifyNotBeforeInFuture() {
+        // Arrange
+        String token = JWT.create()
+                .withSubject("1")
+                .withNotBefore(new Date(System.currentTimeMillis() + 30000))
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256(jwtSecret));
+
+        // Act
+        VerifiedToken verifiedToken = verifier.verify(token);
+
+        // Assert
+        assertEquals(TokenStatus.INVALID, verifiedToken.status());
+    }
+
+    /**
+     * @brief Test that unusual tokens are left to the library.
+     *
+     * Verifies that extra headers, escaped strings, nested claims and malformed tokens return null.
+     */
+    @Test
+    public void testUnsupportedTokensFallBack() {
+        // Arrange
+        Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+        String withKeyId = JWT.create()
+                .withKeyId("key-1")
+                .withSubject("1")
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(jwtSecret));
+        String withEscape = JWT.create()
+                .withSubject("1")
+                .withClaim("username", "quote\"user")
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(jwtSecret));
+        String withNestedClaim = JWT.create()
+                .withSubject("1")
+                .withClaim("profile", Map.of("name", "test"))
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(jwtSecret));
+        String withoutExpiry = JWT.create()
+                .withSubject("1")
+                .sign(Algorithm.HMAC256(jwtSecret));
+
+        // Act & Assert
+        assertNull(verifier.verify(withKeyId));
+        assertNull(verifier.verify(withEscape));
+        assertNull(verifier.verify(withNestedClaim));
+        assertNull(verifier.verify(withoutExpiry));
+        assertNull(verifier.verify("not-a-token"));
+        assertNull(verifier.verify("a.b"));
+    }
+
+    /**
+     * @brief Encodes a JSON string as unpadded base64url.
+     * @param json The JSON to encode.
+     * @return The encoded segment.
+     */
+    private String base64Url(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
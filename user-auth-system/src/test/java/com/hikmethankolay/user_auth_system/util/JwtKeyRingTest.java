@@ -0,0 +1,244 @@
+/**
+ * @file JwtKeyRingTest.java
+ * @brief Tests for the JwtKeyRing class.
+ *
+ * Contains unit tests for key generation, activation, rotation and JWKS export.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class JwtKeyRingTest
+ * @brief Test class for JwtKeyRing.
+ *
+ * This class contains unit tests for the asymmetric signing key ring.
+ */
+public class JwtKeyRingTest {
+
+    /**
+     * Rotation interval used by the tests.
+     */
+    private static final Duration ROTATION = Duration.ofHours(1);
+
+    /**
+     * Activation delay used by the tests.
+     */
+    private static final Duration ACTIVATION = Duration.ofMinutes(5);
+
+    /**
+     * Maximum token lifetime used by the tests.
+     */
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(15);
+
+    /**
+     * Adjustable clock shared with the key ring.
+     */
+    private MutableClock clock;
+
+    /**
+     * @brief Clock whose time can be moved forward by the tests.
+     */
+    private static final class MutableClock extends Clock {
+
+        /** Current instant of the clock. */
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+    }
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates a fresh clock.
+     */
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock();
+    }
+
+    /**
+     * @brief Creates an in-memory key ring for the given algorithm.
+     * @param algorithm RS256 or ES256.
+     * @return The key ring.
+     */
+    private JwtKeyRing keyRing(String algorithm) {
+        return new JwtKeyRing(algorithm, null, null, ROTATION, ACTIVATION, TOKEN_LIFETIME, clock);
+    }
+
+    /**
+     * @brief Test that an unsupported algorithm is rejected.
+     *
+     * Verifies that the constructor throws for EdDSA.
+     */
+    @Test
+    public void testUnsupportedAlgorithm() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> keyRing("EdDSA"));
+    }
+
+    /**
+     * @brief Test that a key is generated on startup.
+     *
+     * Verifies that the first key signs immediately, since there is no older key.
+     */
+    @Test
+    public void testInitialKeyIsActive() {
+        // Act
+        JwtKeyRing ring = keyRing("ES256");
+
+        // Assert
+        assertEquals(1, ring.getKeys().size());
+        JwtKeyRing.SigningKey key = ring.activeKey();
+        assertSame(ring.getKeys().get(0), key);
+        assertSame(key.publicKey(), ring.findPublicKey(key.kid()));
+        assertNull(ring.findPublicKey("unknown"));
+    }
+
+    /**
+     * @brief Test that a rotated key is published before it signs.
+     *
+     * Verifies that the previous key keeps signing during the activation delay.
+     */
+    @Test
+    public void testRotationRespectsActivationDelay() {
+        // Arrange
+        JwtKeyRing ring = keyRing("ES256");
+        JwtKeyRing.SigningKey first = ring.activeKey();
+
+        // Act
+        clock.advance(ROTATION);
+        ring.refresh();
+        JwtKeyRing.SigningKey duringDelay = ring.activeKey();
+        clock.advance(ACTIVATION);
+        JwtKeyRing.SigningKey afterDelay = ring.activeKey();
+
+        // Assert
+        assertEquals(2, ring.getKeys().size());
+        assertSame(first, duringDelay);
+        assertNotEquals(first.kid(), afterDelay.kid());
+    }
+
+    /**
+     * @brief Test that refresh does not rotate before the interval.
+     *
+     * Verifies that the key list is unchanged.
+     */
+    @Test
+    public void testRefreshBeforeInterval() {
+        // Arrange
+        JwtKeyRing ring = keyRing("ES256");
+
+        // Act
+        clock.advance(ROTATION.minusMinutes(1));
+        ring.refresh();
+
+        // Assert
+        assertEquals(1, ring.getKeys().size());
+    }
+
+    /**
+     * @brief Test that retired keys are pruned.
+     *
+     * Verifies that a key is kept until every token it signed has expired.
+     */
+    @Test
+    public void testOldKeysArePruned() {
+        // Arrange
+        JwtKeyRing ring = keyRing("ES256");
+        String firstKid = ring.activeKey().kid();
+        clock.advance(ROTATION);
+        ring.refresh();
+
+        // Act
+        clock.advance(ACTIVATION.plus(TOKEN_LIFETIME));
+        ring.refresh();
+        List<JwtKeyRing.SigningKey> beforeExpiry = ring.getKeys();
+        clock.advance(Duration.ofSeconds(1));
+        ring.refresh();
+
+        // Assert
+        assertEquals(2, beforeExpiry.size());
+        assertEquals(1, ring.getKeys().size());
+        assertNotEquals(firstKid, ring.getKeys().get(0).kid());
+    }
+
+    /**
+     * @brief Test the JWK representation of an RSA key.
+     *
+     * Verifies the kid, alg, modulus and exponent fields.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRsaJwks() {
+        // Arrange
+        JwtKeyRing ring = keyRing("RS256");
+
+        // Act
+        Map<String, Object> jwks = ring.toJwks();
+
+        // Assert
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) jwks.get("keys");
+        assertEquals(1, keys.size());
+        Map<String, Object> jwk = keys.get(0);
+        assertEquals("RSA", jwk.get("kty"));
+        assertEquals("RS256", jwk.get("alg"));
+        assertEquals("sig", jwk.get("use"));
+        assertEquals(ring.activeKey().kid(), jwk.get("kid"));
+        assertEquals("AQAB", jwk.get("e"));
+        assertEquals(342, ((String) jwk.get("n")).length());
+    }
+
+    /**
+     * @brief Test the JWK representation of an EC key.
+     *
+     * Verifies the curve and fixed-length coordinates.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEcJwks() {
+        // Arrange
+        JwtKeyRing ring = keyRing("ES256");
+
+        // Act
+        Map<String, Object> jwk = ((List<Map<String, Object>>) ring.toJwks().get("keys")).get(0);
+
+        // Assert
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("ES256", jwk.get("alg"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals(43, ((String) jwk.get("x")).length());
+        assertEquals(43, ((String) jwk.get("y")).length());
+    }
+}
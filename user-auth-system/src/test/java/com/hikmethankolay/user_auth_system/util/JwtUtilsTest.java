@@ -21,6 +21,7 @@ import org.mockito.Spy;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Date;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -65,6 +66,7 @@ public class JwtUtilsTest extends BaseUtilTest {
         ReflectionTestUtils.setField(jwtUtils, "jwtSecret", jwtSecret);
         ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", jwtExpirationMs);
         ReflectionTestUtils.setField(jwtUtils, "rememberMeExpirationMs", rememberMeExpirationMs);
+        jwtUtils.init();
     }
 
     /**
@@ -90,6 +92,42 @@ public class JwtUtilsTest extends BaseUtilTest {
         assertFalse(rememberMe);
     }
 
+    /**
+     * @brief Test JWT token generation with role and token version claims.
+     *
+     * Verifies that the claims are embedded and read back by verifyToken.
+     */
+    @Test
+    public void testGenerateJwtTokenWithAuthorityClaims() {
+        // Act
+        String token = jwtUtils.generateJwtToken("1", "testuser", "ROLE_ADMIN", 7, false);
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+
+        // Assert
+        assertEquals("ROLE_ADMIN", verifiedToken.role());
+        assertEquals(7, verifiedToken.tokenVersion());
+        assertTrue(verifiedToken.hasAuthorityClaims());
+        assertFalse(jwtUtils.verifyToken(jwtUtils.generateJwtToken("1", "testuser", false)).hasAuthorityClaims());
+    }
+
+    /**
+     * @brief Test that every token gets its own ID.
+     *
+     * Verifies that the jti claim is set, unique and returned by verifyToken.
+     */
+    @Test
+    public void testGenerateJwtTokenSetsUniqueId() {
+        // Act
+        String first = jwtUtils.generateJwtToken("1", "testuser", false);
+        String second = jwtUtils.generateJwtToken("1", "testuser", false);
+
+        // Assert
+        String jti = JWT.decode(first).getId();
+        assertNotNull(jti);
+        assertNotEquals(jti, JWT.decode(second).getId());
+        assertEquals(jti, jwtUtils.verifyToken(first).jti());
+    }
+
     /**
      * @brief Test JWT token generation with Remember Me.
      *
@@ -120,6 +158,22 @@ public class JwtUtilsTest extends BaseUtilTest {
         assertTrue(Math.abs(expirationDate.getTime() - expectedExpiration) < 1000);
     }
 
+    /**
+     * @brief Test access token generation for use with refresh tokens.
+     *
+     * Verifies that Remember Me is kept as a claim but does not extend the token.
+     */
+    @Test
+    public void testGenerateAccessToken() {
+        // Act
+        String token = jwtUtils.generateAccessToken("1", "testuser", "ROLE_USER", 0, true);
+
+        // Assert
+        assertTrue(JWT.decode(token).getClaim("rememberMe").asBoolean());
+        long expectedExpiration = System.currentTimeMillis() + jwtExpirationMs;
+        assertTrue(Math.abs(JWT.decode(token).getExpiresAt().getTime() - expectedExpiration) < 1000);
+    }
+
     /**
      * @brief Test validation of valid JWT token.
      *
@@ -186,6 +240,116 @@ public class JwtUtilsTest extends BaseUtilTest {
         assertEquals(TokenStatus.INVALID, status);
     }
 
+    /**
+     * @brief Test single-pass verification of a valid JWT token.
+     *
+     * Verifies that verifyToken returns the status and all claims in one call.
+     */
+    @Test
+    public void testVerifyTokenValid() {
+        // Arrange
+        String token = jwtUtils.generateJwtToken("42", "testuser", true);
+
+        // Act
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+
+        // Assert
+        assertEquals(TokenStatus.VALID, verifiedToken.status());
+        assertTrue(verifiedToken.isValid());
+        assertEquals(42L, verifiedToken.userId());
+        assertEquals("testuser", verifiedToken.username());
+        assertTrue(verifiedToken.rememberMe());
+        assertEquals(JWT.decode(token).getExpiresAtAsInstant(), verifiedToken.expiresAt());
+    }
+
+    /**
+     * @brief Test single-pass verification of an expired JWT token.
+     *
+     * Verifies that verifyToken reports EXPIRED without exposing claims.
+     */
+    @Test
+    public void testVerifyTokenExpired() {
+        // Arrange
+        String token = JWT.create()
+                .withSubject("1")
+                .withClaim("username", "testuser")
+                .withIssuedAt(new Date(System.currentTimeMillis() - 20000))
+                .withExpiresAt(new Date(System.currentTimeMillis() - 10000))
+                .sign(Algorithm.HMAC256(jwtSecret));
+
+        // Act
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+
+        // Assert
+        assertEquals(TokenStatus.EXPIRED, verifiedToken.status());
+        assertFalse(verifiedToken.isValid());
+        assertNull(verifiedToken.subject());
+    }
+
+    /**
+     * @brief Test single-pass verification of invalid and missing tokens.
+     *
+     * Verifies that verifyToken reports INVALID for tampered, malformed and null tokens.
+     */
+    @Test
+    public void testVerifyTokenInvalid() {
+        // Arrange
+        String foreignToken = JWT.create()
+                .withSubject("1")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 10000))
+                .sign(Algorithm.HMAC256("differentSecret"));
+
+        // Act & Assert
+        assertEquals(TokenStatus.INVALID, jwtUtils.verifyToken(foreignToken).status());
+        assertEquals(TokenStatus.INVALID, jwtUtils.verifyToken("invalid.jwt.token").status());
+        assertEquals(TokenStatus.INVALID, jwtUtils.verifyToken(null).status());
+    }
+
+    /**
+     * @brief Test that repeated verification of the same token hits the cache.
+     *
+     * Verifies that the second verifyToken call is served from the token cache.
+     */
+    @Test
+    public void testVerifyTokenUsesCache() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaxSize", 100L);
+        jwtUtils.init();
+        String token = jwtUtils.generateJwtToken("7", "testuser", false);
+
+        // Act
+        VerifiedToken first = jwtUtils.verifyToken(token);
+        VerifiedToken second = jwtUtils.verifyToken(token);
+
+        // Assert
+        assertTrue(first.isValid());
+        assertSame(first, second);
+        VerifiedTokenCache cache = jwtUtils.getTokenCache().orElseThrow();
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    /**
+     * @brief Test that the token cache can be disabled.
+     *
+     * Verifies that no cache is created when caching is turned off.
+     */
+    @Test
+    public void testTokenCacheDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheEnabled", false);
+        jwtUtils.init();
+        String token = jwtUtils.generateJwtToken("7", "testuser", false);
+
+        // Act
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+
+        // Assert
+        assertTrue(verifiedToken.isValid());
+        assertTrue(jwtUtils.getTokenCache().isEmpty());
+    }
+
     /**
      * @brief Test extraction of user ID from JWT token.
      *
@@ -360,4 +524,150 @@ public class JwtUtilsTest extends BaseUtilTest {
         verify(request).getHeader("Authorization");
         verify(request).getCookies();
     }
+
+    /**
+     * @brief Test asymmetric signing with a key ID.
+     *
+     * Verifies that ES256 tokens carry the kid of the active key and verify against the key ring.
+     */
+    @Test
+    public void testAsymmetricTokenRoundTrip() {
+        // Arrange
+        useAlgorithm("ES256");
+
+        // Act
+        String token = jwtUtils.generateJwtToken("1", "testuser", false);
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token);
+
+        // Assert
+        Optional<JwtKeyRing> keyRing = jwtUtils.getKeyRing();
+        assertTrue(keyRing.isPresent());
+        assertEquals("ES256", JWT.decode(token).getAlgorithm());
+        assertEquals(keyRing.get().activeKey().kid(), JWT.decode(token).getKeyId());
+        assertEquals(TokenStatus.VALID, verifiedToken.status());
+        assertEquals("testuser", verifiedToken.username());
+    }
+
+    /**
+     * @brief Test that HMAC tokens are rejected in asymmetric mode.
+     *
+     * Verifies that a token signed with the shared secret no longer validates.
+     */
+    @Test
+    public void testAsymmetricModeRejectsHmacToken() {
+        // Arrange
+        String hmacToken = jwtUtils.generateJwtToken("1", "testuser", false);
+        useAlgorithm("RS256");
+
+        // Act
+        TokenStatus status = jwtUtils.validateJwtToken(hmacToken);
+
+        // Assert
+        assertEquals(TokenStatus.INVALID, status);
+    }
+
+    /**
+     * @brief Test that the HS256 fast path returns the same result as the library.
+     *
+     * Verifies that enabling the fast path does not change any claim.
+     */
+    @Test
+    public void testFastPathMatchesLibrary() {
+        // Arrange
+        String token = jwtUtils.generateJwtToken("7", "testuser", "ADMIN", 2, true);
+        VerifiedToken expected = jwtUtils.verifyToken(token);
+        ReflectionTestUtils.setField(jwtUtils, "fastPathEnabled", true);
+        jwtUtils.init();
+        char[] tampered = token.toCharArray();
+        tampered[tampered.length - 10] = tampered[tampered.length - 10] == 'A' ? 'B' : 'A';
+
+        // Act
+        VerifiedToken actual = jwtUtils.verifyToken(token);
+
+        // Assert
+        assertEquals(expected, actual);
+        assertEquals(TokenStatus.INVALID, jwtUtils.validateJwtToken(new String(tampered)));
+    }
+
+    /**
+     * @brief Test the sliding renewal window.
+     *
+     * Verifies that only valid tokens close to expiry are renewed, and only when enabled.
+     */
+    @Test
+    public void testIsDueForRenewal() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtUtils, "slidingRenewalWindowMs", 60000L);
+        VerifiedToken expiringSoon = jwtUtils.verifyToken(jwtUtils.generateJwtToken("1", "testuser", false));
+        VerifiedToken longLived = jwtUtils.verifyToken(jwtUtils.generateJwtToken("1", "testuser", true));
+
+        // Act & Assert
+        assertFalse(jwtUtils.isDueForRenewal(expiringSoon));
+
+        ReflectionTestUtils.setField(jwtUtils, "slidingRenewalEnabled", true);
+        ReflectionTestUtils.setField(jwtUtils, "slidingRenewalWindowMs", jwtExpirationMs);
+        assertTrue(jwtUtils.isDueForRenewal(expiringSoon));
+        assertFalse(jwtUtils.isDueForRenewal(longLived));
+        assertFalse(jwtUtils.isDueForRenewal(VerifiedToken.expired()));
+    }
+
+    /**
+     * @brief Test issuing compact tokens.
+     *
+     * Verifies that compact tokens carry the same claims as JWTs, are shorter,
+     * and that JWTs issued before the switch are still accepted.
+     */
+    @Test
+    public void testCompactFormat() {
+        // Arrange
+        String jwt = jwtUtils.generateJwtToken("7", "testuser", "ROLE_ADMIN", 2, true);
+        ReflectionTestUtils.setField(jwtUtils, "tokenFormat", "compact");
+
+        // Act
+        String compact = jwtUtils.generateJwtToken("7", "testuser", "ROLE_ADMIN", 2, true);
+        VerifiedToken fromJwt = jwtUtils.verifyToken(jwt);
+        VerifiedToken fromCompact = jwtUtils.verifyToken(compact);
+
+        // Assert
+        assertFalse(compact.contains("."));
+        assertTrue(compact.length() * 2 < jwt.length());
+        assertEquals(TokenStatus.VALID, fromCompact.status());
+        assertEquals(fromJwt.subject(), fromCompact.subject());
+        assertEquals(fromJwt.username(), fromCompact.username());
+        assertEquals(fromJwt.role(), fromCompact.role());
+        assertEquals(fromJwt.tokenVersion(), fromCompact.tokenVersion());
+        assertEquals(fromJwt.rememberMe(), fromCompact.rememberMe());
+        assertEquals(fromJwt.expiresAt(), fromCompact.expiresAt());
+        assertNotNull(fromCompact.jti());
+        assertEquals(TokenStatus.VALID, fromJwt.status());
+    }
+
+    /**
+     * @brief Test that compact tokens are only issued for numeric subjects.
+     *
+     * Verifies that other subjects fall back to a JWT.
+     */
+    @Test
+    public void testCompactFormatFallsBackForNonNumericSubject() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtUtils, "tokenFormat", "compact");
+
+        // Act
+        String token = jwtUtils.generateJwtToken("not-a-number", "testuser", false);
+
+        // Assert
+        assertEquals(3, token.split("\\.").length);
+        assertEquals("not-a-number", jwtUtils.verifyToken(token).subject());
+    }
+
+    /**
+     * @brief Switches the JwtUtils instance to an asymmetric algorithm.
+     * @param algorithm RS256 or ES256.
+     */
+    private void useAlgorithm(String algorithm) {
+        ReflectionTestUtils.setField(jwtUtils, "jwtAlgorithm", algorithm);
+        ReflectionTestUtils.setField(jwtUtils, "keyRotationIntervalMs", 86400000L);
+        ReflectionTestUtils.setField(jwtUtils, "jwksMaxAgeMs", 300000L);
+        jwtUtils.init();
+    }
 }
@@ -0,0 +1,146 @@
+/**
+ * @file JwtVerificationBenchmark.java
+ * @brief JMH benchmark for JWT verification.
+ *
+ * Compares the library verification pair used before single-pass verification,
+ * the single-pass library verification, the HS256 fast path and compact
+ * tokens. The token cache is disabled so every operation recomputes the signature.
+ *
+ * Run after `mvn test-compile` with:
+ * java -cp target/test-classes:target/classes:<test classpath> com.hikmethankolay.user_auth_system.util.JwtVerificationBenchmark
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class JwtVerificationBenchmark
+ * @brief Measures time and allocation per verified token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    /**
+     * JwtUtils verifying with the library only.
+     */
+    private JwtUtils libraryJwtUtils;
+
+    /**
+     * JwtUtils verifying with the HS256 fast path.
+     */
+    private JwtUtils fastPathJwtUtils;
+
+    /**
+     * Token shaped like the ones issued at login.
+     */
+    private String token;
+
+    /**
+     * The same claims in the compact format.
+     */
+    private String compactToken;
+
+    /**
+     * @brief Creates both JwtUtils instances and a token.
+     */
+    @Setup
+    public void setUp() {
+        libraryJwtUtils = jwtUtils(false);
+        fastPathJwtUtils = jwtUtils(true);
+        token = libraryJwtUtils.generateJwtToken("42", "benchmarkuser", "ROLE_USER", 0, false);
+
+        ReflectionTestUtils.setField(fastPathJwtUtils, "tokenFormat", "compact");
+        compactToken = fastPathJwtUtils.generateJwtToken("42", "benchmarkuser", "ROLE_USER", 0, false);
+    }
+
+    /**
+     * @brief Validation followed by a second verification for the user ID.
+     */
+    @Benchmark
+    public void libraryValidateAndGetUserId(Blackhole blackhole) {
+        blackhole.consume(libraryJwtUtils.validateJwtToken(token));
+        blackhole.consume(libraryJwtUtils.getUserIdFromJwtToken(token));
+    }
+
+    /**
+     * @brief Single-pass verification with the library.
+     */
+    @Benchmark
+    public VerifiedToken libraryVerifyToken() {
+        return libraryJwtUtils.verifyToken(token);
+    }
+
+    /**
+     * @brief Single-pass verification with the HS256 fast path.
+     */
+    @Benchmark
+    public VerifiedToken fastPathVerifyToken() {
+        return fastPathJwtUtils.verifyToken(token);
+    }
+
+    /**
+     * @brief Verification of a compact token.
+     */
+    @Benchmark
+    public VerifiedToken compactVerifyToken() {
+        return fastPathJwtUtils.verifyToken(compactToken);
+    }
+
+    /**
+     * @brief Creates a JwtUtils instance configured for HS256 without a token cache.
+     * @param fastPath Whether the fast path is enabled.
+     * @return The configured instance.
+     */
+    private static JwtUtils jwtUtils(boolean fastPath) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "benchmarkSecretKeyThatIsLongEnoughForHMAC256Signature");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900000L);
+        ReflectionTestUtils.setField(jwtUtils, "rememberMeExpirationMs", 2592000000L);
+        ReflectionTestUtils.setField(jwtUtils, "jwtAlgorithm", "HS256");
+        ReflectionTestUtils.setField(jwtUtils, "fastPathEnabled", fastPath);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    /**
+     * @brief Runs the benchmark with the allocation profiler.
+     * @param args Unused.
+     * @throws RunnerException If the benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        JwtVerificationBenchmark sizes = new JwtVerificationBenchmark();
+        sizes.setUp();
+        System.out.println("Authorization header bytes: JWT " + ("Bearer " + sizes.token).length()
+                + ", compact " + ("Bearer " + sizes.compactToken).length());
+
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * @file PasswordHashCalibratorTest.java
+ * @brief Tests for the PasswordHashCalibrator class.
+ *
+ * Contains unit tests for the cost search.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class PasswordHashCalibratorTest
+ * @brief Test class for PasswordHashCalibrator.
+ *
+ * This class contains unit tests using encoders with a known verification time.
+ */
+public class PasswordHashCalibratorTest {
+
+    /**
+     * @brief Creates an encoder whose verification sleeps for a fixed time.
+     * @param millis The verification time in milliseconds.
+     * @return The encoder.
+     */
+    private PasswordEncoder sleepingEncoder(long millis) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+    /**
+     * @brief Test the search for the highest cost within the target.
+     *
+     * Verifies that the last cost below the target is chosen.
+     */
+    @Test
+    public void testCalibratePicksHighestCostWithinTarget() {
+        // Act
+        PasswordHashCalibrator.Result result = PasswordHashCalibrator.calibrate(
+                cost -> sleepingEncoder(cost * 20L), 1, 10, Duration.ofMillis(70));
+
+        // Assert
+        assertEquals(3, result.cost());
+        assertTrue(result.verifyTime().toMillis() >= 60);
+    }
+
+    /**
+     * @brief Test a target below the cheapest cost.
+     *
+     * Verifies that the lowest cost is returned.
+     */
+    @Test
+    public void testCalibrateFallsBackToMinimumCost() {
+        // Act
+        PasswordHashCalibrator.Result result = PasswordHashCalibrator.calibrate(
+                cost -> sleepingEncoder(cost * 20L), 2, 10, Duration.ofMillis(5));
+
+        // Assert
+        assertEquals(2, result.cost());
+    }
+
+    /**
+     * @brief Test calibrating BCrypt with a real encoder.
+     *
+     * Verifies that a strength within the supported range is chosen.
+     */
+    @Test
+    public void testBCrypt() {
+        // Act
+        PasswordHashCalibrator.Result result = PasswordHashCalibrator.bcrypt(Duration.ofMillis(5));
+
+        // Assert
+        assertTrue(result.cost() >= 4 && result.cost() <= 31);
+    }
+}
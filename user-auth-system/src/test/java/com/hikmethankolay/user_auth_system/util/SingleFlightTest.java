@@ -0,0 +1,240 @@
+/**
+ * @file SingleFlightTest.java
+ * @brief Tests for the SingleFlight class.
+ *
+ * Contains unit tests for coalescing concurrent loads.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class SingleFlightTest
+ * @brief Test class for SingleFlight.
+ *
+ * This class contains unit tests for shared results, shared failures and sequential loads.
+ */
+public class SingleFlightTest {
+
+    /**
+     * Number of concurrent callers used by the tests.
+     */
+    private static final int CALLERS = 20;
+
+    /**
+     * SingleFlight instance to be tested.
+     */
+    private SingleFlight<Long, String> singleFlight;
+
+    /**
+     * Number of times the loader ran.
+     */
+    private AtomicInteger loads;
+
+    /**
+     * @brief Setup method that runs before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        singleFlight = new SingleFlight<>();
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * @brief Starts callers that load key 1 and waits until the first load has started.
+     * @param executor The executor running the callers.
+     * @param release Latch the loader waits on before returning.
+     * @param result Value returned by the loader, or null to make it throw.
+     * @return The futures of the callers.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private List<Future<String>> startCallers(ExecutorService executor, CountDownLatch release, String result)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> singleFlight.load(1L, key -> {
+                loads.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (result == null) {
+                    throw new IllegalStateException("load failed");
+                }
+                return result;
+            })));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return futures;
+    }
+
+    /**
+     * @brief Test concurrent callers of the same key.
+     *
+     * Verifies that the loader runs once and every caller gets its result.
+     */
+    @Test
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // Act
+            List<Future<String>> futures = startCallers(executor, release, "user-1");
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            for (Future<String> future : futures) {
+                assertEquals("user-1", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief Test a failing load.
+     *
+     * Verifies that every waiting caller receives the loader's exception.
+     */
+    @Test
+    public void testFailureIsShared() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // Act
+            List<Future<String>> futures = startCallers(executor, release, null);
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            for (Future<String> future : futures) {
+                Exception exception = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, exception.getCause());
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief Test sequential and distinct loads.
+     *
+     * Verifies that results are not cached and different keys load independently.
+     */
+    @Test
+    public void testSequentialLoadsAreNotCached() {
+        // Act
+        singleFlight.load(1L, key -> "user-" + loads.incrementAndGet());
+        String second = singleFlight.load(1L, key -> "user-" + loads.incrementAndGet());
+        String other = singleFlight.load(2L, key -> "user-" + key);
+
+        // Assert
+        assertEquals("user-2", second);
+        assertEquals("user-2", other);
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * @brief Test concurrent loads through an asynchronous cache.
+     *
+     * Verifies that the loader runs once, on a caller's thread, and its result is cached.
+     */
+    @Test
+    public void testCacheLoadSharedAndCached() throws Exception {
+        // Arrange
+        AsyncCache<Long, String> cache = Caffeine.newBuilder().recordStats().buildAsync();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> loaderThreads = new ArrayList<>();
+
+        try {
+            // Act
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> SingleFlight.load(cache, 1L, key -> {
+                    loads.incrementAndGet();
+                    loaderThreads.add(Thread.currentThread().getName());
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "user-1";
+                })));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            for (Future<String> future : futures) {
+                assertEquals("user-1", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertTrue(loaderThreads.get(0).startsWith("pool-"));
+            assertEquals("user-1", SingleFlight.load(cache, 1L, key -> "reloaded"));
+            assertEquals(1, cache.synchronous().stats().loadSuccessCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief Test null results and invalidation during a load.
+     *
+     * Verifies that neither a null result nor a result invalidated while loading is cached.
+     */
+    @Test
+    public void testCacheLoadNotKeptWhenNullOrInvalidated() {
+        // Arrange
+        AsyncCache<Long, String> cache = Caffeine.newBuilder().buildAsync();
+
+        // Act
+        String missing = SingleFlight.load(cache, 1L, key -> null);
+        String stale = SingleFlight.load(cache, 2L, key -> {
+            cache.synchronous().invalidate(key);
+            return "stale";
+        });
+
+        // Assert
+        assertNull(missing);
+        assertEquals("stale", stale);
+        assertNull(cache.getIfPresent(1L));
+        assertNull(cache.getIfPresent(2L));
+        assertThrows(IllegalStateException.class, () -> SingleFlight.load(cache, 3L, key -> {
+            throw new IllegalStateException("load failed");
+        }));
+        assertNull(cache.getIfPresent(3L));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * @file VerifiedTokenCacheTest.java
+ * @brief Tests for the VerifiedTokenCache class.
+ *
+ * Contains unit tests for caching, expiration and bounding of verified tokens.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import com.hikmethankolay.user_auth_system.enums.TokenStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class VerifiedTokenCacheTest
+ * @brief Test class for VerifiedTokenCache.
+ *
+ * This class contains unit tests for the verified token cache.
+ */
+public class VerifiedTokenCacheTest {
+
+    /**
+     * VerifiedTokenCache instance to be tested.
+     */
+    private VerifiedTokenCache cache;
+
+    /**
+     * @brief Setup method that runs before each test.
+     *
+     * Creates a small cache.
+     */
+    @BeforeEach
+    public void setUp() {
+        cache = new VerifiedTokenCache(100);
+    }
+
+    /**
+     * @brief Test that a stored token is returned on lookup.
+     *
+     * Verifies that get returns the stored result and counts hits and misses.
+     */
+    @Test
+    public void testPutAndGet() {
+        // Arrange
+        VerifiedToken verifiedToken = validToken(Instant.now().plusSeconds(60));
+
+        // Act
+        VerifiedToken beforePut = cache.get("a.b.c");
+        cache.put("a.b.c", verifiedToken);
+        VerifiedToken afterPut = cache.get("a.b.c");
+
+        // Assert
+        assertNull(beforePut);
+        assertSame(verifiedToken, afterPut);
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    /**
+     * @brief Test that tokens past their expiration are never returned.
+     *
+     * Verifies that an entry whose exp claim has passed is treated as a miss.
+     */
+    @Test
+    public void testExpiredTokenNotReturned() {
+        // Arrange
+        cache.put("a.b.c", validToken(Instant.now().minusSeconds(1)));
+
+        // Act & Assert
+        assertNull(cache.get("a.b.c"));
+    }
+
+    /**
+     * @brief Test that only VALID results are cached.
+     *
+     * Verifies that INVALID and EXPIRED results are not stored.
+     */
+    @Test
+    public void testOnlyValidTokensCached() {
+        // Act
+        cache.put("invalid.token", VerifiedToken.invalid());
+        cache.put("expired.token", VerifiedToken.expired());
+
+        // Assert
+        assertNull(cache.get("invalid.token"));
+        assertNull(cache.get("expired.token"));
+    }
+
+    /**
+     * @brief Test that a different token never returns another token's claims.
+     *
+     * Verifies that lookups compare the raw token, not only its hash.
+     */
+    @Test
+    public void testDifferentTokenIsMiss() {
+        // Arrange
+        cache.put("a.b.c", validToken(Instant.now().plusSeconds(60)));
+
+        // Act & Assert
+        assertNull(cache.get("a.b.d"));
+    }
+
+    /**
+     * @brief Test that the cache is size-bounded.
+     *
+     * Verifies that entries are evicted once the maximum size is exceeded.
+     */
+    @Test
+    public void testCacheIsBounded() {
+        // Arrange
+        VerifiedTokenCache smallCache = new VerifiedTokenCache(10);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            smallCache.put("token." + i, validToken(Instant.now().plusSeconds(60)));
+        }
+        smallCache.nativeCache().cleanUp();
+
+        // Assert
+        assertTrue(smallCache.nativeCache().estimatedSize() <= 10);
+        assertTrue(smallCache.stats().evictionCount() > 0);
+    }
+
+    /**
+     * @brief Creates a VALID verification result.
+     * @param expiresAt The expiration time of the token.
+     * @return A VALID verified token.
+     */
+    private VerifiedToken validToken(Instant expiresAt) {
+        return new VerifiedToken(TokenStatus.VALID, "1", "testuser", null, null, false, expiresAt, null);
+    }
+}
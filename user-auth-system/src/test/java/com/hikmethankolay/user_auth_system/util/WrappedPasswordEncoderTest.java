@@ -0,0 +1,91 @@
+/**
+ * @file WrappedPasswordEncoderTest.java
+ * @brief Tests for the WrappedPasswordEncoder class.
+ *
+ * Contains unit tests for wrapping BCrypt hashes and verifying wrapped hashes.
+ *
+ * @author Test Suite Generator
+ * @date 2026-10-14
+ */
+package com.hikmethankolay.user_auth_system.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @class WrappedPasswordEncoderTest
+ * @brief Test class for WrappedPasswordEncoder.
+ *
+ * This class contains unit tests using a cheap scrypt encoder as the outer hash.
+ */
+public class WrappedPasswordEncoderTest {
+
+    /**
+     * Outer encoder adding the {scrypt} prefix.
+     */
+    private PasswordEncoder outer;
+
+    /**
+     * WrappedPasswordEncoder instance to be tested.
+     */
+    private WrappedPasswordEncoder wrappedPasswordEncoder;
+
+    /**
+     * BCrypt hash of the test password.
+     */
+    private String bcryptHash;
+
+    /**
+     * @brief Setup method that runs before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        outer = new DelegatingPasswordEncoder("scrypt", Map.of("scrypt", new SCryptPasswordEncoder(1024, 8, 1, 32, 16)));
+        wrappedPasswordEncoder = new WrappedPasswordEncoder(outer);
+        bcryptHash = new BCryptPasswordEncoder(4).encode("P@ssw0rd123!");
+    }
+
+    /**
+     * @brief Test verifying a wrapped hash.
+     *
+     * Verifies that only the original password matches.
+     */
+    @Test
+    public void testWrapAndMatch() {
+        // Act
+        String wrapped = WrappedPasswordEncoder.wrap(bcryptHash, outer);
+        String withoutId = wrapped.substring("{wrapped}".length());
+
+        // Assert
+        assertTrue(wrapped.startsWith("{wrapped}" + bcryptHash.substring(0, 29) + "{scrypt}"));
+        assertFalse(wrapped.contains(bcryptHash));
+        assertTrue(wrappedPasswordEncoder.matches("P@ssw0rd123!", withoutId));
+        assertFalse(wrappedPasswordEncoder.matches("wrong", withoutId));
+        assertTrue(wrappedPasswordEncoder.upgradeEncoding(withoutId));
+    }
+
+    /**
+     * @brief Test malformed input.
+     *
+     * Verifies that non-BCrypt hashes are rejected and malformed wrapped hashes do not match.
+     */
+    @Test
+    public void testMalformedInput() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> WrappedPasswordEncoder.wrap("{argon2}$argon2id$v=19", outer));
+        assertFalse(WrappedPasswordEncoder.isBCryptHash(null));
+        assertFalse(WrappedPasswordEncoder.isBCryptHash("{bcrypt}" + bcryptHash));
+        assertTrue(WrappedPasswordEncoder.isBCryptHash(bcryptHash));
+        assertFalse(wrappedPasswordEncoder.matches("P@ssw0rd123!", "short"));
+        assertFalse(wrappedPasswordEncoder.matches("P@ssw0rd123!", "not-a-bcrypt-salt-of-29-chars{scrypt}x"));
+        assertThrows(UnsupportedOperationException.class, () -> wrappedPasswordEncoder.encode("P@ssw0rd123!"));
+    }
+}